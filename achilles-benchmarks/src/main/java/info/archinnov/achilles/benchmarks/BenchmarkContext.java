@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import static java.util.Arrays.asList;
+
+import java.util.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.utils.UUIDs;
+
+import info.archinnov.achilles.benchmarks.entities.*;
+import info.archinnov.achilles.embedded.CassandraEmbeddedServerBuilder;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.*;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.type.interceptor.Event;
+import info.archinnov.achilles.type.interceptor.Interceptor;
+import info.archinnov.achilles.type.tuples.Tuple3;
+
+/**
+ * Shared state of the benchmarks: an embedded Cassandra server, a bootstrapped
+ * {@link ManagerFactory}, one sample instance of each entity and the corresponding
+ * {@link Row} read back from the server.
+ * <br/>
+ * Rows are fully fetched, decoding them again does not involve any network round-trip
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    public static final String KEYSPACE = "achilles_benchmarks";
+    public static final int INTERCEPTOR_COUNT = 4;
+
+    public ManagerFactory managerFactory;
+    public SimpleEntity_Manager simpleManager;
+    public WideEntity_Manager wideManager;
+    public ClusteredEntity_Manager clusteredManager;
+    public ComplexEntity_Manager complexManager;
+    public CounterEntity_Manager counterManager;
+
+    public SimpleEntity simpleEntity;
+    public WideEntity wideEntity;
+    public ClusteredEntity clusteredEntity;
+    public ComplexEntity complexEntity;
+
+    public Row simpleRow;
+    public Row wideRow;
+    public Row clusteredRow;
+    public Row complexRow;
+    public Row counterRow;
+
+    public CassandraOptions cassandraOptions = new CassandraOptions();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Cluster cluster = CassandraEmbeddedServerBuilder
+                .builder()
+                .withKeyspaceName(KEYSPACE)
+                .cleanDataFilesAtStartup(true)
+                .buildNativeCluster();
+
+        final List<Interceptor<?>> interceptors = new ArrayList<>();
+        for (int i = 0; i < INTERCEPTOR_COUNT; i++) {
+            interceptors.add(new CountingInterceptor(asList(Event.PRE_INSERT, Event.POST_LOAD)));
+        }
+
+        managerFactory = ManagerFactoryBuilder
+                .builder(cluster)
+                .withDefaultKeyspaceName(KEYSPACE)
+                .doForceSchemaCreation(true)
+                .withEventInterceptors(interceptors)
+                .build();
+
+        simpleManager = managerFactory.forSimpleEntity();
+        wideManager = managerFactory.forWideEntity();
+        clusteredManager = managerFactory.forClusteredEntity();
+        complexManager = managerFactory.forComplexEntity();
+        counterManager = managerFactory.forCounterEntity();
+
+        simpleEntity = new SimpleEntity(1L, "simple value", 42, new Date());
+        wideEntity = buildWideEntity();
+        clusteredEntity = new ClusteredEntity(1, 10L, UUIDs.timeBased(), "bucket 1", "clustered payload");
+        complexEntity = buildComplexEntity();
+
+        simpleManager.crud().insert(simpleEntity).execute();
+        wideManager.crud().insert(wideEntity).execute();
+        clusteredManager.crud().insert(clusteredEntity).execute();
+        complexManager.crud().insert(complexEntity).execute();
+        counterManager.dsl().update().fromBaseTable().views().Incr(10L).clicks().Incr(5L).shares().Incr(1L).where().id().Eq(1L).execute();
+
+        final Session session = simpleManager.getNativeSession();
+        simpleRow = session.execute("SELECT * FROM " + KEYSPACE + ".simple WHERE id = 1").one();
+        wideRow = session.execute("SELECT * FROM " + KEYSPACE + ".wide WHERE id = 1").one();
+        clusteredRow = session.execute("SELECT * FROM " + KEYSPACE + ".clustered WHERE bucket = 1").one();
+        complexRow = session.execute("SELECT * FROM " + KEYSPACE + ".complex WHERE id = 1").one();
+        counterRow = session.execute("SELECT * FROM " + KEYSPACE + ".counter WHERE id = 1").one();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        managerFactory.shutDown();
+    }
+
+    private static WideEntity buildWideEntity() {
+        final WideEntity entity = new WideEntity();
+        entity.setId(1L);
+        entity.setText1("text 1");
+        entity.setText2("text 2");
+        entity.setText3("text 3");
+        entity.setText4("text 4");
+        entity.setText5("text 5");
+        entity.setLong1(1L);
+        entity.setLong2(2L);
+        entity.setLong3(3L);
+        entity.setLong4(4L);
+        entity.setLong5(5L);
+        entity.setDouble1(1.1);
+        entity.setDouble2(2.2);
+        entity.setDouble3(3.3);
+        entity.setDouble4(4.4);
+        entity.setDouble5(5.5);
+        entity.setUuid1(UUID.randomUUID());
+        entity.setUuid2(UUID.randomUUID());
+        entity.setUuid3(UUID.randomUUID());
+        entity.setUuid4(UUID.randomUUID());
+        entity.setUuid5(UUID.randomUUID());
+        return entity;
+    }
+
+    private static ComplexEntity buildComplexEntity() {
+        final ComplexEntity entity = new ComplexEntity();
+        entity.setId(1L);
+        entity.setAddress(new Address("1 main street", "Paris", 75001));
+        entity.setPreviousAddresses(asList(new Address("2 second street", "Lyon", 69001),
+                new Address("3 third street", "Nantes", 44000)));
+        entity.setTuple(Tuple3.of(1, "tuple", 1.5));
+        entity.setTags(asList("tag1", "tag2", "tag3", "tag4"));
+        entity.setLongs(new HashSet<>(asList(1L, 2L, 3L, 4L)));
+        final Map<Integer, String> attributes = new HashMap<>();
+        attributes.put(1, "one");
+        attributes.put(2, "two");
+        attributes.put(3, "three");
+        entity.setAttributes(attributes);
+        final Map<String, Integer> json = new HashMap<>();
+        json.put("a", 1);
+        json.put("b", 2);
+        entity.setJson(json);
+        entity.setLevel(ConsistencyLevel.LOCAL_QUORUM);
+        return entity;
+    }
+}
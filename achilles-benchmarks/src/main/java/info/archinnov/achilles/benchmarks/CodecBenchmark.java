@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.TupleValue;
+import com.datastax.driver.core.UDTValue;
+
+import info.archinnov.achilles.benchmarks.entities.Address;
+import info.archinnov.achilles.generated.meta.entity.ComplexEntity_AchillesMeta;
+import info.archinnov.achilles.type.tuples.Tuple3;
+
+/**
+ * Encoding and decoding of the non-trivial codecs: UDT, tuple, list of frozen UDT,
+ * JSON and enum, each property being encoded to and decoded from its Cassandra type
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Benchmark
+    public UDTValue encodeUDT(BenchmarkContext context) {
+        return ComplexEntity_AchillesMeta.address.encodeFromJava(context.complexEntity.getAddress());
+    }
+
+    @Benchmark
+    public Address decodeUDT(BenchmarkContext context) {
+        return ComplexEntity_AchillesMeta.address.decodeFromGettable(context.complexRow);
+    }
+
+    @Benchmark
+    public TupleValue encodeTuple(BenchmarkContext context) {
+        return ComplexEntity_AchillesMeta.tuple.encodeFromJava(context.complexEntity.getTuple());
+    }
+
+    @Benchmark
+    public Tuple3<Integer, String, Double> decodeTuple(BenchmarkContext context) {
+        return ComplexEntity_AchillesMeta.tuple.decodeFromGettable(context.complexRow);
+    }
+
+    @Benchmark
+    public List<UDTValue> encodeListOfUDT(BenchmarkContext context) {
+        return ComplexEntity_AchillesMeta.previousAddresses.encodeFromJava(context.complexEntity.getPreviousAddresses());
+    }
+
+    @Benchmark
+    public List<Address> decodeListOfUDT(BenchmarkContext context) {
+        return ComplexEntity_AchillesMeta.previousAddresses.decodeFromGettable(context.complexRow);
+    }
+
+    @Benchmark
+    public String encodeJSON(BenchmarkContext context) {
+        return ComplexEntity_AchillesMeta.json.encodeFromJava(context.complexEntity.getJson());
+    }
+
+    @Benchmark
+    public Map<String, Integer> decodeJSON(BenchmarkContext context) {
+        return ComplexEntity_AchillesMeta.json.decodeFromGettable(context.complexRow);
+    }
+
+    @Benchmark
+    public String encodeEnum(BenchmarkContext context) {
+        return ComplexEntity_AchillesMeta.level.encodeFromJava(context.complexEntity.getLevel());
+    }
+
+    @Benchmark
+    public ConsistencyLevel decodeEnum(BenchmarkContext context) {
+        return ComplexEntity_AchillesMeta.level.decodeFromGettable(context.complexRow);
+    }
+}
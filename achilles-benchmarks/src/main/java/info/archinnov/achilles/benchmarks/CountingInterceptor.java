@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import java.util.List;
+
+import info.archinnov.achilles.benchmarks.entities.SimpleEntity;
+import info.archinnov.achilles.type.interceptor.Event;
+import info.archinnov.achilles.type.interceptor.Interceptor;
+
+/**
+ * Interceptor doing the least possible work, to measure the dispatch overhead only
+ */
+public class CountingInterceptor implements Interceptor<SimpleEntity> {
+
+    private final List<Event> events;
+    private long calls;
+
+    public CountingInterceptor(List<Event> events) {
+        this.events = events;
+    }
+
+    @Override
+    public boolean acceptEntity(Class<?> entityClass) {
+        return SimpleEntity.class.equals(entityClass);
+    }
+
+    @Override
+    public void onEvent(SimpleEntity entity, Event event) {
+        calls++;
+    }
+
+    @Override
+    public List<Event> interceptOnEvents() {
+        return events;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import info.archinnov.achilles.benchmarks.entities.*;
+
+/**
+ * Decoding of a {@link com.datastax.driver.core.Row} into an entity instance
+ * with <strong>AbstractEntityProperty.createEntityFrom(Row)</strong>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityMappingBenchmark {
+
+    @Benchmark
+    public SimpleEntity simpleEntity(BenchmarkContext context) {
+        return context.simpleManager.meta.createEntityFrom(context.simpleRow);
+    }
+
+    @Benchmark
+    public WideEntity wideEntity(BenchmarkContext context) {
+        return context.wideManager.meta.createEntityFrom(context.wideRow);
+    }
+
+    @Benchmark
+    public ClusteredEntity clusteredEntity(BenchmarkContext context) {
+        return context.clusteredManager.meta.createEntityFrom(context.clusteredRow);
+    }
+
+    @Benchmark
+    public ComplexEntity complexEntity(BenchmarkContext context) {
+        return context.complexManager.meta.createEntityFrom(context.complexRow);
+    }
+
+    @Benchmark
+    public CounterEntity counterEntity(BenchmarkContext context) {
+        return context.counterManager.meta.createEntityFrom(context.counterRow);
+    }
+}
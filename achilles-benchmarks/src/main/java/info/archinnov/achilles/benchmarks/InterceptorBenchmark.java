@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import info.archinnov.achilles.benchmarks.entities.SimpleEntity;
+import info.archinnov.achilles.type.interceptor.Event;
+
+/**
+ * Dispatch of the lifecycle events to the registered interceptors.
+ * <br/>
+ * {@link BenchmarkContext#INTERCEPTOR_COUNT} interceptors listen to <strong>PRE_INSERT</strong>
+ * on {@link SimpleEntity}, none listens to <strong>PRE_DELETE</strong>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorBenchmark {
+
+    @Benchmark
+    public SimpleEntity dispatchToInterceptors(BenchmarkContext context) {
+        context.simpleManager.meta.triggerInterceptorsForEvent(Event.PRE_INSERT, context.simpleEntity);
+        return context.simpleEntity;
+    }
+
+    @Benchmark
+    public SimpleEntity dispatchWithoutInterceptor(BenchmarkContext context) {
+        context.simpleManager.meta.triggerInterceptorsForEvent(Event.PRE_DELETE, context.simpleEntity);
+        return context.simpleEntity;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.datastax.driver.core.BoundStatement;
+
+/**
+ * Building of the bound statements for the CRUD API and the DSL chains, statements
+ * are generated with <strong>generateAndGetBoundStatement()</strong> and never executed.
+ * <br/>
+ * The prepared statements are looked up from the statements cache so these benchmarks
+ * measure the DSL chain allocation, the query string generation and the binding
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementBenchmark {
+
+    @Benchmark
+    public BoundStatement crudInsert(BenchmarkContext context) {
+        return context.simpleManager.crud().insert(context.simpleEntity).generateAndGetBoundStatement();
+    }
+
+    @Benchmark
+    public BoundStatement crudInsertComplex(BenchmarkContext context) {
+        return context.complexManager.crud().insert(context.complexEntity).generateAndGetBoundStatement();
+    }
+
+    @Benchmark
+    public BoundStatement crudUpdate(BenchmarkContext context) {
+        return context.wideManager.crud().update(context.wideEntity).generateAndGetBoundStatement();
+    }
+
+    @Benchmark
+    public BoundStatement crudFindById(BenchmarkContext context) {
+        return context.simpleManager.crud().findById(1L).generateAndGetBoundStatement();
+    }
+
+    @Benchmark
+    public BoundStatement dslSelect(BenchmarkContext context) {
+        return context.clusteredManager
+                .dsl()
+                .select()
+                .seq()
+                .payload()
+                .fromBaseTable()
+                .where()
+                .bucket().Eq(1)
+                .seq().Gte_And_Lte(1L, 100L)
+                .generateAndGetBoundStatement();
+    }
+
+    @Benchmark
+    public BoundStatement dslUpdate(BenchmarkContext context) {
+        return context.simpleManager
+                .dsl()
+                .update()
+                .fromBaseTable()
+                .value().Set("new value")
+                .count().Set(10)
+                .where()
+                .id().Eq(1L)
+                .generateAndGetBoundStatement();
+    }
+
+    @Benchmark
+    public BoundStatement dslCounterIncr(BenchmarkContext context) {
+        return context.counterManager
+                .dsl()
+                .update()
+                .fromBaseTable()
+                .views().Incr(1L)
+                .where()
+                .id().Eq(1L)
+                .generateAndGetBoundStatement();
+    }
+}
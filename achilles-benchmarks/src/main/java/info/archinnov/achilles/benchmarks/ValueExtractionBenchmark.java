@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import info.archinnov.achilles.internals.runtime.BeanValueExtractor;
+
+/**
+ * Extraction and encoding of all the column values of an entity instance
+ * with <strong>BeanValueExtractor.extractAllValues()</strong>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueExtractionBenchmark {
+
+    @Benchmark
+    public Object simpleEntity(BenchmarkContext context) {
+        return BeanValueExtractor.extractAllValues(context.simpleEntity, context.simpleManager.meta, context.cassandraOptions);
+    }
+
+    @Benchmark
+    public Object wideEntity(BenchmarkContext context) {
+        return BeanValueExtractor.extractAllValues(context.wideEntity, context.wideManager.meta, context.cassandraOptions);
+    }
+
+    @Benchmark
+    public Object clusteredEntity(BenchmarkContext context) {
+        return BeanValueExtractor.extractAllValues(context.clusteredEntity, context.clusteredManager.meta, context.cassandraOptions);
+    }
+
+    @Benchmark
+    public Object complexEntity(BenchmarkContext context) {
+        return BeanValueExtractor.extractAllValues(context.complexEntity, context.complexManager.meta, context.cassandraOptions);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks.entities;
+
+import java.util.UUID;
+
+import info.archinnov.achilles.annotations.*;
+
+@Table(table = "clustered")
+public class ClusteredEntity {
+
+    @PartitionKey
+    private Integer bucket;
+
+    @ClusteringColumn(1)
+    private Long seq;
+
+    @ClusteringColumn(2)
+    private UUID eventId;
+
+    @Static
+    @Column
+    private String bucketLabel;
+
+    @Column
+    private String payload;
+
+    public ClusteredEntity() {
+    }
+
+    public ClusteredEntity(Integer bucket, Long seq, UUID eventId, String bucketLabel, String payload) {
+        this.bucket = bucket;
+        this.seq = seq;
+        this.eventId = eventId;
+        this.bucketLabel = bucketLabel;
+        this.payload = payload;
+    }
+
+    public Integer getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(Integer bucket) {
+        this.bucket = bucket;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getBucketLabel() {
+        return bucketLabel;
+    }
+
+    public void setBucketLabel(String bucketLabel) {
+        this.bucketLabel = bucketLabel;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks.entities;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.datastax.driver.core.ConsistencyLevel;
+
+import info.archinnov.achilles.annotations.*;
+import info.archinnov.achilles.type.tuples.Tuple3;
+
+@Table(table = "complex")
+public class ComplexEntity {
+
+    @PartitionKey
+    private Long id;
+
+    @Frozen
+    @Column
+    private Address address;
+
+    @Column
+    private List<@Frozen Address> previousAddresses;
+
+    @Column
+    private Tuple3<Integer, String, Double> tuple;
+
+    @Column
+    private List<String> tags;
+
+    @Column
+    private Set<Long> longs;
+
+    @Column
+    private Map<Integer, String> attributes;
+
+    @JSON
+    @Column
+    private Map<String, Integer> json;
+
+    @Enumerated
+    @Column
+    private ConsistencyLevel level;
+
+    public ComplexEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Address getAddress() {
+        return address;
+    }
+
+    public void setAddress(Address address) {
+        this.address = address;
+    }
+
+    public List<Address> getPreviousAddresses() {
+        return previousAddresses;
+    }
+
+    public void setPreviousAddresses(List<Address> previousAddresses) {
+        this.previousAddresses = previousAddresses;
+    }
+
+    public Tuple3<Integer, String, Double> getTuple() {
+        return tuple;
+    }
+
+    public void setTuple(Tuple3<Integer, String, Double> tuple) {
+        this.tuple = tuple;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Set<Long> getLongs() {
+        return longs;
+    }
+
+    public void setLongs(Set<Long> longs) {
+        this.longs = longs;
+    }
+
+    public Map<Integer, String> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<Integer, String> attributes) {
+        this.attributes = attributes;
+    }
+
+    public Map<String, Integer> getJson() {
+        return json;
+    }
+
+    public void setJson(Map<String, Integer> json) {
+        this.json = json;
+    }
+
+    public ConsistencyLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(ConsistencyLevel level) {
+        this.level = level;
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks.entities;
+
+import java.util.UUID;
+
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.PartitionKey;
+import info.archinnov.achilles.annotations.Table;
+
+@Table(table = "wide")
+public class WideEntity {
+
+    @PartitionKey
+    private Long id;
+
+    @Column
+    private String text1;
+
+    @Column
+    private String text2;
+
+    @Column
+    private String text3;
+
+    @Column
+    private String text4;
+
+    @Column
+    private String text5;
+
+    @Column
+    private Long long1;
+
+    @Column
+    private Long long2;
+
+    @Column
+    private Long long3;
+
+    @Column
+    private Long long4;
+
+    @Column
+    private Long long5;
+
+    @Column
+    private Double double1;
+
+    @Column
+    private Double double2;
+
+    @Column
+    private Double double3;
+
+    @Column
+    private Double double4;
+
+    @Column
+    private Double double5;
+
+    @Column
+    private UUID uuid1;
+
+    @Column
+    private UUID uuid2;
+
+    @Column
+    private UUID uuid3;
+
+    @Column
+    private UUID uuid4;
+
+    @Column
+    private UUID uuid5;
+
+    public WideEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getText1() {
+        return text1;
+    }
+
+    public void setText1(String text1) {
+        this.text1 = text1;
+    }
+
+    public String getText2() {
+        return text2;
+    }
+
+    public void setText2(String text2) {
+        this.text2 = text2;
+    }
+
+    public String getText3() {
+        return text3;
+    }
+
+    public void setText3(String text3) {
+        this.text3 = text3;
+    }
+
+    public String getText4() {
+        return text4;
+    }
+
+    public void setText4(String text4) {
+        this.text4 = text4;
+    }
+
+    public String getText5() {
+        return text5;
+    }
+
+    public void setText5(String text5) {
+        this.text5 = text5;
+    }
+
+    public Long getLong1() {
+        return long1;
+    }
+
+    public void setLong1(Long long1) {
+        this.long1 = long1;
+    }
+
+    public Long getLong2() {
+        return long2;
+    }
+
+    public void setLong2(Long long2) {
+        this.long2 = long2;
+    }
+
+    public Long getLong3() {
+        return long3;
+    }
+
+    public void setLong3(Long long3) {
+        this.long3 = long3;
+    }
+
+    public Long getLong4() {
+        return long4;
+    }
+
+    public void setLong4(Long long4) {
+        this.long4 = long4;
+    }
+
+    public Long getLong5() {
+        return long5;
+    }
+
+    public void setLong5(Long long5) {
+        this.long5 = long5;
+    }
+
+    public Double getDouble1() {
+        return double1;
+    }
+
+    public void setDouble1(Double double1) {
+        this.double1 = double1;
+    }
+
+    public Double getDouble2() {
+        return double2;
+    }
+
+    public void setDouble2(Double double2) {
+        this.double2 = double2;
+    }
+
+    public Double getDouble3() {
+        return double3;
+    }
+
+    public void setDouble3(Double double3) {
+        this.double3 = double3;
+    }
+
+    public Double getDouble4() {
+        return double4;
+    }
+
+    public void setDouble4(Double double4) {
+        this.double4 = double4;
+    }
+
+    public Double getDouble5() {
+        return double5;
+    }
+
+    public void setDouble5(Double double5) {
+        this.double5 = double5;
+    }
+
+    public UUID getUuid1() {
+        return uuid1;
+    }
+
+    public void setUuid1(UUID uuid1) {
+        this.uuid1 = uuid1;
+    }
+
+    public UUID getUuid2() {
+        return uuid2;
+    }
+
+    public void setUuid2(UUID uuid2) {
+        this.uuid2 = uuid2;
+    }
+
+    public UUID getUuid3() {
+        return uuid3;
+    }
+
+    public void setUuid3(UUID uuid3) {
+        this.uuid3 = uuid3;
+    }
+
+    public UUID getUuid4() {
+        return uuid4;
+    }
+
+    public void setUuid4(UUID uuid4) {
+        this.uuid4 = uuid4;
+    }
+
+    public UUID getUuid5() {
+        return uuid5;
+    }
+
+    public void setUuid5(UUID uuid5) {
+        this.uuid5 = uuid5;
+    }
+}
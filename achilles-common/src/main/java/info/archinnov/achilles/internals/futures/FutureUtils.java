@@ -18,6 +18,7 @@ package info.archinnov.achilles.internals.futures;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
@@ -47,6 +48,20 @@ public class FutureUtils {
         return completable;
     }
 
+    /**
+     * Cancel the source future when the derived future is cancelled. Futures derived with
+     * <em>thenApply()</em>, <em>whenComplete()</em> ... do not cancel their source on their own, so
+     * the underlying query would otherwise keep running
+     */
+    public static <T> CompletableFuture<T> propagateCancellation(Future<?> source, CompletableFuture<T> derived) {
+        derived.whenComplete((result, throwable) -> {
+            if (derived.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return derived;
+    }
+
 
     private static final class CompletableListenableFuture<T> extends CompletableFuture<T> {
         private final ListenableFuture<T> listenableFuture;
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.async;
+
+/**
+ * Define on which thread the futures returned by the driver are completed, that is
+ * where the mapping stages of <strong>Achilles</strong> and the callbacks of the
+ * {@link java.util.concurrent.CompletableFuture} returned by the asynchronous API run
+ */
+public enum CompletionMode {
+
+    /**
+     * Complete the futures on the executor service of <strong>Achilles</strong>. Each result
+     * hops from the driver I/O thread to the executor, whose queue bounds the number of pending completions.
+     * <br/>
+     * This is the default mode. On a JVM supporting virtual threads, a virtual thread per task executor
+     * can be provided with {@link info.archinnov.achilles.bootstrap.AbstractManagerFactoryBuilder#withDefaultExecutorService(java.util.concurrent.ExecutorService)}
+     */
+    EXECUTOR,
+
+    /**
+     * Complete the futures directly on the driver I/O thread, without any hop.
+     * <br/>
+     * The mapping stages run on the I/O thread and so do the callbacks registered on the
+     * returned futures: they should be short and <strong>must never block</strong>.
+     * Blocking API calls simply park the calling thread until the result is mapped
+     */
+    DIRECT
+}
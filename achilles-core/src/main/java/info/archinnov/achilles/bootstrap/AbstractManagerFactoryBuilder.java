@@ -20,23 +20,30 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.*;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import info.archinnov.achilles.async.CompletionMode;
 import info.archinnov.achilles.configuration.ArgumentExtractor;
 import info.archinnov.achilles.configuration.ConfigurationParameters;
+import info.archinnov.achilles.internals.cache.NearCacheOptions;
 import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
 import info.archinnov.achilles.internals.runtime.AbstractManagerFactory;
 import info.archinnov.achilles.internals.types.ConfigMap;
 import info.archinnov.achilles.json.JacksonMapperFactory;
+import info.archinnov.achilles.metrics.MetricsRecorder;
+import info.archinnov.achilles.tracing.QueryTraceSink;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
@@ -281,6 +288,46 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         return getThis();
     }
 
+    /**
+     * Specify the maximum number of static statements (insert, find, delete) being prepared
+     * asynchronously at the same time when the ManagerFactory is bootstrapped.
+     * <br/><br/>
+     * Default value is <strong>64</strong>
+     *
+     * @param maxInFlight max number of concurrent static statements preparation
+     * @return ManagerFactoryBuilder
+     */
+    public T withMaxInFlightStaticStatementsPrepare(int maxInFlight) {
+        configMap.put(STATIC_STATEMENTS_PREPARE_MAX_IN_FLIGHT, maxInFlight);
+        return getThis();
+    }
+
+    /**
+     * Specify the maximum number of prepared statements cached for each tenant (keyspace resolved by a runtime
+     * {@link info.archinnov.achilles.type.SchemaNameProvider}).
+     * <br/><br/>
+     * Default value is <strong>1000</strong>
+     *
+     * @param maxStatementsPerTenant max number of statements cached per tenant
+     * @return ManagerFactoryBuilder
+     */
+    public T withMaxPreparedStatementCacheSizePerTenant(int maxStatementsPerTenant) {
+        configMap.put(PREPARED_STATEMENTS_CACHE_SIZE_PER_TENANT, maxStatementsPerTenant);
+        return getThis();
+    }
+
+    /**
+     * Prepare at bootstrap the insert, find and delete statements of all entities
+     * for the tenants resolved by the given schema name providers
+     *
+     * @param schemaNameProviders one schema name provider for each tenant to pre-warm
+     * @return ManagerFactoryBuilder
+     */
+    public T withPreparedStatementsPrewarmFor(List<SchemaNameProvider> schemaNameProviders) {
+        configMap.put(PREPARED_STATEMENTS_PREWARM_SCHEMA_NAME_PROVIDERS, schemaNameProviders);
+        return getThis();
+    }
+
     /**
      * Define the global insert strategy
      *
@@ -424,6 +471,29 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         return getThis();
     }
 
+    /**
+     * Define on which thread the futures returned by the driver are completed.
+     * <br/>
+     * With {@link info.archinnov.achilles.async.CompletionMode#EXECUTOR}, results hop from the driver I/O thread
+     * to the executor service before being mapped. With {@link info.archinnov.achilles.async.CompletionMode#DIRECT},
+     * results are mapped directly on the driver I/O thread, callbacks registered on the returned futures
+     * must then never block.
+     * <br/>
+     * When a {@link info.archinnov.achilles.metrics.MetricsRecorder} is provided, the hop latency and the executor
+     * queue depth of each completion are recorded for the chosen mode.
+     * <br/>
+     * Default value is <strong>CompletionMode.EXECUTOR</strong>
+     *
+     * @param completionMode completion mode
+     * @return ManagerFactoryBuilder
+     * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Asynchronous-Operations">Asynchronous Operations</a>
+     */
+    public T withCompletionMode(CompletionMode completionMode) {
+        Validator.validateNotNull(completionMode, "The completion mode should not be null");
+        configMap.put(COMPLETION_MODE, completionMode);
+        return getThis();
+    }
+
     /**
      * Define a list of entities to be managed by <strong>Achilles</strong>.
      * Specifically, schema validation will be performed at bootstrap for those entities
@@ -557,4 +627,167 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         configMap.put(DML_RESULTS_DISPLAY_SIZE, maxDMLResultsDisplayed);
         return getThis();
     }
+
+    /**
+     * When the ACHILLES_DML_STATEMENT logger or an entity logger is debug-enabled, only log
+     * on average 1 statement out of <em>sampleRate</em>. Default value is <strong>1</strong> (log every statement)
+     *
+     * @param sampleRate log 1 statement out of sampleRate
+     * @return ManagerFactoryBuilder
+     */
+    public T withDMLLoggingSampleRate(int sampleRate) {
+        configMap.put(DML_LOGGING_SAMPLE_RATE, sampleRate);
+        return getThis();
+    }
+
+    /**
+     * When the ACHILLES_DML_STATEMENT logger or an entity logger is debug-enabled, only log
+     * the statements whose execution took at least the given threshold, along with their execution time.
+     * <br/>
+     * Default value is <strong>0</strong> (log statements regardless of their execution time)
+     *
+     * @param slowQueryThresholdInMillis threshold in milliseconds
+     * @return ManagerFactoryBuilder
+     */
+    public T withDMLLoggingSlowQueryThresholdInMillis(long slowQueryThresholdInMillis) {
+        configMap.put(DML_LOGGING_SLOW_QUERY_THRESHOLD_IN_MS, slowQueryThresholdInMillis);
+        return getThis();
+    }
+
+    /**
+     * Deliver the query traces of the traced statements to the given sink instead of the
+     * ACHILLES_DML_STATEMENT logger or the entity loggers.
+     * <br/>
+     * Traces are fetched asynchronously once the result of the statement has been received
+     * and the sink is called on the Achilles executor
+     *
+     * @param queryTraceSink query trace sink
+     * @return ManagerFactoryBuilder
+     */
+    public T withQueryTraceSink(QueryTraceSink queryTraceSink) {
+        Validator.validateNotNull(queryTraceSink, "The query trace sink should not be null");
+        configMap.put(QUERY_TRACE_SINK, queryTraceSink);
+        return getThis();
+    }
+
+    /**
+     * When the ACHILLES_DML_STATEMENT logger or an entity logger is trace-enabled, only trace
+     * on average 1 statement out of <em>sampleRate</em>. Statements with explicit <em>withTracing()</em>
+     * are always traced. Default value is <strong>1</strong> (trace every statement)
+     *
+     * @param sampleRate trace 1 statement out of sampleRate
+     * @return ManagerFactoryBuilder
+     */
+    public T withTracingSampleRate(int sampleRate) {
+        configMap.put(TRACING_SAMPLE_RATE, sampleRate);
+        return getThis();
+    }
+
+    /**
+     * When the ACHILLES_DML_STATEMENT logger or an entity logger is trace-enabled, trace at most
+     * the given number of statements per second for each query string.
+     * <br/>
+     * Default value is <strong>0</strong> (no limit)
+     *
+     * @param maxPerSecondPerQuery max number of traced statements per second and per query string
+     * @return ManagerFactoryBuilder
+     */
+    public T withTracingMaxPerSecondPerQuery(int maxPerSecondPerQuery) {
+        configMap.put(TRACING_MAX_PER_SECOND_PER_QUERY, maxPerSecondPerQuery);
+        return getThis();
+    }
+
+    /**
+     * Record the latency, in-flight count, errors, LWT failures and mapped rows of each statement
+     * executed by Achilles, keyed by entity class, operation type and statement.
+     * <br/>
+     * Use an instance of {@link info.archinnov.achilles.metrics.MetricsRegistry} to poll the metrics.
+     * By default, no metrics are recorded
+     *
+     * @param metricsRecorder metrics recorder
+     * @return ManagerFactoryBuilder
+     */
+    public T withMetricsRecorder(MetricsRecorder metricsRecorder) {
+        Validator.validateNotNull(metricsRecorder, "The metrics recorder should not be null");
+        configMap.put(METRICS_RECORDER, metricsRecorder);
+        return getThis();
+    }
+
+    /**
+     * Export the metrics registry as an MXBean in the platform MBean server. If no
+     * metrics recorder has been provided, a {@link info.archinnov.achilles.metrics.MetricsRegistry} is created.
+     * <br/>
+     * Default value is <strong>false</strong>
+     *
+     * @param exportMetricsToJMX whether to export the metrics to JMX
+     * @return ManagerFactoryBuilder
+     */
+    public T doExportMetricsToJMX(boolean exportMetricsToJMX) {
+        configMap.put(METRICS_JMX_EXPORT, exportMetricsToJMX);
+        return getThis();
+    }
+
+    /**
+     * Enable a read-through near cache for the <strong>findById()</strong> operations of the given entity class.
+     * Entries are invalidated by the insert, update and delete operations executed by Achilles on this entity.
+     * <br/>
+     * A near cache defined with {@link info.archinnov.achilles.annotations.NearCache} on the entity class
+     * takes precedence over this configuration
+     * <pre class="code"><code class="java">
+     *
+     *  ManagerFactory factory = ManagerFactoryBuilder
+     *                               .builder(cluster)
+     *                               ...
+     *                               <strong>.withNearCache(User.class, 10_000, 60, TimeUnit.SECONDS)</strong>
+     *                               .build();
+     * </code></pre>
+     * <br/>
+     * <em>Remark: you can call this method as many time as there are entities to cache</em>
+     *
+     * @param entityClass      entity class, must be a table
+     * @param maximumSize      maximum number of entries kept in the near cache
+     * @param expireAfterWrite duration after which an entry expires from the near cache
+     * @param timeUnit         time unit of the expiration
+     * @return ManagerFactoryBuilder
+     */
+    public T withNearCache(Class<?> entityClass, long maximumSize, long expireAfterWrite, TimeUnit timeUnit) {
+        Validator.validateNotNull(entityClass, "The near cached entity class should not be null");
+        Validator.validateNotNull(timeUnit, "The near cache expiration time unit should not be null");
+        if (!configMap.containsKey(NEAR_CACHE_OPTIONS_MAP)) {
+            configMap.put(NEAR_CACHE_OPTIONS_MAP, new HashMap<Class<?>, NearCacheOptions>());
+        }
+        configMap.<Map<Class<?>, NearCacheOptions>>getTyped(NEAR_CACHE_OPTIONS_MAP)
+                .put(entityClass, new NearCacheOptions(maximumSize, expireAfterWrite, timeUnit));
+        return getThis();
+    }
+
+    /**
+     * Enable change tracking for the given entity classes. The <strong>update()</strong> of an instance loaded
+     * by Achilles then only writes the columns modified since it has been loaded. Modified non-frozen collections
+     * are written as appends/removals of elements when possible.
+     * <br/>
+     * The <strong>update()</strong> of an unmodified instance is skipped and completes with a null
+     * {@link com.datastax.driver.core.ExecutionInfo}, except in a batch or with IF EXISTS where all its columns are written.
+     * <br/>
+     * Instances not loaded by Achilles are updated as usual
+     * <pre class="code"><code class="java">
+     *
+     *  ManagerFactory factory = ManagerFactoryBuilder
+     *                               .builder(cluster)
+     *                               ...
+     *                               <strong>.withChangeTrackingFor(User.class, Account.class)</strong>
+     *                               .build();
+     * </code></pre>
+     *
+     * @param entityClasses entity classes to track, must be tables
+     * @return ManagerFactoryBuilder
+     */
+    public T withChangeTrackingFor(Class<?>... entityClasses) {
+        Validator.validateNotNull(entityClasses, "The change tracking entity classes should not be null");
+        if (!configMap.containsKey(CHANGE_TRACKING_ENTITIES)) {
+            configMap.put(CHANGE_TRACKING_ENTITIES, new HashSet<Class<?>>());
+        }
+        configMap.<Set<Class<?>>>getTyped(CHANGE_TRACKING_ENTITIES).addAll(Arrays.asList(entityClasses));
+        return getThis();
+    }
 }
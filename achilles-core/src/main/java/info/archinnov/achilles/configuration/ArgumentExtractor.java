@@ -17,6 +17,7 @@
 package info.archinnov.achilles.configuration;
 
 import static info.archinnov.achilles.configuration.ConfigurationParameters.*;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
 import static javax.validation.Validation.buildDefaultValidatorFactory;
 
 import java.util.*;
@@ -32,16 +33,25 @@ import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 
+import info.archinnov.achilles.async.CompletionMode;
 import info.archinnov.achilles.async.DefaultExecutorThreadFactory;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.cache.NearCacheOptions;
 import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
 import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
 import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.statements.DMLLogSampler;
+import info.archinnov.achilles.internals.statements.TracingSampler;
 import info.archinnov.achilles.internals.types.ConfigMap;
 import info.archinnov.achilles.json.DefaultJacksonMapperFactory;
 import info.archinnov.achilles.json.JacksonMapperFactory;
+import info.archinnov.achilles.metrics.MetricsRecorder;
+import info.archinnov.achilles.metrics.MetricsRegistry;
+import info.archinnov.achilles.metrics.NoOpMetricsRecorder;
+import info.archinnov.achilles.tracing.QueryTraceSink;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
@@ -56,6 +66,7 @@ import info.archinnov.achilles.type.strategy.NamingStrategy;
 public class ArgumentExtractor {
 
     static final int DEFAULT_LRU_CACHE_SIZE = 10000;
+    static final int DEFAULT_STATIC_STATEMENTS_PREPARE_MAX_IN_FLIGHT = 64;
     static final boolean DEFAULT_ENABLE_PRE_MUTATE_BEAN_VALIDATION = false;
     static final boolean DEFAULT_ENABLE_POST_LOAD_BEAN_VALIDATION = false;
     static final int DEFAULT_THREAD_POOL_MIN_THREAD_COUNT = 10;
@@ -87,11 +98,14 @@ public class ArgumentExtractor {
         configContext.setPostLoadBeanValidationEnabled(initPostLoadBeanValidation(configurationMap));
         configContext.setInterceptors(initInterceptors(configurationMap));
         configContext.setPreparedStatementLRUCacheSize(initPreparedStatementsCacheSize(configurationMap));
+        configContext.setStaticStatementsPrepareMaxInFlight(initStaticStatementsPrepareMaxInFlight(configurationMap));
+        configContext.setPrewarmSchemaNameProviders(initPrewarmSchemaNameProviders(configurationMap));
         configContext.setGlobalInsertStrategy(initInsertStrategy(configurationMap));
         configContext.setGlobalNamingStrategy(initGlobalNamingStrategy(configurationMap));
         configContext.setSchemaNameProvider(initSchemaNameProvider(configurationMap));
         configContext.setExecutorService(initExecutorService(configurationMap));
         configContext.setProvidedExecutorService(initProvidedExecutorService(configurationMap));
+        configContext.setCompletionMode(initCompletionMode(configurationMap));
         configContext.setDefaultBeanFactory(initDefaultBeanFactory(configurationMap));
         configContext.setSession(initSession(cluster, configurationMap));
         configContext.setProvidedSession(initProvidedSession(configurationMap));
@@ -99,6 +113,13 @@ public class ArgumentExtractor {
         configContext.setRuntimeCodecs(initRuntimeCodecs(configurationMap));
         configContext.setValidateSchema(initValidateSchema(configurationMap));
         configContext.setDMLResultsDisplaySize(initDMLResultsDisplayLimit(configurationMap));
+        configContext.setDMLLogSampler(initDMLLogSampler(configurationMap));
+        configContext.setQueryTraceSink(initQueryTraceSink(configurationMap));
+        configContext.setTracingSampler(initTracingSampler(configurationMap));
+        configContext.setMetricsJMXExport(initMetricsJMXExport(configurationMap));
+        configContext.setMetricsRecorder(initMetricsRecorder(configurationMap));
+        configContext.setNearCacheOptionsMap(initNearCacheOptionsMap(configurationMap));
+        configContext.setChangeTrackingEntities(initChangeTrackingEntities(configurationMap));
         return configContext;
     }
 
@@ -228,6 +249,13 @@ public class ArgumentExtractor {
         return configMap.getTypedOr(PREPARED_STATEMENTS_CACHE_SIZE, DEFAULT_LRU_CACHE_SIZE);
     }
 
+    static int initStaticStatementsPrepareMaxInFlight(ConfigMap configMap) {
+        LOGGER.trace("Extract or init max in-flight static statements preparation");
+        final Integer maxInFlight = configMap.getTypedOr(STATIC_STATEMENTS_PREPARE_MAX_IN_FLIGHT, DEFAULT_STATIC_STATEMENTS_PREPARE_MAX_IN_FLIGHT);
+        validateTrue(maxInFlight > 0, "The max in-flight static statements preparation should be strictly positive");
+        return maxInFlight;
+    }
+
     public static InsertStrategy initInsertStrategy(ConfigMap configMap) {
         LOGGER.trace("Extract or init global Insert strategy");
         return configMap.getTypedOr(GLOBAL_INSERT_STRATEGY, DEFAULT_INSERT_STRATEGY);
@@ -253,6 +281,11 @@ public class ArgumentExtractor {
         return Optional.ofNullable(configMap.<ExecutorService>getTyped(EXECUTOR_SERVICE)).isPresent();
     }
 
+    static CompletionMode initCompletionMode(ConfigMap configMap) {
+        LOGGER.trace("Extract 'completion mode' from configuration map");
+        return configMap.getTypedOr(COMPLETION_MODE, CompletionMode.EXECUTOR);
+    }
+
     private static Supplier<ExecutorService> initializeDefaultExecutor(final ConfigMap configMap) {
         return () -> {
             int minThreads = configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_MIN_THREAD, DEFAULT_THREAD_POOL_MIN_THREAD_COUNT);
@@ -275,13 +308,25 @@ public class ArgumentExtractor {
         }
     }
 
+    static int initPreparedStatementsCacheSizePerTenant(ConfigMap configMap) {
+        LOGGER.trace("Extract or init prepared statements cache size per tenant");
+        final Integer cacheSize = configMap.getTypedOr(PREPARED_STATEMENTS_CACHE_SIZE_PER_TENANT, StatementsCache.DEFAULT_MAX_STATEMENTS_PER_TENANT);
+        validateTrue(cacheSize > 0, "The prepared statements cache size per tenant should be strictly positive");
+        return cacheSize;
+    }
+
+    static List<SchemaNameProvider> initPrewarmSchemaNameProviders(ConfigMap configMap) {
+        LOGGER.trace("Extract or init schema name providers of tenants to pre-warm");
+        return configMap.getTypedOr(PREPARED_STATEMENTS_PREWARM_SCHEMA_NAME_PROVIDERS, new ArrayList<>());
+    }
+
     private static StatementsCache initStatementCache(final ConfigMap configMap) {
         LOGGER.trace("Extract or init default statement cache");
         if (configMap.containsKey(STATEMENTS_CACHE)) {
             return configMap.getTyped(STATEMENTS_CACHE);
         } else {
             final Integer cacheSize = initPreparedStatementsCacheSize(configMap);
-            return new StatementsCache(cacheSize);
+            return new StatementsCache(cacheSize, initPreparedStatementsCacheSizePerTenant(configMap));
         }
     }
 
@@ -302,4 +347,60 @@ public class ArgumentExtractor {
             return DEFAULT_DML_RESULTS_DISPLAY_SIZE;
         }
     }
+
+    static DMLLogSampler initDMLLogSampler(ConfigMap configMap) {
+        LOGGER.trace("Extract or init DML logging sampling");
+        final Integer sampleRate = configMap.getTypedOr(DML_LOGGING_SAMPLE_RATE, 1);
+        final Long slowQueryThreshold = configMap.getTypedOr(DML_LOGGING_SLOW_QUERY_THRESHOLD_IN_MS, 0L);
+        validateTrue(sampleRate > 0, "The DML logging sample rate should be strictly positive");
+        validateTrue(slowQueryThreshold >= 0, "The DML logging slow query threshold should be positive");
+        if (sampleRate == 1 && slowQueryThreshold == 0) {
+            return DMLLogSampler.LOG_ALL;
+        }
+        return new DMLLogSampler(sampleRate, slowQueryThreshold);
+    }
+
+    static Optional<QueryTraceSink> initQueryTraceSink(ConfigMap configMap) {
+        LOGGER.trace("Extract query trace sink");
+        return Optional.ofNullable(configMap.getTyped(QUERY_TRACE_SINK));
+    }
+
+    static TracingSampler initTracingSampler(ConfigMap configMap) {
+        LOGGER.trace("Extract or init tracing sampling");
+        final Integer sampleRate = configMap.getTypedOr(TRACING_SAMPLE_RATE, 1);
+        final Integer maxPerSecondPerQuery = configMap.getTypedOr(TRACING_MAX_PER_SECOND_PER_QUERY, 0);
+        validateTrue(sampleRate > 0, "The tracing sample rate should be strictly positive");
+        validateTrue(maxPerSecondPerQuery >= 0, "The max number of traces per second per query should be positive");
+        if (sampleRate == 1 && maxPerSecondPerQuery == 0) {
+            return TracingSampler.TRACE_ALL;
+        }
+        return new TracingSampler(sampleRate, maxPerSecondPerQuery);
+    }
+
+    static boolean initMetricsJMXExport(ConfigMap configMap) {
+        LOGGER.trace("Extract 'metrics JMX export' from configuration map");
+        return configMap.getTypedOr(METRICS_JMX_EXPORT, false);
+    }
+
+    static MetricsRecorder initMetricsRecorder(ConfigMap configMap) {
+        LOGGER.trace("Extract or init metrics recorder");
+        final boolean jmxExport = initMetricsJMXExport(configMap);
+        if (configMap.containsKey(METRICS_RECORDER)) {
+            final MetricsRecorder metricsRecorder = configMap.getTyped(METRICS_RECORDER);
+            validateTrue(!jmxExport || metricsRecorder instanceof MetricsRegistry,
+                    "The metrics recorder should be an instance of %s to be exported to JMX", MetricsRegistry.class.getCanonicalName());
+            return metricsRecorder;
+        }
+        return jmxExport ? new MetricsRegistry() : NoOpMetricsRecorder.INSTANCE;
+    }
+
+    static Map<Class<?>, NearCacheOptions> initNearCacheOptionsMap(ConfigMap configMap) {
+        LOGGER.trace("Extract near cache options map from configuration map");
+        return configMap.getTypedOr(NEAR_CACHE_OPTIONS_MAP, ImmutableMap.<Class<?>, NearCacheOptions>of());
+    }
+
+    static Set<Class<?>> initChangeTrackingEntities(ConfigMap configMap) {
+        LOGGER.trace("Extract change tracking entities from configuration map");
+        return configMap.getTypedOr(CHANGE_TRACKING_ENTITIES, ImmutableSet.<Class<?>>of());
+    }
 }
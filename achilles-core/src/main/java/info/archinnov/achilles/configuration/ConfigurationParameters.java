@@ -49,6 +49,65 @@ package info.archinnov.achilles.configuration;
  *         <strong>DML_RESULTS_DISPLAY_SIZE</strong> (OPTIONAL): set the max number of returned rows to be displayed if ACHILLES_DML_STATEMENT logger or entity logger is debug-enabled
  *         .There is a <strong>hard-coded</strong> limit of 100 rows so if you provide a greater value it will be capped to 100 and floor to 0 (e.g. disable returned results display)
  *     </li>
+ *     <li>
+ *         <strong>DML_LOGGING_SAMPLE_RATE</strong> (OPTIONAL): when DML logging is enabled, log on average 1 statement out of N. Default value is <code>1</code> (log all statements)
+ *     </li>
+ *     <li>
+ *         <strong>DML_LOGGING_SLOW_QUERY_THRESHOLD_IN_MS</strong> (OPTIONAL): when DML logging is enabled and this threshold is strictly positive,
+ *         only log statements whose execution took at least this number of milliseconds, with their execution time. Default value is <code>0</code> (disabled)
+ *     </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Tracing</h4>
+ * <ul>
+ *     <li>
+ *         <strong>QUERY_TRACE_SINK</strong> (OPTIONAL): an implementation of {@link info.archinnov.achilles.tracing.QueryTraceSink}
+ *         receiving the query traces of the traced statements instead of the ACHILLES_DML_STATEMENT or entity loggers.
+ *         Traces are always fetched asynchronously, after the result of the statement has been received
+ *     </li>
+ *     <li>
+ *         <strong>TRACING_SAMPLE_RATE</strong> (OPTIONAL): when the ACHILLES_DML_STATEMENT logger or an entity logger is trace-enabled,
+ *         trace on average 1 statement out of N. Statements with explicit <em>withTracing()</em> are always traced. Default value is <code>1</code> (trace all statements)
+ *     </li>
+ *     <li>
+ *         <strong>TRACING_MAX_PER_SECOND_PER_QUERY</strong> (OPTIONAL): when the ACHILLES_DML_STATEMENT logger or an entity logger is trace-enabled
+ *         and this limit is strictly positive, trace at most N statements per second for each query string. Default value is <code>0</code> (no limit)
+ *     </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Metrics</h4>
+ * <ul>
+ *     <li>
+ *         <strong>METRICS_RECORDER</strong> (OPTIONAL): an implementation of {@link info.archinnov.achilles.metrics.MetricsRecorder}
+ *         recording the latency, in-flight count, errors, LWT failures and mapped rows of each statement, keyed by entity class, operation type and statement.
+ *         Use an instance of {@link info.archinnov.achilles.metrics.MetricsRegistry} to poll the metrics. Default value is a no-op recorder
+ *     </li>
+ *     <li>
+ *         <strong>METRICS_JMX_EXPORT</strong> (OPTIONAL): export the metrics registry as an MXBean in the platform MBean server.
+ *         A {@link info.archinnov.achilles.metrics.MetricsRegistry} is created if no recorder is provided. Default value is <code>false</code>
+ *     </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Near cache</h4>
+ * <ul>
+ *     <li>
+ *         <strong>NEAR_CACHE_OPTIONS_MAP</strong> (OPTIONAL): a map of entity class to {@link info.archinnov.achilles.internals.cache.NearCacheOptions}
+ *         enabling a read-through near cache for the <strong>findById()</strong> operations of these entities.
+ *         A near cache defined with {@link info.archinnov.achilles.annotations.NearCache} on the entity class takes precedence
+ *     </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Change tracking</h4>
+ * <ul>
+ *     <li>
+ *         <strong>CHANGE_TRACKING_ENTITIES</strong> (OPTIONAL): a set of entity classes whose loaded instances are tracked.
+ *         The <strong>update()</strong> of a tracked instance only writes the columns modified since it has been loaded
+ *         and appends/removes collection elements when possible
+ *     </li>
  * </ul>
  * <br/>
  * <br/>
@@ -133,9 +192,9 @@ package info.archinnov.achilles.configuration;
  * <ul>
  * <li><strong>PREPARED_STATEMENTS_CACHE_SIZE</strong> (OPTIONAL): define the LRU cache size for prepared statements cache.
 
- By default, common operations like <code>insert</code>, <code>find</code> and <code>delete</code> are prepared before-hand for each entity class. For <code>update</code> and all operations with timestamp, since the updated fields and timestamp value are only known at runtime, <strong>Achilless</strong> will prepare the statements only on the fly and save them into a Guava LRU cache.</p>
- The default size is <code>10000</code> entries. Once the limit is reached, oldest prepared statements are evicted, causing <strong>Achilles</strong> to re-prepare them and get warnings from the Java Driver.</p>
- You can get details on the LRU cache state by putting the logger <code>info.archinnov.achilles.internal.statement.cache.CacheManager</code> on <strong>DEBUG</strong></p>
+ By default, common operations like <code>insert</code>, <code>find</code> and <code>delete</code> are prepared before-hand for each entity class. For <code>update</code> and all operations with timestamp, since the updated fields and timestamp value are only known at runtime, <strong>Achilless</strong> will prepare the statements only on the fly and save them into a bounded cache (W-TinyLFU eviction policy).</p>
+ The default size is <code>10000</code> entries. Once the limit is reached, least frequently used prepared statements are evicted, causing <strong>Achilles</strong> to re-prepare them and get warnings from the Java Driver.</p>
+ You can poll the cache hit/miss/eviction/load time counters with <code>StatementsCache.getDynamicCacheStatistics()</code>, <code>StatementsCache.getShapeCacheStatistics()</code> and <code>StatementsCache.getTenantCacheStatistics()</code></p>
  * </li>
  * <li>
  * <strong>STATEMENTS_CACHE</strong> (OPTIONAL): provide an instance of the class {@link info.archinnov.achilles.internals.cache.StatementsCache}
@@ -145,6 +204,20 @@ package info.archinnov.achilles.configuration;
  * Remark: if your provide the statement cache object yourself, the parameter PREPARED_STATEMENTS_CACHE_SIZE will be ignored
  * </em>
  * </li>
+ * <li>
+ * <strong>STATIC_STATEMENTS_PREPARE_MAX_IN_FLIGHT</strong> (OPTIONAL): maximum number of static statements (<code>insert</code>,
+ * <code>find</code>, <code>delete</code>) being prepared asynchronously at the same time during bootstrap. Default value is <code>64</code>
+ * </li>
+ * <li>
+ * <strong>PREPARED_STATEMENTS_CACHE_SIZE_PER_TENANT</strong> (OPTIONAL): when a runtime schema name provider is used, the
+ * <code>insert</code>, <code>find</code> and <code>delete</code> statements are cached per tenant (resolved keyspace) instead
+ * of the shared LRU cache. This parameter bounds the number of statements cached for each tenant. Default value is <code>1000</code>.
+ * The statements of a tenant can be dropped with <code>ManagerFactory.evictPreparedStatementsForKeyspace(keyspace)</code>
+ * </li>
+ * <li>
+ * <strong>PREPARED_STATEMENTS_PREWARM_SCHEMA_NAME_PROVIDERS</strong> (OPTIONAL): list of schema name providers, one for each
+ * tenant whose <code>insert</code>, <code>find</code> and <code>delete</code> statements should be prepared at bootstrap
+ * </li>
  * </ul>
  * <br/>
  * <br/>
@@ -250,6 +323,12 @@ package info.archinnov.achilles.configuration;
  * </code></pre>
  * For more details, please check <strong><a href="https://github.com/doanduyhai/Achilles/wiki/Asynchronous-Operations">Asynchronous Operations</a></strong></p>
  * </li>
+ * <li>
+ * <strong>COMPLETION_MODE</strong> (OPTIONAL): define on which thread the futures returned by the driver are completed,
+ * see {@link info.archinnov.achilles.async.CompletionMode}. Default value is <strong>CompletionMode.EXECUTOR</strong>:
+ * results hop from the driver I/O thread to the executor service. With <strong>CompletionMode.DIRECT</strong>, results
+ * are mapped directly on the driver I/O thread
+ * </li>
  * </ul>
  */
 public enum ConfigurationParameters {
@@ -279,6 +358,9 @@ public enum ConfigurationParameters {
     BEAN_VALIDATION_VALIDATOR("achilles.bean.validation.validator"),
 
     PREPARED_STATEMENTS_CACHE_SIZE("achilles.prepared.statements.cache.size"),
+    STATIC_STATEMENTS_PREPARE_MAX_IN_FLIGHT("achilles.static.statements.prepare.max.in.flight"),
+    PREPARED_STATEMENTS_CACHE_SIZE_PER_TENANT("achilles.prepared.statements.cache.size.per.tenant"),
+    PREPARED_STATEMENTS_PREWARM_SCHEMA_NAME_PROVIDERS("achilles.prepared.statements.prewarm.schema.name.providers"),
 
     DEFAULT_BEAN_FACTORY("achilles.bean.factory"),
 
@@ -296,8 +378,22 @@ public enum ConfigurationParameters {
     DEFAULT_EXECUTOR_SERVICE_THREAD_KEEPALIVE("achilles.executor.service.default.thread.keepalive"),
     DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE("achilles.executor.service.default.queue.size"),
     DEFAULT_EXECUTOR_SERVICE_THREAD_FACTORY("achilles.executor.service.thread.factory"),
+    COMPLETION_MODE("achilles.completion.mode"),
+
+    DML_RESULTS_DISPLAY_SIZE("achilles.dml.results_display.size"),
+    DML_LOGGING_SAMPLE_RATE("achilles.dml.logging.sample.rate"),
+    DML_LOGGING_SLOW_QUERY_THRESHOLD_IN_MS("achilles.dml.logging.slow.query.threshold.ms"),
+
+    QUERY_TRACE_SINK("achilles.tracing.sink"),
+    TRACING_SAMPLE_RATE("achilles.tracing.sample.rate"),
+    TRACING_MAX_PER_SECOND_PER_QUERY("achilles.tracing.max.per.second.per.query"),
+
+    METRICS_RECORDER("achilles.metrics.recorder"),
+    METRICS_JMX_EXPORT("achilles.metrics.jmx.export"),
+
+    NEAR_CACHE_OPTIONS_MAP("achilles.near_cache.options.map"),
 
-    DML_RESULTS_DISPLAY_SIZE("achilles.dml.results_display.size");
+    CHANGE_TRACKING_ENTITIES("achilles.change_tracking.entities");
 
 
     private String label;
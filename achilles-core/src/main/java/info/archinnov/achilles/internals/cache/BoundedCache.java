@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.internals.cache;
+
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache used to store prepared statements.
+ * <br/>
+ * Implementations should be thread-safe and record their statistics
+ */
+public interface BoundedCache<K, V> {
+
+    V getIfPresent(K key);
+
+    /**
+     * Return the value for the given key, loading it at most once with the loader if absent
+     */
+    V get(K key, Function<? super K, ? extends V> loader);
+
+    /**
+     * Return the value for the given lookup key, loading it at most once with the loader if absent.
+     * On a miss, the value is stored under the key returned by <em>storedKey</em>, so that a mutable
+     * lookup key is only copied on a miss. Each lookup records exactly one hit or one miss
+     */
+    default V get(K lookupKey, Function<? super K, ? extends K> storedKey, Function<? super K, ? extends V> loader) {
+        return get(storedKey.apply(lookupKey), loader);
+    }
+
+    long estimatedSize();
+
+    long maximumSize();
+
+    CacheStatistics statistics();
+}
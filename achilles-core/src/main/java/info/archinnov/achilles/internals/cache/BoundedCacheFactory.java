@@ -0,0 +1,25 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.internals.cache;
+
+/**
+ * Factory of {@link info.archinnov.achilles.internals.cache.BoundedCache}, to plug
+ * a custom cache implementation into the {@link info.archinnov.achilles.internals.cache.StatementsCache}
+ */
+public interface BoundedCacheFactory {
+
+    <K, V> BoundedCache<K, V> create(long maximumSize);
+}
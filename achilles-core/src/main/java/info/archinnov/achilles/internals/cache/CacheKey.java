@@ -18,14 +18,16 @@ package info.archinnov.achilles.internals.cache;
 
 import static info.archinnov.achilles.internals.statements.PreparedStatementGenerator.*;
 
-import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
 
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
@@ -33,12 +35,33 @@ import info.archinnov.achilles.type.SchemaNameProvider;
 
 public class CacheKey {
 
+    private static final AtomicInteger ENTITY_INDEX_SEQUENCE = new AtomicInteger();
+    private static final ClassValue<Integer> ENTITY_INDEXES = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return ENTITY_INDEX_SEQUENCE.getAndIncrement();
+        }
+    };
+
     private final Class<?> entityClass;
     private final Operation operation;
+    private final int entityIndex;
 
     public CacheKey(Class<?> entityClass, Operation operation) {
         this.entityClass = entityClass;
         this.operation = operation;
+        this.entityIndex = ENTITY_INDEXES.get(entityClass);
+    }
+
+    /**
+     * Stable index of the entity class, shared by all statements caches of the JVM
+     */
+    public int getEntityIndex() {
+        return entityIndex;
+    }
+
+    public Operation getOperation() {
+        return operation;
     }
 
     @Override
@@ -46,13 +69,13 @@ public class CacheKey {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         CacheKey cacheKey = (CacheKey) o;
-        return Objects.equals(entityClass, cacheKey.entityClass) &&
-                Objects.equals(operation, cacheKey.operation);
+        return entityIndex == cacheKey.entityIndex &&
+                operation == cacheKey.operation;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(entityClass, operation);
+        return 31 * entityIndex + operation.ordinal();
     }
 
     @Override
@@ -73,12 +96,12 @@ public class CacheKey {
                     LOGGER.debug(String.format("Prepare SELECT statement for entity of type %s",
                             meta.entityClass.getCanonicalName()));
                 }
+                return getStaticOrTenantStatement(rte, meta, cassandraOptions);
+            }
 
-                final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, FIND));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateSelectQuery(meta, provider))
-                        .orElse(psFromCache);
-
+            @Override
+            public RegularStatement generateStatement(AbstractEntityProperty<?> meta, Optional<SchemaNameProvider> schemaNameProvider) {
+                return generateSelectQuery(meta, schemaNameProvider);
             }
         },
         INSERT {
@@ -88,10 +111,12 @@ public class CacheKey {
                     LOGGER.debug(String.format("Prepare INSERT statement for entity of type %s",
                             meta.entityClass.getCanonicalName()));
                 }
-                final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsert(meta, provider))
-                        .orElse(psFromCache);
+                return getStaticOrTenantStatement(rte, meta, cassandraOptions);
+            }
+
+            @Override
+            public RegularStatement generateStatement(AbstractEntityProperty<?> meta, Optional<SchemaNameProvider> schemaNameProvider) {
+                return generateInsert(meta, schemaNameProvider);
             }
         },
         INSERT_JSON {
@@ -101,10 +126,12 @@ public class CacheKey {
                     LOGGER.debug(String.format("Prepare INSERT JSON statement for entity of type %s",
                             meta.entityClass.getCanonicalName()));
                 }
-                final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_JSON));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertJSON(meta, provider))
-                        .orElse(psFromCache);
+                return getStaticOrTenantStatement(rte, meta, cassandraOptions);
+            }
+
+            @Override
+            public RegularStatement generateStatement(AbstractEntityProperty<?> meta, Optional<SchemaNameProvider> schemaNameProvider) {
+                return generateInsertJSON(meta, schemaNameProvider);
             }
         },
         INSERT_STATIC {
@@ -114,10 +141,12 @@ public class CacheKey {
                     LOGGER.debug(String.format("Prepare INSERT STATIC statement for entity of type %s",
                             meta.entityClass.getCanonicalName()));
                 }
-                final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_STATIC));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertStatic(meta, provider))
-                        .orElse(psFromCache);
+                return getStaticOrTenantStatement(rte, meta, cassandraOptions);
+            }
+
+            @Override
+            public RegularStatement generateStatement(AbstractEntityProperty<?> meta, Optional<SchemaNameProvider> schemaNameProvider) {
+                return generateInsertStatic(meta, schemaNameProvider);
             }
         },
         INSERT_IF_NOT_EXISTS {
@@ -127,10 +156,12 @@ public class CacheKey {
                     LOGGER.debug(String.format("Prepare INSERT IF NOT EXISTS statement for entity of type %s",
                             meta.entityClass.getCanonicalName()));
                 }
-                final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_IF_NOT_EXISTS));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertIfNotExists(meta, provider))
-                        .orElse(psFromCache);
+                return getStaticOrTenantStatement(rte, meta, cassandraOptions);
+            }
+
+            @Override
+            public RegularStatement generateStatement(AbstractEntityProperty<?> meta, Optional<SchemaNameProvider> schemaNameProvider) {
+                return generateInsertIfNotExists(meta, schemaNameProvider);
             }
         },
         INSERT_IF_NOT_EXISTS_JSON {
@@ -140,10 +171,12 @@ public class CacheKey {
                     LOGGER.debug(String.format("Prepare INSERT JSON ... IF NOT EXISTS statement for entity of type %s",
                             meta.entityClass.getCanonicalName()));
                 }
-                final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_IF_NOT_EXISTS_JSON));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertIfNotExistsJson(meta, provider))
-                        .orElse(psFromCache);
+                return getStaticOrTenantStatement(rte, meta, cassandraOptions);
+            }
+
+            @Override
+            public RegularStatement generateStatement(AbstractEntityProperty<?> meta, Optional<SchemaNameProvider> schemaNameProvider) {
+                return generateInsertIfNotExistsJson(meta, schemaNameProvider);
             }
         },
         INSERT_STATIC_IF_NOT_EXISTS {
@@ -153,10 +186,12 @@ public class CacheKey {
                     LOGGER.debug(String.format("Prepare INSERT STATIC IF NOT EXISTS statement for entity of type %s",
                             meta.entityClass.getCanonicalName()));
                 }
-                final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_STATIC_IF_NOT_EXISTS));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertStaticIfNotExists(meta, provider))
-                        .orElse(psFromCache);
+                return getStaticOrTenantStatement(rte, meta, cassandraOptions);
+            }
+
+            @Override
+            public RegularStatement generateStatement(AbstractEntityProperty<?> meta, Optional<SchemaNameProvider> schemaNameProvider) {
+                return generateInsertStaticIfNotExists(meta, schemaNameProvider);
             }
         },
         DELETE {
@@ -166,10 +201,12 @@ public class CacheKey {
                     LOGGER.debug(String.format("Prepare DELETE statement for entity of type %s",
                             meta.entityClass.getCanonicalName()));
                 }
-                final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, DELETE));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateDeleteByKeys(meta, provider))
-                        .orElse(psFromCache);
+                return getStaticOrTenantStatement(rte, meta, cassandraOptions);
+            }
+
+            @Override
+            public RegularStatement generateStatement(AbstractEntityProperty<?> meta, Optional<SchemaNameProvider> schemaNameProvider) {
+                return generateDeleteByKeys(meta, schemaNameProvider);
             }
         },
         DELETE_IF_EXISTS {
@@ -179,10 +216,12 @@ public class CacheKey {
                     LOGGER.debug(String.format("Prepare DELETE IF EXISTS statement for entity of type %s",
                             meta.entityClass.getCanonicalName()));
                 }
-                final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, DELETE_IF_EXISTS));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateDeleteByKeysIfExists(meta, provider))
-                        .orElse(psFromCache);
+                return getStaticOrTenantStatement(rte, meta, cassandraOptions);
+            }
+
+            @Override
+            public RegularStatement generateStatement(AbstractEntityProperty<?> meta, Optional<SchemaNameProvider> schemaNameProvider) {
+                return generateDeleteByKeysIfExists(meta, schemaNameProvider);
             }
         },
         DELETE_BY_PARTITION {
@@ -192,10 +231,12 @@ public class CacheKey {
                     LOGGER.debug(String.format("Prepare DELETE BY PARTITION statement for entity of type %s",
                             meta.entityClass.getCanonicalName()));
                 }
-                final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, DELETE_BY_PARTITION));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateDeleteByPartition(meta, provider))
-                        .orElse(psFromCache);
+                return getStaticOrTenantStatement(rte, meta, cassandraOptions);
+            }
+
+            @Override
+            public RegularStatement generateStatement(AbstractEntityProperty<?> meta, Optional<SchemaNameProvider> schemaNameProvider) {
+                return generateDeleteByPartition(meta, schemaNameProvider);
             }
         },
         UPDATE {
@@ -204,10 +245,33 @@ public class CacheKey {
                 //TODO
                 return null;
             }
+
+            @Override
+            public RegularStatement generateStatement(AbstractEntityProperty<?> meta, Optional<SchemaNameProvider> schemaNameProvider) {
+                throw new AchillesException("The UPDATE statement depends on the entity instance and cannot be generated from the entity meta data");
+            }
         };
 
         private static final Logger LOGGER = LoggerFactory.getLogger(Operation.class);
 
         public abstract PreparedStatement getPreparedStatement(RuntimeEngine rte, AbstractEntityProperty<?> meta, CassandraOptions cassandraOptions);
+
+        /**
+         * Generate the statement of this operation for the given entity, using the optional schema name provider
+         * to resolve the keyspace and table
+         */
+        public abstract RegularStatement generateStatement(AbstractEntityProperty<?> meta, Optional<SchemaNameProvider> schemaNameProvider);
+
+        /**
+         * Statement prepared at bootstrap, or the statement cached for the keyspace and
+         * table resolved by the runtime schema name provider if any
+         */
+        protected PreparedStatement getStaticOrTenantStatement(RuntimeEngine rte, AbstractEntityProperty<?> meta, CassandraOptions cassandraOptions) {
+            final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
+            if (provider.isPresent()) {
+                return rte.getTenantStatement(meta, this, provider.get());
+            }
+            return rte.getStaticCache(new CacheKey(meta.entityClass, this));
+        }
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.internals.cache;
+
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+/**
+ * Default {@link info.archinnov.achilles.internals.cache.BoundedCache}, backed by
+ * a Caffeine cache using the W-TinyLFU eviction policy
+ */
+public class CaffeineBoundedCache<K, V> implements BoundedCache<K, V> {
+
+    public static final BoundedCacheFactory FACTORY = new BoundedCacheFactory() {
+        @Override
+        public <K, V> BoundedCache<K, V> create(long maximumSize) {
+            return new CaffeineBoundedCache<>(maximumSize);
+        }
+    };
+
+    private final Cache<K, V> cache;
+    private final StatsCounter statsCounter = new ConcurrentStatsCounter();
+    private final long maximumSize;
+
+    public CaffeineBoundedCache(long maximumSize) {
+        this.maximumSize = maximumSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats(() -> statsCounter)
+                .build();
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return cache.get(key, loader);
+    }
+
+    /**
+     * The lookup key is probed through the map view, which does not record statistics,
+     * so that a miss is only recorded once by the loading get
+     */
+    @Override
+    public V get(K lookupKey, Function<? super K, ? extends K> storedKey, Function<? super K, ? extends V> loader) {
+        final V value = cache.asMap().get(lookupKey);
+        if (value != null) {
+            statsCounter.recordHits(1);
+            return value;
+        }
+        return cache.get(storedKey.apply(lookupKey), loader);
+    }
+
+    @Override
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public long maximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public CacheStatistics statistics() {
+        final CacheStats stats = cache.stats();
+        return new CacheStatistics(stats.hitCount(), stats.missCount(), stats.loadSuccessCount(),
+                stats.loadFailureCount(), stats.totalLoadTime(), stats.evictionCount(),
+                cache.estimatedSize(), maximumSize);
+    }
+}
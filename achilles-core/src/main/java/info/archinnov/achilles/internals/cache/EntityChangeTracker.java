@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.cache;
+
+import static java.lang.String.format;
+
+import java.util.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.ListProperty;
+import info.archinnov.achilles.internals.metamodel.MapProperty;
+import info.archinnov.achilles.internals.metamodel.SetProperty;
+import info.archinnov.achilles.internals.metamodel.columns.ColumnType;
+import info.archinnov.achilles.internals.statements.BoundValuesWrapper;
+import info.archinnov.achilles.internals.statements.BoundValuesWrapper.ColumnOperation;
+
+/**
+ * Change tracking of the entities loaded by <strong>Achilles</strong>, so that an UPDATE only writes the modified columns.
+ * <br/>
+ * The encoded values of each loaded entity are kept as a snapshot, keyed by identity on the entity instance
+ * and only weakly referenced so that snapshots are discarded along with their entities.
+ * <br/>
+ * Modified non-frozen collections are translated, when possible, into appends/removals of the modified
+ * elements instead of overwriting the whole collection:
+ * <ul>
+ *     <li>set: elements only added or only removed</li>
+ *     <li>list: elements only appended at the end</li>
+ *     <li>map: entries only added or modified</li>
+ * </ul>
+ */
+public class EntityChangeTracker<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityChangeTracker.class);
+
+    private final Class<T> entityClass;
+    private final Cache<T, Object[]> snapshots = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    public EntityChangeTracker(Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Record the encoded values of the given entity, in the order of all its columns
+     */
+    public void snapshot(T instance, Object[] encodedValues) {
+        snapshots.put(instance, encodedValues);
+    }
+
+    public Optional<Object[]> getSnapshot(T instance) {
+        return Optional.ofNullable(snapshots.getIfPresent(instance));
+    }
+
+    /**
+     * Keep only the values of the columns modified since the snapshot. Primary key columns and
+     * the trailing TTL are kept as-is. Empty when no column has been modified
+     */
+    public Optional<BoundValuesWrapper> keepModifiedValues(BoundValuesWrapper wrapper, Object[] snapshot) {
+        final int size = wrapper.properties.size();
+        final Object[] boundValues = wrapper.boundValues.clone();
+        final Object[] encodedValues = wrapper.encodedValues.clone();
+        final ColumnOperation[] columnOperations = new ColumnOperation[size];
+        int modifiedCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            final AbstractProperty<?, ?, ?> property = wrapper.properties.get(i);
+            columnOperations[i] = ColumnOperation.SET;
+            final ColumnType columnType = property.fieldInfo.columnType;
+            if (columnType == ColumnType.PARTITION || columnType == ColumnType.CLUSTERING) {
+                continue;
+            }
+
+            final Object current = encodedValues[i];
+            final Object previous = snapshot[i];
+            if (Objects.equals(current, previous)) {
+                boundValues[i] = null;
+                encodedValues[i] = null;
+                continue;
+            }
+
+            // Like a plain UPDATE, a column set to null is not written
+            if (current != null) {
+                modifiedCount++;
+                if (previous != null) {
+                    diffCollection(property, current, previous, encodedValues, columnOperations, i);
+                }
+            }
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("%s modified column(s) for entity of type %s : %s",
+                    modifiedCount, entityClass.getCanonicalName(), Arrays.toString(encodedValues)));
+        }
+
+        if (modifiedCount == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new BoundValuesWrapper(wrapper.meta, wrapper.properties, boundValues, encodedValues, columnOperations));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void diffCollection(AbstractProperty<?, ?, ?> property, Object current, Object previous,
+                                       Object[] encodedValues, ColumnOperation[] columnOperations, int index) {
+        if (property instanceof SetProperty && !((SetProperty<?, ?, ?>) property).frozen) {
+            final Set<Object> currentSet = (Set<Object>) current;
+            final Set<Object> previousSet = (Set<Object>) previous;
+            if (currentSet.containsAll(previousSet)) {
+                final Set<Object> added = new HashSet<>(currentSet);
+                added.removeAll(previousSet);
+                encodedValues[index] = added;
+                columnOperations[index] = ColumnOperation.APPEND;
+            } else if (previousSet.containsAll(currentSet)) {
+                final Set<Object> removed = new HashSet<>(previousSet);
+                removed.removeAll(currentSet);
+                encodedValues[index] = removed;
+                columnOperations[index] = ColumnOperation.REMOVE;
+            }
+        } else if (property instanceof ListProperty && !((ListProperty<?, ?, ?>) property).frozen) {
+            final List<Object> currentList = (List<Object>) current;
+            final List<Object> previousList = (List<Object>) previous;
+            if (currentList.size() > previousList.size() && currentList.subList(0, previousList.size()).equals(previousList)) {
+                encodedValues[index] = new ArrayList<>(currentList.subList(previousList.size(), currentList.size()));
+                columnOperations[index] = ColumnOperation.APPEND;
+            }
+        } else if (property instanceof MapProperty && !((MapProperty<?, ?, ?, ?, ?>) property).frozen) {
+            final Map<Object, Object> currentMap = (Map<Object, Object>) current;
+            final Map<Object, Object> previousMap = (Map<Object, Object>) previous;
+            if (currentMap.keySet().containsAll(previousMap.keySet())) {
+                final Map<Object, Object> modified = new HashMap<>();
+                currentMap.forEach((key, value) -> {
+                    if (!Objects.equals(value, previousMap.get(key))) {
+                        modified.put(key, value);
+                    }
+                });
+                encodedValues[index] = modified;
+                columnOperations[index] = ColumnOperation.APPEND;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.cache;
+
+import static java.lang.String.format;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Row;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+/**
+ * Read-through near cache of the rows fetched by <strong>findById()</strong> for an entity,
+ * keyed by the encoded primary key values.
+ * <br/>
+ * Rows are cached rather than entities so that each lookup decodes a fresh entity instance
+ * that the caller can mutate freely. A <em>null</em> row caches a not found entity.
+ * <br/>
+ * Concurrent lookups of a key being loaded share the same pending query. Invalidating a key
+ * also discards its pending load so that a write is never hidden by a query issued before it
+ */
+public class EntityNearCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityNearCache.class);
+
+    private final Class<?> entityClass;
+    private final int partitionKeysCount;
+    private final NearCacheOptions options;
+    private final AsyncLoadingCache<List<Object>, Tuple2<Row, ExecutionInfo>> cache;
+
+    public EntityNearCache(Class<?> entityClass, int partitionKeysCount, NearCacheOptions options, Executor executor) {
+        this.entityClass = entityClass;
+        this.partitionKeysCount = partitionKeysCount;
+        this.options = options;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(options.getMaximumSize())
+                .expireAfterWrite(options.getExpireAfterWriteInMillis(), TimeUnit.MILLISECONDS)
+                .executor(executor)
+                .recordStats()
+                .buildAsync((key, loaderExecutor) -> {
+                    throw new AchillesException(format("The near cache of entity %s should be loaded with an explicit loader",
+                            entityClass.getCanonicalName()));
+                });
+    }
+
+    /**
+     * Return the cached row for the given primary key, or load it with the given loader on a cache miss
+     */
+    public CompletableFuture<Tuple2<Row, ExecutionInfo>> get(Object[] encodedPrimaryKeyValues,
+                                                            Supplier<CompletableFuture<Tuple2<Row, ExecutionInfo>>> loader) {
+        return cache.get(Arrays.asList(encodedPrimaryKeyValues), (key, executor) -> {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Near cache miss for entity %s and primary key %s",
+                        entityClass.getCanonicalName(), key));
+            }
+            return loader.get();
+        });
+    }
+
+    public void invalidate(Object[] encodedPrimaryKeyValues) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Invalidate near cache entry of entity %s for primary key %s",
+                    entityClass.getCanonicalName(), Arrays.toString(encodedPrimaryKeyValues)));
+        }
+        cache.synchronous().invalidate(Arrays.asList(encodedPrimaryKeyValues));
+    }
+
+    /**
+     * Invalidate all the entries of the partition. The encoded partition key values
+     * are followed by any clustering column value, which are ignored
+     */
+    public void invalidatePartition(Object[] encodedPartitionKeyValues) {
+        final List<Object> partition = Arrays.asList(encodedPartitionKeyValues).subList(0, partitionKeysCount);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Invalidate near cache entries of entity %s for partition %s",
+                    entityClass.getCanonicalName(), partition));
+        }
+        cache.synchronous().asMap().keySet().removeIf(key -> key.subList(0, partitionKeysCount).equals(partition));
+    }
+
+    public void invalidateAll() {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Invalidate all near cache entries of entity %s", entityClass.getCanonicalName()));
+        }
+        cache.synchronous().invalidateAll();
+    }
+
+    public NearCacheOptions getOptions() {
+        return options;
+    }
+
+    public CacheStatistics statistics() {
+        final CacheStats stats = cache.synchronous().stats();
+        return new CacheStatistics(stats.hitCount(), stats.missCount(), stats.loadSuccessCount(),
+                stats.loadFailureCount(), stats.totalLoadTime(), stats.evictionCount(),
+                cache.synchronous().estimatedSize(), options.getMaximumSize());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.cache;
+
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size and expiration bounds of the near cache of an entity,
+ * defined by {@link info.archinnov.achilles.annotations.NearCache} or at bootstrap
+ */
+public class NearCacheOptions {
+
+    private final long maximumSize;
+    private final long expireAfterWriteInMillis;
+
+    public NearCacheOptions(long maximumSize, long expireAfterWrite, TimeUnit timeUnit) {
+        validateTrue(maximumSize > 0, "The near cache maximum size should be strictly positive");
+        validateTrue(expireAfterWrite > 0, "The near cache expiration should be strictly positive");
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteInMillis = timeUnit.toMillis(expireAfterWrite);
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getExpireAfterWriteInMillis() {
+        return expireAfterWriteInMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NearCacheOptions that = (NearCacheOptions) o;
+        return maximumSize == that.maximumSize &&
+                expireAfterWriteInMillis == that.expireAfterWriteInMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maximumSize, expireAfterWriteInMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheOptions{" +
+                "maximumSize=" + maximumSize +
+                ", expireAfterWriteInMillis=" + expireAfterWriteInMillis +
+                '}';
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.cache;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Compact identity of a DSL statement.
+ * <br/>
+ * Each generated DSL method appends a stable step id (computed by the annotation processor)
+ * to the shape of the statement being built. Two statements with the same shape, keyspace
+ * and table always render to the same CQL string so the shape can be used as a key
+ * to look up the PreparedStatement without rendering the query string again
+ * <br/>
+ * Steps whose CQL depends on runtime values that are not captured by the shape (e.g. function
+ * calls with literal arguments) mark the shape as not cacheable
+ * <br/>
+ * CRUD statements whose CQL depends on the entity instance (UPDATE or INSERT of the non-null columns)
+ * reuse the same key, flagged with the <em>CRUD_*</em>
+ * flags so that they never collide with DSL shapes
+ */
+public final class StatementShape {
+
+    public static final int RUNTIME_IF_EXISTS = 1;
+    public static final int RUNTIME_USING_TTL = 1 << 1;
+    public static final int RUNTIME_USING_TIMESTAMP = 1 << 2;
+    public static final int CRUD_UPDATE = 1 << 3;
+    public static final int CRUD_UPDATE_STATIC = 1 << 4;
+    public static final int CRUD_INSERT_NOT_NULL_FIELDS = 1 << 5;
+    public static final int RUNTIME_UNSET_NULL_VALUES = 1 << 6;
+    public static final int CRUD_INSERT_STATIC_NOT_NULL_FIELDS = 1 << 7;
+    public static final int RUNTIME_IF_NOT_EXISTS = 1 << 8;
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private long[] steps;
+    private int size;
+    private int hash = 1;
+    private int runtimeFlags;
+    private boolean cacheable = true;
+    private String keyspace;
+    private String table;
+
+    public StatementShape() {
+        this.steps = new long[DEFAULT_CAPACITY];
+    }
+
+    private StatementShape(long[] steps, int size, int hash, int runtimeFlags, String keyspace, String table) {
+        this.steps = steps;
+        this.size = size;
+        this.hash = hash;
+        this.runtimeFlags = runtimeFlags;
+        this.keyspace = keyspace;
+        this.table = table;
+    }
+
+    public void add(long step) {
+        if (size == steps.length) {
+            steps = Arrays.copyOf(steps, size << 1);
+        }
+        steps[size++] = step;
+        hash = 31 * hash + Long.hashCode(step);
+    }
+
+    public void from(String keyspace, String table) {
+        this.keyspace = keyspace;
+        this.table = table;
+    }
+
+    public void addRuntimeFlag(int flag) {
+        this.runtimeFlags |= flag;
+    }
+
+    public void markNotCacheable() {
+        this.cacheable = false;
+    }
+
+    public boolean isCacheable() {
+        return cacheable && keyspace != null && table != null;
+    }
+
+    /**
+     * Trimmed immutable copy of this shape, suitable as a cache key
+     */
+    public StatementShape freeze() {
+        return new StatementShape(Arrays.copyOf(steps, size), size, hash, runtimeFlags, keyspace, table);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StatementShape that = (StatementShape) o;
+        if (size != that.size || hash != that.hash || runtimeFlags != that.runtimeFlags) return false;
+        for (int i = 0; i < size; i++) {
+            if (steps[i] != that.steps[i]) return false;
+        }
+        return Objects.equals(keyspace, that.keyspace) &&
+                Objects.equals(table, that.table);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * hash + runtimeFlags) + Objects.hashCode(keyspace)) + Objects.hashCode(table);
+    }
+
+    @Override
+    public String toString() {
+        return "StatementShape{" +
+                "keyspace='" + keyspace + '\'' +
+                ", table='" + table + '\'' +
+                ", steps=" + Arrays.toString(Arrays.copyOf(steps, size)) +
+                ", runtimeFlags=" + runtimeFlags +
+                '}';
+    }
+}
@@ -16,99 +16,256 @@
 
 package info.archinnov.achilles.internals.cache;
 
-import static com.google.common.cache.CacheBuilder.newBuilder;
 import static java.lang.String.format;
 
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheStats;
 
 import info.archinnov.achilles.exception.AchillesException;
 
 public class StatementsCache {
     private static final Logger LOGGER = LoggerFactory.getLogger(StatementsCache.class);
+    private static final int OPERATIONS_COUNT = CacheKey.Operation.values().length;
+    public static final int DEFAULT_MAX_STATEMENTS_PER_TENANT = 1000;
 
-    private final Cache<String, PreparedStatement> dynamicCache;
-    private final Cache<CacheKey, PreparedStatement> staticCache;
+    private final BoundedCache<String, PreparedStatement> dynamicCache;
+    private final ConcurrentMap<Class<?>, BoundedCache<StatementShape, PreparedStatement>> shapeCaches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, BoundedCache<TenantStatementKey, PreparedStatement>> tenantCaches = new ConcurrentHashMap<>();
+    private final BoundedCacheFactory cacheFactory;
     private final int maxLRUCacheSize;
+    private final int maxStatementsPerTenant;
+    private final AtomicBoolean nearlyFullWarned = new AtomicBoolean(false);
 
+    /**
+     * Static statements indexed by entity index then by operation ordinal.
+     * Copied on write, static statements are only added at bootstrap
+     */
+    private volatile PreparedStatement[][] staticCache = new PreparedStatement[0][];
+    private final Object staticCacheLock = new Object();
 
     public StatementsCache(int maxLRUCacheSize) {
+        this(maxLRUCacheSize, CaffeineBoundedCache.FACTORY);
+    }
+
+    public StatementsCache(int maxLRUCacheSize, BoundedCacheFactory cacheFactory) {
+        this(maxLRUCacheSize, DEFAULT_MAX_STATEMENTS_PER_TENANT, cacheFactory);
+    }
+
+    public StatementsCache(int maxLRUCacheSize, int maxStatementsPerTenant) {
+        this(maxLRUCacheSize, maxStatementsPerTenant, CaffeineBoundedCache.FACTORY);
+    }
+
+    public StatementsCache(int maxLRUCacheSize, int maxStatementsPerTenant, BoundedCacheFactory cacheFactory) {
         this.maxLRUCacheSize = maxLRUCacheSize;
-        this.dynamicCache = newBuilder().maximumSize(maxLRUCacheSize).build();
-        this.staticCache = newBuilder().build();
+        this.maxStatementsPerTenant = maxStatementsPerTenant;
+        this.cacheFactory = cacheFactory;
+        this.dynamicCache = cacheFactory.create(maxLRUCacheSize);
     }
 
-    public void putStaticCache(CacheKey cacheKey, Callable<PreparedStatement> psSupplier) {
-        try {
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug(format("Putting static cache for key %s", cacheKey));
+    public void putStaticCache(CacheKey cacheKey, PreparedStatement preparedStatement) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Putting static cache for key %s", cacheKey));
+        }
+        final int entityIndex = cacheKey.getEntityIndex();
+        final int operation = cacheKey.getOperation().ordinal();
+        synchronized (staticCacheLock) {
+            final PreparedStatement[][] current = staticCache;
+            if (entityIndex < current.length && current[entityIndex] != null && current[entityIndex][operation] != null) {
+                return;
             }
-            staticCache.get(cacheKey, psSupplier);
-        } catch (ExecutionException e) {
-            throw new AchillesException(e);
+            final PreparedStatement[][] copy = Arrays.copyOf(current, Math.max(current.length, entityIndex + 1));
+            final PreparedStatement[] statements = copy[entityIndex] == null
+                    ? new PreparedStatement[OPERATIONS_COUNT]
+                    : copy[entityIndex].clone();
+            statements[operation] = preparedStatement;
+            copy[entityIndex] = statements;
+            staticCache = copy;
         }
     }
 
+    public boolean hasStaticCache(CacheKey cacheKey) {
+        return lookupStaticCache(cacheKey) != null;
+    }
+
     public PreparedStatement getStaticCache(CacheKey cacheKey) {
-        final PreparedStatement preparedStatement = staticCache.getIfPresent(cacheKey);
+        final PreparedStatement preparedStatement = lookupStaticCache(cacheKey);
         if (preparedStatement == null) {
             throw new AchillesException(format("Cannot find static cached prepared statement for cache key %s", cacheKey));
         }
         return preparedStatement;
     }
 
+    private PreparedStatement lookupStaticCache(CacheKey cacheKey) {
+        final PreparedStatement[][] current = staticCache;
+        final int entityIndex = cacheKey.getEntityIndex();
+        if (entityIndex >= current.length || current[entityIndex] == null) {
+            return null;
+        }
+        return current[entityIndex][cacheKey.getOperation().ordinal()];
+    }
+
     public PreparedStatement getDynamicCache(final String queryString, Session session) {
-        AtomicBoolean displayStats = new AtomicBoolean(false);
-        try {
-            final PreparedStatement preparedStatement = dynamicCache.get(queryString, () -> {
-                displayStats.getAndSet(true);
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Preparing dynamic query : " + queryString);
-                }
-                return session.prepare(queryString);
-            });
-
-            if (displayStats.get()) displayCacheStatistics();
+        return dynamicCache.get(queryString, key -> {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Preparing dynamic query : " + key);
+            }
+            final PreparedStatement preparedStatement = session.prepare(key);
+            warnIfNearlyFull();
             return preparedStatement;
-        } catch (ExecutionException e) {
-            throw new AchillesException(e);
-        }
+        });
     }
 
-    private void displayCacheStatistics() {
+    /**
+     * Resolve the PreparedStatement for a DSL statement shape. The query string
+     * is only rendered (and prepared through the dynamic cache) on the first lookup
+     * of a given shape
+     */
+    public PreparedStatement getShapeCache(Class<?> entityClass, StatementShape shape, Supplier<String> queryString, Session session) {
+        final BoundedCache<StatementShape, PreparedStatement> shapeCache = shapeCaches
+                .computeIfAbsent(entityClass, key -> cacheFactory.create(maxLRUCacheSize));
+
+        return shapeCache.get(shape, StatementShape::freeze, key -> {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Caching prepared statement for entity %s and shape %s",
+                        entityClass.getCanonicalName(), key));
+            }
+            return getDynamicCache(queryString.get(), session);
+        });
+    }
 
-        long cacheSize = dynamicCache.size();
-        CacheStats cacheStats = dynamicCache.stats();
+    /**
+     * Resolve the PreparedStatement of a CRUD operation for the keyspace and table resolved
+     * at runtime by a {@link info.archinnov.achilles.type.SchemaNameProvider}.
+     * <br/>
+     * Statements are cached per tenant (keyspace), each tenant having its own bounded cache
+     * so that a large number of tenants does not thrash the dynamic cache. The query string is
+     * only rendered on the first lookup for a given tenant, table and operation
+     */
+    public PreparedStatement getTenantCache(String keyspace, String table, CacheKey cacheKey, Supplier<String> queryString, Session session) {
+        final BoundedCache<TenantStatementKey, PreparedStatement> tenantCache = tenantCacheFor(keyspace);
+        return tenantCache.get(new TenantStatementKey(table, cacheKey), key -> {
+            final String query = queryString.get();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Preparing statement %s for keyspace %s and key %s", query, keyspace, cacheKey));
+            }
+            return session.prepare(query);
+        });
+    }
 
-        LOGGER.info("Total LRU cache size {}", cacheSize);
-        if (cacheSize > (maxLRUCacheSize * 0.8)) {
-            LOGGER.warn("Warning, the LRU prepared statements cache is over 80% full");
+    /**
+     * Put a statement prepared before-hand (at bootstrap) for the given tenant, table and operation.
+     * An existing statement is kept
+     */
+    public void putTenantCache(String keyspace, String table, CacheKey cacheKey, PreparedStatement preparedStatement) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Putting tenant cache for keyspace %s, table %s and key %s", keyspace, table, cacheKey));
         }
+        tenantCacheFor(keyspace).get(new TenantStatementKey(table, cacheKey), key -> preparedStatement);
+    }
 
+    /**
+     * Drop all the statements cached for the given tenant (keyspace), for example once the tenant is removed
+     */
+    public void evictTenant(String keyspace) {
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Cache statistics :");
-            LOGGER.debug("\t\t- hits count : {}", cacheStats.hitCount());
-            LOGGER.debug("\t\t- hits rate : {}", cacheStats.hitRate());
-            LOGGER.debug("\t\t- miss count : {}", cacheStats.missCount());
-            LOGGER.debug("\t\t- miss rate : {}", cacheStats.missRate());
-            LOGGER.debug("\t\t- eviction count : {}", cacheStats.evictionCount());
-            LOGGER.debug("\t\t- load count : {}", cacheStats.loadCount());
-            LOGGER.debug("\t\t- load success count : {}", cacheStats.loadSuccessCount());
-            LOGGER.debug("\t\t- load exception count : {}", cacheStats.loadExceptionCount());
-            LOGGER.debug("\t\t- total load time : {}", cacheStats.totalLoadTime());
-            LOGGER.debug("\t\t- average load penalty : {}", cacheStats.averageLoadPenalty());
-            LOGGER.debug("");
-            LOGGER.debug("");
+            LOGGER.debug(format("Evicting prepared statements of keyspace %s", keyspace));
+        }
+        tenantCaches.remove(keyspace);
+    }
+
+    private BoundedCache<TenantStatementKey, PreparedStatement> tenantCacheFor(String keyspace) {
+        final BoundedCache<TenantStatementKey, PreparedStatement> tenantCache = tenantCaches.get(keyspace);
+        if (tenantCache != null) {
+            return tenantCache;
+        }
+        return tenantCaches.computeIfAbsent(keyspace, key -> cacheFactory.create(maxStatementsPerTenant));
+    }
+
+    /**
+     * Statistics of the cache of statements prepared at runtime
+     */
+    public CacheStatistics getDynamicCacheStatistics() {
+        return dynamicCache.statistics();
+    }
+
+    /**
+     * Statistics of the DSL statement shape caches, summed over all entities
+     */
+    public CacheStatistics getShapeCacheStatistics() {
+        return shapeCaches
+                .values()
+                .stream()
+                .map(BoundedCache::statistics)
+                .reduce(CacheStatistics.EMPTY, CacheStatistics::plus);
+    }
+
+    /**
+     * Statistics of the tenant caches, summed over all tenants
+     */
+    public CacheStatistics getTenantCacheStatistics() {
+        return tenantCaches
+                .values()
+                .stream()
+                .map(BoundedCache::statistics)
+                .reduce(CacheStatistics.EMPTY, CacheStatistics::plus);
+    }
+
+    /**
+     * Number of tenants (keyspaces) having cached statements
+     */
+    public int getTenantCount() {
+        return tenantCaches.size();
+    }
+
+    /**
+     * Number of statements prepared at bootstrap
+     */
+    public long getStaticCacheSize() {
+        return Arrays.stream(staticCache)
+                .filter(statements -> statements != null)
+                .flatMap(Arrays::stream)
+                .filter(statement -> statement != null)
+                .count();
+    }
+
+    private void warnIfNearlyFull() {
+        if (dynamicCache.estimatedSize() > (maxLRUCacheSize * 0.8) && nearlyFullWarned.compareAndSet(false, true)) {
+            LOGGER.warn(format("Warning, the prepared statements cache is over 80%% full (%s/%s entries)",
+                    dynamicCache.estimatedSize(), maxLRUCacheSize));
         }
     }
 
+    private static final class TenantStatementKey {
+        private final String table;
+        private final CacheKey cacheKey;
+
+        private TenantStatementKey(String table, CacheKey cacheKey) {
+            this.table = table;
+            this.cacheKey = cacheKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            TenantStatementKey that = (TenantStatementKey) o;
+            return cacheKey.equals(that.cacheKey) &&
+                    table.equals(that.table);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(table, cacheKey);
+        }
+    }
 }
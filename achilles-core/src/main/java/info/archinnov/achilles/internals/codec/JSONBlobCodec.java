@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Codec serializing an object as UTF-8 encoded JSON into a <strong>blob</strong> column.
+ * <br/>
+ * Unlike {@link info.archinnov.achilles.internals.codec.JSONCodec}, no intermediate JSON String is built:
+ * Jackson writes the document bytes directly and parses them from the {@link java.nio.ByteBuffer} of the column
+ */
+public class JSONBlobCodec<TYPE> implements Codec<TYPE, ByteBuffer> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JSONBlobCodec.class);
+    private final Class<?> sourceType;
+    private final JavaType exactType;
+
+    private ObjectMapper objectMapper;
+
+    public JSONBlobCodec(Class<?> sourceType, JavaType exactType) {
+        this.sourceType = sourceType;
+        this.exactType = exactType;
+    }
+
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Class<TYPE> sourceType() {
+        return (Class<TYPE>) sourceType;
+    }
+
+    @Override
+    public Class<ByteBuffer> targetType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer encode(TYPE fromJava) throws AchillesTranscodingException {
+        if (fromJava == null) return null;
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Encoding object %s to JSON blob", fromJava));
+        }
+        try {
+            return ByteBuffer.wrap(objectMapper.writeValueAsBytes(fromJava));
+        } catch (IOException e) {
+            throw new AchillesTranscodingException(e);
+        }
+    }
+
+    @Override
+    public TYPE decode(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Decoding object type %s from JSON blob of %s bytes", exactType, fromCassandra.remaining()));
+        }
+        try {
+            if (fromCassandra.hasArray()) {
+                return objectMapper.readValue(fromCassandra.array(), fromCassandra.arrayOffset() + fromCassandra.position(),
+                        fromCassandra.remaining(), exactType);
+            } else {
+                return objectMapper.readValue(new ByteBufferBackedInputStream(fromCassandra.duplicate()), exactType);
+            }
+        } catch (IOException e) {
+            throw new AchillesTranscodingException(e);
+        }
+    }
+}
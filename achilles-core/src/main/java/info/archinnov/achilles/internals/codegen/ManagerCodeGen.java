@@ -121,7 +121,8 @@ public class ManagerCodeGen {
                     .addJavadoc("   <li>INSERT IF NOT EXISTS</li>\n")
                     .addJavadoc("   <li>DELETE BY ID</li>\n")
                     .addJavadoc("   <li>DELETE BY ID IF NOT EXISTS</li>\n")
-                    .addJavadoc("   <li>DELETE BY PARTITION</li>\n");
+                    .addJavadoc("   <li>DELETE BY PARTITION</li>\n")
+                    .addJavadoc("   <li>BULK INSERT/UPDATE/DELETE</li>\n");
         }
 
         builder.addJavadoc("</ul>\n")
@@ -20,7 +20,12 @@ import static info.archinnov.achilles.internals.metamodel.columns.ColumnType.CLU
 import static info.archinnov.achilles.internals.metamodel.columns.ColumnType.PARTITION;
 import static info.archinnov.achilles.internals.parser.TypeUtils.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.lang.model.element.Modifier;
 
 import com.squareup.javapoet.*;
@@ -48,14 +53,25 @@ public abstract class CrudAPICodeGen {
                 .addMethod(buildWithSchemaNameProvider(signature))
                 .addMethod(buildFind(signature));
 
+        final long primaryKeyCount = signature.fieldMetaSignatures
+                .stream()
+                .filter(x -> x.context.columnType == PARTITION || x.context.columnType == CLUSTERING)
+                .count();
+        if (primaryKeyCount <= TUPLES.size()) {
+            crudClass.addMethod(buildFindByIds(signature));
+        }
+
         // API for table
         if (signature.isTable()) {
             crudClass.addMethod(buildDeleteInstance(signature))
-                    .addMethod(buildDeleteByKeys(signature));
+                    .addMethod(buildDeleteByKeys(signature))
+                    .addMethods(buildBulkMutations(signature, "deleteAll", "deleteAllInternal", DELETE_WITH_OPTIONS, "Delete"));
 
             if (!signature.isCounterEntity()) {
                 crudClass.addMethod(buildInsert(signature));
                 crudClass.addMethod(buildUpdate(signature));
+                crudClass.addMethods(buildBulkMutations(signature, "insertAll", "insertAllInternal", INSERT_WITH_OPTIONS, "Insert"));
+                crudClass.addMethods(buildBulkMutations(signature, "updateAll", "updateAllInternal", UPDATE_WITH_OPTIONS, "Update"));
                 if (signature.hasStatic()) {
                     crudClass.addMethod(buildInsertStatic(signature));
                     crudClass.addMethod(buildUpdateStatic(signature));
@@ -133,6 +149,59 @@ public abstract class CrudAPICodeGen {
         return builder.build();
     }
 
+    /*
+       public FindByIdsWithOptions<Tuple2<Long, Date>, ENTITY> findByIds(Collection<Tuple2<Long, Date>> primaryKeys) {
+         return findByIdsInternal(primaryKeys, key -> new Object[]{key._1(), key._2()}, cassandraOptions);
+       }
+    */
+    private static MethodSpec buildFindByIds(EntityMetaSignature signature) {
+        final List<TypeName> primaryKeyTypes = new ArrayList<>();
+        final List<String> primaryKeyNames = new ArrayList<>();
+        signature.fieldMetaSignatures
+                .stream()
+                .filter(x -> x.context.columnType == PARTITION)
+                .map(x -> Tuple3.of(x.context.fieldName, x.sourceType, (PartitionKeyInfo) x.context.columnInfo))
+                .sorted(PARTITION_KEY_SORTER)
+                .forEach(tuple -> {
+                    primaryKeyNames.add(tuple._1());
+                    primaryKeyTypes.add(tuple._2().box());
+                });
+        signature.fieldMetaSignatures
+                .stream()
+                .filter(x -> x.context.columnType == CLUSTERING)
+                .map(x -> Tuple3.of(x.context.fieldName, x.sourceType, (ClusteringColumnInfo) x.context.columnInfo))
+                .sorted(CLUSTERING_COLUMN_SORTER)
+                .forEach(tuple -> {
+                    primaryKeyNames.add(tuple._1());
+                    primaryKeyTypes.add(tuple._2().box());
+                });
+
+        final TypeName keyType;
+        final CodeBlock keyExtractor;
+        if (primaryKeyTypes.size() == 1) {
+            keyType = primaryKeyTypes.get(0);
+            keyExtractor = CodeBlock.builder().add("key -> new Object[]{key}").build();
+        } else {
+            keyType = genericType(TUPLES.get(primaryKeyTypes.size() - 1), primaryKeyTypes.toArray(new TypeName[primaryKeyTypes.size()]));
+            keyExtractor = CodeBlock.builder().add("key -> new Object[]{$L}", IntStream
+                    .rangeClosed(1, primaryKeyTypes.size())
+                    .mapToObj(index -> "key._" + index + "()")
+                    .collect(Collectors.joining(", "))).build();
+        }
+
+        final TypeName returnType = genericType(FIND_BY_IDS_WITH_OPTIONS, keyType, signature.entityRawClass);
+        return MethodSpec.methodBuilder("findByIds")
+                .addJavadoc("Find several entities by their complete primary key. Each primary key is ")
+                .addJavadoc(primaryKeyTypes.size() == 1 ? "the '$L' column\n\n" : "a tuple of ($L)\n\n", String.join(", ", primaryKeyNames))
+                .addJavadoc("@param primaryKeys primary keys of the entities to find\n")
+                .addJavadoc("@return FindByIdsWithOptions<$T, $T>", keyType, signature.entityRawClass)
+                .addModifiers(Modifier.FINAL, Modifier.PUBLIC)
+                .addParameter(genericType(COLLECTION, keyType), "primaryKeys", Modifier.FINAL)
+                .addStatement("return findByIdsInternal(primaryKeys, $L, cassandraOptions)", keyExtractor)
+                .returns(returnType)
+                .build();
+    }
+
     private static MethodSpec buildInsert(EntityMetaSignature signature) {
         return MethodSpec.methodBuilder("insert")
                 .addJavadoc("Insert this entity\n\n")
@@ -158,6 +227,41 @@ public abstract class CrudAPICodeGen {
     }
 
 
+    /*
+       public BulkMutationWithOptions<ENTITY, InsertWithOptions<ENTITY>> insertAll(Iterable<ENTITY> instances) {
+         return insertAllInternal(instances.iterator(), cassandraOptions);
+       }
+    */
+    private static List<MethodSpec> buildBulkMutations(EntityMetaSignature signature, String methodName, String internalMethodName,
+                                                       ClassName actionType, String operation) {
+        final TypeName returnType = genericType(BULK_MUTATION_WITH_OPTIONS, signature.entityRawClass,
+                genericType(actionType, signature.entityRawClass));
+
+        final MethodSpec fromIterable = MethodSpec.methodBuilder(methodName)
+                .addJavadoc("$L all the entities of this iterable, pipelining the mutations\n\n", operation)
+                .addJavadoc("@param instances instances of $T\n", signature.entityRawClass)
+                .addJavadoc("@return $T", BULK_MUTATION_WITH_OPTIONS)
+                .addModifiers(Modifier.FINAL, Modifier.PUBLIC)
+                .addParameter(genericType(ITERABLE, signature.entityRawClass), "instances", Modifier.FINAL)
+                .addStatement("$T.validateNotNull($N, $S)", VALIDATOR, "instances", "Entities for bulk mutation should not be null")
+                .addStatement("return $N(instances.iterator(), cassandraOptions)", internalMethodName)
+                .returns(returnType)
+                .build();
+
+        final MethodSpec fromStream = MethodSpec.methodBuilder(methodName)
+                .addJavadoc("$L all the entities of this stream, pipelining the mutations\n\n", operation)
+                .addJavadoc("@param instances stream of $T\n", signature.entityRawClass)
+                .addJavadoc("@return $T", BULK_MUTATION_WITH_OPTIONS)
+                .addModifiers(Modifier.FINAL, Modifier.PUBLIC)
+                .addParameter(genericType(STREAM, signature.entityRawClass), "instances", Modifier.FINAL)
+                .addStatement("$T.validateNotNull($N, $S)", VALIDATOR, "instances", "Entities for bulk mutation should not be null")
+                .addStatement("return $N(instances.iterator(), cassandraOptions)", internalMethodName)
+                .returns(returnType)
+                .build();
+
+        return Arrays.asList(fromIterable, fromStream);
+    }
+
     private static MethodSpec buildInsertStatic(EntityMetaSignature signature) {
         return MethodSpec.methodBuilder("insertStatic")
                 .addJavadoc("Insert only partition key(s) and static column(s).\n\n")
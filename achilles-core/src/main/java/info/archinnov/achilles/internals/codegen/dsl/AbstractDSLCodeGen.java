@@ -17,12 +17,18 @@
 package info.archinnov.achilles.internals.codegen.dsl;
 
 import static info.archinnov.achilles.internals.parser.TypeUtils.*;
+import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import javax.lang.model.element.Modifier;
 
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
@@ -174,6 +180,16 @@ public abstract class AbstractDSLCodeGen {
                 .build();
     }
 
+    public MethodSpec buildGetStatementShapeInternal() {
+        return MethodSpec
+                .methodBuilder("getStatementShapeInternal")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.FINAL, Modifier.PROTECTED)
+                .addStatement("return shape")
+                .returns(STATEMENT_SHAPE)
+                .build();
+    }
+
     public MethodSpec buildGetEncodedBoundValuesInternal() {
         return MethodSpec
                 .methodBuilder("getEncodedValuesInternal")
@@ -208,8 +224,10 @@ public abstract class AbstractDSLCodeGen {
         return MethodSpec.methodBuilder("allColumns_FromBaseTable")
                 .addJavadoc("Generate ... * FROM ...")
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .addStatement("final $T where = $L.all().from(meta.getKeyspace().orElse($S + meta.entityClass.getCanonicalName()), meta.getTableOrViewName()).where()",
-                        whereTypeName, privateFieldName, "unknown_keyspace_for_")
+                .addStatement("final String currentKeyspace = meta.getKeyspace().orElse($S + meta.entityClass.getCanonicalName())", "unknown_keyspace_for_")
+                .addStatement("final String currentTable = meta.getTableOrViewName()")
+                .addStatement("shape.from(currentKeyspace, currentTable)")
+                .addCode(shapedStatement("final $T where = $L.all().from(currentKeyspace, currentTable).where()", whereTypeName, privateFieldName))
                 .addStatement("return new $T(where, new $T())", newTypeName, OPTIONS)
                 .returns(newTypeName)
                 .build();
@@ -222,7 +240,8 @@ public abstract class AbstractDSLCodeGen {
                 .addParameter(SCHEMA_NAME_PROVIDER, "schemaNameProvider", Modifier.FINAL)
                 .addStatement("final String currentKeyspace = lookupKeyspace(schemaNameProvider, meta.entityClass)")
                 .addStatement("final String currentTable = lookupTable(schemaNameProvider, meta.entityClass)")
-                .addStatement("final $T where = $L.all().from(currentKeyspace, currentTable).where()", whereTypeName, privateFieldName)
+                .addStatement("shape.from(currentKeyspace, currentTable)")
+                .addCode(shapedStatement("final $T where = $L.all().from(currentKeyspace, currentTable).where()", whereTypeName, privateFieldName))
                 .addStatement("return new $T(where, $T.withSchemaNameProvider(schemaNameProvider))", newTypeName, OPTIONS)
                 .returns(newTypeName)
                 .build();
@@ -232,8 +251,10 @@ public abstract class AbstractDSLCodeGen {
         return MethodSpec.methodBuilder("fromBaseTable")
                 .addJavadoc("Generate a ... <strong>FROM xxx</strong> ... ")
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .addStatement("final $T where = $L.from(meta.getKeyspace().orElse($S + meta.entityClass.getCanonicalName()), " +
-                        "meta.getTableOrViewName()).where()", whereTypeName, privateFieldName, "unknown_keyspace_for_")
+                .addStatement("final String currentKeyspace = meta.getKeyspace().orElse($S + meta.entityClass.getCanonicalName())", "unknown_keyspace_for_")
+                .addStatement("final String currentTable = meta.getTableOrViewName()")
+                .addStatement("shape.from(currentKeyspace, currentTable)")
+                .addCode(shapedStatement("final $T where = $L.from(currentKeyspace, currentTable).where()", whereTypeName, privateFieldName))
                 .addStatement("return new $T(where, new $T())", newTypeName, OPTIONS)
                 .returns(newTypeName)
                 .build();
@@ -246,7 +267,8 @@ public abstract class AbstractDSLCodeGen {
                 .addParameter(SCHEMA_NAME_PROVIDER, "schemaNameProvider", Modifier.FINAL)
                 .addStatement("final String currentKeyspace = lookupKeyspace(schemaNameProvider, meta.entityClass)")
                 .addStatement("final String currentTable = lookupTable(schemaNameProvider, meta.entityClass)")
-                .addStatement("final $T where = $L.from(currentKeyspace, currentTable).where()", whereTypeName, privateFieldName)
+                .addStatement("shape.from(currentKeyspace, currentTable)")
+                .addCode(shapedStatement("final $T where = $L.from(currentKeyspace, currentTable).where()", whereTypeName, privateFieldName))
                 .addStatement("return new $T(where, $T.withSchemaNameProvider(schemaNameProvider))", newTypeName, OPTIONS)
                 .returns(newTypeName)
                 .build();
@@ -300,6 +322,31 @@ public abstract class AbstractDSLCodeGen {
                 .collect(toList()));
     }
 
+    /**
+     * Generate the given statement followed by <strong>shape.add(stepId)</strong>
+     * where stepId identifies the generated statement source
+     */
+    public static CodeBlock shapedStatement(String format, Object... args) {
+        final CodeBlock statement = CodeBlock.builder().addStatement(format, args).build();
+        return CodeBlock.builder()
+                .add(statement)
+                .addStatement("shape.add($LL)", shapeStepId(statement.toString()))
+                .build();
+    }
+
+    /**
+     * Step id derived from the statement source only (first 64 bits of its SHA-256 digest)
+     * so that it does not depend on the processing order nor on the compilation unit
+     */
+    static long shapeStepId(String statement) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(statement.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(format("Cannot compute the shape step id of statement %s", statement), e);
+        }
+    }
+
     public static String relationToSymbolForJavaDoc(String relation) {
         switch (relation) {
             case EQ:
@@ -110,10 +110,10 @@ public interface MultiColumnsSliceRestrictionCodeGen extends BaseSingleColumnRes
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(fieldInfo.typeName, param1)
                 .addParameter(fieldInfo.typeName, param2)
-                .addStatement("where.and($T.$L($S,$T.bindMarker($S)))",
-                        QUERY_BUILDER, relation1, fieldInfo.quotedCqlColumn, QUERY_BUILDER, column1)
-                .addStatement("where.and($T.$L($S,$T.bindMarker($S)))",
-                        QUERY_BUILDER, relation2, fieldInfo.quotedCqlColumn, QUERY_BUILDER, column2)
+                .addCode(shapedStatement("where.and($T.$L($S,$T.bindMarker($S)))",
+                        QUERY_BUILDER, relation1, fieldInfo.quotedCqlColumn, QUERY_BUILDER, column1))
+                .addCode(shapedStatement("where.and($T.$L($S,$T.bindMarker($S)))",
+                        QUERY_BUILDER, relation2, fieldInfo.quotedCqlColumn, QUERY_BUILDER, column2))
                 .addStatement("boundValues.add($L)", param1)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldInfo.fieldName, param1, OPTIONAL)
                 .addStatement("boundValues.add($L)", param2)
@@ -141,10 +141,10 @@ public interface MultiColumnsSliceRestrictionCodeGen extends BaseSingleColumnRes
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(TypeUtils.OBJECT_LONG, "tokenValue1")
                 .addParameter(TypeUtils.OBJECT_LONG, "tokenValue2")
-                .addStatement("where.and($T.$L($S,$T.bindMarker($S)))",
-                        QUERY_BUILDER, relation1, fcall, QUERY_BUILDER, "tokenValue1")
-                .addStatement("where.and($T.$L($S,$T.bindMarker($S)))",
-                        QUERY_BUILDER, relation2, fcall, QUERY_BUILDER, "tokenValue2")
+                .addCode(shapedStatement("where.and($T.$L($S,$T.bindMarker($S)))",
+                        QUERY_BUILDER, relation1, fcall, QUERY_BUILDER, "tokenValue1"))
+                .addCode(shapedStatement("where.and($T.$L($S,$T.bindMarker($S)))",
+                        QUERY_BUILDER, relation2, fcall, QUERY_BUILDER, "tokenValue2"))
                 .addStatement("boundValues.add($N)", "tokenValue1")
                 .addStatement("encodedValues.add($N)", "tokenValue1")
                 .addStatement("boundValues.add($N)", "tokenValue2")
@@ -178,8 +178,8 @@ public interface MultiColumnsSliceRestrictionCodeGen extends BaseSingleColumnRes
                         formatColumnTuplesForJavadoc(params), relationToSymbolForJavaDoc(relation))
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .addStatement("where.and($T.$L($T.asList($L), $T.asList($L).stream().map($T::bindMarker).collect($T.toList())))",
-                        QUERY_BUILDER, relation, ARRAYS, params, ARRAYS, params, QUERY_BUILDER, COLLECTORS)
+                .addCode(shapedStatement("where.and($T.$L($T.asList($L), $T.asList($L).stream().map($T::bindMarker).collect($T.toList())))",
+                        QUERY_BUILDER, relation, ARRAYS, params, ARRAYS, params, QUERY_BUILDER, COLLECTORS))
                 .addStatement("final $T tupleType = rte.tupleTypeFactory.typeFor($L)", TUPLE_TYPE, dataTypes);
 
         for(FieldSignatureInfo x: fieldInfos) {
@@ -222,10 +222,10 @@ public interface MultiColumnsSliceRestrictionCodeGen extends BaseSingleColumnRes
                         formatColumnTuplesForJavadoc(paramsRelation2AsString), relationToSymbolForJavaDoc(relation2))
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .addStatement("where.and($T.$L($T.asList($L), $T.asList($L).stream().map($T::bindMarker).collect($T.toList())))",
-                        QUERY_BUILDER, relation1, ARRAYS, paramsRelation1AsString, ARRAYS, paramsRelation1AsString, QUERY_BUILDER, COLLECTORS)
-                .addStatement("where.and($T.$L($T.asList($L), $T.asList($L).stream().map($T::bindMarker).collect($T.toList())))",
-                        QUERY_BUILDER, relation2, ARRAYS, paramsRelation2AsString, ARRAYS, paramsRelation2AsString, QUERY_BUILDER, COLLECTORS);
+                .addCode(shapedStatement("where.and($T.$L($T.asList($L), $T.asList($L).stream().map($T::bindMarker).collect($T.toList())))",
+                        QUERY_BUILDER, relation1, ARRAYS, paramsRelation1AsString, ARRAYS, paramsRelation1AsString, QUERY_BUILDER, COLLECTORS))
+                .addCode(shapedStatement("where.and($T.$L($T.asList($L), $T.asList($L).stream().map($T::bindMarker).collect($T.toList())))",
+                        QUERY_BUILDER, relation2, ARRAYS, paramsRelation2AsString, ARRAYS, paramsRelation2AsString, QUERY_BUILDER, COLLECTORS));
 
         for(FieldSignatureInfo x: fieldInfos) {
             final String relation1Param = x.fieldName + "_" + upperCaseFirst(relation1);
@@ -287,10 +287,10 @@ public interface MultiColumnsSliceRestrictionCodeGen extends BaseSingleColumnRes
                         formatColumnTuplesForJavadoc(paramsRelation2AsString), relationToSymbolForJavaDoc(relation2))
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .addStatement("where.and($T.$L($T.asList($L), $T.asList($L).stream().map($T::bindMarker).collect($T.toList())))",
-                        QUERY_BUILDER, relation1, ARRAYS, paramsRelation1AsString, ARRAYS, paramsRelation1AsString, QUERY_BUILDER, COLLECTORS)
-                .addStatement("where.and($T.$L($T.asList($L), $T.asList($L).stream().map($T::bindMarker).collect($T.toList())))",
-                        QUERY_BUILDER, relation2, ARRAYS, paramsRelation2AsString, ARRAYS, paramsRelation2AsString, QUERY_BUILDER, COLLECTORS);
+                .addCode(shapedStatement("where.and($T.$L($T.asList($L), $T.asList($L).stream().map($T::bindMarker).collect($T.toList())))",
+                        QUERY_BUILDER, relation1, ARRAYS, paramsRelation1AsString, ARRAYS, paramsRelation1AsString, QUERY_BUILDER, COLLECTORS))
+                .addCode(shapedStatement("where.and($T.$L($T.asList($L), $T.asList($L).stream().map($T::bindMarker).collect($T.toList())))",
+                        QUERY_BUILDER, relation2, ARRAYS, paramsRelation2AsString, ARRAYS, paramsRelation2AsString, QUERY_BUILDER, COLLECTORS));
 
         for(FieldSignatureInfo x: fieldInfos1) {
             final String relation1Param = x.fieldName + "_" + upperCaseFirst(relation1);
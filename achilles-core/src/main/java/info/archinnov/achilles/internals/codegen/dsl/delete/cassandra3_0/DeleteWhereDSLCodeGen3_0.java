@@ -101,6 +101,7 @@ public class DeleteWhereDSLCodeGen3_0 extends DeleteWhereDSLCodeGen2_2
                 .addMethod(buildGetRte())
                 .addMethod(buildGetOptions())
                 .addMethod(buildGetBoundValuesInternal())
+                .addMethod(buildGetStatementShapeInternal())
                 .addMethod(buildGetEncodedBoundValuesInternal());
 
         final TypeSpec.Builder relationClassBuilder = TypeSpec.classBuilder(DSL_RELATION)
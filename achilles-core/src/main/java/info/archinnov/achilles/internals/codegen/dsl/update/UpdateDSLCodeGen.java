@@ -139,7 +139,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addParameter(SCHEMA_NAME_PROVIDER, "schemaNameProvider", Modifier.FINAL)
                 .addStatement("final String currentKeyspace = lookupKeyspace(schemaNameProvider, meta.entityClass)")
                 .addStatement("final String currentTable = lookupTable(schemaNameProvider, meta.entityClass)")
-                .addStatement("final $T where = $T.update(currentKeyspace, currentTable).where()", UPDATE_DOT_WHERE, QUERY_BUILDER)
+                .addStatement("shape.from(currentKeyspace, currentTable)")
+                .addCode(shapedStatement("final $T where = $T.update(currentKeyspace, currentTable).where()", UPDATE_DOT_WHERE, QUERY_BUILDER))
                 .addStatement("return new $T(where, $T.withSchemaNameProvider(schemaNameProvider))", updateFromTypeName, OPTIONS)
                 .returns(updateFromTypeName)
                 .build();
@@ -151,7 +152,9 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addStatement("final String currentKeyspace = meta.getKeyspace().orElse($S + meta.entityClass.getCanonicalName())",
                         "unknown_keyspace_for_")
-                .addStatement("final $T where = $T.update(currentKeyspace, meta.getTableOrViewName()).where()", UPDATE_DOT_WHERE, QUERY_BUILDER)
+                .addStatement("final String currentTable = meta.getTableOrViewName()")
+                .addStatement("shape.from(currentKeyspace, currentTable)")
+                .addCode(shapedStatement("final $T where = $T.update(currentKeyspace, currentTable).where()", UPDATE_DOT_WHERE, QUERY_BUILDER))
                 .addStatement("return new $T(where, new $T())", updateFromTypeName, OPTIONS)
                 .returns(updateFromTypeName)
                 .build();
@@ -263,8 +266,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(sourceType, param, Modifier.FINAL)
-                .addStatement("where.with($T.of($S, $T.bindMarker($S)))",
-                        NON_ESCAPING_ASSIGNMENT, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.of($S, $T.bindMarker($S)))",
+                        NON_ESCAPING_ASSIGNMENT, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($N)", param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, param, OPTIONAL)
                 .returns(newTypeName);
@@ -307,8 +310,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(nestedType, param, Modifier.FINAL)
-                .addStatement("where.with($T.appendAll($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.appendAll($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($T.asList($N))", ARRAYS, param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($T.asList($N), $T.of(cassandraOptions)))", fieldName, ARRAYS, param, OPTIONAL)
                 .returns(newTypeName);
@@ -319,8 +322,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(sourceType, param, Modifier.FINAL)
-                .addStatement("where.with($T.appendAll($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.appendAll($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($N)", param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, param, OPTIONAL)
                 .returns(newTypeName);
@@ -331,8 +334,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(nestedType, param, Modifier.FINAL)
-                .addStatement("where.with($T.prependAll($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.prependAll($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($T.asList($N))", ARRAYS, param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($T.asList($N), $T.of(cassandraOptions)))", fieldName, ARRAYS, param, OPTIONAL)
                 .returns(newTypeName);
@@ -343,8 +346,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(sourceType, param, Modifier.FINAL)
-                .addStatement("where.with($T.prependAll($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.prependAll($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($N)", param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, param, OPTIONAL)
                 .returns(newTypeName);
@@ -354,8 +357,9 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(TypeName.INT, "index", Modifier.FINAL)
                 .addParameter(nestedType, param, Modifier.FINAL)
-                .addStatement("where.with($T.setIdx($S, index, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.setIdx($S, index, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
+                .addStatement("shape.add(index)")
                 .addStatement("boundValues.add($N)", param)
                 .addStatement("encodedValues.add(meta.$L.valueProperty.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, param, OPTIONAL)
                 .returns(newTypeName);
@@ -364,8 +368,9 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addJavadoc("Generate an UPDATE FROM ... <strong>SET $L[index] = null</strong>", fieldName)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(TypeName.INT, "index", Modifier.FINAL)
-                .addStatement("where.with($T.setIdx($S, index, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.setIdx($S, index, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
+                .addStatement("shape.add(index)")
                 .addStatement("boundValues.add(null)")
                 .addStatement("encodedValues.add(null)")
                 .returns(newTypeName);
@@ -375,8 +380,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(nestedType, param, Modifier.FINAL)
-                .addStatement("where.with($T.discardAll($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.discardAll($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($T.asList($N))", ARRAYS, param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($T.asList($N), $T.of(cassandraOptions)))", fieldName, ARRAYS, param, OPTIONAL)
                 .returns(newTypeName);
@@ -386,8 +391,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(sourceType, param, Modifier.FINAL)
-                .addStatement("where.with($T.discardAll($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.discardAll($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($N)", param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, param, OPTIONAL)
                 .returns(newTypeName);
@@ -397,8 +402,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(sourceType, param, Modifier.FINAL)
-                .addStatement("where.with($T.of($S, $T.bindMarker($S)))",
-                        NON_ESCAPING_ASSIGNMENT, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.of($S, $T.bindMarker($S)))",
+                        NON_ESCAPING_ASSIGNMENT, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($N)", param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, param, OPTIONAL)
                 .returns(newTypeName);
@@ -469,8 +474,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(nestedType, param, Modifier.FINAL)
-                .addStatement("where.with($T.addAll($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.addAll($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($T.newHashSet($N))", SETS, param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($T.newHashSet($N), $T.of(cassandraOptions)))", fieldName, SETS, param, OPTIONAL)
                 .returns(newTypeName);
@@ -480,8 +485,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(sourceType, param, Modifier.FINAL)
-                .addStatement("where.with($T.addAll($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.addAll($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($N)", param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, param, OPTIONAL)
                 .returns(newTypeName);
@@ -491,8 +496,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(nestedType, param, Modifier.FINAL)
-                .addStatement("where.with($T.removeAll($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.removeAll($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($T.newHashSet($N))", SETS, param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($T.newHashSet($N), $T.of(cassandraOptions)))", fieldName, SETS, param, OPTIONAL)
                 .returns(newTypeName);
@@ -502,8 +507,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(sourceType, param, Modifier.FINAL)
-                .addStatement("where.with($T.removeAll($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.removeAll($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($N)", param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, param, OPTIONAL)
                 .returns(newTypeName);
@@ -513,8 +518,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(sourceType, param, Modifier.FINAL)
-                .addStatement("where.with($T.of($S, $T.bindMarker($S)))",
-                        NON_ESCAPING_ASSIGNMENT, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.of($S, $T.bindMarker($S)))",
+                        NON_ESCAPING_ASSIGNMENT, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($N)", param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, param, OPTIONAL)
                 .returns(newTypeName);
@@ -582,8 +587,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(nestedKeyType, paramKey, Modifier.FINAL)
                 .addParameter(nestedValueType, paramValue, Modifier.FINAL)
-                .addStatement("where.with($T.put($S, $T.bindMarker($S), $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, paramKey, QUERY_BUILDER, paramValue)
+                .addCode(shapedStatement("where.with($T.put($S, $T.bindMarker($S), $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, paramKey, QUERY_BUILDER, paramValue))
                 .addStatement("boundValues.add($N)", paramKey)
                 .addStatement("boundValues.add($N)", paramValue)
                 .addStatement("encodedValues.add(meta.$L.keyProperty.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, paramKey, OPTIONAL)
@@ -595,8 +600,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(sourceType, param, Modifier.FINAL)
-                .addStatement("where.with($T.addAll($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.addAll($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($N)", param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, param, OPTIONAL)
                 .returns(newTypeName);
@@ -606,8 +611,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addJavadoc("Generate an UPDATE FROM ... <strong>SET $L[?] = null</strong>", fieldName)
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addParameter(nestedKeyType, paramKey, Modifier.FINAL)
-                .addStatement("where.with($T.put($S, $T.bindMarker($S), $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, paramKey, QUERY_BUILDER, paramValue)
+                .addCode(shapedStatement("where.with($T.put($S, $T.bindMarker($S), $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, paramKey, QUERY_BUILDER, paramValue))
                 .addStatement("boundValues.add($N)", paramKey)
                 .addStatement("boundValues.add(null)")
                 .addStatement("encodedValues.add(meta.$L.keyProperty.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, paramKey, OPTIONAL)
@@ -619,8 +624,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(sourceType, param, Modifier.FINAL)
-                .addStatement("where.with($T.of($S, $T.bindMarker($S)))",
-                        NON_ESCAPING_ASSIGNMENT, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.of($S, $T.bindMarker($S)))",
+                        NON_ESCAPING_ASSIGNMENT, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($N)", param)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, param, OPTIONAL)
                 .returns(newTypeName);
@@ -667,8 +672,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
         final MethodSpec.Builder incrOne = MethodSpec.methodBuilder("Incr")
                 .addJavadoc("Generate an UPDATE FROM ... <strong>SET $L = $L + 1</strong>", cqlColumn, cqlColumn)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .addStatement("where.with($T.incr($S))",
-                        QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.incr($S))",
+                        QUERY_BUILDER, cqlColumn))
                 .returns(newTypeName);
 
         final MethodSpec.Builder incr = MethodSpec.methodBuilder("Incr")
@@ -676,8 +681,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(sourceType, paramIncr, Modifier.FINAL)
-                .addStatement("where.with($T.incr($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.incr($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($N)", paramIncr)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, paramIncr, OPTIONAL)
                 .returns(newTypeName);
@@ -685,8 +690,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
         final MethodSpec.Builder decrOne = MethodSpec.methodBuilder("Decr")
                 .addJavadoc("Generate an UPDATE FROM ... <strong>SET $L = $L - 1</strong>", fieldName, fieldName)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .addStatement("where.with($T.decr($S))",
-                        QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.decr($S))",
+                        QUERY_BUILDER, cqlColumn))
                 .returns(newTypeName);
 
         final MethodSpec.Builder decr = MethodSpec.methodBuilder("Decr")
@@ -694,8 +699,8 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(sourceType, paramDecr, Modifier.FINAL)
-                .addStatement("where.with($T.decr($S, $T.bindMarker($S)))",
-                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addCode(shapedStatement("where.with($T.decr($S, $T.bindMarker($S)))",
+                        QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn))
                 .addStatement("boundValues.add($N)", paramDecr)
                 .addStatement("encodedValues.add(meta.$L.encodeFromJava($N, $T.of(cassandraOptions)))", fieldName, paramDecr, OPTIONAL)
                 .returns(newTypeName);
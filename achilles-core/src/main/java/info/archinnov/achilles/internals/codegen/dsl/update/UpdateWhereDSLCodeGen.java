@@ -112,6 +112,7 @@ public abstract class UpdateWhereDSLCodeGen extends AbstractDSLCodeGen
                 .addMethod(buildGetRte())
                 .addMethod(buildGetOptions())
                 .addMethod(buildGetBoundValuesInternal())
+                .addMethod(buildGetStatementShapeInternal())
                 .addMethod(buildGetEncodedBoundValuesInternal())
                 .addMethod(buildGetThis(lastSignature.returnClassType));
 
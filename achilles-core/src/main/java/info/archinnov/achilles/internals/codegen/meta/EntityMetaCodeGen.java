@@ -31,6 +31,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 
@@ -74,6 +75,7 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
         final Optional<Consistency> consistency = aptUtils.getAnnotationOnClass(elm, Consistency.class);
         final Optional<TTL> ttl = aptUtils.getAnnotationOnClass(elm, TTL.class);
         final Optional<Strategy> strategy = aptUtils.getAnnotationOnClass(elm, Strategy.class);
+        final Optional<NearCache> nearCache = aptUtils.getAnnotationOnClass(elm, NearCache.class);
         final Optional<Table> entityAnnot = aptUtils.getAnnotationOnClass(elm, Table.class);
 
         final Optional<TypeName> viewBaseClass = AnnotationTree.findOptionalViewBaseClass(aptUtils, elm);
@@ -100,6 +102,7 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
         } else if (entityType == EntityType.VIEW && globalParsingContext.supportsFeature(MATERIALIZED_VIEW)) {
             beanValidator.validateNoStaticColumnsForView(aptUtils, rawClassTypeName, fieldMetaSignatures);
             aptUtils.validateFalse(isCounter, "The class '%s' cannot have counter columns because it is a materialized view", rawClassTypeName);
+            aptUtils.validateFalse(nearCache.isPresent(), "The class '%s' cannot have a @NearCache because it is a materialized view", rawClassTypeName);
         }
 
         beanValidator.validateComputed(aptUtils, rawClassTypeName, fieldMetaSignatures);
@@ -166,6 +169,9 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
                     .addMethod(buildGetStaticInsertStrategy(strategy))
                     .addMethod(buildStaticColumns(fieldMetaSignatures, rawBeanType))
                     .addMethod(buildCounterColumns(fieldMetaSignatures, rawBeanType));
+
+            // Only overridden for annotated entities, the near cache is disabled by default
+            nearCache.ifPresent(annotation -> builder.addMethod(buildGetStaticNearCache(annotation)));
         } else if (entityType == EntityType.VIEW && globalParsingContext.supportsFeature(MATERIALIZED_VIEW)) {
             builder.superclass(genericType(ABSTRACT_VIEW_PROPERTY, rawBeanType))
                     .addMethod(buildStaticKeyspace(aptUtils.getAnnotationOnClass(elm, MaterializedView.class).get().keyspace()))
@@ -173,7 +179,8 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
                     .addMethod(buildGetBaseEntityClass(viewBaseClass.get()));
         }
 
-        builder.addMethod(buildNewInstanceFromCustomConstructor(customConstructorFieldMetaSignatures, rawClassTypeName));
+        builder.addMethod(buildNewInstanceFromCustomConstructor(customConstructorFieldMetaSignatures, rawClassTypeName))
+                .addMethod(buildNewInstanceFromDefaultConstructor(customConstructorFieldMetaSignatures, rawClassTypeName));
 
         for(FieldMetaSignature x: fieldMetaSignatures) {
             builder.addField(x.buildPropertyAsField());
@@ -218,6 +225,23 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
         return methodSpec.build();
     }
 
+    private MethodSpec buildNewInstanceFromDefaultConstructor(List<FieldMetaSignature> customConstructorFieldMetaSignatures, TypeName rawClassTypeName) {
+        final MethodSpec.Builder methodSpec = MethodSpec
+                .methodBuilder("newInstanceFromDefaultConstructor")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PROTECTED)
+                .returns(rawClassTypeName);
+
+        if (customConstructorFieldMetaSignatures.size() == 0) {
+            methodSpec.addStatement("return new $T()", rawClassTypeName);
+        } else {
+            final String errorMessage = "Cannot instantiate entity '" + rawClassTypeName.toString() + "' using default constructor because a custom constructor is used";
+            methodSpec.addStatement("throw new $T($S)", TypeName.get(UnsupportedOperationException.class), errorMessage);
+        }
+
+        return methodSpec.build();
+    }
+
     private MethodSpec buildFieldNameToCqlColumn(List<FieldMetaSignature> parsingResults) {
         final MethodSpec.Builder builder = MethodSpec.methodBuilder("fieldNameToCqlColumn")
                 .addAnnotation(Override.class)
@@ -491,6 +515,16 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
         }
     }
 
+    private MethodSpec buildGetStaticNearCache(NearCache nearCache) {
+        return MethodSpec.methodBuilder("getStaticNearCache")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PROTECTED)
+                .returns(genericType(OPTIONAL, NEAR_CACHE_OPTIONS))
+                .addStatement("return $T.of(new $T($LL, $LL, $T.SECONDS))", OPTIONAL, NEAR_CACHE_OPTIONS,
+                        nearCache.maximumSize(), nearCache.expireAfterWriteInSeconds(), ClassName.get(TimeUnit.class))
+                .build();
+    }
+
     private MethodSpec buildGetStaticInsertStrategy(Optional<Strategy> strategy) {
         final MethodSpec.Builder builder = MethodSpec.methodBuilder("getStaticInsertStrategy")
                 .addAnnotation(Override.class)
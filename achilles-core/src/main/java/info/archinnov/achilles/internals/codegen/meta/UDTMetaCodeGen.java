@@ -68,7 +68,8 @@ public class UDTMetaCodeGen implements CommonBeanMetaCodeGen {
                 .addMethod(buildComponentsProperty(rawBeanType, fieldMetaSignatures))
                 .addMethod(buildConstructorInjectedProperties(rawBeanType, customConstructorFieldMetaSignatures))
                 .addMethod(buildCreateUDTFromBeanT(rawBeanType, fieldMetaSignatures))
-                .addMethod(buildNewInstanceFromCustomConstructor(rawBeanType, customConstructorFieldMetaSignatures));
+                .addMethod(buildNewInstanceFromCustomConstructor(rawBeanType, customConstructorFieldMetaSignatures))
+                .addMethod(buildNewInstanceFromDefaultConstructor(rawBeanType, customConstructorFieldMetaSignatures));
 
         for (FieldMetaSignature x : fieldMetaSignatures) {
             builder.addField(x.buildPropertyAsField());
@@ -247,4 +248,20 @@ public class UDTMetaCodeGen implements CommonBeanMetaCodeGen {
 
         return methodSpec.build();
     }
+
+    private MethodSpec buildNewInstanceFromDefaultConstructor(TypeName rawBeanType, List<FieldMetaSignature> customConstructorFieldMetaSignatures) {
+        final MethodSpec.Builder methodSpec = MethodSpec.methodBuilder("newInstanceFromDefaultConstructor")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PROTECTED)
+                .returns(rawBeanType);
+
+        if (customConstructorFieldMetaSignatures.size() == 0) {
+            methodSpec.addStatement("return new $T()", rawBeanType);
+        } else {
+            final String errorMessage = "Cannot instantiate UDT '" + rawBeanType.toString() + "' using default constructor because a custom constructor is used";
+            methodSpec.addStatement("throw new $T($S)", TypeName.get(UnsupportedOperationException.class), errorMessage);
+        }
+
+        return methodSpec.build();
+    }
 }
@@ -15,10 +15,13 @@
  */
 package info.archinnov.achilles.internals.context;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import javax.validation.Validator;
 
@@ -29,13 +32,20 @@ import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import info.archinnov.achilles.async.CompletionMode;
+import info.archinnov.achilles.internals.cache.NearCacheOptions;
 import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.interceptor.DefaultPostLoadBeanValidationInterceptor;
 import info.archinnov.achilles.internals.interceptor.DefaultPreMutateBeanValidationInterceptor;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.DMLLogSampler;
+import info.archinnov.achilles.internals.statements.TracingSampler;
 import info.archinnov.achilles.json.JacksonMapperFactory;
+import info.archinnov.achilles.metrics.MetricsRecorder;
+import info.archinnov.achilles.metrics.NoOpMetricsRecorder;
+import info.archinnov.achilles.tracing.QueryTraceSink;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
@@ -74,6 +84,10 @@ public class ConfigurationContext {
 
     private int preparedStatementLRUCacheSize;
 
+    private int staticStatementsPrepareMaxInFlight;
+
+    private List<SchemaNameProvider> prewarmSchemaNameProviders = new ArrayList<>();
+
     private InsertStrategy globalInsertStrategy;
     private NamingStrategy globalNamingStrategy;
 
@@ -82,6 +96,8 @@ public class ConfigurationContext {
     private ExecutorService executorService;
     private boolean providedExecutorService;
 
+    private CompletionMode completionMode = CompletionMode.EXECUTOR;
+
     private BeanFactory defaultBeanFactory;
 
     private Session session;
@@ -95,6 +111,20 @@ public class ConfigurationContext {
 
     private Integer DMLResultsDisplaySize;
 
+    private DMLLogSampler dmlLogSampler = DMLLogSampler.LOG_ALL;
+
+    private Optional<QueryTraceSink> queryTraceSink = Optional.empty();
+
+    private TracingSampler tracingSampler = TracingSampler.TRACE_ALL;
+
+    private MetricsRecorder metricsRecorder = NoOpMetricsRecorder.INSTANCE;
+
+    private boolean metricsJMXExport;
+
+    private Map<Class<?>, NearCacheOptions> nearCacheOptionsMap = new HashMap<>();
+
+    private Set<Class<?>> changeTrackingEntities = new HashSet<>();
+
     public boolean isForceSchemaGeneration() {
         return forceSchemaGeneration;
     }
@@ -182,6 +212,22 @@ public class ConfigurationContext {
         this.preparedStatementLRUCacheSize = preparedStatementLRUCacheSize;
     }
 
+    public int getStaticStatementsPrepareMaxInFlight() {
+        return staticStatementsPrepareMaxInFlight;
+    }
+
+    public void setStaticStatementsPrepareMaxInFlight(int staticStatementsPrepareMaxInFlight) {
+        this.staticStatementsPrepareMaxInFlight = staticStatementsPrepareMaxInFlight;
+    }
+
+    public List<SchemaNameProvider> getPrewarmSchemaNameProviders() {
+        return prewarmSchemaNameProviders;
+    }
+
+    public void setPrewarmSchemaNameProviders(List<SchemaNameProvider> prewarmSchemaNameProviders) {
+        this.prewarmSchemaNameProviders = prewarmSchemaNameProviders;
+    }
+
     public InsertStrategy getGlobalInsertStrategy() {
         return globalInsertStrategy;
     }
@@ -200,7 +246,10 @@ public class ConfigurationContext {
 
     public boolean isClassConstrained(Class<?> clazz) {
         if (beanValidator != null) {
-            return beanValidator.getConstraintsForClass(clazz).isBeanConstrained();
+            // Resolve the bean constraint metadata once, at bootstrap
+            final boolean constrained = preMutateBeanValidationInterceptor.acceptEntity(clazz);
+            postLoadBeanValidationInterceptor.ifPresent(interceptor -> interceptor.acceptEntity(clazz));
+            return constrained;
         } else {
             return false;
         }
@@ -282,6 +331,14 @@ public class ConfigurationContext {
         this.providedSession = providedSession;
     }
 
+    public CompletionMode getCompletionMode() {
+        return completionMode;
+    }
+
+    public void setCompletionMode(CompletionMode completionMode) {
+        this.completionMode = completionMode;
+    }
+
     public boolean isProvidedExecutorService() {
         return providedExecutorService;
     }
@@ -334,10 +391,17 @@ public class ConfigurationContext {
                 entityProperty.interceptors.add(0, (Interceptor) postLoadBeanValidationInterceptor.get());
             }
         }
+        entityProperty.compileInterceptors();
 
         LOGGER.debug("Injecting global consistency levels");
         entityProperty.injectConsistencyLevels(session, this);
 
+        LOGGER.debug("Injecting near cache");
+        entityProperty.injectNearCache(Optional.ofNullable(nearCacheOptionsMap.get(entityClass)), executorService);
+
+        LOGGER.debug("Injecting change tracking");
+        entityProperty.injectChangeTracking(changeTrackingEntities.contains(entityClass));
+
         LOGGER.debug("Injecting runtime codecs");
         entityProperty.injectRuntimeCodecs(runtimeCodecs);
 
@@ -370,4 +434,60 @@ public class ConfigurationContext {
     public void setDMLResultsDisplaySize(Integer DMLResultsDisplaySize) {
         this.DMLResultsDisplaySize = DMLResultsDisplaySize;
     }
+
+    public DMLLogSampler getDMLLogSampler() {
+        return dmlLogSampler;
+    }
+
+    public void setDMLLogSampler(DMLLogSampler dmlLogSampler) {
+        this.dmlLogSampler = dmlLogSampler;
+    }
+
+    public Optional<QueryTraceSink> getQueryTraceSink() {
+        return queryTraceSink;
+    }
+
+    public void setQueryTraceSink(Optional<QueryTraceSink> queryTraceSink) {
+        this.queryTraceSink = queryTraceSink;
+    }
+
+    public TracingSampler getTracingSampler() {
+        return tracingSampler;
+    }
+
+    public void setTracingSampler(TracingSampler tracingSampler) {
+        this.tracingSampler = tracingSampler;
+    }
+
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    public void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    public boolean isMetricsJMXExport() {
+        return metricsJMXExport;
+    }
+
+    public void setMetricsJMXExport(boolean metricsJMXExport) {
+        this.metricsJMXExport = metricsJMXExport;
+    }
+
+    public Map<Class<?>, NearCacheOptions> getNearCacheOptionsMap() {
+        return nearCacheOptionsMap;
+    }
+
+    public void setNearCacheOptionsMap(Map<Class<?>, NearCacheOptions> nearCacheOptionsMap) {
+        this.nearCacheOptionsMap = nearCacheOptionsMap;
+    }
+
+    public Set<Class<?>> getChangeTrackingEntities() {
+        return changeTrackingEntities;
+    }
+
+    public void setChangeTrackingEntities(Set<Class<?>> changeTrackingEntities) {
+        this.changeTrackingEntities = changeTrackingEntities;
+    }
 }
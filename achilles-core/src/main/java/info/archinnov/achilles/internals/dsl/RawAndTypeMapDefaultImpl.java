@@ -16,6 +16,7 @@
 
 package info.archinnov.achilles.internals.dsl;
 
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static java.lang.String.format;
 
 import java.util.Iterator;
@@ -31,8 +32,11 @@ import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
 import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.ResultSetPublisher;
 import info.archinnov.achilles.internals.types.TypedMapIteratorWrapper;
+import info.archinnov.achilles.internals.utils.PagingHelper;
 import info.archinnov.achilles.type.TypedMap;
+import info.archinnov.achilles.type.streaming.Publisher;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public interface RawAndTypeMapDefaultImpl extends TypedMapAware, StatementTypeAware {
@@ -62,7 +66,27 @@ public interface RawAndTypeMapDefaultImpl extends TypedMapAware, StatementTypeAw
                 .thenApply(options()::resultSetAsyncListener)
                 .thenApply(x -> statementWrapper.logReturnResults(x, options().computeMaxDisplayedResults(runtimeEngine().configContext)))
                 .thenApply(statementWrapper::logTrace)
-                .thenApply(x -> Tuple2.of(mapResultSetToTypedMaps(x), x.getExecutionInfo()));
+                .thenCompose(rs -> PagingHelper.mapPages(rs, options(), boundStatement(), this::mapRowToTypedMap, runtimeEngine().completionExecutor)
+                        .thenApply(typedMaps -> Tuple2.of(typedMaps, rs.getExecutionInfo())));
+    }
+
+    @Override
+    default Publisher<TypedMap> typedMapPublisher() {
+        return new ResultSetPublisher<>(() -> {
+            final StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement()),
+                    meta(), boundStatement(), encodedBoundValues());
+
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Select for streaming : %s",
+                        statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+            }
+
+            final CompletableFuture<ResultSet> futureRS = runtimeEngine().execute(statementWrapper);
+            return propagateCancellation(futureRS, futureRS
+                    .thenApply(options()::resultSetAsyncListener)
+                    .thenApply(x -> statementWrapper.logReturnResults(x, options().computeMaxDisplayedResults(runtimeEngine().configContext)))
+                    .thenApply(statementWrapper::logTrace));
+        }, this::mapRowToTypedMap, runtimeEngine().completionExecutor);
     }
 
     @Override
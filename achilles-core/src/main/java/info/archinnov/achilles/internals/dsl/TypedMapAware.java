@@ -30,6 +30,7 @@ import com.datastax.driver.core.Row;
 import com.google.common.util.concurrent.Uninterruptibles;
 
 import info.archinnov.achilles.type.TypedMap;
+import info.archinnov.achilles.type.streaming.Publisher;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public interface TypedMapAware extends AsyncAware {
@@ -99,6 +100,12 @@ public interface TypedMapAware extends AsyncAware {
      */
     CompletableFuture<Tuple2<TypedMap, ExecutionInfo>> getTypedMapAsyncWithStats();
 
+    /**
+     * Return a {@link info.archinnov.achilles.type.streaming.Publisher}&lt;{@link info.archinnov.achilles.type.TypedMap}&gt;
+     * executing the SELECT action on subscription and streaming all rows page by page, following the subscriber demand
+     */
+    Publisher<TypedMap> typedMapPublisher();
+
 
     default CompletableFuture<TypedMap> getTypedMapAsync() {
         return getTypedMapAsyncWithStats()
@@ -23,7 +23,9 @@ import com.datastax.driver.core.ExecutionInfo;
 import com.google.common.util.concurrent.Uninterruptibles;
 
 import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.types.SingleFuturePublisher;
 import info.archinnov.achilles.type.Empty;
+import info.archinnov.achilles.type.streaming.Publisher;
 
 public interface MutationAction extends AsyncAware {
 
@@ -68,4 +70,15 @@ public interface MutationAction extends AsyncAware {
      */
     CompletableFuture<ExecutionInfo> executeAsyncWithStats();
 
+    /**
+     * Return a {@link info.archinnov.achilles.type.streaming.Publisher} of the
+     * {@link com.datastax.driver.core.ExecutionInfo} of the INSERT/UPDATE/DELETE action.
+     * <br/>
+     * The action is executed on the first request of the subscriber and cancelling
+     * the subscription cancels the query in flight
+     */
+    default Publisher<ExecutionInfo> publisher() {
+        return new SingleFuturePublisher<>(this::executeAsyncWithStats);
+    }
+
 }
@@ -25,6 +25,7 @@ import com.datastax.driver.core.ExecutionInfo;
 import com.google.common.util.concurrent.Uninterruptibles;
 
 import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.type.streaming.Publisher;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public interface SelectAction<ENTITY> extends AsyncAware {
@@ -124,4 +125,12 @@ public interface SelectAction<ENTITY> extends AsyncAware {
      * a list of entity instances with {@link com.datastax.driver.core.ExecutionInfo}
      */
     CompletableFuture<Tuple2<List<ENTITY>, ExecutionInfo>> getListAsyncWithStats();
+
+    /**
+     * Return a {@link info.archinnov.achilles.type.streaming.Publisher}&lt;ENTITY&gt; executing the SELECT action
+     * on subscription and streaming all matching entity instances page by page, following the subscriber demand
+     * <br/>
+     * The next page is fetched asynchronously only when the demand exceeds the rows of the current page
+     */
+    Publisher<ENTITY> publisher();
 }
@@ -16,6 +16,7 @@
 
 package info.archinnov.achilles.internals.dsl.action;
 
+import java.io.OutputStream;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -25,6 +26,8 @@ import com.datastax.driver.core.ExecutionInfo;
 import com.google.common.util.concurrent.Uninterruptibles;
 
 import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.types.JSONArrayWriter;
+import info.archinnov.achilles.type.streaming.Publisher;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public interface SelectJSONAction extends AsyncAware {
@@ -129,4 +132,70 @@ public interface SelectJSONAction extends AsyncAware {
      * a list of entity instances with {@link com.datastax.driver.core.ExecutionInfo}
      */
     CompletableFuture<Tuple2<List<String>, ExecutionInfo>> getListJSONAsyncWithStats();
+
+    /**
+     * Return a {@link info.archinnov.achilles.type.streaming.Publisher}&lt;String&gt; executing the SELECT JSON * action
+     * on subscription and streaming all rows as JSON page by page, following the subscriber demand
+     */
+    Publisher<String> publisher();
+
+    /**
+     * Execute the SELECT JSON * action and write all rows as a UTF-8 encoded JSON array
+     * into the given {@link java.io.OutputStream}. Pages are streamed one after the other,
+     * the whole result is never held in memory
+     * <br/>
+     * The output stream is flushed but not closed
+     *
+     * @return the number of written rows
+     */
+    default long writeJSONArrayTo(OutputStream outputStream) {
+        try {
+            return Uninterruptibles.getUninterruptibly(writeJSONArrayToAsync(outputStream));
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Execute the SELECT JSON * action asynchronously and write all rows as a UTF-8 encoded JSON array
+     * into the given {@link java.io.OutputStream}
+     *
+     * @return a {@link java.util.concurrent.CompletableFuture} of the number of written rows
+     */
+    default CompletableFuture<Long> writeJSONArrayToAsync(OutputStream outputStream) {
+        return writeJSONArrayAsync(JSONArrayWriter.to(outputStream));
+    }
+
+    /**
+     * Execute the SELECT JSON * action and append all rows as a JSON array
+     * to the given {@link java.lang.Appendable}. Pages are streamed one after the other,
+     * the whole result is never held in memory
+     *
+     * @return the number of written rows
+     */
+    default long writeJSONArrayTo(Appendable appendable) {
+        try {
+            return Uninterruptibles.getUninterruptibly(writeJSONArrayToAsync(appendable));
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Execute the SELECT JSON * action asynchronously and append all rows as a JSON array
+     * to the given {@link java.lang.Appendable}
+     *
+     * @return a {@link java.util.concurrent.CompletableFuture} of the number of written rows
+     */
+    default CompletableFuture<Long> writeJSONArrayToAsync(Appendable appendable) {
+        return writeJSONArrayAsync(JSONArrayWriter.to(appendable));
+    }
+
+    /**
+     * Execute the SELECT JSON * action asynchronously and pass all rows to the given
+     * {@link info.archinnov.achilles.internals.types.JSONArrayWriter}
+     *
+     * @return a {@link java.util.concurrent.CompletableFuture} of the number of written rows
+     */
+    CompletableFuture<Long> writeJSONArrayAsync(JSONArrayWriter writer);
 }
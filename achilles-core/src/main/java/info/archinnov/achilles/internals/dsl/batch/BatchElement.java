@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.batch;
+
+import java.util.function.Function;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ResultSet;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+
+/**
+ * A bound statement to be added to a batch, with the
+ * LWT listeners and POST interceptors of its originating action
+ */
+public class BatchElement {
+
+    public final AbstractEntityProperty<?> meta;
+    public final StatementWrapper statementWrapper;
+    public final String queryString;
+    private final Function<ResultSet, ResultSet> onBatchSuccess;
+
+    public BatchElement(AbstractEntityProperty<?> meta, StatementWrapper statementWrapper, Function<ResultSet, ResultSet> onBatchSuccess) {
+        this.meta = meta;
+        this.statementWrapper = statementWrapper;
+        this.queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
+        this.onBatchSuccess = onBatchSuccess;
+    }
+
+    public BoundStatement getBoundStatement() {
+        return statementWrapper.getBoundStatement();
+    }
+
+    public boolean isCounter() {
+        return meta.counterTable;
+    }
+
+    public ResultSet onBatchSuccess(ResultSet resultSet) {
+        return onBatchSuccess.apply(resultSet);
+    }
+}
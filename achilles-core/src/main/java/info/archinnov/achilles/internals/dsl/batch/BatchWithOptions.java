@@ -0,0 +1,453 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.batch;
+
+import static info.archinnov.achilles.validation.Validator.*;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.policies.RetryPolicy;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.type.Empty;
+
+/**
+ * Batch of INSERT/UPDATE/DELETE actions. Example of usage:
+ * <pre class="code"><code class="java">
+ * manager
+ *   .batch()
+ *   .unlogged()
+ *   .add(manager.crud().insert(entity1))
+ *   .add(manager.crud().insert(entity2))
+ *   .add(manager.dsl().delete().value().fromBaseTable().where().id().Eq(id3))
+ *   .execute();
+ * </code></pre>
+ * <br/>
+ * The PRE interceptors of each action are triggered when the batch is executed,
+ * the LWT listeners and POST interceptors once the batch has been executed successfully
+ */
+public class BatchWithOptions implements AsyncAware {
+
+    public static final int DEFAULT_MAX_STATEMENTS_PER_BATCH = 100;
+    public static final int DEFAULT_MAX_BYTES_PER_BATCH = 5 * 1024;
+    public static final int DEFAULT_MAX_IN_FLIGHT_BATCHES = 32;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchWithOptions.class);
+
+    private final RuntimeEngine rte;
+    private final List<BatchableAction> actions = new ArrayList<>();
+    private BatchStatement.Type batchType = BatchStatement.Type.LOGGED;
+    private boolean groupByPartition = false;
+    private int maxStatementsPerBatch = DEFAULT_MAX_STATEMENTS_PER_BATCH;
+    private int maxBytesPerBatch = DEFAULT_MAX_BYTES_PER_BATCH;
+    private int maxInFlightBatches = DEFAULT_MAX_IN_FLIGHT_BATCHES;
+    private Optional<ConsistencyLevel> cl = Optional.empty();
+    private Optional<ConsistencyLevel> serialCL = Optional.empty();
+    private Optional<Long> defaultTimestamp = Optional.empty();
+    private Optional<Boolean> idempotent = Optional.empty();
+    private Optional<RetryPolicy> retryPolicy = Optional.empty();
+    private Optional<Boolean> tracing = Optional.empty();
+
+    public BatchWithOptions(RuntimeEngine rte) {
+        this.rte = rte;
+    }
+
+    /**
+     * Add an INSERT/UPDATE/DELETE action coming from the CRUD API or the DSL API
+     */
+    public BatchWithOptions add(MutationAction action) {
+        validateNotNull(action, "The action to be added to the batch should not be null");
+        validateTrue(action instanceof BatchableAction, "The action of type '%s' cannot be added to a batch",
+                action.getClass().getCanonicalName());
+        actions.add((BatchableAction) action);
+        return this;
+    }
+
+    /**
+     * Add a list of INSERT/UPDATE/DELETE actions coming from the CRUD API or the DSL API
+     */
+    public BatchWithOptions addAll(List<? extends MutationAction> actions) {
+        validateNotNull(actions, "The actions to be added to the batch should not be null");
+        actions.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * Execute all actions in a single <strong>LOGGED</strong> batch (default)
+     */
+    public BatchWithOptions logged() {
+        return withBatchType(BatchStatement.Type.LOGGED);
+    }
+
+    /**
+     * Execute all actions in a single <strong>UNLOGGED</strong> batch
+     */
+    public BatchWithOptions unlogged() {
+        return withBatchType(BatchStatement.Type.UNLOGGED);
+    }
+
+    /**
+     * Execute all actions in a single <strong>COUNTER</strong> batch.
+     * All actions should target counter tables
+     */
+    public BatchWithOptions counter() {
+        return withBatchType(BatchStatement.Type.COUNTER);
+    }
+
+    /**
+     * Execute all actions in a single batch of the given type
+     */
+    public BatchWithOptions withBatchType(BatchStatement.Type batchType) {
+        validateNotNull(batchType, "The batch type should not be null");
+        this.batchType = batchType;
+        this.groupByPartition = false;
+        return this;
+    }
+
+    /**
+     * Group the actions by partition token and execute each group concurrently
+     * as a single-partition <strong>UNLOGGED</strong> batch (or <strong>COUNTER</strong> batch for counter tables).
+     * <br/>
+     * A group is split into several batches when it exceeds the maximum number of statements
+     * or the maximum size in bytes, see {@link #withMaxStatementsPerBatch(int)} and {@link #withMaxBytesPerBatch(int)}.
+     * At most {@link #withMaxInFlightBatches(int)} batches are executed at the same time
+     */
+    public BatchWithOptions groupByPartition() {
+        this.groupByPartition = true;
+        return this;
+    }
+
+    /**
+     * Maximum number of statements per batch when grouping by partition. Default = 100
+     */
+    public BatchWithOptions withMaxStatementsPerBatch(int maxStatementsPerBatch) {
+        validateTrue(maxStatementsPerBatch > 0, "The maximum number of statements per batch should be strictly positive");
+        this.maxStatementsPerBatch = maxStatementsPerBatch;
+        return this;
+    }
+
+    /**
+     * Maximum number of batches executed at the same time when grouping by partition.
+     * Defaults to {@link #DEFAULT_MAX_IN_FLIGHT_BATCHES}
+     */
+    public BatchWithOptions withMaxInFlightBatches(int maxInFlightBatches) {
+        validateTrue(maxInFlightBatches > 0, "The max in-flight batches count should be strictly positive");
+        this.maxInFlightBatches = maxInFlightBatches;
+        return this;
+    }
+
+    /**
+     * Maximum size in bytes of a batch when grouping by partition. Default = 5 kb
+     */
+    public BatchWithOptions withMaxBytesPerBatch(int maxBytesPerBatch) {
+        validateTrue(maxBytesPerBatch > 0, "The maximum size in bytes of a batch should be strictly positive");
+        this.maxBytesPerBatch = maxBytesPerBatch;
+        return this;
+    }
+
+    /**
+     * Set the consistency level of the batch. If not set,
+     * the batch inherits the consistency level of its first statement
+     */
+    public BatchWithOptions withConsistencyLevel(ConsistencyLevel consistencyLevel) {
+        this.cl = Optional.of(consistencyLevel);
+        return this;
+    }
+
+    /**
+     * Set the serial consistency level of the batch. If not set,
+     * the batch inherits the serial consistency level of its first statement
+     */
+    public BatchWithOptions withSerialConsistencyLevel(ConsistencyLevel serialConsistencyLevel) {
+        this.serialCL = Optional.of(serialConsistencyLevel);
+        return this;
+    }
+
+    /**
+     * Set the default timestamp of the batch
+     */
+    public BatchWithOptions usingTimestamp(long timestamp) {
+        this.defaultTimestamp = Optional.of(timestamp);
+        return this;
+    }
+
+    public BatchWithOptions isIdempotent() {
+        this.idempotent = Optional.of(true);
+        return this;
+    }
+
+    public BatchWithOptions isIdempotent(boolean idempotent) {
+        this.idempotent = Optional.of(idempotent);
+        return this;
+    }
+
+    public BatchWithOptions withRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = Optional.of(retryPolicy);
+        return this;
+    }
+
+    public BatchWithOptions withTracing() {
+        this.tracing = Optional.of(true);
+        return this;
+    }
+
+    /**
+     * Execute the batch(es)
+     */
+    public void execute() {
+        try {
+            Uninterruptibles.getUninterruptibly(executeAsync());
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Execute the batch(es) and return the {@link com.datastax.driver.core.ExecutionInfo} of each executed batch
+     */
+    public List<ExecutionInfo> executeWithStats() {
+        try {
+            return Uninterruptibles.getUninterruptibly(executeAsyncWithStats());
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Execute the batch(es) asynchronously
+     * and return a {@link java.util.concurrent.CompletableFuture}
+     * of {@link info.archinnov.achilles.type.Empty} object.
+     */
+    public CompletableFuture<Empty> executeAsync() {
+        return executeAsyncWithStats()
+                .thenApply(x -> Empty.INSTANCE);
+    }
+
+    /**
+     * Execute the batch(es) asynchronously
+     * and return a {@link java.util.concurrent.CompletableFuture}
+     * of the {@link com.datastax.driver.core.ExecutionInfo} of each executed batch
+     */
+    public CompletableFuture<List<ExecutionInfo>> executeAsyncWithStats() {
+        validateNotEmpty(actions, "The batch should contain at least one action");
+
+        final List<BatchElement> elements = actions
+                .stream()
+                .map(BatchableAction::toBatchElement)
+                .collect(toList());
+
+        if (groupByPartition) {
+            return executeWithMaxInFlight(splitByPartition(elements));
+        } else {
+            final boolean counterBatch = batchType == BatchStatement.Type.COUNTER;
+            for (BatchElement element : elements) {
+                validateTrue(element.isCounter() == counterBatch,
+                        "Cannot add the statement '%s' on %s table to a %s batch",
+                        element.queryString, element.isCounter() ? "counter" : "non counter", batchType.name());
+            }
+            return executeBatch(batchType, elements).thenApply(Collections::singletonList);
+        }
+    }
+
+    private List<List<BatchElement>> splitByPartition(List<BatchElement> elements) {
+        final Configuration configuration = rte.getCluster().getConfiguration();
+        final ProtocolVersion protocolVersion = configuration.getProtocolOptions().getProtocolVersion();
+        final CodecRegistry codecRegistry = configuration.getCodecRegistry();
+        final Metadata metadata = rte.getCluster().getMetadata();
+
+        final Map<Object, List<BatchElement>> groups = new LinkedHashMap<>();
+        for (BatchElement element : elements) {
+            final ByteBuffer routingKey = element.getBoundStatement().getRoutingKey(protocolVersion, codecRegistry);
+            // Statements without routing key cannot be grouped, each one goes to its own batch
+            final Object groupKey = routingKey == null ? element : metadata.newToken(routingKey);
+            groups.computeIfAbsent(groupKey, key -> new ArrayList<>()).add(element);
+        }
+
+        final List<List<BatchElement>> chunks = new ArrayList<>();
+        for (List<BatchElement> group : groups.values()) {
+            splitBySize(group.stream().filter(BatchElement::isCounter).collect(toList()), protocolVersion, codecRegistry, chunks);
+            splitBySize(group.stream().filter(x -> !x.isCounter()).collect(toList()), protocolVersion, codecRegistry, chunks);
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Split %s statements into %s groups and %s batches",
+                    elements.size(), groups.size(), chunks.size()));
+        }
+        return chunks;
+    }
+
+    private void splitBySize(List<BatchElement> elements, ProtocolVersion protocolVersion, CodecRegistry codecRegistry,
+                             List<List<BatchElement>> chunks) {
+        List<BatchElement> currentChunk = new ArrayList<>();
+        int currentBytes = 0;
+        for (BatchElement element : elements) {
+            final int bytes = element.getBoundStatement().requestSizeInBytes(protocolVersion, codecRegistry);
+            if (!currentChunk.isEmpty() &&
+                    (currentChunk.size() >= maxStatementsPerBatch || currentBytes + bytes > maxBytesPerBatch)) {
+                chunks.add(currentChunk);
+                currentChunk = new ArrayList<>();
+                currentBytes = 0;
+            }
+            currentChunk.add(element);
+            currentBytes += bytes;
+        }
+        if (!currentChunk.isEmpty()) {
+            chunks.add(currentChunk);
+        }
+    }
+
+    /**
+     * Execute the chunks with at most <em>maxInFlightBatches</em> of them at the same time, each completed
+     * chunk starting the next pending one. Like a single batch, the returned future fails once all the
+     * chunks are complete if any of them failed
+     */
+    private CompletableFuture<List<ExecutionInfo>> executeWithMaxInFlight(List<List<BatchElement>> chunks) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Execute %s partition batches with max in-flight %s", chunks.size(), maxInFlightBatches));
+        }
+        final InFlightBatches inFlightBatches = new InFlightBatches(chunks);
+        for (int i = 0; i < Math.min(maxInFlightBatches, chunks.size()); i++) {
+            inFlightBatches.executeNext();
+        }
+        return inFlightBatches.result;
+    }
+
+    private CompletableFuture<ExecutionInfo> executeBatch(BatchStatement.Type type, List<BatchElement> elements) {
+        final BatchStatement batchStatement = new BatchStatement(type);
+        for (BatchElement element : elements) {
+            rte.logBatchDML(element.statementWrapper);
+            batchStatement.add(element.getBoundStatement());
+        }
+        applyOptions(batchStatement, elements.get(0).getBoundStatement());
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Execute %s batch of %s statements", type.name(), elements.size()));
+        }
+
+        return rte.execute(batchStatement)
+                .whenComplete((rs, throwable) -> {
+                    // A failed batch may still have been applied, the near cached entries cannot be trusted
+                    if (throwable != null) {
+                        elements.forEach(element -> element.meta.invalidateAllNearCache());
+                    }
+                })
+                .thenApply(rs -> {
+                    elements.forEach(element -> element.onBatchSuccess(rs));
+                    return rs.getExecutionInfo();
+                });
+    }
+
+    private void applyOptions(BatchStatement batchStatement, BoundStatement firstStatement) {
+        batchStatement.setConsistencyLevel(cl.orElse(firstStatement.getConsistencyLevel()));
+        final ConsistencyLevel serialConsistencyLevel = serialCL.orElse(firstStatement.getSerialConsistencyLevel());
+        if (serialConsistencyLevel != null) batchStatement.setSerialConsistencyLevel(serialConsistencyLevel);
+        if (defaultTimestamp.isPresent()) batchStatement.setDefaultTimestamp(defaultTimestamp.get());
+        if (idempotent.isPresent()) batchStatement.setIdempotent(idempotent.get());
+        if (retryPolicy.isPresent()) batchStatement.setRetryPolicy(retryPolicy.get());
+        if (tracing.isPresent() && tracing.get()) batchStatement.enableTracing();
+    }
+
+    private class InFlightBatches {
+        private final List<List<BatchElement>> chunks;
+        private final ExecutionInfo[] executionInfos;
+        private final AtomicInteger nextChunk = new AtomicInteger();
+        private final AtomicInteger remainingChunks;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final CompletableFuture<List<ExecutionInfo>> result = new CompletableFuture<>();
+
+        private InFlightBatches(List<List<BatchElement>> chunks) {
+            this.chunks = chunks;
+            this.executionInfos = new ExecutionInfo[chunks.size()];
+            this.remainingChunks = new AtomicInteger(chunks.size());
+        }
+
+        /**
+         * Execute the next pending chunk. Chunks whose future is already complete
+         * are handled in the loop rather than recursively
+         */
+        private void executeNext() {
+            int index;
+            while ((index = nextChunk.getAndIncrement()) < chunks.size()) {
+                final int chunkIndex = index;
+                final CompletableFuture<ExecutionInfo> future = executeChunk(chunks.get(chunkIndex));
+                if (!future.isDone()) {
+                    future.whenComplete((executionInfo, throwable) -> {
+                        if (!onChunkComplete(chunkIndex, executionInfo, throwable)) {
+                            executeNext();
+                        }
+                    });
+                    return;
+                }
+                final ExecutionInfo executionInfo;
+                try {
+                    executionInfo = future.join();
+                } catch (CompletionException e) {
+                    onChunkComplete(chunkIndex, null, e.getCause());
+                    continue;
+                }
+                if (onChunkComplete(chunkIndex, executionInfo, null)) {
+                    return;
+                }
+            }
+        }
+
+        private CompletableFuture<ExecutionInfo> executeChunk(List<BatchElement> chunk) {
+            try {
+                return executeBatch(chunk.get(0).isCounter() ? BatchStatement.Type.COUNTER : BatchStatement.Type.UNLOGGED, chunk);
+            } catch (Throwable throwable) {
+                final CompletableFuture<ExecutionInfo> failed = new CompletableFuture<>();
+                failed.completeExceptionally(throwable);
+                return failed;
+            }
+        }
+
+        /**
+         * @return true when it was the last chunk
+         */
+        private boolean onChunkComplete(int index, ExecutionInfo executionInfo, Throwable throwable) {
+            if (throwable != null) {
+                failure.compareAndSet(null, throwable);
+            } else {
+                executionInfos[index] = executionInfo;
+            }
+            if (remainingChunks.decrementAndGet() > 0) {
+                return false;
+            }
+            if (failure.get() != null) {
+                result.completeExceptionally(failure.get());
+            } else {
+                result.complete(Arrays.asList(executionInfos));
+            }
+            return true;
+        }
+    }
+}
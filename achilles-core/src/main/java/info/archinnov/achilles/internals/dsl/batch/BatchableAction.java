@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.batch;
+
+public interface BatchableAction {
+
+    /**
+     * <ul>
+     * <li>1. trigger the PRE interceptors, if any</li>
+     * <li>2. generate and bind the statement</li>
+     * <li>3. return the bound statement along with the callback to invoke once the batch has been executed</li>
+     * </ul>
+     *
+     * @return BatchElement
+     */
+    BatchElement toBatchElement();
+}
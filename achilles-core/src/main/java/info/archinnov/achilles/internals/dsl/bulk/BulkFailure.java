@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.bulk;
+
+/**
+ * Entity whose mutation failed during a bulk INSERT/UPDATE/DELETE, with the cause of the failure
+ */
+public class BulkFailure<ENTITY> {
+
+    private final ENTITY entity;
+    private final Throwable cause;
+
+    public BulkFailure(ENTITY entity, Throwable cause) {
+        this.entity = entity;
+        this.cause = cause;
+    }
+
+    public ENTITY getEntity() {
+        return entity;
+    }
+
+    public Throwable getCause() {
+        return cause;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkFailure{" +
+                "entity=" + entity +
+                ", cause=" + cause +
+                '}';
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.bulk;
+
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Host;
+import com.google.common.util.concurrent.RateLimiter;
+
+import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+
+/**
+ * Pipelined INSERT/UPDATE/DELETE of a sequence of entities.
+ * <br/>
+ * Each entity is mutated with its own CRUD action so interceptors, bean validation and
+ * lightweight transaction listeners apply as for a single mutation. At most <em>maxInFlight</em>
+ * mutations are executed at the same time, the calling thread being blocked while this
+ * limit is reached. A failed mutation does not abort the bulk, its entity and cause are collected
+ * in the returned {@link BulkResult}
+ * <br/>
+ * <br/>
+ * <pre class="code"><code class="java">
+ * BulkResult&lt;User&gt; result = userManager
+ *     .crud()
+ *     .insertAll(users)
+ *     .withMaxInFlight(256)
+ *     .withRateLimit(5000)
+ *     .withActionOptions(insert -&gt; insert.usingTimeToLive(3600))
+ *     .execute();
+ * </code></pre>
+ */
+public class BulkMutationWithOptions<ENTITY, ACTION extends MutationAction> {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 128;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkMutationWithOptions.class);
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final Iterator<ENTITY> entities;
+    private final Function<ENTITY, ACTION> actionFactory;
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    private Optional<RateLimiter> rateLimiter = Optional.empty();
+    private Optional<Consumer<ACTION>> actionOptions = Optional.empty();
+    private boolean preservePartitionOrdering = false;
+    private boolean collectExecutionInfos = false;
+
+    public BulkMutationWithOptions(AbstractEntityProperty<ENTITY> meta, Iterator<ENTITY> entities, Function<ENTITY, ACTION> actionFactory) {
+        this.meta = meta;
+        this.entities = entities;
+        this.actionFactory = actionFactory;
+    }
+
+    /**
+     * Maximum number of mutations executed at the same time. Defaults to {@link #DEFAULT_MAX_IN_FLIGHT}
+     */
+    public BulkMutationWithOptions<ENTITY, ACTION> withMaxInFlight(int maxInFlight) {
+        validateTrue(maxInFlight > 0, "The max in-flight mutations count should be strictly positive");
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * Maximum number of mutations started per second
+     */
+    public BulkMutationWithOptions<ENTITY, ACTION> withRateLimit(double mutationsPerSecond) {
+        validateTrue(mutationsPerSecond > 0, "The bulk rate limit should be strictly positive");
+        this.rateLimiter = Optional.of(RateLimiter.create(mutationsPerSecond));
+        return this;
+    }
+
+    /**
+     * Customize each CRUD action before its execution, e.g. to set a consistency level or a TTL
+     */
+    public BulkMutationWithOptions<ENTITY, ACTION> withActionOptions(Consumer<ACTION> actionOptions) {
+        validateNotNull(actionOptions, "The bulk action options should not be null");
+        this.actionOptions = Optional.of(actionOptions);
+        return this;
+    }
+
+    /**
+     * Execute the mutations of entities sharing the same partition key one after the other,
+     * in the order of the source. Mutations of different partitions are still pipelined
+     */
+    public BulkMutationWithOptions<ENTITY, ACTION> preservePartitionOrdering() {
+        this.preservePartitionOrdering = true;
+        return this;
+    }
+
+    /**
+     * Keep the {@link com.datastax.driver.core.ExecutionInfo} of each successful mutation in the {@link BulkResult}.
+     * <br/>
+     * Beware of the memory footprint for large bulks, aggregated statistics are always available
+     */
+    public BulkMutationWithOptions<ENTITY, ACTION> collectExecutionInfos() {
+        this.collectExecutionInfos = true;
+        return this;
+    }
+
+    /**
+     * Execute all the mutations and wait for their completion
+     * <br/>
+     * WARNING: <strong>this method blocks until all the mutations are complete</strong>
+     *
+     * @return {@link BulkResult} with per-item failures and aggregated statistics
+     */
+    public BulkResult<ENTITY> execute() {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Start bulk mutation of entities %s with max in-flight %s",
+                    meta.entityClass.getCanonicalName(), maxInFlight));
+        }
+
+        final long start = System.nanoTime();
+        final Semaphore permits = new Semaphore(maxInFlight);
+        final BulkCollector collector = new BulkCollector();
+        final Map<List<Object>, CompletableFuture<ExecutionInfo>> partitionTails = new ConcurrentHashMap<>();
+
+        try {
+            while (entities.hasNext()) {
+                final ENTITY entity = entities.next();
+                permits.acquireUninterruptibly();
+                rateLimiter.ifPresent(RateLimiter::acquire);
+
+                final CompletableFuture<ExecutionInfo> future = preservePartitionOrdering
+                        ? submitAfterPreviousOfPartition(entity, partitionTails)
+                        : submit(entity);
+
+                future.whenComplete((executionInfo, throwable) -> {
+                    if (throwable != null) {
+                        collector.onFailure(entity, unwrap(throwable));
+                    } else {
+                        collector.onSuccess(executionInfo);
+                    }
+                    permits.release();
+                });
+            }
+        } finally {
+            permits.acquireUninterruptibly(maxInFlight);
+        }
+
+        final BulkResult<ENTITY> result = collector.toResult(System.nanoTime() - start);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Bulk mutation of entities %s done : %s", meta.entityClass.getCanonicalName(), result));
+        }
+        return result;
+    }
+
+    private CompletableFuture<ExecutionInfo> submitAfterPreviousOfPartition(ENTITY entity,
+                                                                            Map<List<Object>, CompletableFuture<ExecutionInfo>> partitionTails) {
+        final List<Object> partitionKey;
+        try {
+            partitionKey = extractPartitionKey(entity);
+        } catch (Throwable throwable) {
+            return failedFuture(throwable);
+        }
+
+        final CompletableFuture<ExecutionInfo> previous = partitionTails.get(partitionKey);
+        final CompletableFuture<ExecutionInfo> future = previous == null
+                ? submit(entity)
+                : previous.handle((executionInfo, throwable) -> entity).thenCompose(this::submit);
+
+        partitionTails.put(partitionKey, future);
+        future.whenComplete((executionInfo, throwable) -> partitionTails.remove(partitionKey, future));
+        return future;
+    }
+
+    private CompletableFuture<ExecutionInfo> submit(ENTITY entity) {
+        try {
+            final ACTION action = actionFactory.apply(entity);
+            actionOptions.ifPresent(options -> options.accept(action));
+            return action.executeAsyncWithStats();
+        } catch (Throwable throwable) {
+            return failedFuture(throwable);
+        }
+    }
+
+    private List<Object> extractPartitionKey(ENTITY entity) {
+        validateNotNull(entity, "Entity to be mutated should not be null");
+        final List<AbstractProperty<ENTITY, ?, ?>> partitionKeys = meta.partitionKeys;
+        final List<Object> partitionKey = new ArrayList<>(partitionKeys.size());
+        for (AbstractProperty<ENTITY, ?, ?> property : partitionKeys) {
+            partitionKey.add(property.getFieldValue(entity));
+        }
+        return partitionKey;
+    }
+
+    private static CompletableFuture<ExecutionInfo> failedFuture(Throwable throwable) {
+        final CompletableFuture<ExecutionInfo> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private final class BulkCollector {
+        private final LongAdder successCount = new LongAdder();
+        private final LongAdder retryCount = new LongAdder();
+        private final LongAdder speculativeExecutionCount = new LongAdder();
+        private final ConcurrentMap<Host, LongAdder> requestsPerHost = new ConcurrentHashMap<>();
+        private final Queue<BulkFailure<ENTITY>> failures = new ConcurrentLinkedQueue<>();
+        private final Queue<ExecutionInfo> executionInfos = new ConcurrentLinkedQueue<>();
+
+        private void onSuccess(ExecutionInfo executionInfo) {
+            successCount.increment();
+            if (executionInfo == null) {
+                return;
+            }
+            final Host queriedHost = executionInfo.getQueriedHost();
+            if (queriedHost != null) {
+                requestsPerHost.computeIfAbsent(queriedHost, host -> new LongAdder()).increment();
+            }
+            retryCount.add(Math.max(0, executionInfo.getTriedHosts().size() - 1));
+            speculativeExecutionCount.add(executionInfo.getSpeculativeExecutions());
+            if (collectExecutionInfos) {
+                executionInfos.add(executionInfo);
+            }
+        }
+
+        private void onFailure(ENTITY entity, Throwable cause) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Bulk mutation failed for entity %s : %s", entity, cause.getMessage()));
+            }
+            failures.add(new BulkFailure<>(entity, cause));
+        }
+
+        private BulkResult<ENTITY> toResult(long elapsedNanos) {
+            final Map<Host, Long> hosts = new HashMap<>();
+            requestsPerHost.forEach((host, count) -> hosts.put(host, count.sum()));
+            return new BulkResult<>(successCount.sum(), new ArrayList<>(failures), elapsedNanos, hosts,
+                    retryCount.sum(), speculativeExecutionCount.sum(), new ArrayList<>(executionInfos));
+        }
+    }
+}
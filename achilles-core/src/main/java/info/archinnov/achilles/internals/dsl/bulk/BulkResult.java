@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.bulk;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Host;
+
+/**
+ * Outcome of a bulk INSERT/UPDATE/DELETE: per-item failures and the statistics
+ * aggregated from the {@link com.datastax.driver.core.ExecutionInfo} of all successful mutations
+ */
+public class BulkResult<ENTITY> {
+
+    private final long successCount;
+    private final List<BulkFailure<ENTITY>> failures;
+    private final long elapsedNanos;
+    private final Map<Host, Long> requestsPerHost;
+    private final long retryCount;
+    private final long speculativeExecutionCount;
+    private final List<ExecutionInfo> executionInfos;
+
+    public BulkResult(long successCount, List<BulkFailure<ENTITY>> failures, long elapsedNanos,
+                      Map<Host, Long> requestsPerHost, long retryCount, long speculativeExecutionCount,
+                      List<ExecutionInfo> executionInfos) {
+        this.successCount = successCount;
+        this.failures = Collections.unmodifiableList(failures);
+        this.elapsedNanos = elapsedNanos;
+        this.requestsPerHost = Collections.unmodifiableMap(requestsPerHost);
+        this.retryCount = retryCount;
+        this.speculativeExecutionCount = speculativeExecutionCount;
+        this.executionInfos = Collections.unmodifiableList(executionInfos);
+    }
+
+    /**
+     * Number of entities submitted, successfully or not
+     */
+    public long getTotalCount() {
+        return successCount + failures.size();
+    }
+
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    public long getFailureCount() {
+        return failures.size();
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    /**
+     * Failed entities, in completion order
+     */
+    public List<BulkFailure<ENTITY>> getFailures() {
+        return failures;
+    }
+
+    public long getElapsed(TimeUnit timeUnit) {
+        return timeUnit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Number of successful mutations per coordinator host
+     */
+    public Map<Host, Long> getRequestsPerHost() {
+        return requestsPerHost;
+    }
+
+    /**
+     * Number of additional hosts tried by the retry policy, for all successful mutations
+     */
+    public long getRetryCount() {
+        return retryCount;
+    }
+
+    public long getSpeculativeExecutionCount() {
+        return speculativeExecutionCount;
+    }
+
+    /**
+     * {@link com.datastax.driver.core.ExecutionInfo} of each successful mutation, in completion order.
+     * Empty unless <strong>collectExecutionInfos()</strong> has been called on the bulk action
+     */
+    public List<ExecutionInfo> getExecutionInfos() {
+        return executionInfos;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResult{" +
+                "successCount=" + successCount +
+                ", failureCount=" + failures.size() +
+                ", elapsedMillis=" + getElapsed(TimeUnit.MILLISECONDS) +
+                ", requestsPerHost=" + requestsPerHost +
+                ", retryCount=" + retryCount +
+                ", speculativeExecutionCount=" + speculativeExecutionCount +
+                '}';
+    }
+}
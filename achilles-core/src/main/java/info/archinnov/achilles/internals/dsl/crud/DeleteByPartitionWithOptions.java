@@ -18,6 +18,7 @@ package info.archinnov.achilles.internals.dsl.crud;
 
 import static info.archinnov.achilles.internals.cache.CacheKey.Operation.DELETE_BY_PARTITION;
 import static info.archinnov.achilles.internals.dsl.LWTHelper.triggerLWTListeners;
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static java.lang.String.format;
 
 import java.util.Arrays;
@@ -36,6 +37,8 @@ import com.datastax.driver.core.ResultSet;
 import info.archinnov.achilles.internals.cache.CacheKey;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.dsl.batch.BatchElement;
+import info.archinnov.achilles.internals.dsl.batch.BatchableAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForUpdateOrDelete;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
@@ -45,7 +48,7 @@ import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 
 public class DeleteByPartitionWithOptions<ENTITY> extends AbstractOptionsForUpdateOrDelete<DeleteByPartitionWithOptions<ENTITY>>
-        implements MutationAction, StatementProvider {
+        implements MutationAction, BatchableAction, StatementProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DeleteByPartitionWithOptions.class);
 
@@ -75,16 +78,28 @@ public class DeleteByPartitionWithOptions<ENTITY> extends AbstractOptionsForUpda
             LOGGER.trace(format("Execute delete async with execution info : %s", queryString));
         }
 
-        CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+        final CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
 
-        return cfutureRS
+        return propagateCancellation(cfutureRS, cfutureRS
+                .whenComplete((rs, throwable) -> meta.invalidateNearCacheForPartition(encodedPartitionKeys))
                 .thenApply(options::resultSetAsyncListener)
                 .thenApply(statementWrapper::logTrace)
                 .thenApply(x -> triggerLWTListeners(lwtResultListeners, x, queryString))
-                .thenApply(x -> x.getExecutionInfo());
+                .thenApply(x -> x.getExecutionInfo()));
 
     }
 
+    @Override
+    public BatchElement toBatchElement() {
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
+
+        return new BatchElement(meta, statementWrapper, rs -> {
+            meta.invalidateNearCacheForPartition(encodedPartitionKeys);
+            return triggerLWTListeners(lwtResultListeners, options.resultSetAsyncListener(rs), queryString);
+        });
+    }
+
     @Override
     protected CassandraOptions getOptions() {
         return options;
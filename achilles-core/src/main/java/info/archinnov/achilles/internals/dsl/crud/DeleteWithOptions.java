@@ -19,6 +19,7 @@ package info.archinnov.achilles.internals.dsl.crud;
 import static info.archinnov.achilles.internals.cache.CacheKey.Operation.DELETE;
 import static info.archinnov.achilles.internals.cache.CacheKey.Operation.DELETE_IF_EXISTS;
 import static info.archinnov.achilles.internals.dsl.LWTHelper.triggerLWTListeners;
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static info.archinnov.achilles.type.interceptor.Event.POST_DELETE;
 import static info.archinnov.achilles.type.interceptor.Event.PRE_DELETE;
 import static java.lang.String.format;
@@ -39,6 +40,8 @@ import com.datastax.driver.core.ResultSet;
 import info.archinnov.achilles.internals.cache.CacheKey;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.dsl.batch.BatchElement;
+import info.archinnov.achilles.internals.dsl.batch.BatchableAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForUpdateOrDelete;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
@@ -48,7 +51,7 @@ import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 
 public class DeleteWithOptions<ENTITY> extends AbstractOptionsForUpdateOrDelete<DeleteWithOptions<ENTITY>>
-        implements MutationAction, StatementProvider {
+        implements MutationAction, BatchableAction, StatementProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DeleteWithOptions.class);
 
@@ -91,9 +94,10 @@ public class DeleteWithOptions<ENTITY> extends AbstractOptionsForUpdateOrDelete<
             LOGGER.trace(format("Execute delete async with execution info : %s", queryString));
         }
 
-        CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+        final CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
 
-        return cfutureRS
+        return propagateCancellation(cfutureRS, cfutureRS
+                .whenComplete((rs, throwable) -> meta.invalidateNearCache(encodedPrimaryKeyValues))
                 .thenApply(options::resultSetAsyncListener)
                 .thenApply(statementWrapper::logTrace)
                 .thenApply(x -> triggerLWTListeners(lwtResultListeners, x, queryString))
@@ -101,7 +105,22 @@ public class DeleteWithOptions<ENTITY> extends AbstractOptionsForUpdateOrDelete<
                 .thenApply(x -> {
                     if (this.instance.isPresent()) meta.triggerInterceptorsForEvent(POST_DELETE, instance.get());
                     return x;
-                });
+                }));
+    }
+
+    @Override
+    public BatchElement toBatchElement() {
+        if (this.instance.isPresent()) meta.triggerInterceptorsForEvent(PRE_DELETE, instance.get());
+
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
+
+        return new BatchElement(meta, statementWrapper, rs -> {
+            meta.invalidateNearCache(encodedPrimaryKeyValues);
+            triggerLWTListeners(lwtResultListeners, options.resultSetAsyncListener(rs), queryString);
+            if (this.instance.isPresent()) meta.triggerInterceptorsForEvent(POST_DELETE, instance.get());
+            return rs;
+        });
     }
 
     @Override
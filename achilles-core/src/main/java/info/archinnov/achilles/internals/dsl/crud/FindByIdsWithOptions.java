@@ -0,0 +1,485 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.crud;
+
+import static info.archinnov.achilles.internals.cache.CacheKey.Operation.FIND;
+import static info.archinnov.achilles.internals.statements.PreparedStatementGenerator.generateSelectByLastClusteringInQuery;
+import static info.archinnov.achilles.validation.Validator.*;
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForSelect;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.BeanValueExtractor;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.interceptor.Event;
+
+/**
+ * Find several entities by their complete primary key.
+ * <br/>
+ * Keys are grouped by partition: keys of the same partition only differing by their last
+ * clustering column are fetched with a single <strong>SELECT ... WHERE ... AND last clustering column IN ?</strong>,
+ * unless the entity has non-frozen collections and a node of the cluster is older than Cassandra 4.0.
+ * Other keys are fetched with the <strong>FIND</strong> prepared statement, one single-partition read per key.
+ * <br/>
+ * Reads are interleaved by replica so that concurrent reads, capped by <em>concurrency</em>,
+ * spread over the replicas of the cluster. Results are reassembled in input order or as a map
+ */
+public class FindByIdsWithOptions<KEY, ENTITY> extends AbstractOptionsForSelect<FindByIdsWithOptions<KEY, ENTITY>>
+        implements AsyncAware {
+
+    public static final int DEFAULT_CONCURRENCY = 32;
+    public static final int DEFAULT_MAX_CLUSTERING_KEYS_PER_QUERY = 100;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FindByIdsWithOptions.class);
+
+    /**
+     * Before Cassandra 4.0, clustering columns cannot be restricted by IN when a non-frozen collection is selected
+     */
+    private static final VersionNumber CLUSTERING_IN_WITH_COLLECTIONS_VERSION = VersionNumber.parse("4.0.0");
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final RuntimeEngine rte;
+    private final List<KEY> keys;
+    private final Function<KEY, Object[]> primaryKeyExtractor;
+    private final CassandraOptions options;
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private int maxClusteringKeysPerQuery = DEFAULT_MAX_CLUSTERING_KEYS_PER_QUERY;
+
+    public FindByIdsWithOptions(AbstractEntityProperty<ENTITY> meta, RuntimeEngine rte, Collection<KEY> keys,
+                                Function<KEY, Object[]> primaryKeyExtractor, Optional<CassandraOptions> cassandraOptions) {
+        this.meta = meta;
+        this.rte = rte;
+        this.keys = new ArrayList<>(keys);
+        this.primaryKeyExtractor = primaryKeyExtractor;
+        this.options = cassandraOptions.orElse(new CassandraOptions());
+    }
+
+    /**
+     * Maximum number of reads executed at the same time. Defaults to {@link #DEFAULT_CONCURRENCY}
+     */
+    public FindByIdsWithOptions<KEY, ENTITY> withConcurrency(int concurrency) {
+        validateTrue(concurrency > 0, "The findByIds concurrency should be strictly positive");
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Maximum number of keys of the same partition fetched by a single <strong>IN</strong> query.
+     * Set to 1 to always use single-partition reads. Defaults to {@link #DEFAULT_MAX_CLUSTERING_KEYS_PER_QUERY}
+     */
+    public FindByIdsWithOptions<KEY, ENTITY> withMaxClusteringKeysPerQuery(int maxClusteringKeysPerQuery) {
+        validateTrue(maxClusteringKeysPerQuery > 0, "The max clustering keys per query should be strictly positive");
+        this.maxClusteringKeysPerQuery = maxClusteringKeysPerQuery;
+        return this;
+    }
+
+    /**
+     * Find the entities, in the order of the input keys. Keys without matching row are skipped
+     */
+    public List<ENTITY> get() {
+        try {
+            return Uninterruptibles.getUninterruptibly(getAsync());
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Find the entities asynchronously, in the order of the input keys. Keys without matching row are skipped
+     */
+    public CompletableFuture<List<ENTITY>> getAsync() {
+        final List<KeyLookup<KEY>> lookups;
+        try {
+            lookups = buildLookups();
+        } catch (Throwable throwable) {
+            return failedFuture(throwable);
+        }
+        final Map<List<Object>, ENTITY> found = new ConcurrentHashMap<>();
+        return executeLookups(lookups, (lookup, entity) -> found.put(lookup.encodedKey, entity))
+                .thenApply(done -> {
+                    final List<ENTITY> entities = new ArrayList<>(lookups.size());
+                    for (KeyLookup<KEY> lookup : lookups) {
+                        final ENTITY entity = found.get(lookup.encodedKey);
+                        if (entity != null) {
+                            entities.add(entity);
+                        }
+                    }
+                    return entities;
+                });
+    }
+
+    /**
+     * Find the entities, indexed by their key in the order of the input keys. Keys without matching row are absent
+     */
+    public Map<KEY, ENTITY> getAsMap() {
+        try {
+            return Uninterruptibles.getUninterruptibly(getAsMapAsync());
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Find the entities asynchronously, indexed by their key in the order of the input keys. Keys without matching row are absent
+     */
+    public CompletableFuture<Map<KEY, ENTITY>> getAsMapAsync() {
+        final List<KeyLookup<KEY>> lookups;
+        try {
+            lookups = buildLookups();
+        } catch (Throwable throwable) {
+            return failedFuture(throwable);
+        }
+        final Map<List<Object>, ENTITY> found = new ConcurrentHashMap<>();
+        return executeLookups(lookups, (lookup, entity) -> found.put(lookup.encodedKey, entity))
+                .thenApply(done -> {
+                    final Map<KEY, ENTITY> entities = new LinkedHashMap<>();
+                    for (KeyLookup<KEY> lookup : lookups) {
+                        final ENTITY entity = found.get(lookup.encodedKey);
+                        if (entity != null) {
+                            entities.put(lookup.key, entity);
+                        }
+                    }
+                    return entities;
+                });
+    }
+
+    /**
+     * Stream the found entities to the given consumer as soon as their read completes, in no particular order.
+     * The consumer is never called concurrently
+     * <br/>
+     * WARNING: <strong>this method blocks until all the reads are complete</strong>
+     *
+     * @return the number of found entities
+     */
+    public long forEach(BiConsumer<KEY, ENTITY> consumer) {
+        try {
+            return Uninterruptibles.getUninterruptibly(forEachAsync(consumer));
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Stream the found entities to the given consumer as soon as their read completes, in no particular order.
+     * The consumer is never called concurrently
+     *
+     * @return a {@link java.util.concurrent.CompletableFuture} of the number of found entities
+     */
+    public CompletableFuture<Long> forEachAsync(BiConsumer<KEY, ENTITY> consumer) {
+        validateNotNull(consumer, "The findByIds consumer should not be null");
+        final List<KeyLookup<KEY>> lookups;
+        try {
+            lookups = buildLookups();
+        } catch (Throwable throwable) {
+            return failedFuture(throwable);
+        }
+        final AtomicLong count = new AtomicLong();
+        final Object lock = new Object();
+        return executeLookups(lookups, (lookup, entity) -> {
+            synchronized (lock) {
+                consumer.accept(lookup.key, entity);
+            }
+            count.incrementAndGet();
+        }).thenApply(done -> count.get());
+    }
+
+    @Override
+    protected CassandraOptions getOptions() {
+        return options;
+    }
+
+    @Override
+    protected FindByIdsWithOptions<KEY, ENTITY> getThis() {
+        return this;
+    }
+
+    private List<KeyLookup<KEY>> buildLookups() {
+        validateFalse(options.hasPagingState(), "Paging state is not supported for findByIds");
+        final List<AbstractProperty<ENTITY, ?, ?>> primaryKeyColumns = meta.primaryKeyColumns;
+        final Optional<CassandraOptions> cassandraOptions = Optional.of(options);
+        final List<KeyLookup<KEY>> lookups = new ArrayList<>(keys.size());
+        for (KEY key : keys) {
+            validateNotNull(key, "Primary key for findByIds should not be null");
+            final Object[] values = primaryKeyExtractor.apply(key);
+            validateTrue(values.length == primaryKeyColumns.size(), "Primary key %s of entity %s should have %s components",
+                    key, meta.entityClass.getCanonicalName(), primaryKeyColumns.size());
+            final Object[] encodedValues = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                validateNotNull(values[i], "Primary key component '%s' should not be null", primaryKeyColumns.get(i).fieldName);
+                @SuppressWarnings("unchecked")
+                final AbstractProperty<ENTITY, Object, ?> property = (AbstractProperty<ENTITY, Object, ?>) primaryKeyColumns.get(i);
+                encodedValues[i] = property.encodeFromJava(values[i], cassandraOptions);
+            }
+            lookups.add(new KeyLookup<>(key, values, encodedValues));
+        }
+        return lookups;
+    }
+
+    private CompletableFuture<Void> executeLookups(List<KeyLookup<KEY>> lookups, BiConsumer<KeyLookup<KEY>, ENTITY> onFound) {
+        final List<ReadTask> tasks;
+        try {
+            tasks = interleaveByReplica(buildReadTasks(lookups, onFound));
+        } catch (Throwable throwable) {
+            return failedFuture(throwable);
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Find %s entities of type %s with %s reads", lookups.size(),
+                    meta.entityClass.getCanonicalName(), tasks.size()));
+        }
+
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        if (tasks.isEmpty()) {
+            result.complete(null);
+            return result;
+        }
+
+        final AtomicInteger nextTask = new AtomicInteger();
+        final AtomicInteger remainingTasks = new AtomicInteger(tasks.size());
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        for (int i = 0; i < Math.min(concurrency, tasks.size()); i++) {
+            launchNextTask(tasks, nextTask, remainingTasks, failed, result);
+        }
+        return result;
+    }
+
+    private void launchNextTask(List<ReadTask> tasks, AtomicInteger nextTask, AtomicInteger remainingTasks,
+                                AtomicBoolean failed, CompletableFuture<Void> result) {
+        final int index = nextTask.getAndIncrement();
+        if (index >= tasks.size() || failed.get()) {
+            return;
+        }
+        tasks.get(index).execute().whenComplete((done, throwable) -> {
+            if (throwable != null) {
+                if (failed.compareAndSet(false, true)) {
+                    result.completeExceptionally(throwable);
+                }
+            } else if (remainingTasks.decrementAndGet() == 0) {
+                result.complete(null);
+            } else {
+                launchNextTask(tasks, nextTask, remainingTasks, failed, result);
+            }
+        });
+    }
+
+    private List<ReadTask> buildReadTasks(List<KeyLookup<KEY>> lookups, BiConsumer<KeyLookup<KEY>, ENTITY> onFound) {
+        // Duplicated keys are read once
+        final Map<List<Object>, KeyLookup<KEY>> distinctLookups = new LinkedHashMap<>();
+        for (KeyLookup<KEY> lookup : lookups) {
+            distinctLookups.putIfAbsent(lookup.encodedKey, lookup);
+        }
+
+        final List<ReadTask> tasks = new ArrayList<>();
+        if (!useClusteringInQueries()) {
+            distinctLookups.values().forEach(lookup -> tasks.add(singleRead(lookup, onFound)));
+            return tasks;
+        }
+
+        // Keys sharing the partition and all clustering columns but the last one
+        final int prefixLength = meta.primaryKeyColumns.size() - 1;
+        final Map<List<Object>, List<KeyLookup<KEY>>> lookupsByPrefix = new LinkedHashMap<>();
+        for (KeyLookup<KEY> lookup : distinctLookups.values()) {
+            lookupsByPrefix
+                    .computeIfAbsent(lookup.encodedKey.subList(0, prefixLength), prefix -> new ArrayList<>())
+                    .add(lookup);
+        }
+
+        for (List<KeyLookup<KEY>> group : lookupsByPrefix.values()) {
+            for (int start = 0; start < group.size(); start += maxClusteringKeysPerQuery) {
+                final List<KeyLookup<KEY>> chunk = group.subList(start, Math.min(group.size(), start + maxClusteringKeysPerQuery));
+                tasks.add(chunk.size() == 1 ? singleRead(chunk.get(0), onFound) : clusteringInRead(chunk, onFound));
+            }
+        }
+        return tasks;
+    }
+
+    private boolean useClusteringInQueries() {
+        if (maxClusteringKeysPerQuery == 1 || meta.clusteringColumns.isEmpty()) {
+            return false;
+        }
+        final boolean selectsNonFrozenCollection = meta.allColumns
+                .stream()
+                .map(AbstractProperty::getDataType)
+                .anyMatch(dataType -> dataType.isCollection() && !dataType.isFrozen());
+        if (!selectsNonFrozenCollection) {
+            return true;
+        }
+        return rte.getCluster().getMetadata().getAllHosts()
+                .stream()
+                .map(Host::getCassandraVersion)
+                .allMatch(version -> version != null && version.compareTo(CLUSTERING_IN_WITH_COLLECTIONS_VERSION) >= 0);
+    }
+
+    private ReadTask singleRead(KeyLookup<KEY> lookup, BiConsumer<KeyLookup<KEY>, ENTITY> onFound) {
+        final PreparedStatement ps = FIND.getPreparedStatement(rte, meta, options);
+        final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT, meta, ps, lookup.values, lookup.encodedValues);
+        statementWrapper.applyOptions(options);
+        return new ReadTask(statementWrapper, entity -> onFound.accept(lookup, entity));
+    }
+
+    private ReadTask clusteringInRead(List<KeyLookup<KEY>> chunk, BiConsumer<KeyLookup<KEY>, ENTITY> onFound) {
+        final PreparedStatement ps = rte.prepareDynamicQuery(generateSelectByLastClusteringInQuery(meta, options.getSchemaNameProvider()));
+        final int prefixLength = meta.primaryKeyColumns.size() - 1;
+        final KeyLookup<KEY> first = chunk.get(0);
+        final List<Object> lastValues = new ArrayList<>(chunk.size());
+        final List<Object> encodedLastValues = new ArrayList<>(chunk.size());
+        final Map<List<Object>, KeyLookup<KEY>> lookupsByKey = new HashMap<>();
+        for (KeyLookup<KEY> lookup : chunk) {
+            lastValues.add(lookup.values[prefixLength]);
+            encodedLastValues.add(lookup.encodedValues[prefixLength]);
+            lookupsByKey.put(lookup.encodedKey, lookup);
+        }
+
+        final Object[] values = Arrays.copyOf(first.values, prefixLength + 1);
+        final Object[] encodedValues = Arrays.copyOf(first.encodedValues, prefixLength + 1);
+        values[prefixLength] = lastValues;
+        encodedValues[prefixLength] = encodedLastValues;
+
+        final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT, meta, ps, values, encodedValues);
+        statementWrapper.applyOptions(options);
+        // At most one row per key, fetch them in a single page
+        final BoundStatement bs = statementWrapper.getBoundStatement();
+        if (bs.getFetchSize() > 0 && bs.getFetchSize() < chunk.size()) {
+            bs.setFetchSize(chunk.size());
+        }
+
+        final Optional<CassandraOptions> cassandraOptions = Optional.of(options);
+        return new ReadTask(statementWrapper, entity -> {
+            final List<Object> encodedKey = Arrays.asList(BeanValueExtractor.extractPrimaryKeyValues(entity, meta, cassandraOptions)._2());
+            final KeyLookup<KEY> lookup = lookupsByKey.get(encodedKey);
+            if (lookup != null) {
+                onFound.accept(lookup, entity);
+            }
+        });
+    }
+
+    /**
+     * Round-robin the reads over their first replica so that the concurrency window
+     * does not target a single node when keys are sorted by partition
+     */
+    private List<ReadTask> interleaveByReplica(List<ReadTask> tasks) {
+        if (tasks.size() <= 1) {
+            return tasks;
+        }
+        final Metadata metadata = rte.getCluster().getMetadata();
+        final CodecRegistry codecRegistry = rte.getCluster().getConfiguration().getCodecRegistry();
+        final ProtocolVersion protocolVersion = rte.getCluster().getConfiguration().getProtocolOptions().getProtocolVersion();
+
+        final Map<Optional<Host>, Deque<ReadTask>> tasksByReplica = new LinkedHashMap<>();
+        for (ReadTask task : tasks) {
+            final BoundStatement bs = task.statementWrapper.getBoundStatement();
+            final ByteBuffer routingKey = bs.getRoutingKey(protocolVersion, codecRegistry);
+            final String keyspace = bs.getKeyspace();
+            final Optional<Host> replica = routingKey == null || keyspace == null
+                    ? Optional.empty()
+                    : metadata.getReplicas(Metadata.quote(keyspace), routingKey).stream().findFirst();
+            tasksByReplica.computeIfAbsent(replica, host -> new ArrayDeque<>()).add(task);
+        }
+
+        if (tasksByReplica.size() == 1) {
+            return tasks;
+        }
+
+        final List<ReadTask> interleaved = new ArrayList<>(tasks.size());
+        while (interleaved.size() < tasks.size()) {
+            for (Deque<ReadTask> replicaTasks : tasksByReplica.values()) {
+                final ReadTask task = replicaTasks.poll();
+                if (task != null) {
+                    interleaved.add(task);
+                }
+            }
+        }
+        return interleaved;
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable throwable) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
+    private static final class KeyLookup<KEY> {
+        private final KEY key;
+        private final Object[] values;
+        private final Object[] encodedValues;
+        private final List<Object> encodedKey;
+
+        private KeyLookup(KEY key, Object[] values, Object[] encodedValues) {
+            this.key = key;
+            this.values = values;
+            this.encodedValues = encodedValues;
+            this.encodedKey = Arrays.asList(encodedValues);
+        }
+    }
+
+    private final class ReadTask {
+        private final StatementWrapper statementWrapper;
+        private final Consumer<ENTITY> onEntity;
+
+        private ReadTask(StatementWrapper statementWrapper, Consumer<ENTITY> onEntity) {
+            this.statementWrapper = statementWrapper;
+            this.onEntity = onEntity;
+        }
+
+        private CompletableFuture<Void> execute() {
+            final Function<Row, ENTITY> entityMapper = rte.instrumentRowMapper(statementWrapper::getMetricKey, meta::createEntityFrom);
+            final CompletableFuture<ResultSet> futureRS;
+            try {
+                futureRS = rte.execute(statementWrapper);
+            } catch (Throwable throwable) {
+                return failedFuture(throwable);
+            }
+            return futureRS
+                    .thenApply(options::resultSetAsyncListener)
+                    .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
+                    .thenApply(statementWrapper::logTrace)
+                    .thenAccept(rs -> {
+                        while (rs.getAvailableWithoutFetching() > 0) {
+                            final Row row = rs.one();
+                            options.rowAsyncListener(row);
+                            final ENTITY entity = entityMapper.apply(row);
+                            meta.triggerInterceptorsForEvent(Event.POST_LOAD, entity);
+                            onEntity.accept(entity);
+                        }
+                    });
+        }
+    }
+}
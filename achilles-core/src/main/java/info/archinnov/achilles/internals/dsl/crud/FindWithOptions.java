@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +56,7 @@ public class FindWithOptions<ENTITY> extends AbstractOptionsForSelect<FindWithOp
     private final Object[] primaryKeyValues;
     private final Object[] encodedPrimaryKeyValues;
     private final CassandraOptions options;
+    private boolean bypassNearCache;
 
     public FindWithOptions(Class<ENTITY> entityClass, AbstractEntityProperty<ENTITY> meta, RuntimeEngine rte,
                            Object[] primaryKeyValues, Object[] encodedPrimaryKeyValues, Optional<CassandraOptions> cassandraOptions) {
@@ -86,9 +88,34 @@ public class FindWithOptions<ENTITY> extends AbstractOptionsForSelect<FindWithOp
         return getAsyncWithStats().thenApply(tuple2 -> tuple2._1());
     }
 
+    /**
+     * Skip the near cache of the entity (if any) and always read from Cassandra.
+     * The near cache is also skipped when a schema name provider, a paging state, tracing
+     * or a result set/row async listener is set
+     */
+    public FindWithOptions<ENTITY> bypassNearCache() {
+        this.bypassNearCache = true;
+        return this;
+    }
+
     public CompletableFuture<Tuple2<ENTITY, ExecutionInfo>> getAsyncWithStats() {
 
         StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        final Function<Row, ENTITY> entityMapper = rte.instrumentRowMapper(statementWrapper::getMetricKey, meta::createEntityFrom);
+
+        final CompletableFuture<Tuple2<Row, ExecutionInfo>> futureRow = meta.nearCache.isPresent() && isNearCacheable()
+                ? meta.nearCache.get().get(encodedPrimaryKeyValues, () -> fetchRow(statementWrapper))
+                : fetchRow(statementWrapper);
+
+        return futureRow
+                .thenApply(tuple2 -> Tuple2.of(entityMapper.apply(tuple2._1()), tuple2._2()))
+                .thenApply(tuple2 -> {
+                    meta.triggerInterceptorsForEvent(Event.POST_LOAD, tuple2._1());
+                    return tuple2;
+                });
+    }
+
+    private CompletableFuture<Tuple2<Row, ExecutionInfo>> fetchRow(StatementWrapper statementWrapper) {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Find async with execution info : %s",
                     statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
@@ -102,14 +129,19 @@ public class FindWithOptions<ENTITY> extends AbstractOptionsForSelect<FindWithOp
                 .thenApply(rs -> {
                     final Row row = rs.one();
                     options.rowAsyncListener(row);
-                    return Tuple2.of(meta.createEntityFrom(row), rs.getExecutionInfo());
-                })
-                .thenApply(tuple2 -> {
-                    meta.triggerInterceptorsForEvent(Event.POST_LOAD, tuple2._1());
-                    return tuple2;
+                    return Tuple2.of(row, rs.getExecutionInfo());
                 });
     }
 
+    private boolean isNearCacheable() {
+        return !bypassNearCache
+                && !options.hasSchemaNameProvider()
+                && !options.hasPagingState()
+                && !options.getTracing().orElse(false)
+                && !options.getResultSetAsyncListeners().isPresent()
+                && !options.getRowAsyncListeners().isPresent();
+    }
+
     @Override
     protected CassandraOptions getOptions() {
         return options;
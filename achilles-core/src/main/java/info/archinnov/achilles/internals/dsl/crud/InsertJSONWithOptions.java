@@ -19,6 +19,7 @@ package info.archinnov.achilles.internals.dsl.crud;
 import static info.archinnov.achilles.internals.cache.CacheKey.Operation.INSERT_IF_NOT_EXISTS_JSON;
 import static info.archinnov.achilles.internals.cache.CacheKey.Operation.INSERT_JSON;
 import static info.archinnov.achilles.internals.dsl.LWTHelper.triggerLWTListeners;
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static java.lang.String.format;
 
 import java.util.Arrays;
@@ -36,6 +37,8 @@ import com.datastax.driver.core.ResultSet;
 
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.dsl.batch.BatchElement;
+import info.archinnov.achilles.internals.dsl.batch.BatchableAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForCRUDInsert;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
@@ -45,7 +48,7 @@ import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 
 public class InsertJSONWithOptions extends AbstractOptionsForCRUDInsert<InsertJSONWithOptions>
-        implements MutationAction, StatementProvider {
+        implements MutationAction, BatchableAction, StatementProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InsertJSONWithOptions.class);
 
@@ -74,13 +77,26 @@ public class InsertJSONWithOptions extends AbstractOptionsForCRUDInsert<InsertJS
             LOGGER.trace(format("Insert JSON async with execution info : %s", queryString));
         }
 
-        CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+        // The primary key of the JSON document is not known
+        final CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
 
-        return cfutureRS
+        return propagateCancellation(cfutureRS, cfutureRS
+                .whenComplete((rs, throwable) -> meta.invalidateAllNearCache())
                 .thenApply(getOptions()::resultSetAsyncListener)
                 .thenApply(statementWrapper::logTrace)
                 .thenApply(x -> triggerLWTListeners(lwtResultListeners, x, queryString))
-                .thenApply(x -> x.getExecutionInfo());
+                .thenApply(x -> x.getExecutionInfo()));
+    }
+
+    @Override
+    public BatchElement toBatchElement() {
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
+
+        return new BatchElement(meta, statementWrapper, rs -> {
+            meta.invalidateAllNearCache();
+            return triggerLWTListeners(lwtResultListeners, getOptions().resultSetAsyncListener(rs), queryString);
+        });
     }
 
     @Override
@@ -18,10 +18,10 @@ package info.archinnov.achilles.internals.dsl.crud;
 
 import static info.archinnov.achilles.internals.cache.CacheKey.Operation.*;
 import static info.archinnov.achilles.internals.dsl.LWTHelper.triggerLWTListeners;
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static info.archinnov.achilles.type.interceptor.Event.POST_INSERT;
 import static info.archinnov.achilles.type.interceptor.Event.PRE_INSERT;
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
 
 import java.util.List;
 import java.util.Optional;
@@ -35,17 +35,22 @@ import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 
+import info.archinnov.achilles.internals.cache.StatementShape;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.dsl.batch.BatchElement;
+import info.archinnov.achilles.internals.dsl.batch.BatchableAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForCRUDInsert;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
 import info.archinnov.achilles.internals.statements.BoundValuesWrapper;
+import info.archinnov.achilles.internals.statements.PreparedStatementGenerator;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.strategy.InsertStrategy;
 
 public class InsertWithOptions<ENTITY> extends AbstractOptionsForCRUDInsert<InsertWithOptions<ENTITY>>
-        implements MutationAction, StatementProvider {
+        implements MutationAction, BatchableAction, StatementProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InsertWithOptions.class);
 
@@ -75,9 +80,10 @@ public class InsertWithOptions<ENTITY> extends AbstractOptionsForCRUDInsert<Inse
             LOGGER.trace(format("Insert async with execution info : %s", queryString));
         }
 
-        CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+        final CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
 
-        return cfutureRS
+        return propagateCancellation(cfutureRS, cfutureRS
+                .whenComplete((rs, throwable) -> invalidateNearCache())
                 .thenApply(this.options::resultSetAsyncListener)
                 .thenApply(statementWrapper::logTrace)
                 .thenApply(x -> triggerLWTListeners(lwtResultListeners, x, queryString))
@@ -85,7 +91,30 @@ public class InsertWithOptions<ENTITY> extends AbstractOptionsForCRUDInsert<Inse
                 .thenApply(x -> {
                     meta.triggerInterceptorsForEvent(POST_INSERT, instance);
                     return x;
-                });
+                }));
+    }
+
+    @Override
+    public BatchElement toBatchElement() {
+        meta.triggerInterceptorsForEvent(PRE_INSERT, instance);
+
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
+
+        return new BatchElement(meta, statementWrapper, rs -> {
+            invalidateNearCache();
+            triggerLWTListeners(lwtResultListeners, options.resultSetAsyncListener(rs), queryString);
+            meta.triggerInterceptorsForEvent(POST_INSERT, instance);
+            return rs;
+        });
+    }
+
+    private void invalidateNearCache() {
+        if (insertStatic) {
+            meta.invalidateNearCacheForPartition(instance, options);
+        } else {
+            meta.invalidateNearCache(instance, options);
+        }
     }
 
     @Override
@@ -101,23 +130,17 @@ public class InsertWithOptions<ENTITY> extends AbstractOptionsForCRUDInsert<Inse
 
     @Override
     public String getStatementAsString() {
-        return getInternalPreparedStatement().getQueryString();
+        return getInternalPreparedStatement(extractValues()).getQueryString();
     }
 
     @Override
     public List<Object> getBoundValues() {
-        BoundValuesWrapper wrapper = insertStatic == true
-                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
-                : meta.extractAllValuesFromEntity(instance, options);
-        return wrapper.boundValuesInfo.stream().map(x -> x.boundValue).collect(toList());
+        return extractValues().getBoundValues();
     }
 
     @Override
     public List<Object> getEncodedBoundValues() {
-        BoundValuesWrapper wrapper = insertStatic == true
-                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
-                : meta.extractAllValuesFromEntity(instance, options);
-        return wrapper.boundValuesInfo.stream().map(x -> x.encodedValue).collect(toList());
+        return extractValues().getEncodedValues();
     }
 
     @Override
@@ -130,18 +153,33 @@ public class InsertWithOptions<ENTITY> extends AbstractOptionsForCRUDInsert<Inse
             LOGGER.trace(format("Get bound statement wrapper"));
         }
 
-        final PreparedStatement ps = getInternalPreparedStatement();
-        BoundValuesWrapper wrapper = insertStatic == true
-                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
-                : meta.extractAllValuesFromEntity(instance, options);
+        final BoundValuesWrapper wrapper = extractValues();
+        final PreparedStatement ps = getInternalPreparedStatement(wrapper);
 
         StatementWrapper statementWrapper = wrapper.bindWithInsertStrategy(ps, getOverridenStrategy(meta));
         statementWrapper.applyOptions(options);
         return statementWrapper;
     }
 
-    private PreparedStatement getInternalPreparedStatement() {
-        if (ifNotExists.isPresent() && ifNotExists.get() == true) {
+    private BoundValuesWrapper extractValues() {
+        return insertStatic == true
+                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
+                : meta.extractAllValuesFromEntity(instance, options);
+    }
+
+    /**
+     * With the NOT_NULL_FIELDS strategy, null values are unset at bind time. When they cannot be
+     * (native protocol before V4 or statement traced), only the non-null columns are inserted
+     * by a statement generated the first time its shape is seen
+     */
+    private PreparedStatement getInternalPreparedStatement(BoundValuesWrapper wrapper) {
+        final boolean ifNotExists = this.ifNotExists.isPresent() && this.ifNotExists.get() == true;
+        if (getOverridenStrategy(meta) == InsertStrategy.NOT_NULL_FIELDS && !rte.canUnsetNullValues(meta, options)) {
+            final StatementShape shape = PreparedStatementGenerator.generateInsertNotNullFieldsShape(meta, wrapper, options, insertStatic, ifNotExists);
+            return rte.prepareDynamicQuery(meta, shape,
+                    () -> PreparedStatementGenerator.generateInsertNotNullFields(wrapper, meta, options, ifNotExists));
+        }
+        if (ifNotExists) {
             return insertStatic == true
                     ? INSERT_STATIC_IF_NOT_EXISTS.getPreparedStatement(rte, meta, options)
                     : INSERT_IF_NOT_EXISTS.getPreparedStatement(rte, meta, options);
@@ -17,10 +17,10 @@
 package info.archinnov.achilles.internals.dsl.crud;
 
 import static info.archinnov.achilles.internals.dsl.LWTHelper.triggerLWTListeners;
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static info.archinnov.achilles.type.interceptor.Event.POST_UPDATE;
 import static info.archinnov.achilles.type.interceptor.Event.PRE_UPDATE;
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,8 +34,12 @@ import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 
+import info.archinnov.achilles.internals.cache.EntityChangeTracker;
+import info.archinnov.achilles.internals.cache.StatementShape;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.dsl.batch.BatchElement;
+import info.archinnov.achilles.internals.dsl.batch.BatchableAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForCRUDUpdate;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
@@ -45,7 +49,7 @@ import info.archinnov.achilles.internals.statements.PreparedStatementGenerator;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 
 public class UpdateWithOptions<ENTITY> extends AbstractOptionsForCRUDUpdate<UpdateWithOptions<ENTITY>>
-        implements MutationAction, StatementProvider {
+        implements MutationAction, BatchableAction, StatementProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UpdateWithOptions.class);
 
@@ -68,24 +72,73 @@ public class UpdateWithOptions<ENTITY> extends AbstractOptionsForCRUDUpdate<Upda
         meta.triggerInterceptorsForEvent(PRE_UPDATE, instance);
 
 
-        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        final BoundValuesWrapper fullWrapper = extractAllValues();
+        final Optional<BoundValuesWrapper> modifiedWrapper = extractModifiedValues(fullWrapper);
+        if (!modifiedWrapper.isPresent() && !isIfExists()) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Skipping UPDATE of unmodified entity of type %s", meta.entityClass.getCanonicalName()));
+            }
+            meta.triggerInterceptorsForEvent(POST_UPDATE, instance);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper(modifiedWrapper.orElse(fullWrapper));
         final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Insert async with execution info : %s", queryString));
         }
 
-        CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+        final CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
 
-        return cfutureRS
+        return propagateCancellation(cfutureRS, cfutureRS
+                .whenComplete((rs, throwable) -> invalidateNearCache())
                 .thenApply(this.options::resultSetAsyncListener)
                 .thenApply(statementWrapper::logTrace)
                 .thenApply(x -> triggerLWTListeners(lwtResultListeners, x, queryString))
+                .thenApply(x -> {
+                    refreshSnapshot(fullWrapper);
+                    return x;
+                })
                 .thenApply(x -> x.getExecutionInfo())
                 .thenApply(x -> {
                     meta.triggerInterceptorsForEvent(POST_UPDATE, instance);
                     return x;
-                });
+                }));
+    }
+
+    @Override
+    public BatchElement toBatchElement() {
+        meta.triggerInterceptorsForEvent(PRE_UPDATE, instance);
+
+        final BoundValuesWrapper fullWrapper = extractAllValues();
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper(extractValues(fullWrapper));
+        final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
+
+        return new BatchElement(meta, statementWrapper, rs -> {
+            invalidateNearCache();
+            triggerLWTListeners(lwtResultListeners, options.resultSetAsyncListener(rs), queryString);
+            refreshSnapshot(fullWrapper);
+            meta.triggerInterceptorsForEvent(POST_UPDATE, instance);
+            return rs;
+        });
+    }
+
+    private void invalidateNearCache() {
+        if (updateStatic) {
+            meta.invalidateNearCacheForPartition(instance, options);
+        } else {
+            meta.invalidateNearCache(instance, options);
+        }
+    }
+
+    /**
+     * Once updated, the values of a tracked entity become its new reference for change tracking
+     */
+    private void refreshSnapshot(BoundValuesWrapper fullWrapper) {
+        if (!updateStatic && meta.changeTracker.isPresent() && meta.changeTracker.get().getSnapshot(instance).isPresent()) {
+            meta.changeTracker.get().snapshot(instance, fullWrapper.encodedValues);
+        }
     }
 
     @Override
@@ -95,29 +148,23 @@ public class UpdateWithOptions<ENTITY> extends AbstractOptionsForCRUDUpdate<Upda
 
     @Override
     public BoundStatement generateAndGetBoundStatement() {
-        return getInternalBoundStatementWrapper().getBoundStatement();
+        return getInternalBoundStatementWrapper(extractValues(extractAllValues())).getBoundStatement();
     }
 
 
     @Override
     public String getStatementAsString() {
-        return getInternalPreparedStatement().getQueryString();
+        return getInternalPreparedStatement(extractValues(extractAllValues())).getQueryString();
     }
 
     @Override
     public List<Object> getBoundValues() {
-        BoundValuesWrapper wrapper = updateStatic == true
-                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
-                : meta.extractAllValuesFromEntity(instance, options);
-        return wrapper.boundValuesInfo.stream().map(x -> x.boundValue).collect(toList());
+        return extractValues(extractAllValues()).getBoundValues();
     }
 
     @Override
     public List<Object> getEncodedBoundValues() {
-        BoundValuesWrapper wrapper = updateStatic == true
-                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
-                : meta.extractAllValuesFromEntity(instance, options);
-        return wrapper.boundValuesInfo.stream().map(x -> x.encodedValue).collect(toList());
+        return extractValues(extractAllValues()).getEncodedValues();
     }
 
     @Override
@@ -125,24 +172,64 @@ public class UpdateWithOptions<ENTITY> extends AbstractOptionsForCRUDUpdate<Upda
         return this;
     }
 
-    private StatementWrapper getInternalBoundStatementWrapper() {
+    private StatementWrapper getInternalBoundStatementWrapper(BoundValuesWrapper wrapper) {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Get bound statement wrapper"));
         }
 
-        final PreparedStatement ps = getInternalPreparedStatement();
-        BoundValuesWrapper wrapper = updateStatic == true
-                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
-                : meta.extractAllValuesFromEntity(instance, options);
+        final PreparedStatement ps = getInternalPreparedStatement(wrapper);
 
         StatementWrapper statementWrapper = wrapper.bindForUpdate(ps);
         statementWrapper.applyOptions(options);
         return statementWrapper;
     }
 
-    private PreparedStatement getInternalPreparedStatement() {
-        return rte.prepareDynamicQuery(PreparedStatementGenerator.generateUpdate(instance, meta, options, updateStatic,
-                (ifExists.isPresent() && ifExists.get() == true)));
+    private BoundValuesWrapper extractAllValues() {
+        return updateStatic == true
+                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
+                : meta.extractAllValuesFromEntity(instance, options);
+    }
+
+    /**
+     * When change tracking is enabled and the entity has been loaded by <strong>Achilles</strong>,
+     * only keep the values of the columns modified since then. Empty when no column has been modified
+     */
+    private Optional<BoundValuesWrapper> extractModifiedValues(BoundValuesWrapper fullWrapper) {
+        if (updateStatic || !meta.changeTracker.isPresent()) {
+            return Optional.of(fullWrapper);
+        }
+        final EntityChangeTracker<ENTITY> changeTracker = meta.changeTracker.get();
+        final Optional<Object[]> snapshot = changeTracker.getSnapshot(instance);
+        return snapshot.isPresent()
+                ? changeTracker.keepModifiedValues(fullWrapper, snapshot.get())
+                : Optional.of(fullWrapper);
+    }
+
+    /**
+     * An UPDATE needs at least one column. When the statement cannot be skipped (batch, IF EXISTS
+     * or statement requested), an unmodified tracked entity writes all its columns
+     */
+    private BoundValuesWrapper extractValues(BoundValuesWrapper fullWrapper) {
+        return extractModifiedValues(fullWrapper).orElse(fullWrapper);
+    }
+
+    private boolean isIfExists() {
+        return this.ifExists.isPresent() && this.ifExists.get() == true;
+    }
+
+    /**
+     * The UPDATE statement is only generated the first time its shape
+     * (non-null columns, IF EXISTS, USING TIMESTAMP, table) is seen.
+     * When null values can be unset (native protocol V4 or later and statement not traced), a single statement
+     * updating all the columns is used and null values are unset at bind time.
+     * Collection appends/removals of tracked entities are part of the shape
+     */
+    private PreparedStatement getInternalPreparedStatement(BoundValuesWrapper wrapper) {
+        final boolean ifExists = isIfExists();
+        final boolean unsetNullValues = rte.canUnsetNullValues(meta, options);
+        final StatementShape shape = PreparedStatementGenerator.generateUpdateShape(meta, wrapper, options, updateStatic, ifExists, unsetNullValues);
+        return rte.prepareDynamicQuery(meta, shape,
+                () -> PreparedStatementGenerator.generateUpdate(wrapper, meta, options, updateStatic, ifExists, unsetNullValues));
     }
 
 
@@ -22,6 +22,7 @@ import java.util.List;
 import com.datastax.driver.core.querybuilder.Delete;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 
+import info.archinnov.achilles.internals.cache.StatementShape;
 import info.archinnov.achilles.internals.dsl.SchemaNameAware;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
 
@@ -31,6 +32,7 @@ public abstract class AbstractDelete implements SchemaNameAware {
     protected final RuntimeEngine rte;
     protected final List<Object> boundValues = new ArrayList<>();
     protected final List<Object> encodedValues = new ArrayList<>();
+    protected final StatementShape shape = new StatementShape();
 
     protected AbstractDelete(RuntimeEngine rte) {
         this.delete = QueryBuilder.delete();
@@ -18,6 +18,7 @@ package info.archinnov.achilles.internals.dsl.query.delete;
 
 
 import static info.archinnov.achilles.internals.dsl.LWTHelper.triggerLWTListeners;
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static java.lang.String.format;
 
 import java.util.List;
@@ -34,7 +35,10 @@ import com.datastax.driver.core.querybuilder.Delete;
 
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.dsl.batch.BatchElement;
+import info.archinnov.achilles.internals.dsl.batch.BatchableAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForUpdateOrDelete;
+import info.archinnov.achilles.internals.cache.StatementShape;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
@@ -43,7 +47,7 @@ import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 
 public abstract class AbstractDeleteEnd<T extends AbstractDeleteEnd<T, ENTITY>, ENTITY>
-        extends AbstractOptionsForUpdateOrDelete<T> implements MutationAction, StatementProvider {
+        extends AbstractOptionsForUpdateOrDelete<T> implements MutationAction, BatchableAction, StatementProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDeleteEnd.class);
 
@@ -65,15 +69,25 @@ public abstract class AbstractDeleteEnd<T extends AbstractDeleteEnd<T, ENTITY>,
 
     protected abstract RuntimeEngine getRte();
 
+    /**
+     * Shape of the statement built by the generated DSL, used to look up the
+     * PreparedStatement without rendering the query string. Returns null when the statement
+     * must be prepared from its query string
+     */
+    protected StatementShape getStatementShapeInternal() {
+        return null;
+    }
+
     public T ifExists(boolean ifExists) {
         if (ifExists) {
-            where.ifExists();
+            ifExists();
         }
         return getThis();
     }
 
     public T ifExists() {
         where.ifExists();
+        addRuntimeFlagToShape(StatementShape.RUNTIME_IF_EXISTS);
         return getThis();
     }
 
@@ -90,13 +104,27 @@ public abstract class AbstractDeleteEnd<T extends AbstractDeleteEnd<T, ENTITY>,
             LOGGER.trace(format("Execute delete async with execution info : %s", queryString));
         }
 
-        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        // The rows matched by the WHERE clause are not known, the whole near cache is invalidated
+        final CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
 
-        return futureRS
+        return propagateCancellation(futureRS, futureRS
+                .whenComplete((rs, throwable) -> getMetaInternal().invalidateAllNearCache())
                 .thenApply(options::resultSetAsyncListener)
                 .thenApply(statementWrapper::logTrace)
                 .thenApply(x -> triggerLWTListeners(lwtResultListeners, x, queryString))
-                .thenApply(x -> x.getExecutionInfo());
+                .thenApply(x -> x.getExecutionInfo()));
+    }
+
+    @Override
+    public BatchElement toBatchElement() {
+        final CassandraOptions options = getOptions();
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
+
+        return new BatchElement(getMetaInternal(), statementWrapper, rs -> {
+            getMetaInternal().invalidateAllNearCache();
+            return triggerLWTListeners(lwtResultListeners, options.resultSetAsyncListener(rs), queryString);
+        });
     }
 
     @Override
@@ -129,7 +157,7 @@ public abstract class AbstractDeleteEnd<T extends AbstractDeleteEnd<T, ENTITY>,
         final AbstractEntityProperty<ENTITY> meta = getMetaInternal();
         final CassandraOptions cassandraOptions = getOptions();
 
-        PreparedStatement ps = rte.prepareDynamicQuery(where);
+        PreparedStatement ps = rte.prepareDynamicQuery(meta, getStatementShapeInternal(), where);
 
         StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.DELETE,
                 meta, ps,
@@ -139,4 +167,11 @@ public abstract class AbstractDeleteEnd<T extends AbstractDeleteEnd<T, ENTITY>,
         statementWrapper.applyOptions(cassandraOptions);
         return statementWrapper;
     }
+
+    private void addRuntimeFlagToShape(int flag) {
+        final StatementShape shape = getStatementShapeInternal();
+        if (shape != null) {
+            shape.addRuntimeFlag(flag);
+        }
+    }
 }
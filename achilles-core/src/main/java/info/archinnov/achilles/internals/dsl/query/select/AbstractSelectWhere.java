@@ -16,13 +16,13 @@
 
 package info.archinnov.achilles.internals.dsl.query.select;
 
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
 
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.IntStream;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +34,7 @@ import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.TypedMapAware;
 import info.archinnov.achilles.internals.dsl.action.SelectAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForSelect;
+import info.archinnov.achilles.internals.cache.StatementShape;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
@@ -41,9 +42,12 @@ import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 import info.archinnov.achilles.internals.types.EntityIteratorWrapper;
+import info.archinnov.achilles.internals.types.ResultSetPublisher;
 import info.archinnov.achilles.internals.types.TypedMapIteratorWrapper;
+import info.archinnov.achilles.internals.utils.PagingHelper;
 import info.archinnov.achilles.type.TypedMap;
 import info.archinnov.achilles.type.interceptor.Event;
+import info.archinnov.achilles.type.streaming.Publisher;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTITY>, ENTITY>
@@ -70,6 +74,15 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
 
     protected abstract RuntimeEngine getRte();
 
+    /**
+     * Shape of the statement built by the generated DSL, used to look up the
+     * PreparedStatement without rendering the query string. Returns null when the statement
+     * must be prepared from its query string
+     */
+    protected StatementShape getStatementShapeInternal() {
+        return null;
+    }
+
     @Override
     public Iterator<ENTITY> iterator() {
 
@@ -85,7 +98,8 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
         }
 
         CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
-        return new EntityIteratorWrapper<>(futureRS, meta, statementWrapper, cassandraOptions);
+        return new EntityIteratorWrapper<>(futureRS, meta, statementWrapper, cassandraOptions,
+                rte.instrumentRowMapper(statementWrapper::getMetricKey, meta::createEntityFrom));
     }
 
     @Override
@@ -108,19 +122,17 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
         }
 
         CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        final Function<Row, ENTITY> entityMapper = rte.instrumentRowMapper(statementWrapper::getMetricKey, meta::createEntityFrom);
 
         return futureRS
                 .thenApply(options::resultSetAsyncListener)
                 .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
                 .thenApply(statementWrapper::logTrace)
-                .thenApply(rs -> Tuple2.of(IntStream.range(0, rs.getAvailableWithoutFetching())
-                            .mapToObj(index -> {
-                                final Row row = rs.one();
+                .thenCompose(rs -> PagingHelper.mapPages(rs, options, statementWrapper.getBoundStatement(), row -> {
                                 options.rowAsyncListener(row);
-                                return meta.createEntityFrom(row);
-                            })
-                            .collect(toList()),
-                            rs.getExecutionInfo()))
+                                return entityMapper.apply(row);
+                            }, rte.completionExecutor)
+                        .thenApply(entities -> Tuple2.of(entities, rs.getExecutionInfo())))
                 .thenApply(tuple2 -> {
                     for (ENTITY entity : tuple2._1()) {
                         meta.triggerInterceptorsForEvent(Event.POST_LOAD, entity);
@@ -129,6 +141,23 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
                 });
     }
 
+    @Override
+    public Publisher<ENTITY> publisher() {
+        final RuntimeEngine rte = getRte();
+        final AbstractEntityProperty<ENTITY> meta = getMetaInternal();
+        final CassandraOptions options = getOptions();
+
+        final Function<Row, ENTITY> entityMapper = rte.instrumentRowMapper(() -> getInternalBoundStatementWrapper().getMetricKey(),
+                meta::createEntityFrom);
+
+        return new ResultSetPublisher<>(this::executeForStreaming, row -> {
+            options.rowAsyncListener(row);
+            final ENTITY entity = entityMapper.apply(row);
+            meta.triggerInterceptorsForEvent(Event.POST_LOAD, entity);
+            return entity;
+        }, rte.completionExecutor);
+    }
+
     /***************************************************************************************
      * TypedMap API                                                                        *
      ***************************************************************************************/
@@ -149,7 +178,13 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
             .thenApply(options::resultSetAsyncListener)
                     .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
                     .thenApply(statementWrapper::logTrace)
-                    .thenApply(x -> Tuple2.of(mapResultSetToTypedMaps(x), x.getExecutionInfo()));
+                    .thenCompose(rs -> PagingHelper.mapPages(rs, options, statementWrapper.getBoundStatement(), this::mapRowToTypedMap, rte.completionExecutor)
+                            .thenApply(typedMaps -> Tuple2.of(typedMaps, rs.getExecutionInfo())));
+    }
+
+    @Override
+    public Publisher<TypedMap> typedMapPublisher() {
+        return new ResultSetPublisher<>(this::executeForStreaming, this::mapRowToTypedMap, getRte().completionExecutor);
     }
 
 
@@ -218,6 +253,24 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
         return getEncodedValuesInternal();
     }
 
+    private CompletableFuture<ResultSet> executeForStreaming() {
+        final RuntimeEngine rte = getRte();
+        final CassandraOptions options = getOptions();
+
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Select for streaming : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        final CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        return propagateCancellation(futureRS, futureRS
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
+                .thenApply(statementWrapper::logTrace));
+    }
+
     protected StatementWrapper getInternalBoundStatementWrapper() {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Get bound statement wrapper"));
@@ -227,7 +280,7 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
         final AbstractEntityProperty<ENTITY> meta = getMetaInternal();
         final CassandraOptions cassandraOptions = getOptions();
 
-        final PreparedStatement ps = rte.prepareDynamicQuery(where);
+        final PreparedStatement ps = rte.prepareDynamicQuery(meta, getStatementShapeInternal(), where);
 
         final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT,
                 meta, ps,
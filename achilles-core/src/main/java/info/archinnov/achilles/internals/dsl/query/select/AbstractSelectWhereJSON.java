@@ -16,13 +16,13 @@
 
 package info.archinnov.achilles.internals.dsl.query.select;
 
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
 import static java.lang.String.format;
 
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,13 +36,18 @@ import com.datastax.driver.core.querybuilder.Select;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.action.SelectJSONAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForSelect;
+import info.archinnov.achilles.internals.cache.StatementShape;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
 import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.JSONArrayWriter;
 import info.archinnov.achilles.internals.types.JSONIteratorWrapper;
+import info.archinnov.achilles.internals.types.ResultSetPublisher;
+import info.archinnov.achilles.internals.utils.PagingHelper;
+import info.archinnov.achilles.type.streaming.Publisher;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public abstract class AbstractSelectWhereJSON<T extends AbstractSelectWhereJSON<T, ENTITY>, ENTITY>
@@ -69,6 +74,15 @@ public abstract class AbstractSelectWhereJSON<T extends AbstractSelectWhereJSON<
 
     protected abstract RuntimeEngine getRte();
 
+    /**
+     * Shape of the statement built by the generated DSL, used to look up the
+     * PreparedStatement without rendering the query string. Returns null when the statement
+     * must be prepared from its query string
+     */
+    protected StatementShape getStatementShapeInternal() {
+        return null;
+    }
+
 
 
     /***************************************************************************************
@@ -91,10 +105,53 @@ public abstract class AbstractSelectWhereJSON<T extends AbstractSelectWhereJSON<
                 .thenApply(options::resultSetAsyncListener)
                 .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
                 .thenApply(statementWrapper::logTrace)
-                .thenApply(resultSet -> Tuple2.of(IntStream
-                        .range(0, resultSet.getAvailableWithoutFetching())
-                        .mapToObj(index -> resultSet.one().getString("[json]"))
-                        .collect(Collectors.toList()), resultSet.getExecutionInfo()));
+                .thenCompose(rs -> PagingHelper.mapPages(rs, options, statementWrapper.getBoundStatement(), row -> row.getString("[json]"), rte.completionExecutor)
+                        .thenApply(jsons -> Tuple2.of(jsons, rs.getExecutionInfo())));
+    }
+
+    @Override
+    public Publisher<String> publisher() {
+        final RuntimeEngine rte = getRte();
+        final CassandraOptions options = getOptions();
+
+        return new ResultSetPublisher<>(() -> {
+            final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Select JSON for streaming : %s",
+                        statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+            }
+
+            final CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+            return propagateCancellation(futureRS, futureRS
+                    .thenApply(options::resultSetAsyncListener)
+                    .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
+                    .thenApply(statementWrapper::logTrace));
+        }, row -> row.getString("[json]"), rte.completionExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Long> writeJSONArrayAsync(JSONArrayWriter writer) {
+        validateNotNull(writer, "The JSON array writer should not be null");
+        final RuntimeEngine rte = getRte();
+        final CassandraOptions options = getOptions();
+
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Select JSON into JSON array : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        return rte.execute(statementWrapper)
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
+                .thenApply(statementWrapper::logTrace)
+                .thenCompose(rs -> PagingHelper.consumeRemainingPages(rs, row -> {
+                    options.rowAsyncListener(row);
+                    writer.writeRow(row);
+                }, rte.completionExecutor))
+                .thenApply(ignored -> writer.finish());
     }
 
     @Override
@@ -151,7 +208,7 @@ public abstract class AbstractSelectWhereJSON<T extends AbstractSelectWhereJSON<
         final AbstractEntityProperty<ENTITY> meta = getMetaInternal();
         final CassandraOptions cassandraOptions = getOptions();
 
-        final PreparedStatement ps = rte.prepareDynamicQuery(where);
+        final PreparedStatement ps = rte.prepareDynamicQuery(meta, getStatementShapeInternal(), where);
 
         final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT,
                 meta, ps,
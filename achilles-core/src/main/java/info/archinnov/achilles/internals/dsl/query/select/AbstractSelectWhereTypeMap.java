@@ -16,6 +16,7 @@
 
 package info.archinnov.achilles.internals.dsl.query.select;
 
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static java.lang.String.format;
 
 import java.util.Iterator;
@@ -34,14 +35,18 @@ import com.datastax.driver.core.querybuilder.Select;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.TypedMapAware;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForSelect;
+import info.archinnov.achilles.internals.cache.StatementShape;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
 import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.ResultSetPublisher;
 import info.archinnov.achilles.internals.types.TypedMapIteratorWrapper;
+import info.archinnov.achilles.internals.utils.PagingHelper;
 import info.archinnov.achilles.type.TypedMap;
+import info.archinnov.achilles.type.streaming.Publisher;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public abstract class AbstractSelectWhereTypeMap<T extends AbstractSelectWhereTypeMap<T, ENTITY>, ENTITY>
@@ -68,6 +73,15 @@ public abstract class AbstractSelectWhereTypeMap<T extends AbstractSelectWhereTy
 
     protected abstract RuntimeEngine getRte();
 
+    /**
+     * Shape of the statement built by the generated DSL, used to look up the
+     * PreparedStatement without rendering the query string. Returns null when the statement
+     * must be prepared from its query string
+     */
+    protected StatementShape getStatementShapeInternal() {
+        return null;
+    }
+
     /***************************************************************************************
      * TypedMap API                                                                        *
      ***************************************************************************************/
@@ -88,7 +102,29 @@ public abstract class AbstractSelectWhereTypeMap<T extends AbstractSelectWhereTy
             .thenApply(options::resultSetAsyncListener)
                     .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
                     .thenApply(statementWrapper::logTrace)
-                    .thenApply(x -> Tuple2.of(mapResultSetToTypedMaps(x), x.getExecutionInfo()));
+                    .thenCompose(rs -> PagingHelper.mapPages(rs, options, statementWrapper.getBoundStatement(), this::mapRowToTypedMap, rte.completionExecutor)
+                            .thenApply(typedMaps -> Tuple2.of(typedMaps, rs.getExecutionInfo())));
+    }
+
+    @Override
+    public Publisher<TypedMap> typedMapPublisher() {
+        final RuntimeEngine rte = getRte();
+        final CassandraOptions options = getOptions();
+
+        return new ResultSetPublisher<>(() -> {
+            final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Select for streaming : %s",
+                        statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+            }
+
+            final CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+            return propagateCancellation(futureRS, futureRS
+                    .thenApply(options::resultSetAsyncListener)
+                    .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
+                    .thenApply(statementWrapper::logTrace));
+        }, this::mapRowToTypedMap, rte.completionExecutor);
     }
 
 
@@ -168,7 +204,7 @@ public abstract class AbstractSelectWhereTypeMap<T extends AbstractSelectWhereTy
         final AbstractEntityProperty<ENTITY> meta = getMetaInternal();
         final CassandraOptions cassandraOptions = getOptions();
 
-        final PreparedStatement ps = rte.prepareDynamicQuery(where);
+        final PreparedStatement ps = rte.prepareDynamicQuery(meta, getStatementShapeInternal(), where);
 
         final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT,
                 meta, ps,
@@ -17,6 +17,7 @@
 package info.archinnov.achilles.internals.dsl.query.update;
 
 
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static java.lang.String.format;
 
 import java.util.List;
@@ -35,7 +36,10 @@ import com.datastax.driver.core.querybuilder.Update;
 import info.archinnov.achilles.internals.dsl.LWTHelper;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.dsl.batch.BatchElement;
+import info.archinnov.achilles.internals.dsl.batch.BatchableAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForUpdateOrDelete;
+import info.archinnov.achilles.internals.cache.StatementShape;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
@@ -46,7 +50,7 @@ import info.archinnov.achilles.internals.statements.StatementWrapper;
 
 public abstract class AbstractUpdateEnd<T extends AbstractUpdateEnd<T, ENTITY>, ENTITY>
         extends AbstractOptionsForUpdateOrDelete<T>
-        implements MutationAction, StatementProvider {
+        implements MutationAction, BatchableAction, StatementProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractUpdateEnd.class);
 
@@ -68,12 +72,21 @@ public abstract class AbstractUpdateEnd<T extends AbstractUpdateEnd<T, ENTITY>,
 
     protected abstract RuntimeEngine getRte();
 
+    /**
+     * Shape of the statement built by the generated DSL, used to look up the
+     * PreparedStatement without rendering the query string. Returns null when the statement
+     * must be prepared from its query string
+     */
+    protected StatementShape getStatementShapeInternal() {
+        return null;
+    }
+
     /**
      *  UPDATE ... IF EXISTS
      */
     public T ifExists(boolean ifExists) {
         if (ifExists) {
-            where.ifExists();
+            ifExists();
         }
         return getThis();
     }
@@ -83,11 +96,13 @@ public abstract class AbstractUpdateEnd<T extends AbstractUpdateEnd<T, ENTITY>,
      */
     public T ifExists() {
         where.ifExists();
+        addRuntimeFlagToShape(StatementShape.RUNTIME_IF_EXISTS);
         return getThis();
     }
 
     public T usingTimeToLive(int timeToLive) {
         where.using(QueryBuilder.ttl(QueryBuilder.bindMarker("ttl")));
+        addRuntimeFlagToShape(StatementShape.RUNTIME_USING_TTL);
         getBoundValuesInternal().add(0, timeToLive);
         getEncodedValuesInternal().add(0, timeToLive);
         return getThis();
@@ -105,13 +120,27 @@ public abstract class AbstractUpdateEnd<T extends AbstractUpdateEnd<T, ENTITY>,
             LOGGER.trace(format("Execute update async with execution info : %s", queryString));
         }
 
-        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        // The rows matched by the WHERE clause are not known, the whole near cache is invalidated
+        final CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
 
-        return futureRS
+        return propagateCancellation(futureRS, futureRS
+                .whenComplete((rs, throwable) -> getMetaInternal().invalidateAllNearCache())
                 .thenApply(cassandraOptions::resultSetAsyncListener)
                 .thenApply(statementWrapper::logTrace)
                 .thenApply(x -> LWTHelper.triggerLWTListeners(lwtResultListeners, x, queryString))
-                .thenApply(x -> x.getExecutionInfo());
+                .thenApply(x -> x.getExecutionInfo()));
+    }
+
+    @Override
+    public BatchElement toBatchElement() {
+        final CassandraOptions cassandraOptions = getOptions();
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
+
+        return new BatchElement(getMetaInternal(), statementWrapper, rs -> {
+            getMetaInternal().invalidateAllNearCache();
+            return LWTHelper.triggerLWTListeners(lwtResultListeners, cassandraOptions.resultSetAsyncListener(rs), queryString);
+        });
     }
 
     @Override
@@ -143,7 +172,7 @@ public abstract class AbstractUpdateEnd<T extends AbstractUpdateEnd<T, ENTITY>,
         final RuntimeEngine rte = getRte();
         final AbstractEntityProperty<ENTITY> meta = getMetaInternal();
         final CassandraOptions cassandraOptions = getOptions();
-        final PreparedStatement ps = rte.prepareDynamicQuery(where);
+        final PreparedStatement ps = rte.prepareDynamicQuery(meta, getStatementShapeInternal(), where);
 
         final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.UPDATE,
                 meta, ps,
@@ -153,4 +182,11 @@ public abstract class AbstractUpdateEnd<T extends AbstractUpdateEnd<T, ENTITY>,
         statementWrapper.applyOptions(cassandraOptions);
         return statementWrapper;
     }
+
+    private void addRuntimeFlagToShape(int flag) {
+        final StatementShape shape = getStatementShapeInternal();
+        if (shape != null) {
+            shape.addRuntimeFlag(flag);
+        }
+    }
 }
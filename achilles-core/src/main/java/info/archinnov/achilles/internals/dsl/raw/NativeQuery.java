@@ -16,6 +16,7 @@
 
 package info.archinnov.achilles.internals.dsl.raw;
 
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 
@@ -34,6 +35,8 @@ import com.datastax.driver.core.ResultSet;
 import info.archinnov.achilles.internals.dsl.LWTHelper;
 import info.archinnov.achilles.internals.dsl.RawAndTypeMapDefaultImpl;
 import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.dsl.batch.BatchElement;
+import info.archinnov.achilles.internals.dsl.batch.BatchableAction;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
@@ -44,7 +47,7 @@ import info.archinnov.achilles.type.lightweighttransaction.LWTResultListener;
 /**
  * Native query
  */
-public class NativeQuery implements MutationAction, RawAndTypeMapDefaultImpl {
+public class NativeQuery implements MutationAction, BatchableAction, RawAndTypeMapDefaultImpl {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NativeQuery.class);
 
@@ -177,14 +180,23 @@ public class NativeQuery implements MutationAction, RawAndTypeMapDefaultImpl {
             LOGGER.trace(format("Execute native query async with execution info : %s", queryString));
         }
 
-        CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+        final CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
 
-        return cfutureRS
+        return propagateCancellation(cfutureRS, cfutureRS
                 .thenApply(options::resultSetAsyncListener)
                 .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
                 .thenApply(statementWrapper::logTrace)
                 .thenApply(x -> LWTHelper.triggerLWTListeners(lwtResultListeners, x, queryString))
-                .thenApply(x -> x.getExecutionInfo());
+                .thenApply(x -> x.getExecutionInfo()));
+    }
+
+    @Override
+    public BatchElement toBatchElement() {
+        final StatementWrapper statementWrapper = new NativeStatementWrapper(getOperationType(boundStatement), meta, boundStatement, encodedBoundValues);
+        final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
+
+        return new BatchElement(meta, statementWrapper,
+                rs -> LWTHelper.triggerLWTListeners(lwtResultListeners, options.resultSetAsyncListener(rs), queryString));
     }
 
 
@@ -16,15 +16,14 @@
 
 package info.archinnov.achilles.internals.dsl.raw;
 
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static java.util.Arrays.asList;
-import static java.util.stream.Collectors.toList;
 
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
-import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,7 +41,10 @@ import info.archinnov.achilles.internals.runtime.RuntimeEngine;
 import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 import info.archinnov.achilles.internals.types.EntityIteratorWrapper;
+import info.archinnov.achilles.internals.types.ResultSetPublisher;
+import info.archinnov.achilles.internals.utils.PagingHelper;
 import info.archinnov.achilles.type.interceptor.Event;
+import info.archinnov.achilles.type.streaming.Publisher;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 /**
@@ -172,7 +174,8 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, RawAndTypeMapDe
         }
 
         CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
-        return new EntityIteratorWrapper<>(futureRS, meta, statementWrapper, options);
+        return new EntityIteratorWrapper<>(futureRS, meta, statementWrapper, options,
+                rte.instrumentRowMapper(statementWrapper::getMetricKey, meta::createEntityFrom));
     }
 
     /**
@@ -202,19 +205,16 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, RawAndTypeMapDe
         }
 
         CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        final Function<Row, ENTITY> entityMapper = rte.instrumentRowMapper(statementWrapper::getMetricKey, meta::createEntityFrom);
 
         return futureRS
                 .thenApply(options::resultSetAsyncListener)
                 .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
                 .thenApply(statementWrapper::logTrace)
-                .thenApply(rs -> Tuple2.of(IntStream.range(0, rs.getAvailableWithoutFetching())
-                                .mapToObj(index -> {
-                                    final Row row = rs.one();
-                                    options.rowAsyncListener(row);
-                                    return meta.createEntityFrom(row);
-                                })
-                                .collect(toList()),
-                        rs.getExecutionInfo()))
+                .thenCompose(rs -> PagingHelper.mapPages(rs, options, boundStatement, row -> {
+                    options.rowAsyncListener(row);
+                    return entityMapper.apply(row);
+                }, rte.completionExecutor).thenApply(entities -> Tuple2.of(entities, rs.getExecutionInfo())))
                 .thenApply(tuple2 -> {
                     for (ENTITY entity : tuple2._1()) {
                         meta.triggerInterceptorsForEvent(Event.POST_LOAD, entity);
@@ -223,6 +223,32 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, RawAndTypeMapDe
                 });
     }
 
+    @Override
+    public Publisher<ENTITY> publisher() {
+        final Function<Row, ENTITY> entityMapper = rte.instrumentRowMapper(() -> new BoundStatementWrapper(getOperationType(boundStatement),
+                meta, boundStatement, encodedBoundValues).getMetricKey(), meta::createEntityFrom);
+        return new ResultSetPublisher<>(() -> {
+            final StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement), meta,
+                    boundStatement, encodedBoundValues);
+
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(String.format("Select for streaming : %s",
+                        statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+            }
+
+            final CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+            return propagateCancellation(futureRS, futureRS
+                    .thenApply(options::resultSetAsyncListener)
+                    .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
+                    .thenApply(statementWrapper::logTrace));
+        }, row -> {
+            options.rowAsyncListener(row);
+            final ENTITY entity = entityMapper.apply(row);
+            meta.triggerInterceptorsForEvent(Event.POST_LOAD, entity);
+            return entity;
+        }, rte.completionExecutor);
+    }
+
     @Override
     public RuntimeEngine runtimeEngine() {
         return rte;
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.scan;
+
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.TokenRange;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Immutable set of the token ranges already scanned by a token range scan.
+ * <br/>
+ * A scan resumed from a checkpoint skips the completed token ranges. The scan should be
+ * resumed with the same <em>splitsPerTokenRange</em> value and the same cluster topology
+ * for the token ranges to match
+ */
+public class ScanCheckpoint {
+
+    private static final ScanCheckpoint EMPTY = new ScanCheckpoint(ImmutableSet.of());
+
+    private final Set<TokenRange> completedRanges;
+
+    private ScanCheckpoint(Set<TokenRange> completedRanges) {
+        this.completedRanges = completedRanges;
+    }
+
+    public static ScanCheckpoint empty() {
+        return EMPTY;
+    }
+
+    public static ScanCheckpoint of(Collection<TokenRange> completedRanges) {
+        validateNotNull(completedRanges, "The completed token ranges should not be null");
+        return new ScanCheckpoint(ImmutableSet.copyOf(completedRanges));
+    }
+
+    /**
+     * Rebuild a checkpoint from the strings produced by {@link #toTokenRangeStrings()}
+     */
+    public static ScanCheckpoint fromTokenRangeStrings(Metadata metadata, Collection<String> tokenRanges) {
+        validateNotNull(metadata, "The cluster metadata should not be null");
+        validateNotNull(tokenRanges, "The token range strings should not be null");
+        return new ScanCheckpoint(ImmutableSet.copyOf(tokenRanges
+                .stream()
+                .map(tokenRange -> {
+                    final String[] bounds = tokenRange.split(",");
+                    validateTrue(bounds.length == 2, "The token range '%s' should be formatted as 'start,end'", tokenRange);
+                    return metadata.newTokenRange(metadata.newToken(bounds[0]), metadata.newToken(bounds[1]));
+                })
+                .collect(Collectors.toList())));
+    }
+
+    public Set<TokenRange> getCompletedRanges() {
+        return completedRanges;
+    }
+
+    public boolean isCompleted(TokenRange tokenRange) {
+        return completedRanges.contains(tokenRange);
+    }
+
+    /**
+     * Format the completed token ranges as <em>start,end</em> strings, to be persisted
+     * and given back to {@link #fromTokenRangeStrings(Metadata, Collection)}
+     */
+    public List<String> toTokenRangeStrings() {
+        return completedRanges
+                .stream()
+                .map(range -> range.getStart() + "," + range.getEnd())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return "ScanCheckpoint{" +
+                "completedRanges=" + completedRanges.size() +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.scan;
+
+import com.datastax.driver.core.TokenRange;
+
+/**
+ * Progress of a token range scan, reported each time a token range has been fully scanned
+ */
+public class ScanProgress {
+
+    private final TokenRange completedRange;
+    private final long rowsInRange;
+    private final int completedRanges;
+    private final int totalRanges;
+    private final ScanCheckpoint checkpoint;
+
+    public ScanProgress(TokenRange completedRange, long rowsInRange, int completedRanges, int totalRanges, ScanCheckpoint checkpoint) {
+        this.completedRange = completedRange;
+        this.rowsInRange = rowsInRange;
+        this.completedRanges = completedRanges;
+        this.totalRanges = totalRanges;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * The token range just scanned
+     */
+    public TokenRange getCompletedRange() {
+        return completedRange;
+    }
+
+    /**
+     * Number of rows read from the token range just scanned
+     */
+    public long getRowsInRange() {
+        return rowsInRange;
+    }
+
+    /**
+     * Number of token ranges scanned so far, including the ones of the resume checkpoint
+     */
+    public int getCompletedRanges() {
+        return completedRanges;
+    }
+
+    public int getTotalRanges() {
+        return totalRanges;
+    }
+
+    /**
+     * Checkpoint to resume the scan from, should it be interrupted
+     */
+    public ScanCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    @Override
+    public String toString() {
+        return "ScanProgress{" +
+                "completedRange=" + completedRange +
+                ", rowsInRange=" + rowsInRange +
+                ", completedRanges=" + completedRanges +
+                ", totalRanges=" + totalRanges +
+                '}';
+    }
+}
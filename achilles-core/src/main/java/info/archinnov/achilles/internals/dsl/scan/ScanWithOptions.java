@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.scan;
+
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
+import static info.archinnov.achilles.internals.statements.PreparedStatementGenerator.generateTokenRangeScanQuery;
+import static info.archinnov.achilles.validation.Validator.*;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForSelect;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.metrics.MetricKey;
+import info.archinnov.achilles.type.interceptor.Event;
+import info.archinnov.achilles.type.streaming.Publisher;
+import info.archinnov.achilles.type.streaming.Subscriber;
+import info.archinnov.achilles.type.streaming.Subscription;
+
+/**
+ * Full table scan split on the token ranges of the cluster.
+ * <br/>
+ * Each token range of the ring is scanned with a <strong>SELECT ... WHERE token(partition keys) &gt; ? AND token(partition keys) &lt;= ?</strong>
+ * query and token ranges are scanned in parallel, up to the configured concurrency
+ */
+public class ScanWithOptions<ENTITY> extends AbstractOptionsForSelect<ScanWithOptions<ENTITY>> implements AsyncAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScanWithOptions.class);
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final RuntimeEngine rte;
+    private final CassandraOptions options = new CassandraOptions();
+    private Optional<Integer> concurrency = Optional.empty();
+    private int splitsPerTokenRange = 1;
+    private Optional<Consumer<ScanProgress>> progressListener = Optional.empty();
+    private ScanCheckpoint checkpoint = ScanCheckpoint.empty();
+
+    public ScanWithOptions(AbstractEntityProperty<ENTITY> meta, RuntimeEngine rte) {
+        this.meta = meta;
+        this.rte = rte;
+    }
+
+    /**
+     * Maximum number of token ranges scanned at the same time. Defaults to the number of nodes in the cluster
+     */
+    public ScanWithOptions<ENTITY> withConcurrency(int concurrency) {
+        validateTrue(concurrency > 0, "The scan concurrency should be strictly positive");
+        this.concurrency = Optional.of(concurrency);
+        return this;
+    }
+
+    /**
+     * Split each token range of the ring evenly into the given number of sub-ranges. Defaults to 1
+     */
+    public ScanWithOptions<ENTITY> withSplitsPerTokenRange(int splitsPerTokenRange) {
+        validateTrue(splitsPerTokenRange > 0, "The number of splits per token range should be strictly positive");
+        this.splitsPerTokenRange = splitsPerTokenRange;
+        return this;
+    }
+
+    /**
+     * Listener notified each time a token range has been fully scanned.
+     * The listener is never called concurrently
+     */
+    public ScanWithOptions<ENTITY> withProgressListener(Consumer<ScanProgress> progressListener) {
+        validateNotNull(progressListener, "The scan progress listener should not be null");
+        this.progressListener = Optional.of(progressListener);
+        return this;
+    }
+
+    /**
+     * Skip the token ranges already scanned in the given checkpoint
+     */
+    public ScanWithOptions<ENTITY> resumeFrom(ScanCheckpoint checkpoint) {
+        validateNotNull(checkpoint, "The scan checkpoint should not be null");
+        this.checkpoint = checkpoint;
+        return this;
+    }
+
+    /**
+     * Scan the whole table and call the given consumer for each entity.
+     * The consumer is never called concurrently
+     * <br/>
+     * WARNING: <strong>this method blocks until the scan is complete</strong>
+     *
+     * @return the number of scanned entities
+     */
+    public long forEach(Consumer<ENTITY> consumer) {
+        try {
+            return Uninterruptibles.getUninterruptibly(forEachAsync(consumer));
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Scan the whole table asynchronously and call the given consumer for each entity.
+     * The consumer is never called concurrently
+     *
+     * @return a {@link java.util.concurrent.CompletableFuture} of the number of scanned entities
+     */
+    public CompletableFuture<Long> forEachAsync(Consumer<ENTITY> consumer) {
+        validateNotNull(consumer, "The scan consumer should not be null");
+        final CompletableFuture<Long> result = new CompletableFuture<>();
+        final AtomicLong count = new AtomicLong();
+
+        publisher().subscribe(new Subscriber<ENTITY>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ENTITY entity) {
+                try {
+                    consumer.accept(entity);
+                    count.incrementAndGet();
+                } catch (Throwable throwable) {
+                    subscription.cancel();
+                    result.completeExceptionally(throwable);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(count.get());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Return a {@link info.archinnov.achilles.type.streaming.Publisher}&lt;ENTITY&gt; scanning the whole table
+     * on subscription and streaming the entities following the subscriber demand
+     */
+    public Publisher<ENTITY> publisher() {
+        validateFalse(options.hasPagingState(), "Paging state is not supported for a token range scan");
+
+        final List<TokenRange> tokenRanges = computeTokenRanges();
+        final int actualConcurrency = concurrency.orElseGet(() -> Math.max(1, rte.getCluster().getMetadata().getAllHosts().size()));
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Create token range scan for entity %s on %s token ranges",
+                    meta.entityClass.getCanonicalName(), tokenRanges.size()));
+        }
+
+        final PreparedStatement boundedPS = rte.prepareDynamicQuery(generateTokenRangeScanQuery(meta, options.getSchemaNameProvider(), false));
+        final PreparedStatement openEndedPS = rte.prepareDynamicQuery(generateTokenRangeScanQuery(meta, options.getSchemaNameProvider(), true));
+
+        final Function<Row, ENTITY> entityMapper = rte.instrumentRowMapper(() -> new MetricKey(meta.entityClass, OperationType.SELECT,
+                boundedPS.getQueryString()), meta::createEntityFrom);
+
+        return new TokenRangeScanPublisher<>(tokenRanges, checkpoint, actualConcurrency,
+                tokenRange -> executeForTokenRange(tokenRange, boundedPS, openEndedPS),
+                row -> {
+                    options.rowAsyncListener(row);
+                    final ENTITY entity = entityMapper.apply(row);
+                    meta.triggerInterceptorsForEvent(Event.POST_LOAD, entity);
+                    return entity;
+                }, progressListener, rte.completionExecutor);
+    }
+
+    private List<TokenRange> computeTokenRanges() {
+        final Metadata metadata = rte.getCluster().getMetadata();
+        final List<TokenRange> tokenRanges = new ArrayList<>();
+        for (TokenRange ringRange : metadata.getTokenRanges()) {
+            // A single token ring yields one range covering the whole ring, split it to get non-empty bounds
+            final int splits = ringRange.getStart().equals(ringRange.getEnd())
+                    ? Math.max(2, splitsPerTokenRange)
+                    : splitsPerTokenRange;
+            final List<TokenRange> subRanges = splits > 1
+                    ? ringRange.splitEvenly(splits)
+                    : Collections.singletonList(ringRange);
+            for (TokenRange subRange : subRanges) {
+                for (TokenRange unwrapped : subRange.unwrap()) {
+                    if (!checkpoint.isCompleted(unwrapped)) {
+                        tokenRanges.add(unwrapped);
+                    }
+                }
+            }
+        }
+        validateFalse(tokenRanges.isEmpty() && checkpoint.getCompletedRanges().isEmpty(),
+                "Cannot scan entity %s, the token ranges of the cluster are not available", meta.entityClass.getCanonicalName());
+        Collections.sort(tokenRanges);
+        return tokenRanges;
+    }
+
+    private CompletableFuture<ResultSet> executeForTokenRange(TokenRange tokenRange, PreparedStatement boundedPS, PreparedStatement openEndedPS) {
+        // After unwrapping, a range ending before its start ends with the minimum token, i.e. the end of the ring
+        final boolean openEnded = tokenRange.getStart().compareTo(tokenRange.getEnd()) > 0;
+        final BoundStatement bs;
+        final Object[] boundValues;
+        if (openEnded) {
+            bs = openEndedPS.bind().setToken("start", tokenRange.getStart());
+            boundValues = new Object[]{tokenRange.getStart()};
+        } else {
+            bs = boundedPS.bind()
+                    .setToken("start", tokenRange.getStart())
+                    .setToken("end", tokenRange.getEnd());
+            boundValues = new Object[]{tokenRange.getStart(), tokenRange.getEnd()};
+        }
+
+        final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT, meta, bs, boundValues, boundValues);
+        statementWrapper.applyOptions(options);
+
+        final CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        return propagateCancellation(futureRS, futureRS
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(statementWrapper::logTrace));
+    }
+
+    @Override
+    protected ScanWithOptions<ENTITY> getThis() {
+        return this;
+    }
+
+    @Override
+    protected CassandraOptions getOptions() {
+        return options;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.scan;
+
+import static info.archinnov.achilles.internals.futures.FutureUtils.toCompletableFuture;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static java.lang.String.format;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.TokenRange;
+
+import info.archinnov.achilles.type.streaming.Publisher;
+import info.archinnov.achilles.type.streaming.Subscriber;
+import info.archinnov.achilles.type.streaming.Subscription;
+
+/**
+ * Publisher scanning a list of token ranges in parallel.
+ * <br/>
+ * At most <em>concurrency</em> token ranges are queried at the same time and at most one page
+ * per token range is held in memory. Rows are emitted according to the subscriber demand
+ * <br/>
+ * Cancelling the subscription cancels the queries and page fetches in flight
+ */
+public class TokenRangeScanPublisher<T> implements Publisher<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRangeScanPublisher.class);
+
+    private final List<TokenRange> tokenRanges;
+    private final ScanCheckpoint checkpoint;
+    private final int concurrency;
+    private final Function<TokenRange, CompletableFuture<ResultSet>> rangeQuery;
+    private final Function<Row, T> mapper;
+    private final Optional<Consumer<ScanProgress>> progressListener;
+    private final ExecutorService executor;
+
+    public TokenRangeScanPublisher(List<TokenRange> tokenRanges, ScanCheckpoint checkpoint, int concurrency,
+                                   Function<TokenRange, CompletableFuture<ResultSet>> rangeQuery, Function<Row, T> mapper,
+                                   Optional<Consumer<ScanProgress>> progressListener, ExecutorService executor) {
+        this.tokenRanges = tokenRanges;
+        this.checkpoint = checkpoint;
+        this.concurrency = concurrency;
+        this.rangeQuery = rangeQuery;
+        this.mapper = mapper;
+        this.progressListener = progressListener;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        validateNotNull(subscriber, "The subscriber should not be null");
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Start scanning %s token ranges with concurrency %s", tokenRanges.size(), concurrency));
+        }
+        final ScanSubscription subscription = new ScanSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.drain();
+    }
+
+    private static final class RangeCursor {
+        private final TokenRange tokenRange;
+        private volatile Future<?> inFlight;
+        private volatile ResultSet resultSet;
+        private volatile boolean fetching = true;
+        private long rowCount;
+
+        private RangeCursor(TokenRange tokenRange) {
+            this.tokenRange = tokenRange;
+        }
+    }
+
+    private final class ScanSubscription implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        // Only accessed from the drain loop
+        private final Deque<TokenRange> pendingRanges = new ArrayDeque<>(tokenRanges);
+        private final List<RangeCursor> activeRanges = new ArrayList<>(concurrency);
+        private final Set<TokenRange> completedRanges = new HashSet<>(checkpoint.getCompletedRanges());
+        private final int totalRanges = tokenRanges.size() + checkpoint.getCompletedRanges().size();
+        private boolean done;
+
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+
+        private ScanSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                onFailure(new IllegalArgumentException(format("The requested number of items should be strictly positive, got %s", n)));
+                return;
+            }
+            requested.getAndUpdate(current -> Long.MAX_VALUE - current <= n ? Long.MAX_VALUE : current + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void onFailure(Throwable throwable) {
+            this.error = throwable;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!done) {
+                    if (cancelled) {
+                        done = true;
+                        cancelInFlight();
+                    } else {
+                        drainActiveRanges();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainActiveRanges() {
+            boolean rangeCompleted;
+            do {
+                while (error == null && activeRanges.size() < concurrency && !pendingRanges.isEmpty()) {
+                    startRange(pendingRanges.poll());
+                }
+
+                if (error != null) {
+                    terminateWithError(error);
+                    return;
+                }
+
+                rangeCompleted = false;
+                final long demand = requested.get();
+                long emitted = 0;
+                final Iterator<RangeCursor> iterator = activeRanges.iterator();
+                while (iterator.hasNext() && !cancelled) {
+                    final RangeCursor cursor = iterator.next();
+                    final ResultSet rs = cursor.resultSet;
+                    if (rs == null) {
+                        continue;
+                    }
+
+                    while (emitted != demand && !cancelled && rs.getAvailableWithoutFetching() > 0) {
+                        final T item;
+                        try {
+                            item = mapper.apply(rs.one());
+                        } catch (Throwable throwable) {
+                            terminateWithError(throwable);
+                            return;
+                        }
+                        subscriber.onNext(item);
+                        cursor.rowCount++;
+                        emitted++;
+                    }
+
+                    if (!cursor.fetching && rs.getAvailableWithoutFetching() == 0) {
+                        if (rs.isFullyFetched()) {
+                            iterator.remove();
+                            completeRange(cursor);
+                            rangeCompleted = true;
+                        } else {
+                            fetchNextPage(cursor, rs);
+                        }
+                    }
+                }
+
+                if (emitted > 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+            } while (rangeCompleted && !cancelled && !pendingRanges.isEmpty());
+
+            if (!cancelled && activeRanges.isEmpty() && pendingRanges.isEmpty()) {
+                done = true;
+                subscriber.onComplete();
+            }
+        }
+
+        private void startRange(TokenRange tokenRange) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Start scanning token range %s", tokenRange));
+            }
+            final RangeCursor cursor = new RangeCursor(tokenRange);
+            activeRanges.add(cursor);
+
+            final CompletableFuture<ResultSet> futureRS;
+            try {
+                futureRS = rangeQuery.apply(tokenRange);
+            } catch (Throwable throwable) {
+                error = throwable;
+                return;
+            }
+            cursor.inFlight = futureRS;
+            futureRS.whenComplete((rs, throwable) -> {
+                if (throwable != null) {
+                    onFailure(throwable);
+                } else {
+                    cursor.resultSet = rs;
+                    cursor.fetching = false;
+                    drain();
+                }
+            });
+        }
+
+        private void fetchNextPage(RangeCursor cursor, ResultSet rs) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Fetching next page of token range %s", cursor.tokenRange));
+            }
+            cursor.fetching = true;
+            final CompletableFuture<ResultSet> futureRS = toCompletableFuture(rs.fetchMoreResults(), executor);
+            cursor.inFlight = futureRS;
+            futureRS.whenComplete((nextRS, throwable) -> {
+                if (throwable != null) {
+                    onFailure(throwable);
+                } else {
+                    cursor.fetching = false;
+                    drain();
+                }
+            });
+        }
+
+        private void cancelInFlight() {
+            for (RangeCursor cursor : activeRanges) {
+                final Future<?> future = cursor.inFlight;
+                if (future != null && !future.isDone()) {
+                    if (LOGGER.isTraceEnabled()) {
+                        LOGGER.trace(format("Cancelling in-flight query of token range %s", cursor.tokenRange));
+                    }
+                    future.cancel(true);
+                }
+            }
+            activeRanges.clear();
+        }
+
+        private void completeRange(RangeCursor cursor) {
+            completedRanges.add(cursor.tokenRange);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Token range %s scanned with %s rows, %s/%s token ranges done",
+                        cursor.tokenRange, cursor.rowCount, completedRanges.size(), totalRanges));
+            }
+            progressListener.ifPresent(listener -> listener.accept(new ScanProgress(cursor.tokenRange, cursor.rowCount,
+                    completedRanges.size(), totalRanges, ScanCheckpoint.of(completedRanges))));
+        }
+
+        private void terminateWithError(Throwable throwable) {
+            done = true;
+            cancelled = true;
+            cancelInFlight();
+            subscriber.onError(throwable);
+        }
+    }
+}
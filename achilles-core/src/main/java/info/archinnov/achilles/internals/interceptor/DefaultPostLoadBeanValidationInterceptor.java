@@ -18,8 +18,7 @@ package info.archinnov.achilles.internals.interceptor;
 
 
 import static info.archinnov.achilles.type.interceptor.Event.POST_LOAD;
-import static java.util.Arrays.asList;
-
+import java.util.Collections;
 import java.util.List;
 import javax.validation.Validator;
 
@@ -28,13 +27,15 @@ import info.archinnov.achilles.type.interceptor.Event;
 
 public class DefaultPostLoadBeanValidationInterceptor extends DefaultPreMutateBeanValidationInterceptor {
 
+    private static final List<Event> POST_LOAD_EVENTS = Collections.singletonList(POST_LOAD);
+
     public DefaultPostLoadBeanValidationInterceptor(Validator validator) {
         super(validator);
     }
 
     @Override
     public List<Event> interceptOnEvents() {
-        return asList(POST_LOAD);
+        return POST_LOAD_EVENTS;
     }
 
 
@@ -23,10 +23,11 @@ import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.validation.ConstraintViolation;
 import javax.validation.Path;
 import javax.validation.Validator;
@@ -43,7 +44,9 @@ public class DefaultPreMutateBeanValidationInterceptor implements AchillesIntern
     private static final String LOGGER_NAME = "info.archinnov.achilles.internals.interceptor.DefaultBeanValidatorInterceptor";
     private static final Logger LOGGER = LoggerFactory.getLogger(LOGGER_NAME);
 
-    private final Map<Class<?>, Boolean> constrainedClasses = new HashMap<>();
+    private static final List<Event> PRE_MUTATE_EVENTS = Collections.unmodifiableList(asList(PRE_INSERT, PRE_UPDATE));
+
+    private final Map<Class<?>, Boolean> constrainedClasses = new ConcurrentHashMap<>();
     private Validator validator;
 
     public DefaultPreMutateBeanValidationInterceptor(Validator validator) {
@@ -53,10 +56,8 @@ public class DefaultPreMutateBeanValidationInterceptor implements AchillesIntern
 
     @Override
     public boolean acceptEntity(Class<?> entityClass) {
-        if (!constrainedClasses.containsKey(entityClass)) {
-            constrainedClasses.put(entityClass, validator.getConstraintsForClass(entityClass).isBeanConstrained());
-        }
-        final Boolean acceptEntity = constrainedClasses.get(entityClass);
+        final Boolean acceptEntity = constrainedClasses
+                .computeIfAbsent(entityClass, clazz -> validator.getConstraintsForClass(clazz).isBeanConstrained());
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Accept entity %s for bean validation ? %s", entityClass.getCanonicalName(), acceptEntity));
         }
@@ -82,7 +83,7 @@ public class DefaultPreMutateBeanValidationInterceptor implements AchillesIntern
 
     @Override
     public List<Event> interceptOnEvents() {
-        return asList(PRE_INSERT, PRE_UPDATE);
+        return PRE_MUTATE_EVENTS;
     }
 
 
@@ -20,20 +20,25 @@ import static info.archinnov.achilles.internals.schema.SchemaValidator.*;
 import static info.archinnov.achilles.internals.statements.PreparedStatementGenerator.*;
 import static info.archinnov.achilles.validation.Validator.validateNotNull;
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
 
 import java.util.*;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.BiMap;
 
-import info.archinnov.achilles.internals.cache.StatementsCache;
+import info.archinnov.achilles.internals.cache.EntityChangeTracker;
+import info.archinnov.achilles.internals.cache.EntityNearCache;
+import info.archinnov.achilles.internals.cache.NearCacheOptions;
 import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVersion;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.injectable.*;
@@ -42,7 +47,9 @@ import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.runtime.BeanValueExtractor;
 import info.archinnov.achilles.internals.schema.SchemaContext;
 import info.archinnov.achilles.internals.schema.SchemaCreator;
+import info.archinnov.achilles.internals.statements.BindPlan;
 import info.archinnov.achilles.internals.statements.BoundValuesWrapper;
+import info.archinnov.achilles.internals.statements.StaticStatementsPreparer;
 import info.archinnov.achilles.internals.strategy.naming.InternalNamingStrategy;
 import info.archinnov.achilles.internals.types.OverridingOptional;
 import info.archinnov.achilles.internals.utils.CollectionsHelper;
@@ -61,9 +68,10 @@ public abstract class AbstractEntityProperty<T> implements
         InjectConsistency, InjectInsertStrategy,
         InjectUserAndTupleTypeFactory,
         InjectJacksonMapper, InjectSchemaStrategy,
-        InjectRuntimeCodecs {
+        InjectRuntimeCodecs, InjectNearCache, InjectChangeTracking {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractEntityProperty.class);
+    private static final int MAX_DECODING_PLANS = 256;
 
     public final Logger entityLogger;
     public final Class<T> entityClass;
@@ -78,6 +86,7 @@ public abstract class AbstractEntityProperty<T> implements
     public final Optional<Integer> staticTTL;
     public final Optional<InsertStrategy> staticInsertStrategy;
     public final Optional<InternalNamingStrategy> staticNamingStrategy;
+    public final Optional<NearCacheOptions> staticNearCache;
     public final List<AbstractProperty<T, ?, ?>> partitionKeys;
     public final List<AbstractProperty<T, ?, ?>> clusteringColumns;
     public final List<AbstractProperty<T, ?, ?>> staticColumns;
@@ -87,14 +96,45 @@ public abstract class AbstractEntityProperty<T> implements
     public final List<AbstractProperty<T, ?, ?>> constructorInjectedColumns;
     public final List<AbstractProperty<T, ?, ?>> allColumns;
     public final List<AbstractProperty<T, ?, ?>> allColumnsWithComputed;
+    public final List<AbstractProperty<T, ?, ?>> primaryKeyColumns;
+    public final List<AbstractProperty<T, ?, ?>> partitionKeysAndStaticColumns;
     public final List<Interceptor<T>> interceptors = new ArrayList<>();
+    /**
+     * Interceptors compiled per event from {@link #interceptors}, see {@link #compileInterceptors()}
+     */
+    private volatile Map<Event, Interceptor<T>[]> interceptorsByEvent = new EnumMap<>(Event.class);
+    /**
+     * Keyed by identity on the column definitions, which are shared by all rows of a result set
+     * and by all executions of a prepared statement
+     */
+    private final Cache<ColumnDefinitions, RowDecodingPlan<T>> decodingPlans = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(MAX_DECODING_PLANS)
+            .build();
+    /**
+     * Keyed by column layout (keyspace, table, name and type of each column). Non-prepared statements
+     * get new column definitions for each result set, their plans are found here instead of being rebuilt
+     */
+    private final Cache<List<ColumnDefinitions.Definition>, RowDecodingPlan<T>> decodingPlansByLayout = CacheBuilder.newBuilder()
+            .maximumSize(MAX_DECODING_PLANS)
+            .build();
+    /**
+     * Keyed by identity on the prepared statement
+     */
+    private final Cache<PreparedStatement, BindPlan> bindPlans = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(MAX_DECODING_PLANS)
+            .build();
     protected BeanFactory beanFactory;
+    private boolean useBeanFactory;
     protected Optional<String> keyspace = Optional.empty();
     protected ConsistencyLevel readConsistencyLevel;
     protected ConsistencyLevel writeConsistencyLevel;
     protected ConsistencyLevel serialConsistencyLevel;
     protected InsertStrategy insertStrategy;
     public Optional<SchemaNameProvider> schemaStrategy = Optional.empty();
+    public Optional<EntityNearCache> nearCache = Optional.empty();
+    public Optional<EntityChangeTracker<T>> changeTracker = Optional.empty();
 
 
     public AbstractEntityProperty() {
@@ -111,6 +151,7 @@ public abstract class AbstractEntityProperty<T> implements
         staticTTL = getStaticTTL();
         staticInsertStrategy = getStaticInsertStrategy();
         staticNamingStrategy = getStaticNamingStrategy();
+        staticNearCache = getStaticNearCache();
         partitionKeys = getPartitionKeys();
         clusteringColumns = getClusteringColumns();
         staticColumns = getStaticColumns();
@@ -120,6 +161,12 @@ public abstract class AbstractEntityProperty<T> implements
         counterColumns = getCounterColumns();
         allColumns = getAllColumns();
         allColumnsWithComputed = getAllColumnsWithComputed();
+        final List<AbstractProperty<T, ?, ?>> primaryKeys = new ArrayList<>(partitionKeys);
+        primaryKeys.addAll(clusteringColumns);
+        primaryKeyColumns = primaryKeys;
+        final List<AbstractProperty<T, ?, ?>> partitionKeysAndStatics = new ArrayList<>(partitionKeys);
+        partitionKeysAndStatics.addAll(staticColumns);
+        partitionKeysAndStaticColumns = partitionKeysAndStatics;
     }
 
     protected abstract Class<T> getEntityClass();
@@ -160,6 +207,13 @@ public abstract class AbstractEntityProperty<T> implements
 
     protected abstract List<AbstractProperty<T, ?, ?>> getConstructorInjectedColumns();
 
+    /**
+     * Near cache defined by {@link info.archinnov.achilles.annotations.NearCache}, only generated for annotated entities
+     */
+    protected Optional<NearCacheOptions> getStaticNearCache() {
+        return Optional.empty();
+    }
+
     protected EntityType getType() {
         return EntityType.TABLE;
     }
@@ -216,49 +270,115 @@ public abstract class AbstractEntityProperty<T> implements
         return staticInsertStrategy.orElse(insertStrategy);
     }
 
+    /**
+     * Compile the interceptors into a per-event dispatch table.
+     * Should be called again whenever the interceptors list is modified
+     */
+    @SuppressWarnings("unchecked")
+    public void compileInterceptors() {
+        final Map<Event, Interceptor<T>[]> compiled = new EnumMap<>(Event.class);
+        for (Event event : Event.values()) {
+            final Interceptor<T>[] eventInterceptors = interceptors
+                    .stream()
+                    .filter(x -> x.interceptOnEvents().contains(event))
+                    .toArray(Interceptor[]::new);
+            if (eventInterceptors.length > 0) {
+                compiled.put(event, eventInterceptors);
+            }
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Compiled interceptors of entity %s for events %s",
+                    entityClass.getCanonicalName(), compiled.keySet()));
+        }
+        this.interceptorsByEvent = compiled;
+    }
+
     public void triggerInterceptorsForEvent(Event event, T instance) {
+        final Interceptor<T>[] eventInterceptors = interceptorsByEvent.get(event);
+        if (eventInterceptors == null) {
+            return;
+        }
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Trigger interceptors for entity %s on event %s",
                     instance, event.name()));
         }
-        interceptors
-                .stream()
-                .filter(x -> x.interceptOnEvents().contains(event))
-                .forEach(x -> x.onEvent(instance, event));
+        for (Interceptor<T> interceptor : eventInterceptors) {
+            interceptor.onEvent(instance, event);
+        }
     }
 
     protected abstract T newInstanceFromCustomConstructor(Row row, List<String> cqlColumns);
 
+    protected abstract T newInstanceFromDefaultConstructor();
+
     public T createEntityFrom(Row row) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Create entity of type %s from Cassandra row %s",
                     entityClass.getCanonicalName(), row));
         }
         if (row != null) {
+            final RowDecodingPlan<T> decodingPlan = getDecodingPlan(row.getColumnDefinitions());
             // No custom constructor
-            final List<String> cqlColumns = row.getColumnDefinitions().asList().stream().map(def -> def.getName()).collect(toList());
             if (constructorInjectedColumns.size() == 0) {
-                T newInstance = beanFactory.newInstance(entityClass);
-                allColumnsWithComputed
-                        .stream()
-                        .filter(x -> cqlColumns.contains(x.getColumnForSelect()))
-                        .forEach(x -> x.decodeField(row, newInstance));
+                T newInstance = useBeanFactory
+                        ? beanFactory.newInstance(entityClass)
+                        : newInstanceFromDefaultConstructor();
+                decodingPlan.decodeInto(row, newInstance);
+                snapshotIfTracked(newInstance);
                 return newInstance;
             } else {
 
-                final T newInstance = newInstanceFromCustomConstructor(row, cqlColumns);
+                final T newInstance = newInstanceFromCustomConstructor(row, decodingPlan.cqlColumns);
 
                 // Call setters for remaining fields not injected by constructor
-                allColumnsWithComputed
-                        .stream()
-                        .filter(x -> !constructorInjectedColumns.contains(x))
-                        .forEach(x -> x.decodeField(row, newInstance));
+                decodingPlan.decodeInto(row, newInstance);
+                snapshotIfTracked(newInstance);
                 return newInstance;
             }
         }
         return null;
     }
 
+    private void snapshotIfTracked(T instance) {
+        if (changeTracker.isPresent()) {
+            changeTracker.get().snapshot(instance, BeanValueExtractor.extractAllValues(instance, this, new CassandraOptions()).encodedValues);
+        }
+    }
+
+    private RowDecodingPlan<T> getDecodingPlan(ColumnDefinitions columnDefinitions) {
+        RowDecodingPlan<T> decodingPlan = decodingPlans.getIfPresent(columnDefinitions);
+        if (decodingPlan == null) {
+            final List<ColumnDefinitions.Definition> layout = columnDefinitions.asList();
+            decodingPlan = decodingPlansByLayout.getIfPresent(layout);
+            if (decodingPlan == null) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(format("Build row decoding plan of entity %s for columns %s",
+                            entityClass.getCanonicalName(), columnDefinitions));
+                }
+                decodingPlan = RowDecodingPlan.build(columnDefinitions, allColumnsWithComputed, constructorInjectedColumns);
+                decodingPlansByLayout.put(layout, decodingPlan);
+            }
+            decodingPlans.put(columnDefinitions, decodingPlan);
+        }
+        return decodingPlan;
+    }
+
+    /**
+     * Bind plan of the given properties, in bind order, for the given prepared statement
+     */
+    public BindPlan getBindPlan(PreparedStatement ps, List<? extends AbstractProperty<?, ?, ?>> properties) {
+        BindPlan bindPlan = bindPlans.getIfPresent(ps);
+        if (bindPlan == null || !bindPlan.isFor(properties)) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Build bind plan of entity %s for query %s",
+                        entityClass.getCanonicalName(), ps.getQueryString()));
+            }
+            bindPlan = BindPlan.build(ps, properties);
+            bindPlans.put(ps, bindPlan);
+        }
+        return bindPlan;
+    }
+
     public BoundValuesWrapper extractAllValuesFromEntity(T instance, CassandraOptions cassandraOptions) {
         return BeanValueExtractor.extractAllValues(instance, this, cassandraOptions);
     }
@@ -295,17 +415,17 @@ public abstract class AbstractEntityProperty<T> implements
         return tableName;
     }
 
-    public void prepareStaticStatements(InternalCassandraVersion cassandraVersion, Session session, StatementsCache cache) {
+    public void prepareStaticStatements(InternalCassandraVersion cassandraVersion, StaticStatementsPreparer preparer) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Preparing static statements for entity of type %s",
                     entityClass.getCanonicalName()));
         }
         if (!counterTable) {
-            generateStaticInsertQueries(cassandraVersion, session, cache, this);
+            generateStaticInsertQueries(cassandraVersion, preparer, this);
         }
 
-        generateStaticDeleteQueries(session, cache, this);
-        generateStaticSelectQuery(session, cache, this);
+        generateStaticDeleteQueries(preparer, this);
+        generateStaticSelectQuery(preparer, this);
     }
 
     protected List<AbstractProperty<T, ?, ?>> getAllColumns() {
@@ -457,6 +577,8 @@ public abstract class AbstractEntityProperty<T> implements
                     factory, entityClass.getCanonicalName()));
         }
         beanFactory = factory;
+        // The generated constructor call replaces the default reflective bean factory
+        useBeanFactory = !(factory instanceof DefaultBeanFactory);
 
         for (AbstractProperty<T, ?, ?> x : allColumns) {
             x.inject(factory);
@@ -500,6 +622,79 @@ public abstract class AbstractEntityProperty<T> implements
         }
     }
 
+    @Override
+    public void injectNearCache(Optional<NearCacheOptions> runtimeNearCacheOptions, Executor executor) {
+        final Optional<NearCacheOptions> nearCacheOptions = OverridingOptional
+                .from(staticNearCache)
+                .andThen(runtimeNearCacheOptions)
+                .getOptional();
+        if (nearCacheOptions.isPresent()) {
+            Validator.validateTrue(isTable(), "Cannot enable a near cache on entity %s because it is not a table",
+                    entityClass.getCanonicalName());
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Injecting near cache %s into entity meta of %s",
+                        nearCacheOptions.get(), entityClass.getCanonicalName()));
+            }
+            this.nearCache = Optional.of(new EntityNearCache(entityClass, partitionKeys.size(), nearCacheOptions.get(), executor));
+        }
+    }
+
+    @Override
+    public void injectChangeTracking(boolean changeTracking) {
+        if (changeTracking) {
+            Validator.validateTrue(isTable(), "Cannot enable change tracking on entity %s because it is not a table",
+                    entityClass.getCanonicalName());
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Enabling change tracking for entity meta of %s", entityClass.getCanonicalName()));
+            }
+            this.changeTracker = Optional.of(new EntityChangeTracker<>(entityClass));
+        }
+    }
+
+    /**
+     * Invalidate the near cached entry (if any) for the given encoded primary key values
+     */
+    public void invalidateNearCache(Object[] encodedPrimaryKeyValues) {
+        if (nearCache.isPresent()) nearCache.get().invalidate(encodedPrimaryKeyValues);
+    }
+
+    /**
+     * Invalidate the near cached entry (if any) matching the primary key of the given instance
+     */
+    public void invalidateNearCache(T instance, CassandraOptions cassandraOptions) {
+        if (nearCache.isPresent()) nearCache.get().invalidate(encodeKeys(primaryKeyColumns, instance, cassandraOptions));
+    }
+
+    /**
+     * Invalidate the near cached entries (if any) of the partition of the given instance
+     */
+    public void invalidateNearCacheForPartition(T instance, CassandraOptions cassandraOptions) {
+        if (nearCache.isPresent()) nearCache.get().invalidatePartition(encodeKeys(partitionKeys, instance, cassandraOptions));
+    }
+
+    /**
+     * Invalidate the near cached entries (if any) of the partition of the given encoded partition key values
+     */
+    public void invalidateNearCacheForPartition(Object[] encodedPartitionKeyValues) {
+        if (nearCache.isPresent()) nearCache.get().invalidatePartition(encodedPartitionKeyValues);
+    }
+
+    /**
+     * Invalidate all the near cached entries (if any), for mutations whose primary key is not known
+     */
+    public void invalidateAllNearCache() {
+        if (nearCache.isPresent()) nearCache.get().invalidateAll();
+    }
+
+    private Object[] encodeKeys(List<AbstractProperty<T, ?, ?>> keys, T instance, CassandraOptions cassandraOptions) {
+        final Optional<CassandraOptions> options = Optional.ofNullable(cassandraOptions);
+        final Object[] encodedKeyValues = new Object[keys.size()];
+        for (int i = 0; i < encodedKeyValues.length; i++) {
+            encodedKeyValues[i] = keys.get(i).encodeField(instance, options);
+        }
+        return encodedKeyValues;
+    }
+
     public boolean isTable() {
         return true;
     }
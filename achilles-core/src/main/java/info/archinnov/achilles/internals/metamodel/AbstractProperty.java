@@ -90,6 +90,17 @@ public abstract class AbstractProperty<ENTITY, VALUEFROM, VALUETO>
      */
     public abstract void encodeToSettable(VALUETO valueto, SettableData<?> settableData);
 
+    /**
+     * Encode the given CQL-compatible value into the given SettableData at the given index, avoiding
+     * the lookup by column name. Defaults to {@link #encodeToSettable(Object, SettableData)}
+     * @param valueto
+     * @param settableData
+     * @param index
+     */
+    public void encodeToSettable(VALUETO valueto, SettableData<?> settableData, int index) {
+        encodeToSettable(valueto, settableData);
+    }
+
     abstract VALUETO encodeFromJavaInternal(VALUEFROM javaValue, Optional<CassandraOptions> cassandraOptions);
 
     /**
@@ -134,6 +145,23 @@ public abstract class AbstractProperty<ENTITY, VALUEFROM, VALUETO>
 
     abstract VALUEFROM decodeFromGettableInternal(GettableData gettableData);
 
+    /**
+     * Decode the value at the given column index of the GettableData (Row, ...) to Java value
+     * using Achilles codec system. The index should match the column of this property in
+     * the GettableData column definitions
+     * @param gettableData
+     * @param index
+     * @return
+     */
+    public VALUEFROM decodeFromGettable(GettableData gettableData, int index) {
+        if (gettableData.isNull(index) && !isOptional()) return null;
+        return decodeFromGettableInternal(gettableData, index);
+    }
+
+    VALUEFROM decodeFromGettableInternal(GettableData gettableData, int index) {
+        return decodeFromGettableInternal(gettableData);
+    }
+
     /**
      * Decode the given raw object to Java value value using Achilles codec system
      * @param o
@@ -245,6 +273,17 @@ public abstract class AbstractProperty<ENTITY, VALUEFROM, VALUETO>
         fieldInfo.setter.set(entity, valuefrom);
     }
 
+    /**
+     * Same as {@link #decodeField(GettableData, Object)} but extract the column value by index
+     * @param gettableData
+     * @param index
+     * @param entity
+     */
+    public void decodeField(GettableData gettableData, int index, ENTITY entity) {
+        final VALUEFROM valuefrom = decodeFromGettable(gettableData, index);
+        fieldInfo.setter.set(entity, valuefrom);
+    }
+
     /**
      * Call the getter on the given entity to get the value
      * @param entity
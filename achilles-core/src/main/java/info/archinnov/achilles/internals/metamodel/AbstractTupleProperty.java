@@ -19,14 +19,18 @@ package info.archinnov.achilles.internals.metamodel;
 
 import static java.lang.String.format;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.GettableData;
 import com.datastax.driver.core.SettableData;
 import com.datastax.driver.core.TupleType;
 import com.datastax.driver.core.TupleValue;
@@ -52,6 +56,8 @@ public abstract class AbstractTupleProperty<ENTITY, T extends Tuple> extends Abs
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTupleProperty.class);
     protected TupleType tupleType;
     protected TupleTypeFactory tupleTypeFactory;
+    private List<AbstractUDTClassProperty<?>> nestedUDTClassProperties = Collections.emptyList();
+    private final ConcurrentMap<String, TupleType> runtimeTupleTypes = new ConcurrentHashMap<>();
 
     AbstractTupleProperty(TypeToken<T> valueFromTypeToken, FieldInfo<ENTITY, T> fieldInfo) {
         super(valueFromTypeToken, TUPLE_VALUE_TYPE_TOKEN, fieldInfo);
@@ -67,6 +73,15 @@ public abstract class AbstractTupleProperty<ENTITY, T extends Tuple> extends Abs
 
     protected abstract List<AbstractProperty<ENTITY, ?, ?>> componentsProperty();
 
+    @Override
+    T decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' tuple from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        return decodeFromRaw(gettableData.getTupleValue(index));
+    }
+
     @Override
     public void encodeToSettable(TupleValue tuple, SettableData<?> settableData) {
         if (LOGGER.isTraceEnabled()) {
@@ -75,6 +90,14 @@ public abstract class AbstractTupleProperty<ENTITY, T extends Tuple> extends Abs
         settableData.setTupleValue(fieldInfo.quotedCqlColumn, tuple);
     }
 
+    @Override
+    public void encodeToSettable(TupleValue tuple, SettableData<?> settableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Encode tuple value %s to settable object %s at index %s", tuple, settableData, index));
+        }
+        settableData.setTupleValue(index, tuple);
+    }
+
     @Override
     public void encodeFieldToUdt(ENTITY entity, UDTValue udtValue, Optional<CassandraOptions> cassandraOptions) {
         final TupleValue tupleValue = encodeField(entity, cassandraOptions);
@@ -98,6 +121,8 @@ public abstract class AbstractTupleProperty<ENTITY, T extends Tuple> extends Abs
             x.inject(userTypeFactory, tupleTypeFactory);
         }
         this.tupleType = this.buildType(schemaNameProvider.map(CassandraOptions::withSchemaNameProvider));
+        this.nestedUDTClassProperties = getUDTClassProperties();
+        this.runtimeTupleTypes.clear();
     }
 
     @Override
@@ -147,7 +172,25 @@ public abstract class AbstractTupleProperty<ENTITY, T extends Tuple> extends Abs
         }
     }
 
-     protected TupleType getRuntimeTupleType(Optional<CassandraOptions> options) {
-         return options.isPresent() ? buildType(options) : tupleType;
-     }
+    /**
+     * Only tuples with nested UDTs depend on the runtime schema name provider,
+     * their types are built once per keyspace of the nested UDTs
+     */
+    protected TupleType getRuntimeTupleType(Optional<CassandraOptions> options) {
+        if (tupleType == null) {
+            return buildType(options);
+        } else if (nestedUDTClassProperties.isEmpty() || !options.flatMap(CassandraOptions::getSchemaNameProvider).isPresent()) {
+            return tupleType;
+        }
+
+        final String keyspaces = nestedUDTClassProperties
+                .stream()
+                .map(udtClassProperty -> udtClassProperty.resolveKeyspace(options))
+                .collect(Collectors.joining(","));
+        final TupleType runtimeTupleType = runtimeTupleTypes.get(keyspaces);
+        if (runtimeTupleType != null) {
+            return runtimeTupleType;
+        }
+        return runtimeTupleTypes.computeIfAbsent(keyspaces, ks -> buildType(options));
+    }
 }
@@ -22,6 +22,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -34,6 +36,7 @@ import com.datastax.driver.core.schemabuilder.SchemaBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import info.archinnov.achilles.annotations.UDT;
+import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.injectable.*;
@@ -63,10 +66,13 @@ public abstract class AbstractUDTClassProperty<A>
     public final List<AbstractProperty<A, ?, ?>> constructorInjectedProperty;
     public final Class<?> parentEntityClass;
     protected BeanFactory udtFactory;
+    private boolean useBeanFactory;
     protected UserTypeFactory userTypeFactory;
-    protected UserType userType;
     protected Optional<SchemaNameProvider> schemaNameProvider = Optional.empty();
     String keyspace;
+    private String defaultKeyspace;
+    private final ConcurrentMap<String, UserType> frozenUserTypes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, UserType> nonFrozenUserTypes = new ConcurrentHashMap<>();
 
     public AbstractUDTClassProperty() {
         this.staticKeyspace = getStaticKeyspace();
@@ -99,11 +105,15 @@ public abstract class AbstractUDTClassProperty<A>
 
     protected abstract A newInstanceFromCustomConstructor(UDTValue udtValue);
 
+    protected abstract A newInstanceFromDefaultConstructor();
+
     protected A createBeanFromUDT(UDTValue udtValue) {
         if (udtValue != null) {
             final A instance;
             if (constructorInjectedProperty.size() == 0) {
-                instance = udtFactory.newInstance(udtClass);
+                instance = useBeanFactory
+                        ? udtFactory.newInstance(udtClass)
+                        : newInstanceFromDefaultConstructor();
                 componentsProperty
                         .stream()
                         .forEach(x -> x.decodeField(udtValue, instance));
@@ -121,21 +131,31 @@ public abstract class AbstractUDTClassProperty<A>
         return null;
     }
 
+    /**
+     * Return the UserType for the effective keyspace, built only once per keyspace
+     */
     protected UserType getUserType(boolean frozen, Optional<CassandraOptions> cassandraOptions) {
-        if (cassandraOptions.isPresent() || userType == null) {
-            return buildType(frozen, cassandraOptions);
-        } else {
+        final String keyspaceName = resolveKeyspace(cassandraOptions);
+        final ConcurrentMap<String, UserType> userTypes = frozen ? frozenUserTypes : nonFrozenUserTypes;
+        final UserType userType = userTypes.get(keyspaceName);
+        if (userType != null) {
             return userType;
         }
+        return userTypes.computeIfAbsent(keyspaceName, ks -> buildType(frozen, cassandraOptions));
     }
 
-    public UserType buildType(boolean frozen, Optional<CassandraOptions> cassandraOptions) {
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(format("Building UserType instance for the current UDT class meta %s", this.toString()));
+    /**
+     * Effective keyspace of the UDT: runtime schema name provider, then injected schema name provider,
+     * then static keyspace or global keyspace
+     */
+    public String resolveKeyspace(Optional<CassandraOptions> cassandraOptions) {
+        final Optional<SchemaNameProvider> runtimeProvider = cassandraOptions.flatMap(CassandraOptions::getSchemaNameProvider);
+        if (!runtimeProvider.isPresent() && defaultKeyspace != null) {
+            return defaultKeyspace;
         }
 
         Optional<String> keyspaceName = OverridingOptional
-                .from(cassandraOptions.flatMap(CassandraOptions::getSchemaNameProvider).map(x -> x.keyspaceFor(parentEntityClass)))
+                .from(runtimeProvider.map(x -> x.keyspaceFor(parentEntityClass)))
                 .andThen(this.schemaNameProvider.map(x -> x.keyspaceFor(parentEntityClass)))
                 .andThen(staticKeyspace.orElse(keyspace))
                 .getOptional();
@@ -143,11 +163,20 @@ public abstract class AbstractUDTClassProperty<A>
         Validator.validateTrue(keyspaceName.isPresent(),
                 "The keyspace name for the UDT type '%s' should be either provided by the '%s' annotation or at runtime",
                 udtClass.getCanonicalName(), UDT.class.getSimpleName());
+        return keyspaceName.get();
+    }
+
+    public UserType buildType(boolean frozen, Optional<CassandraOptions> cassandraOptions) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Building UserType instance for the current UDT class meta %s", this.toString()));
+        }
+
+        final String keyspaceName = resolveKeyspace(cassandraOptions);
         List<UserType.Field> fields = getComponentsProperty()
                 .stream()
                 .map(property -> userTypeFactory.fieldFor(property.fieldInfo.cqlColumn, property.buildType(cassandraOptions)))
                 .collect(Collectors.toList());
-        return userTypeFactory.typeFor(keyspaceName.get(), udtName, frozen, fields);
+        return userTypeFactory.typeFor(keyspaceName, udtName, frozen, fields);
     }
 
     public String generateSchema(SchemaContext context) {
@@ -172,6 +201,7 @@ public abstract class AbstractUDTClassProperty<A>
     @Override
     public void inject(BeanFactory factory) {
         udtFactory = factory;
+        useBeanFactory = !(factory instanceof DefaultBeanFactory);
         for (AbstractProperty<A, ?, ?> x : componentsProperty) {
             x.inject(udtFactory);
         }
@@ -183,7 +213,17 @@ public abstract class AbstractUDTClassProperty<A>
         for (AbstractProperty<A, ?, ?> x : componentsProperty) {
             x.inject(userTypeFactory, tupleTypeFactory);
         }
-        //userType = this.buildType(frozen, schemaNameProvider.map(CassandraOptions::withSchemaNameProvider));
+
+        // Precompute the types for the default keyspace, keyspace and schema name provider are injected before
+        frozenUserTypes.clear();
+        nonFrozenUserTypes.clear();
+        defaultKeyspace = schemaNameProvider
+                .map(x -> x.keyspaceFor(parentEntityClass))
+                .orElse(staticKeyspace.orElse(keyspace));
+        if (defaultKeyspace != null) {
+            getUserType(true, Optional.empty());
+            getUserType(false, Optional.empty());
+        }
     }
 
     @Override
@@ -70,6 +70,16 @@ public class JdkOptionalProperty<ENTITY, FROM, TO> extends AbstractProperty<ENTI
         }
     }
 
+    @Override
+    public void encodeToSettable(TO a, SettableData<?> settableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Encode value %s to settable object %s at index %s", a, settableData, index));
+        }
+        if (a != null) {
+            aProperty.encodeToSettable(a, settableData, index);
+        }
+    }
+
     @Override
     TO encodeFromJavaInternal(Optional<FROM> javaValue, Optional<CassandraOptions> cassandraOptions) {
         if (LOGGER.isTraceEnabled()) {
@@ -107,6 +117,15 @@ public class JdkOptionalProperty<ENTITY, FROM, TO> extends AbstractProperty<ENTI
         }
     }
 
+    @Override
+    Optional<FROM> decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' optional from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        return Optional.ofNullable(aProperty.decodeFromGettableInternal(gettableData, index));
+    }
+
     @Override
     Optional<FROM> decodeFromRawInternal(Object o) {
         if (LOGGER.isTraceEnabled()) {
@@ -116,6 +116,15 @@ public class ListProperty<ENTITY, VALUEFROM, VALUETO> extends
         settableData.setList(fieldInfo.quotedCqlColumn, valueTos, valueProperty.valueToTypeToken);
     }
 
+    @Override
+    public void encodeToSettable(List<VALUETO> valueTos, SettableData<?> settableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Encode list '%s' value %s to settable object %s at index %s",
+                    fieldName, valueTos, settableData, index));
+        }
+        settableData.setList(index, valueTos, valueProperty.valueToTypeToken);
+    }
+
     @Override
     public List<VALUETO> encodeFromJavaInternal(List<VALUEFROM> list, Optional<CassandraOptions> cassandraOptions) {
         if (LOGGER.isTraceEnabled()) {
@@ -153,6 +162,15 @@ public class ListProperty<ENTITY, VALUEFROM, VALUETO> extends
         return decodeFromRaw(gettableData.getList(fieldInfo.quotedCqlColumn, valueProperty.valueToTypeToken));
     }
 
+    @Override
+    List<VALUEFROM> decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' list from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        return decodeFromRaw(gettableData.getList(index, valueProperty.valueToTypeToken));
+    }
+
     @Override
     public List<VALUEFROM> decodeFromRaw(Object o) {
         return decodeFromRawInternal(o);
@@ -149,6 +149,15 @@ public class MapProperty<ENTITY, KEYFROM, KEYTO, VALUEFROM, VALUETO> extends
         settableData.setMap(fieldInfo.quotedCqlColumn, mapTo, keyProperty.valueToTypeToken, valueProperty.valueToTypeToken);
     }
 
+    @Override
+    public void encodeToSettable(Map<KEYTO, VALUETO> mapTo, SettableData<?> settableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Encode '%s' map value %s to settable object %s at index %s",
+                    fieldName, mapTo, settableData, index));
+        }
+        settableData.setMap(index, mapTo, keyProperty.valueToTypeToken, valueProperty.valueToTypeToken);
+    }
+
     @Override
     public Map<KEYTO, VALUETO> encodeFromJavaInternal(Map<KEYFROM, VALUEFROM> map, Optional<CassandraOptions> cassandraOptions) {
         if (LOGGER.isTraceEnabled()) {
@@ -185,6 +194,15 @@ public class MapProperty<ENTITY, KEYFROM, KEYTO, VALUEFROM, VALUETO> extends
         return decodeFromRaw(gettableData.getMap(fieldInfo.quotedCqlColumn, keyProperty.valueToTypeToken, valueProperty.valueToTypeToken));
     }
 
+    @Override
+    Map<KEYFROM, VALUEFROM> decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' map from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        return decodeFromRaw(gettableData.getMap(index, keyProperty.valueToTypeToken, valueProperty.valueToTypeToken));
+    }
+
     @Override
     public Map<KEYFROM, VALUEFROM> decodeFromRaw(Object o) {
         return decodeFromRawInternal(o);
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.metamodel;
+
+import java.util.*;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+
+/**
+ * Mapping between the column positions of a given {@link ColumnDefinitions}
+ * and the entity properties to decode, computed once per distinct column definitions
+ */
+final class RowDecodingPlan<T> {
+
+    final List<String> cqlColumns;
+    private final AbstractProperty<T, ?, ?>[] properties;
+    private final int[] indices;
+
+    private RowDecodingPlan(List<String> cqlColumns, AbstractProperty<T, ?, ?>[] properties, int[] indices) {
+        this.cqlColumns = cqlColumns;
+        this.properties = properties;
+        this.indices = indices;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> RowDecodingPlan<T> build(ColumnDefinitions columnDefinitions,
+                                        List<AbstractProperty<T, ?, ?>> allColumnsWithComputed,
+                                        List<AbstractProperty<T, ?, ?>> excludedColumns) {
+        final int size = columnDefinitions.size();
+        final List<String> cqlColumns = new ArrayList<>(size);
+        final List<AbstractProperty<T, ?, ?>> properties = new ArrayList<>(size);
+        final int[] indices = new int[size];
+        final Set<AbstractProperty<T, ?, ?>> alreadyMapped = new HashSet<>();
+
+        for (int i = 0; i < size; i++) {
+            final String cqlColumn = columnDefinitions.getName(i);
+            cqlColumns.add(cqlColumn);
+            for (AbstractProperty<T, ?, ?> property : allColumnsWithComputed) {
+                if (property.getColumnForSelect().equals(cqlColumn)
+                        && !excludedColumns.contains(property)
+                        && alreadyMapped.add(property)) {
+                    indices[properties.size()] = i;
+                    properties.add(property);
+                    break;
+                }
+            }
+        }
+
+        return new RowDecodingPlan<>(Collections.unmodifiableList(cqlColumns),
+                properties.toArray(new AbstractProperty[properties.size()]),
+                Arrays.copyOf(indices, properties.size()));
+    }
+
+    void decodeInto(Row row, T instance) {
+        for (int i = 0; i < properties.length; i++) {
+            properties[i].decodeField(row, indices[i], instance);
+        }
+    }
+}
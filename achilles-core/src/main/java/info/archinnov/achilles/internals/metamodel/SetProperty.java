@@ -106,6 +106,15 @@ public class SetProperty<ENTITY, VALUEFROM, VALUETO> extends
         settableData.setSet(fieldInfo.quotedCqlColumn, valueTos, valueProperty.valueToTypeToken);
     }
 
+    @Override
+    public void encodeToSettable(Set<VALUETO> valueTos, SettableData<?> settableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Encode '%s' set value %s to settable object %s at index %s",
+                    fieldName, valueTos, settableData, index));
+        }
+        settableData.setSet(index, valueTos, valueProperty.valueToTypeToken);
+    }
+
     @Override
     public Set<VALUETO> encodeFromJavaInternal(Set<VALUEFROM> set, Optional<CassandraOptions> cassandraOptions) {
         if (LOGGER.isTraceEnabled()) {
@@ -142,6 +151,15 @@ public class SetProperty<ENTITY, VALUEFROM, VALUETO> extends
         return decodeFromRaw(gettableData.getSet(fieldInfo.quotedCqlColumn, valueProperty.valueToTypeToken));
     }
 
+    @Override
+    Set<VALUEFROM> decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' set from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        return decodeFromRaw(gettableData.getSet(index, valueProperty.valueToTypeToken));
+    }
+
 
     @Override
     public Set<VALUEFROM> decodeFromRaw(Object o) {
@@ -35,6 +35,7 @@ import com.datastax.driver.core.UDTValue;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.reflect.TypeToken;
 
+import info.archinnov.achilles.internals.codec.JSONBlobCodec;
 import info.archinnov.achilles.internals.codec.JSONCodec;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
@@ -82,6 +83,15 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
         settable.accept(settableData, valueTo);
     }
 
+    @Override
+    public void encodeToSettable(VALUETO valueTo, SettableData<?> settableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Encode '%s' value %s to settable object %s at index %s",
+                    fieldName, valueTo, settableData, index));
+        }
+        settableData.set(index, valueTo, valueToTypeToken);
+    }
+
     @Override
     public VALUETO encodeFromJavaInternal(VALUEFROM javaValue, Optional<CassandraOptions> cassandraOptions) {
         if (LOGGER.isTraceEnabled()) {
@@ -110,6 +120,15 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
         return valueCodec.decode(gettable.apply(gettableData));
     }
 
+    @Override
+    VALUEFROM decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        return valueCodec.decode(gettableData.get(index, valueToTypeToken));
+    }
+
 
     @Override
     public VALUEFROM decodeFromRawInternal(Object o) {
@@ -160,6 +179,8 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
     public void inject(ObjectMapper mapper) {
         if (valueCodec instanceof JSONCodec) {
             ((JSONCodec) valueCodec).setObjectMapper(mapper);
+        } else if (valueCodec instanceof JSONBlobCodec) {
+            ((JSONBlobCodec) valueCodec).setObjectMapper(mapper);
         }
     }
 
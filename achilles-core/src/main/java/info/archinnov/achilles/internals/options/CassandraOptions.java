@@ -297,7 +297,7 @@ public class CassandraOptions {
         if (outgoingPayLoad.isPresent()) statement.setOutgoingPayload(outgoingPayLoad.get());
         if (pagingState.isPresent()) statement.setPagingState(pagingState.get());
         if (retryPolicy.isPresent()) statement.setRetryPolicy(retryPolicy.get());
-        if (tracing.isPresent() || meta.entityLogger.isTraceEnabled()) statement.enableTracing();
+        if (tracing.orElse(false)) statement.enableTracing();
         if (readTimeout.isPresent()) statement.setReadTimeoutMillis(readTimeout.get());
 
         return statement;
@@ -130,8 +130,14 @@ public class CodecFactory {
         CodeBlock codec;
 
         if (jsonTransform.isPresent()) {
-            codec = CodeBlock.builder().add("new $T<>($T.class, $L)", JSON_CODEC, getRawType(sourceType).box(), buildJavaTypeForJackson(sourceType)).build();
-            targetType = ClassName.get(String.class);
+            final JSON.Storage storage = jsonTransform.get().getTypedOr("storage", JSON.Storage.TEXT);
+            if (storage == JSON.Storage.BLOB) {
+                codec = CodeBlock.builder().add("new $T<>($T.class, $L)", JSON_BLOB_CODEC, getRawType(sourceType).box(), buildJavaTypeForJackson(sourceType)).build();
+                targetType = BYTE_BUFFER;
+            } else {
+                codec = CodeBlock.builder().add("new $T<>($T.class, $L)", JSON_CODEC, getRawType(sourceType).box(), buildJavaTypeForJackson(sourceType)).build();
+                targetType = ClassName.get(String.class);
+            }
             return new CodecInfo(codec, sourceType, targetType);
         } else if (codecFromType.isPresent()) {
             final Tuple2<TypeName, CodeBlock> tuple2 = codecCodeGen(context, codecFromType.get(), sourceType, computedCQLClass, isCounter);
@@ -27,6 +27,7 @@ import java.text.SimpleDateFormat;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.ArrayUtils;
 
@@ -47,10 +48,13 @@ import info.archinnov.achilles.bootstrap.AbstractManagerFactoryBuilder;
 import info.archinnov.achilles.configuration.ConfigurationParameters;
 import info.archinnov.achilles.generated.function.AbstractCQLCompatibleType;
 import info.archinnov.achilles.internals.apt.annotations.AchillesMeta;
+import info.archinnov.achilles.internals.cache.NearCacheOptions;
+import info.archinnov.achilles.internals.cache.StatementShape;
 import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVersion;
 import info.archinnov.achilles.internals.codec.*;
 import info.archinnov.achilles.internals.codegen.function.InternalSystemFunctionRegistry;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.dsl.bulk.BulkMutationWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.*;
 import info.archinnov.achilles.internals.dsl.query.delete.*;
 import info.archinnov.achilles.internals.dsl.query.select.*;
@@ -129,6 +133,7 @@ public class TypeUtils {
 
     // Codecs
     public static final ClassName JSON_CODEC = ClassName.get(JSONCodec.class);
+    public static final ClassName JSON_BLOB_CODEC = ClassName.get(JSONBlobCodec.class);
     public static final ClassName ENUM_NAME_CODEC = ClassName.get(EnumNameCodec.class);
 
     public static final ClassName ENUM_ORDINAL_CODEC = ClassName.get(EnumOrdinalCodec.class);
@@ -175,6 +180,7 @@ public class TypeUtils {
     public static final ClassName CONSISTENCY_LEVEL = ClassName.get(ConsistencyLevel.class);
     public static final ClassName INSERT_STRATEGY = ClassName.get(InsertStrategy.class);
     public static final ClassName NAMING_STRATEGY = ClassName.get(InternalNamingStrategy.class);
+    public static final ClassName NEAR_CACHE_OPTIONS = ClassName.get(NearCacheOptions.class);
     public static final ClassName BIMAP = ClassName.get(BiMap.class);
     public static final ClassName HASHBIMAP = ClassName.get(HashBiMap.class);
     public static final ClassName ACHILLES_META_ANNOT = ClassName.get(AchillesMeta.class);
@@ -228,12 +234,15 @@ public class TypeUtils {
     public static final ClassName ABSTRACT_ENTITY_PROPERTY = ClassName.get(AbstractEntityProperty.class);
     public static final ClassName ABSTRACT_VIEW_PROPERTY = ClassName.get(AbstractViewProperty.class);
     public static final ClassName RUNTIME_ENGINE = ClassName.get(RuntimeEngine.class);
+    public static final ClassName STATEMENT_SHAPE = ClassName.get(StatementShape.class);
     public static final ClassName INSERT_WITH_OPTIONS = ClassName.get(InsertWithOptions.class);
     public static final ClassName UPDATE_WITH_OPTIONS = ClassName.get(UpdateWithOptions.class);
     public static final ClassName INSERT_JSON_WITH_OPTIONS = ClassName.get(InsertJSONWithOptions.class);
     public static final ClassName FIND_WITH_OPTIONS = ClassName.get(FindWithOptions.class);
+    public static final ClassName FIND_BY_IDS_WITH_OPTIONS = ClassName.get(FindByIdsWithOptions.class);
     public static final ClassName DELETE_WITH_OPTIONS = ClassName.get(DeleteWithOptions.class);
     public static final ClassName DELETE_BY_PARTITION_WITH_OPTIONS = ClassName.get(DeleteByPartitionWithOptions.class);
+    public static final ClassName BULK_MUTATION_WITH_OPTIONS = ClassName.get(BulkMutationWithOptions.class);
     public static final ClassName INTERNAL_CASSANDRA_VERSION = ClassName.get(InternalCassandraVersion.class);
 
     // UDF & UDA
@@ -264,6 +273,9 @@ public class TypeUtils {
     public static final ClassName JAVA_DRIVER_USER_TYPE = ClassName.get(UserType.class);
     public static final ClassName DATATYPE = ClassName.get(DataType.class);
     public static final ClassName LIST = ClassName.get(List.class);
+    public static final ClassName ITERABLE = ClassName.get(Iterable.class);
+    public static final ClassName COLLECTION = ClassName.get(Collection.class);
+    public static final ClassName STREAM = ClassName.get(Stream.class);
     public static final ClassName SET = ClassName.get(Set.class);
     public static final ClassName MAP = ClassName.get(Map.class);
 
@@ -333,6 +345,7 @@ public class TypeUtils {
     public static final ClassName TUPLE8 = ClassName.get(Tuple8.class);
     public static final ClassName TUPLE9 = ClassName.get(Tuple9.class);
     public static final ClassName TUPLE10 = ClassName.get(Tuple10.class);
+    public static final List<ClassName> TUPLES = Arrays.asList(TUPLE1, TUPLE2, TUPLE3, TUPLE4, TUPLE5, TUPLE6, TUPLE7, TUPLE8, TUPLE9, TUPLE10);
 
 
     public static final List<TypeName> ALLOWED_TYPES_2_1 = new ArrayList<>();
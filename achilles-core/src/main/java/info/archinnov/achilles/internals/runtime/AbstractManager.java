@@ -22,7 +22,10 @@ import static info.archinnov.achilles.internals.statement.StatementHelper.isSele
 import static info.archinnov.achilles.validation.Validator.*;
 import static java.lang.String.format;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.Logger;
@@ -30,12 +33,18 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.*;
 
+import info.archinnov.achilles.internals.cache.CacheStatistics;
+import info.archinnov.achilles.internals.cache.EntityNearCache;
+import info.archinnov.achilles.internals.dsl.batch.BatchWithOptions;
+import info.archinnov.achilles.internals.dsl.bulk.BulkMutationWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.DeleteWithOptions;
+import info.archinnov.achilles.internals.dsl.crud.FindByIdsWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.InsertJSONWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.InsertWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.UpdateWithOptions;
 import info.archinnov.achilles.internals.dsl.raw.NativeQuery;
 import info.archinnov.achilles.internals.dsl.raw.TypedQuery;
+import info.archinnov.achilles.internals.dsl.scan.ScanWithOptions;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.type.tuples.Tuple2;
@@ -94,6 +103,57 @@ public abstract class AbstractManager<ENTITY> {
         return rte.getCluster();
     }
 
+    /**
+     * Statistics (hit ratio, load times, evictions ...) of the near cache of this entity, if enabled
+     * with {@link info.archinnov.achilles.annotations.NearCache} or at bootstrap
+     *
+     * @return Optional&lt;{@link info.archinnov.achilles.internals.cache.CacheStatistics}&gt;
+     */
+    public Optional<CacheStatistics> getNearCacheStatistics() {
+        return meta_internal.nearCache.map(EntityNearCache::statistics);
+    }
+
+    /**
+     * Invalidate all the entries of the near cache of this entity (if any), e.g. after
+     * the table has been modified outside of Achilles
+     */
+    public void invalidateNearCache() {
+        meta_internal.invalidateAllNearCache();
+    }
+
+    /**
+     * Start a new batch of INSERT/UPDATE/DELETE actions. Actions of other
+     * managers can be added to the same batch
+     *
+     * @return {@link info.archinnov.achilles.internals.dsl.batch.BatchWithOptions}
+     */
+    public BatchWithOptions batch() {
+        return new BatchWithOptions(rte);
+    }
+
+    /**
+     * Scan the whole table of this entity in parallel, token range by token range
+     *
+     * @return {@link info.archinnov.achilles.internals.dsl.scan.ScanWithOptions}
+     */
+    public ScanWithOptions<ENTITY> scan() {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Create token range scan for entity %s", entityClass.getCanonicalName()));
+        }
+        return new ScanWithOptions<>(meta_internal, rte);
+    }
+
+    protected <KEY> FindByIdsWithOptions<KEY, ENTITY> findByIdsInternal(Collection<KEY> primaryKeys, Function<KEY, Object[]> primaryKeyExtractor,
+                                                                     Optional<CassandraOptions> cassandraOptions) {
+        validateNotNull(primaryKeys, "Primary keys for findByIds should not be null");
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Create find by ids CRUD for %s keys of entity %s", primaryKeys.size(), entityClass.getCanonicalName()));
+        }
+
+        return new FindByIdsWithOptions<>(meta_internal, rte, primaryKeys, primaryKeyExtractor, cassandraOptions);
+    }
+
     protected InsertWithOptions<ENTITY> insertInternal(ENTITY instance, boolean insertStatic, Optional<CassandraOptions> cassandraOptions) {
 
         validateNotNull(instance, "Entity to be inserted should not be null");
@@ -151,6 +211,36 @@ public abstract class AbstractManager<ENTITY> {
         return new DeleteWithOptions<>(entityClass, meta_internal, rte, tuple._1(), tuple._2(), Optional.of(instance), cassandraOptions);
     }
 
+    protected BulkMutationWithOptions<ENTITY, InsertWithOptions<ENTITY>> insertAllInternal(Iterator<ENTITY> instances, Optional<CassandraOptions> cassandraOptions) {
+        validateNotNull(instances, "Entities to be inserted should not be null");
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Create bulk insert CRUD for entities of type %s", entityClass.getCanonicalName()));
+        }
+
+        return new BulkMutationWithOptions<>(meta_internal, instances, instance -> insertInternal(instance, false, cassandraOptions));
+    }
+
+    protected BulkMutationWithOptions<ENTITY, UpdateWithOptions<ENTITY>> updateAllInternal(Iterator<ENTITY> instances, Optional<CassandraOptions> cassandraOptions) {
+        validateNotNull(instances, "Entities to be updated should not be null");
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Create bulk update CRUD for entities of type %s", entityClass.getCanonicalName()));
+        }
+
+        return new BulkMutationWithOptions<>(meta_internal, instances, instance -> updateInternal(instance, false, cassandraOptions));
+    }
+
+    protected BulkMutationWithOptions<ENTITY, DeleteWithOptions<ENTITY>> deleteAllInternal(Iterator<ENTITY> instances, Optional<CassandraOptions> cassandraOptions) {
+        validateNotNull(instances, "Entities to be deleted should not be null");
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Create bulk delete CRUD for entities of type %s", entityClass.getCanonicalName()));
+        }
+
+        return new BulkMutationWithOptions<>(meta_internal, instances, instance -> deleteInternal(instance, cassandraOptions));
+    }
+
     protected TypedQuery<ENTITY> typedQueryForSelectInternal(BoundStatement boundStatement) {
         validateTrue(isSelectStatement(boundStatement), "Statement provided for typed query should be an SELECT statement");
 
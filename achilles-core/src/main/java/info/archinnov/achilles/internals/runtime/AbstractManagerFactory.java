@@ -19,10 +19,14 @@ package info.archinnov.achilles.internals.runtime;
 import static info.archinnov.achilles.internals.schema.SchemaCreator.generateSchemaAtRuntime;
 import static info.archinnov.achilles.internals.schema.SchemaCreator.generateUDTAtRuntime;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import javax.annotation.PreDestroy;
 
@@ -38,16 +42,24 @@ import com.datastax.driver.extras.codecs.jdk8.InstantCodec;
 import com.datastax.driver.extras.codecs.jdk8.LocalDateCodec;
 import com.datastax.driver.extras.codecs.jdk8.LocalTimeCodec;
 import com.datastax.driver.extras.codecs.jdk8.ZonedDateTimeCodec;
+import com.google.common.base.Throwables;
 
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.cache.CacheKey;
 import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVersion;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.dsl.batch.BatchWithOptions;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.metamodel.AbstractUDTClassProperty;
 import info.archinnov.achilles.internals.metamodel.AbstractViewProperty;
 import info.archinnov.achilles.internals.metamodel.functions.FunctionProperty;
+import info.archinnov.achilles.internals.statements.StaticStatementsPreparer;
 import info.archinnov.achilles.internals.utils.CodecRegistryHelper;
+import info.archinnov.achilles.metrics.MetricsRecorder;
+import info.archinnov.achilles.metrics.MetricsRegistry;
+import info.archinnov.achilles.type.SchemaNameProvider;
 
 public abstract class AbstractManagerFactory {
 
@@ -92,6 +104,39 @@ public abstract class AbstractManagerFactory {
         return tableName;
     }
 
+    /**
+     * Start a new batch of INSERT/UPDATE/DELETE actions coming from any manager
+     *
+     * @return {@link info.archinnov.achilles.internals.dsl.batch.BatchWithOptions}
+     */
+    public BatchWithOptions batch() {
+        return new BatchWithOptions(rte);
+    }
+
+    /**
+     * The metrics registry of this manager factory, if the configured metrics recorder is a
+     * {@link info.archinnov.achilles.metrics.MetricsRegistry}
+     *
+     * @return Optional&lt;MetricsRegistry&gt;
+     */
+    public Optional<MetricsRegistry> getMetricsRegistry() {
+        final MetricsRecorder metricsRecorder = configContext.getMetricsRecorder();
+        return metricsRecorder instanceof MetricsRegistry
+                ? Optional.of((MetricsRegistry) metricsRecorder)
+                : Optional.empty();
+    }
+
+    /**
+     * Drop the prepared statements cached for the given keyspace (tenant) resolved by a runtime
+     * {@link info.archinnov.achilles.type.SchemaNameProvider}, for example once the tenant has been removed.
+     * The statements will be prepared again on the next access to this keyspace
+     *
+     * @param keyspace keyspace of the tenant
+     */
+    public void evictPreparedStatementsForKeyspace(String keyspace) {
+        rte.cache.evictTenant(keyspace);
+    }
+
     /**
      * Shutdown the manager factory and the related session and executor service (if they are created by Achilles).
      * If the Java driver Session object and/or the executor service were provided as bootstrap parameter, Achilles
@@ -101,6 +146,10 @@ public abstract class AbstractManagerFactory {
     public void shutDown() {
         LOGGER.info("Calling shutdown on ManagerFactory");
 
+        if (configContext.isMetricsJMXExport()) {
+            getMetricsRegistry().ifPresent(MetricsRegistry::unexportFromJMX);
+        }
+
         if (!configContext.isProvidedSession()) {
             LOGGER.info(format("Closing built Session object %s", rte.session));
             rte.session.close();
@@ -112,15 +161,30 @@ public abstract class AbstractManagerFactory {
     }
 
     protected void bootstrap() {
-        addNativeCodecs();
-        injectDependencies();
+        final long start = System.nanoTime();
+        timePhase("Adding native codecs", this::addNativeCodecs);
+        timePhase("Injecting dependencies", this::injectDependencies);
         if (configContext.isForceSchemaGeneration()) {
-            createSchema();
+            timePhase("Creating schema", this::createSchema);
         }
         if (configContext.isValidateSchema()) {
-            validateSchema();
+            timePhase("Validating schema", this::validateSchema);
         }
-        prepareStaticStatements();
+        timePhase("Preparing static statements", this::prepareStaticStatements);
+        if (!configContext.getPrewarmSchemaNameProviders().isEmpty()) {
+            timePhase("Pre-warming tenant statements", this::prewarmTenantStatements);
+        }
+        if (configContext.isMetricsJMXExport()) {
+            getMetricsRegistry().ifPresent(registry -> registry.exportToJMX(format("%s-%s",
+                    rte.currentKeyspace, Integer.toHexString(System.identityHashCode(this)))));
+        }
+        LOGGER.info(format("ManagerFactory bootstrapped in %s ms", NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    private void timePhase(String phase, Runnable action) {
+        final long start = System.nanoTime();
+        action.run();
+        LOGGER.info(format("%s done in %s ms", phase, NANOSECONDS.toMillis(System.nanoTime() - start)));
     }
 
     protected void addNativeCodecs() {
@@ -181,10 +245,25 @@ public abstract class AbstractManagerFactory {
 
     protected void validateSchema() {
         final List<Class<?>> manageEntities = configContext.getManageEntities().isEmpty() ? entityClasses : configContext.getManageEntities();
-        entityProperties
+        final ExecutorService executor = configContext.getExecutorService();
+        final List<CompletableFuture<Void>> validations = entityProperties
                 .stream()
                 .filter(x -> manageEntities.contains(x.entityClass))
-                .forEach(x -> x.validateSchema(configContext));
+                .map(x -> CompletableFuture.runAsync(() -> x.validateSchema(configContext), executor))
+                .collect(Collectors.toList());
+
+        // Wait for all validations to complete, then report the first failure in entity declaration order
+        CompletableFuture.allOf(validations.toArray(new CompletableFuture<?>[validations.size()]))
+                .handle((result, throwable) -> null)
+                .join();
+        for (CompletableFuture<Void> validation : validations) {
+            try {
+                validation.join();
+            } catch (CompletionException ex) {
+                Throwables.propagateIfPossible(ex.getCause());
+                throw new AchillesException(ex.getCause());
+            }
+        }
 
         functionProperties
                 .stream()
@@ -238,10 +317,48 @@ public abstract class AbstractManagerFactory {
 
     protected void prepareStaticStatements() {
         final List<Class<?>> manageEntities = configContext.getManageEntities().isEmpty() ? entityClasses : configContext.getManageEntities();
+        final StaticStatementsPreparer preparer = new StaticStatementsPreparer(configContext.getSession(), rte.cache,
+                configContext.getExecutorService(), configContext.getStaticStatementsPrepareMaxInFlight());
         entityProperties
                 .stream()
                 .filter(x -> manageEntities.contains(x.entityClass))
-                .forEach(x -> x.prepareStaticStatements(getCassandraVersion(), configContext.getSession(), rte.cache));
+                .forEach(x -> x.prepareStaticStatements(getCassandraVersion(), preparer));
+
+        final int preparedCount = preparer.awaitCompletion();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Prepared %s static statements", preparedCount));
+        }
+    }
+
+    /**
+     * Prepare, for each declared tenant, the same operations as the static statements
+     * but on the keyspace and table resolved by the tenant schema name provider
+     */
+    protected void prewarmTenantStatements() {
+        final List<Class<?>> manageEntities = configContext.getManageEntities().isEmpty() ? entityClasses : configContext.getManageEntities();
+        final StaticStatementsPreparer preparer = new StaticStatementsPreparer(configContext.getSession(), rte.cache,
+                configContext.getExecutorService(), configContext.getStaticStatementsPrepareMaxInFlight());
+        for (SchemaNameProvider provider : configContext.getPrewarmSchemaNameProviders()) {
+            for (AbstractEntityProperty<?> entityProperty : entityProperties) {
+                if (!manageEntities.contains(entityProperty.entityClass)) {
+                    continue;
+                }
+                final String keyspace = provider.keyspaceFor(entityProperty.entityClass);
+                final String table = provider.tableNameFor(entityProperty.entityClass);
+                for (CacheKey.Operation operation : CacheKey.Operation.values()) {
+                    final CacheKey cacheKey = new CacheKey(entityProperty.entityClass, operation);
+                    if (rte.cache.hasStaticCache(cacheKey)) {
+                        preparer.prepareForTenant(keyspace, table, cacheKey,
+                                operation.generateStatement(entityProperty, Optional.of(provider)));
+                    }
+                }
+            }
+        }
+
+        final int preparedCount = preparer.awaitCompletion();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Pre-warmed %s tenant statements", preparedCount));
+        }
     }
 
 
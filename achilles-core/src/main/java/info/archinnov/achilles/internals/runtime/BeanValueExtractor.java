@@ -17,24 +17,17 @@
 package info.archinnov.achilles.internals.runtime;
 
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
-import static org.apache.commons.lang3.ArrayUtils.addAll;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.BiConsumer;
-import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.datastax.driver.core.SettableData;
-
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.metamodel.AbstractProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
-import info.archinnov.achilles.internals.statements.BoundValueInfo;
 import info.archinnov.achilles.internals.statements.BoundValuesWrapper;
 import info.archinnov.achilles.internals.types.OverridingOptional;
 import info.archinnov.achilles.type.tuples.Tuple2;
@@ -49,63 +42,7 @@ public class BeanValueExtractor {
                     instance, entityProperty.entityClass.getCanonicalName()));
         }
 
-        final List<BoundValueInfo> boundValues = new ArrayList<>();
-        final List<BoundValueInfo> partitionKeys = entityProperty.partitionKeys
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    final BiConsumer<Object, SettableData> lambda = x1::encodeToSettable;
-                    return BoundValueInfo.of(lambda, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList());
-
-        boundValues.addAll(partitionKeys);
-
-        boundValues.addAll(entityProperty.staticColumns
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList()));
-
-        boundValues.addAll(entityProperty.clusteringColumns
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList()));
-
-        boundValues.addAll(entityProperty.normalColumns
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList()));
-
-        boundValues.addAll(entityProperty.counterColumns
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList()));
-
-        final Optional<Integer> ttl = OverridingOptional
-                .from(cassandraOptions.getTimeToLive())
-                .andThen(entityProperty.staticTTL)
-                .getOptional();
-
-        boundValues.add(ttl.isPresent()
-                ? BoundValueInfo.of((Object value, SettableData settableData) -> settableData.setInt("ttl", ttl.get()), ttl.get(), ttl.get())
-                : BoundValueInfo.of((Object value, SettableData settableData) -> settableData.setInt("ttl", 0), 0, 0));
-
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(format("Extracted encoded bound values : %s", boundValues));
-        }
-        return new BoundValuesWrapper(entityProperty, boundValues);
+        return extractValuesWithTTL(instance, entityProperty, entityProperty.allColumns, cassandraOptions);
     }
 
     public static <T> Tuple2<Object[], Object[]> extractPrimaryKeyValues(T instance, AbstractEntityProperty<T> entityProperty, Optional<CassandraOptions> cassandraOptions) {
@@ -114,21 +51,17 @@ public class BeanValueExtractor {
                     instance, entityProperty.entityClass.getCanonicalName()));
         }
 
-        final Stream<Tuple2<Object, Object>> partitionKeys = entityProperty.partitionKeys
-                .stream().map(x -> Tuple2.of(x.getFieldValue(instance), x.encodeField(instance, cassandraOptions)));
-        final Stream<Tuple2<Object, Object>> partitionKeysCopy = entityProperty.partitionKeys
-                .stream().map(x -> Tuple2.of(x.getFieldValue(instance), x.encodeField(instance, cassandraOptions)));
+        final List<AbstractProperty<T, ?, ?>> primaryKeys = entityProperty.primaryKeyColumns;
+        final int size = primaryKeys.size();
+        final Object[] boundValues = new Object[size];
+        final Object[] encodedValues = new Object[size];
 
-        final Stream<Tuple2<Object, Object>> clusteringColumns = entityProperty.clusteringColumns
-                .stream().map(x -> Tuple2.of(x.getFieldValue(instance), x.encodeField(instance, cassandraOptions)));
-        final Stream<Tuple2<Object, Object>> clusteringColumnsCopy = entityProperty.clusteringColumns
-                .stream().map(x -> Tuple2.of(x.getFieldValue(instance), x.encodeField(instance, cassandraOptions)));
-
-        final Object[] boundValues = addAll(partitionKeys.map(x -> x._1()).toArray(), clusteringColumns.map(x -> x._1()).toArray());
-        final Object[] encodedValues = addAll(partitionKeysCopy.map(x -> x._2()).toArray(), clusteringColumnsCopy.map(x -> x._2()).toArray());
+        for (int i = 0; i < size; i++) {
+            extractValue(instance, primaryKeys.get(i), cassandraOptions, boundValues, encodedValues, i);
+        }
 
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(format("Extracted primary key (encoded) : %s", encodedValues));
+            LOGGER.debug(format("Extracted primary key (encoded) : %s", Arrays.toString(encodedValues)));
         }
 
         return Tuple2.of(boundValues, encodedValues);
@@ -140,39 +73,46 @@ public class BeanValueExtractor {
                     instance, entityProperty.entityClass.getCanonicalName()));
         }
 
-        final List<BoundValueInfo> boundValues = new ArrayList<>();
-        final List<BoundValueInfo> partitionKeys = entityProperty.partitionKeys
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    final BiConsumer<Object, SettableData> lambda = x1::encodeToSettable;
-                    return BoundValueInfo.of(lambda, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList());
-
-        boundValues.addAll(partitionKeys);
-
-        boundValues.addAll(entityProperty.staticColumns
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList()));
-
-        final Optional<Integer> ttl = OverridingOptional
+        return extractValuesWithTTL(instance, entityProperty, entityProperty.partitionKeysAndStaticColumns, cassandraOptions);
+    }
+
+    /**
+     * Read each field once, encode it once and write both values straight
+     * into the bound and encoded arrays, in bind order. The last slot holds the TTL
+     */
+    private static <T> BoundValuesWrapper extractValuesWithTTL(T instance, AbstractEntityProperty<T> entityProperty,
+                                                               List<AbstractProperty<T, ?, ?>> properties,
+                                                               CassandraOptions cassandraOptions) {
+        final int size = properties.size();
+        final Object[] boundValues = new Object[size + 1];
+        final Object[] encodedValues = new Object[size + 1];
+        final Optional<CassandraOptions> options = Optional.ofNullable(cassandraOptions);
+
+        for (int i = 0; i < size; i++) {
+            extractValue(instance, properties.get(i), options, boundValues, encodedValues, i);
+        }
+
+        final Integer ttl = OverridingOptional
                 .from(cassandraOptions.getTimeToLive())
                 .andThen(entityProperty.staticTTL)
-                .getOptional();
+                .getOptional()
+                .orElse(0);
 
-        boundValues.add(ttl.isPresent()
-                ? BoundValueInfo.of((Object value, SettableData settableData) -> settableData.setInt("ttl", ttl.get()), ttl.get(), ttl.get())
-                : BoundValueInfo.of((Object value, SettableData settableData) -> settableData.setInt("ttl", 0), 0, 0));
+        boundValues[size] = ttl;
+        encodedValues[size] = ttl;
 
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(format("Extracted encoded bound values : %s", boundValues));
+            LOGGER.debug(format("Extracted encoded bound values : %s", Arrays.toString(encodedValues)));
         }
-        return new BoundValuesWrapper(entityProperty, boundValues);
+        return new BoundValuesWrapper(entityProperty, properties, boundValues, encodedValues);
+    }
 
+    @SuppressWarnings("unchecked")
+    private static <T> void extractValue(T instance, AbstractProperty<T, ?, ?> property, Optional<CassandraOptions> cassandraOptions,
+                                         Object[] boundValues, Object[] encodedValues, int index) {
+        final AbstractProperty<T, Object, ?> x = (AbstractProperty<T, Object, ?>) property;
+        final Object value = x.getFieldValue(instance);
+        boundValues[index] = value;
+        encodedValues[index] = x.encodeFromJava(value, cassandraOptions);
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import com.google.common.util.concurrent.ForwardingExecutorService;
+
+import info.archinnov.achilles.async.CompletionMode;
+import info.archinnov.achilles.metrics.MetricsRecorder;
+
+/**
+ * Executor completing the driver futures, recording for each completion the time spent between the
+ * submission of the task and its execution (the hop latency) and the depth of the executor queue at submission time
+ */
+public class InstrumentedCompletionExecutor extends ForwardingExecutorService {
+
+    private final ExecutorService delegate;
+    private final CompletionMode completionMode;
+    private final MetricsRecorder metricsRecorder;
+
+    public InstrumentedCompletionExecutor(ExecutorService delegate, CompletionMode completionMode, MetricsRecorder metricsRecorder) {
+        this.delegate = delegate;
+        this.completionMode = completionMode;
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    @Override
+    protected ExecutorService delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        final int queueDepth = delegate instanceof ThreadPoolExecutor
+                ? ((ThreadPoolExecutor) delegate).getQueue().size()
+                : 0;
+        final long submitted = System.nanoTime();
+        delegate.execute(() -> {
+            metricsRecorder.onCompletionHop(completionMode, System.nanoTime() - submitted, queueDepth);
+            command.run();
+        });
+    }
+}
@@ -16,47 +16,114 @@
 
 package info.archinnov.achilles.internals.runtime;
 
+import static info.archinnov.achilles.internals.futures.FutureUtils.propagateCancellation;
 import static info.archinnov.achilles.internals.futures.FutureUtils.toCompletableFuture;
 import static java.lang.String.format;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.MoreExecutors;
 
+import info.archinnov.achilles.async.CompletionMode;
 import info.archinnov.achilles.internals.cache.CacheKey;
+import info.archinnov.achilles.internals.cache.StatementShape;
 import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.statements.DMLLogSampler;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.QueryTracer;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.metrics.MetricKey;
+import info.archinnov.achilles.metrics.MetricsRecorder;
 import info.archinnov.achilles.type.SchemaNameProvider;
 
 public class RuntimeEngine {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RuntimeEngine.class);
 
+    /**
+     * Metric key of the batch statements, which may mix statements of several entities
+     */
+    public static final MetricKey BATCH_METRIC_KEY = new MetricKey(BatchStatement.class, OperationType.OTHER, "BATCH");
+
     public final StatementsCache cache;
     public final ConfigurationContext configContext;
     public final Session session;
     public final String currentKeyspace;
     public final ExecutorService executor;
+    /**
+     * Executor on which the futures returned by the driver are completed, following the configured {@link CompletionMode}
+     */
+    public final ExecutorService completionExecutor;
+    public final DMLLogSampler dmlLogSampler;
+    public final QueryTracer queryTracer;
+    public final MetricsRecorder metricsRecorder;
 
     public TupleTypeFactory tupleTypeFactory;
     public UserTypeFactory userTypeFactory;
 
+    private volatile Boolean unsetValuesSupported;
+
     public RuntimeEngine(ConfigurationContext configContext) {
         this.configContext = configContext;
         this.session = configContext.getSession();
         this.cache = configContext.getStatementsCache();
         this.currentKeyspace = configContext.getCurrentKeyspace().orElseGet(session::getLoggedKeyspace);
         this.executor = configContext.getExecutorService();
+        this.dmlLogSampler = configContext.getDMLLogSampler();
+        this.metricsRecorder = configContext.getMetricsRecorder();
+        this.completionExecutor = initCompletionExecutor(configContext.getCompletionMode(), executor, metricsRecorder);
+        this.queryTracer = new QueryTracer(configContext.getTracingSampler(), configContext.getQueryTraceSink(), executor);
+    }
+
+    private static ExecutorService initCompletionExecutor(CompletionMode completionMode, ExecutorService executor, MetricsRecorder metricsRecorder) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Completing driver futures with completion mode %s", completionMode));
+        }
+        final ExecutorService completionExecutor = completionMode == CompletionMode.DIRECT
+                ? MoreExecutors.newDirectExecutorService()
+                : executor;
+        return metricsRecorder.isEnabled()
+                ? new InstrumentedCompletionExecutor(completionExecutor, completionMode, metricsRecorder)
+                : completionExecutor;
+    }
+
+    /**
+     * Whether the native protocol negotiated with the cluster supports unset bound values (V4 or later)
+     */
+    public boolean supportsUnsetValues() {
+        Boolean unsetValuesSupported = this.unsetValuesSupported;
+        if (unsetValuesSupported == null) {
+            final ProtocolVersion protocolVersion = session.getCluster().getConfiguration().getProtocolOptions().getProtocolVersion();
+            unsetValuesSupported = protocolVersion != null && protocolVersion.compareTo(ProtocolVersion.V4) >= 0;
+            this.unsetValuesSupported = unsetValuesSupported;
+        }
+        return unsetValuesSupported;
+    }
+
+    /**
+     * Whether null values of the given entity can be unset at bind time. Cassandra fails server side
+     * when tracing a statement with unset values, so statements which may be traced
+     * (explicit tracing or TRACE level on the entity or DML logger) bind their non-null values only
+     */
+    public boolean canUnsetNullValues(AbstractEntityProperty<?> entityProperty, CassandraOptions options) {
+        if (!supportsUnsetValues() || options.getTracing().orElse(false)) {
+            return false;
+        }
+        final Logger actualLogger = entityProperty.entityLogger.isDebugEnabled() ? entityProperty.entityLogger : StatementWrapper.DML_LOGGER;
+        return !actualLogger.isTraceEnabled();
     }
 
     public PreparedStatement getStaticCache(CacheKey cacheKey) {
@@ -64,21 +131,130 @@ public class RuntimeEngine {
     }
 
     public CompletableFuture<ResultSet> execute(StatementWrapper wrapper) {
+        if (!metricsRecorder.isEnabled()) {
+            return executeInternal(wrapper);
+        }
+        return executeWithMetrics(wrapper.getMetricKey(), () -> executeInternal(wrapper));
+    }
+
+    /**
+     * Record the in-flight count, latency, errors and LWT failures of the execution against the given metric key
+     */
+    private CompletableFuture<ResultSet> executeWithMetrics(MetricKey metricKey, Supplier<CompletableFuture<ResultSet>> execution) {
+        metricsRecorder.onRequestStarted(metricKey);
+        final long start = System.nanoTime();
+        final CompletableFuture<ResultSet> futureRS;
+        try {
+            futureRS = execution.get();
+        } catch (RuntimeException ex) {
+            metricsRecorder.onRequestFailed(metricKey, System.nanoTime() - start, ex);
+            throw ex;
+        }
+        return propagateCancellation(futureRS, futureRS.whenComplete((rs, throwable) -> {
+            final long elapsedNanos = System.nanoTime() - start;
+            if (throwable != null) {
+                metricsRecorder.onRequestFailed(metricKey, elapsedNanos, throwable);
+            } else {
+                metricsRecorder.onRequestSucceeded(metricKey, elapsedNanos);
+                if (metricKey.getOperationType() != OperationType.SELECT && !rs.wasApplied()) {
+                    metricsRecorder.onLWTFailed(metricKey);
+                }
+            }
+        }));
+    }
+
+    /**
+     * Wrap the given row mapper to record the mapping time of each row against the metric key of the
+     * statement. The mapper is returned as is when metrics are disabled
+     */
+    public <T> Function<Row, T> instrumentRowMapper(Supplier<MetricKey> metricKeySupplier, Function<Row, T> rowMapper) {
+        if (!metricsRecorder.isEnabled()) {
+            return rowMapper;
+        }
+        final MetricKey metricKey = metricKeySupplier.get();
+        return row -> {
+            if (row == null) {
+                return rowMapper.apply(null);
+            }
+            final long start = System.nanoTime();
+            final T mapped = rowMapper.apply(row);
+            metricsRecorder.onRowMapped(metricKey, System.nanoTime() - start);
+            return mapped;
+        };
+    }
+
+    private CompletableFuture<ResultSet> executeInternal(StatementWrapper wrapper) {
+        final BoundStatement boundStatement = wrapper.getBoundStatement();
+        final String queryString = boundStatement.preparedStatement().getQueryString();
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(format("Executing statement %s", wrapper.getBoundStatement().preparedStatement().getQueryString()));
+            LOGGER.debug(format("Executing statement %s", queryString));
+        }
+
+        wrapper.setQueryTracer(queryTracer);
+
+        if (!wrapper.isDMLLogEnabled()) {
+            return toCompletableFuture(session.executeAsync(boundStatement), completionExecutor);
+        }
+
+        if (!dmlLogSampler.sample()) {
+            wrapper.skipDMLLog();
+            return toCompletableFuture(session.executeAsync(boundStatement), completionExecutor);
         }
 
+        if (dmlLogSampler.isSlowQueryOnly()) {
+            wrapper.skipDMLLog();
+            final long start = System.nanoTime();
+            final CompletableFuture<ResultSet> futureRS = toCompletableFuture(session.executeAsync(boundStatement), completionExecutor);
+            return propagateCancellation(futureRS, futureRS
+                    .whenComplete((rs, throwable) -> {
+                        final long elapsedNanos = System.nanoTime() - start;
+                        if (dmlLogSampler.isSlow(elapsedNanos)) {
+                            wrapper.logSlowDML(elapsedNanos);
+                        }
+                    }));
+        }
+
+        // Traces are only logged along with the DML log, do not trace statements whose DML log is skipped
+        if (!boundStatement.isTracing() && wrapper.isTraceLogEnabled() && queryTracer.sample(queryString)) {
+            boundStatement.enableTracing();
+        }
         wrapper.logDML();
-        return toCompletableFuture(session.executeAsync(wrapper.getBoundStatement()), executor);
+        return toCompletableFuture(session.executeAsync(boundStatement), completionExecutor);
     }
 
+    /**
+     * Log the DML statement of a batch element, following the DML log sampling.
+     * Batch elements are not timed individually so they are not logged in slow query only mode
+     */
+    public void logBatchDML(StatementWrapper wrapper) {
+        if (wrapper.isDMLLogEnabled()) {
+            if (dmlLogSampler.isSlowQueryOnly() || !dmlLogSampler.sample()) {
+                wrapper.skipDMLLog();
+            } else {
+                wrapper.logDML();
+            }
+        }
+    }
+
+    /**
+     * Execute a raw bound statement. Its metrics are recorded against the {@link BoundStatement} class,
+     * with the query string of its prepared statement
+     */
     public CompletableFuture<ResultSet> execute(BoundStatement boundStatement) {
+        final String queryString = boundStatement.preparedStatement().getQueryString();
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(format("Executing bound statement %s", boundStatement.preparedStatement().getQueryString()));
+            LOGGER.debug(format("Executing bound statement %s", queryString));
+        }
+        if (!metricsRecorder.isEnabled()) {
+            return toCompletableFuture(session.executeAsync(boundStatement), completionExecutor);
         }
-        return toCompletableFuture(session.executeAsync(boundStatement), executor);
+        return executeWithMetrics(new MetricKey(BoundStatement.class, OperationType.OTHER, queryString),
+                () -> toCompletableFuture(session.executeAsync(boundStatement), completionExecutor));
     }
 
+    /**
+     * Execute a batch statement. The metrics of all the batches are recorded against {@link #BATCH_METRIC_KEY}
+     */
     public CompletableFuture<ResultSet> execute(BatchStatement batchStatement) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Executing batch statement : %s",
@@ -87,7 +263,11 @@ public class RuntimeEngine {
                             .map(Statement::toString)
                             .reduce("", (x, y) -> x + y)));
         }
-        return toCompletableFuture(session.executeAsync(batchStatement), executor);
+        if (!metricsRecorder.isEnabled()) {
+            return toCompletableFuture(session.executeAsync(batchStatement), completionExecutor);
+        }
+        return executeWithMetrics(BATCH_METRIC_KEY,
+                () -> toCompletableFuture(session.executeAsync(batchStatement), completionExecutor));
     }
 
     public PreparedStatement prepareDynamicQuery(RegularStatement statement) {
@@ -101,23 +281,35 @@ public class RuntimeEngine {
         return cache.getDynamicCache(queryString, session);
     }
 
-    public Optional<PreparedStatement> maybePrepareIfDifferentSchemaNameFromCache(AbstractEntityProperty<?> entityProperty,
-                                                                                  PreparedStatement psFromCache,
-                                                                                  Optional<SchemaNameProvider> schemaNameProvider,
-                                                                                  Supplier<RegularStatement> lambda) {
-        if (schemaNameProvider.isPresent()) {
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug(format("Preparing statement %s using optional schema name provider %s",
-                        psFromCache.getQueryString(), schemaNameProvider));
-            }
-            final SchemaNameProvider provider = schemaNameProvider.get();
-            final String tableNameWithKeyspace = provider.keyspaceFor(entityProperty.entityClass) + "." + provider.tableNameFor(entityProperty.entityClass);
-            if (!psFromCache.getQueryString().toLowerCase().contains("from " + tableNameWithKeyspace)) {
-                return Optional.of(prepareDynamicQuery(lambda.get()));
-            }
+    public PreparedStatement prepareDynamicQuery(AbstractEntityProperty<?> entityProperty, StatementShape shape, RegularStatement statement) {
+        if (shape == null || !shape.isCacheable()) {
+            return prepareDynamicQuery(statement);
         }
-        return Optional.empty();
+        return cache.getShapeCache(entityProperty.entityClass, shape, statement::getQueryString, session);
+    }
+
+    /**
+     * Same as {@link #prepareDynamicQuery(AbstractEntityProperty, StatementShape, RegularStatement)} but the
+     * statement is only generated when the shape is not found in cache
+     */
+    public PreparedStatement prepareDynamicQuery(AbstractEntityProperty<?> entityProperty, StatementShape shape, Supplier<RegularStatement> statement) {
+        if (shape == null || !shape.isCacheable()) {
+            return prepareDynamicQuery(statement.get());
+        }
+        return cache.getShapeCache(entityProperty.entityClass, shape, () -> statement.get().getQueryString(), session);
+    }
 
+    /**
+     * Statement of the given CRUD operation for the keyspace and table resolved by the runtime schema name provider,
+     * cached per keyspace (tenant)
+     */
+    public PreparedStatement getTenantStatement(AbstractEntityProperty<?> entityProperty, CacheKey.Operation operation,
+                                                SchemaNameProvider schemaNameProvider) {
+        final Class<?> entityClass = entityProperty.entityClass;
+        return cache.getTenantCache(schemaNameProvider.keyspaceFor(entityClass), schemaNameProvider.tableNameFor(entityClass),
+                new CacheKey(entityClass, operation),
+                () -> operation.generateStatement(entityProperty, Optional.of(schemaNameProvider)).getQueryString(),
+                session);
     }
 
     public Cluster getCluster() {
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.statements;
+
+import java.util.List;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.PreparedStatement;
+
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+
+/**
+ * Mapping between the entity properties in bind order and the bind marker
+ * positions of a given {@link PreparedStatement}, computed once per prepared statement
+ * so that values are bound by index instead of by column name
+ */
+public final class BindPlan {
+
+    static final int NO_BIND_MARKER = -1;
+
+    private final List<? extends AbstractProperty<?, ?, ?>> properties;
+    private final int[] indices;
+    private final int ttlIndex;
+
+    private BindPlan(List<? extends AbstractProperty<?, ?, ?>> properties, int[] indices, int ttlIndex) {
+        this.properties = properties;
+        this.indices = indices;
+        this.ttlIndex = ttlIndex;
+    }
+
+    public static BindPlan build(PreparedStatement ps, List<? extends AbstractProperty<?, ?, ?>> properties) {
+        final ColumnDefinitions variables = ps.getVariables();
+        final int size = properties.size();
+        final int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = variables.getIndexOf(properties.get(i).fieldInfo.quotedCqlColumn);
+        }
+        return new BindPlan(properties, indices, variables.getIndexOf("ttl"));
+    }
+
+    public boolean isFor(List<? extends AbstractProperty<?, ?, ?>> properties) {
+        return this.properties == properties;
+    }
+
+    /**
+     * Bind the non-null encoded values by index. Bind markers of null values
+     * are explicitly unset so that they are left untouched by the statement
+     * (requires native protocol V4 or later at execution time)
+     */
+    @SuppressWarnings("unchecked")
+    BoundStatement bindNonNullValues(PreparedStatement ps, Object[] encodedValues) {
+        final BoundStatement bs = ps.bind();
+        for (int i = 0; i < indices.length; i++) {
+            final int index = indices[i];
+            if (index == NO_BIND_MARKER) {
+                continue;
+            }
+            final Object encodedValue = encodedValues[i];
+            if (encodedValue != null) {
+                ((AbstractProperty<?, ?, Object>) properties.get(i)).encodeToSettable(encodedValue, bs, index);
+            } else {
+                bs.unset(index);
+            }
+        }
+        if (ttlIndex != NO_BIND_MARKER) {
+            bs.setInt(ttlIndex, (Integer) encodedValues[indices.length]);
+        }
+        return bs;
+    }
+}
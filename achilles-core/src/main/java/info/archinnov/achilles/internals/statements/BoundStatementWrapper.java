@@ -18,8 +18,6 @@ package info.archinnov.achilles.internals.statements;
 
 import static java.lang.String.format;
 
-import java.util.UUID;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +29,7 @@ import com.datastax.driver.core.Row;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.types.ResultSetWrapper;
+import info.archinnov.achilles.metrics.MetricKey;
 
 public class BoundStatementWrapper implements StatementWrapper {
 
@@ -42,7 +41,9 @@ public class BoundStatementWrapper implements StatementWrapper {
     private final Object[] encodedBoundValues;
     private final Logger actualLogger;
     private BoundStatement bs;
-    private UUID queryId;
+    private String queryId;
+    private boolean dmlLogSkipped;
+    private QueryTracer queryTracer = QueryTracer.DEFAULT;
 
 
     public BoundStatementWrapper(OperationType operationType, AbstractEntityProperty<?> meta, PreparedStatement ps,
@@ -80,27 +81,57 @@ public class BoundStatementWrapper implements StatementWrapper {
         cassandraOptions.applyOptions(operationType, meta, bs);
     }
 
+    @Override
+    public MetricKey getMetricKey() {
+        return new MetricKey(meta.entityClass, operationType, bs.preparedStatement().getQueryString());
+    }
+
+    @Override
+    public boolean isDMLLogEnabled() {
+        return actualLogger.isDebugEnabled();
+    }
+
     @Override
     public void logDML() {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Maybe log DML query %s", bs.preparedStatement().getQueryString()));
         }
 
-        queryId = UUID.randomUUID();
         if (actualLogger.isDebugEnabled()) {
-            writeDMLStatementLog(actualLogger, queryId, bs.preparedStatement().getQueryString(), bs.getConsistencyLevel(), boundValues, encodedBoundValues);
+            writeDMLStatementLog(actualLogger, queryId(), bs.preparedStatement().getQueryString(), bs.getConsistencyLevel(), boundValues, encodedBoundValues);
         }
     }
 
+    @Override
+    public void logSlowDML(long elapsedNanos) {
+        dmlLogSkipped = false;
+        writeDMLStatementLog(actualLogger, queryId(), elapsedNanos, bs.preparedStatement().getQueryString(), bs.getConsistencyLevel(), boundValues, encodedBoundValues);
+    }
+
+    @Override
+    public void skipDMLLog() {
+        dmlLogSkipped = true;
+    }
+
+    @Override
+    public boolean isTraceLogEnabled() {
+        return actualLogger.isTraceEnabled();
+    }
+
+    @Override
+    public void setQueryTracer(QueryTracer queryTracer) {
+        this.queryTracer = queryTracer;
+    }
+
     @Override
     public ResultSet logReturnResults(ResultSet originalResultSet, int maxDisplayedRows) {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Log returned results for query %s", bs.preparedStatement().getQueryString()));
         }
 
-        if (actualLogger.isDebugEnabled()) {
+        if (!dmlLogSkipped && actualLogger.isDebugEnabled()) {
             final ResultSetWrapper wrapper = new ResultSetWrapper(originalResultSet);
-            logReturnedResultsInternal(actualLogger, queryId, wrapper, maxDisplayedRows);
+            logReturnedResultsInternal(actualLogger, queryId(), wrapper, maxDisplayedRows);
             return wrapper;
         } else {
             return originalResultSet;
@@ -113,8 +144,8 @@ public class BoundStatementWrapper implements StatementWrapper {
             LOGGER.trace(format("Log returned row for query %s", bs.preparedStatement().getQueryString()));
         }
 
-        if (actualLogger.isDebugEnabled()) {
-            logReturnedRowInternal(actualLogger, queryId, row);
+        if (!dmlLogSkipped && actualLogger.isDebugEnabled()) {
+            logReturnedRowInternal(actualLogger, queryId(), row);
         }
         return row;
     }
@@ -124,7 +155,16 @@ public class BoundStatementWrapper implements StatementWrapper {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Maybe display tracing for query %s", bs.preparedStatement().getQueryString()));
         }
-        tracingInternal(actualLogger, queryId, resultSet);
+        if (bs.isTracing() && (!dmlLogSkipped || queryTracer.hasQueryTraceSink())) {
+            queryTracer.traceAsync(actualLogger, queryId(), bs.preparedStatement().getQueryString(), resultSet);
+        }
         return resultSet;
     }
+
+    private String queryId() {
+        if (queryId == null) {
+            queryId = QueryIdSequence.next();
+        }
+        return queryId;
+    }
 }
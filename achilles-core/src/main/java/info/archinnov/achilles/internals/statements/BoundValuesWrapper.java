@@ -19,6 +19,7 @@ package info.archinnov.achilles.internals.statements;
 import static info.archinnov.achilles.type.strategy.InsertStrategy.ALL_FIELDS;
 import static java.lang.String.format;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -28,6 +29,7 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
 
 
@@ -35,33 +37,58 @@ public class BoundValuesWrapper {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BoundValuesWrapper.class);
 
-    public final List<BoundValueInfo> boundValuesInfo;
     public final AbstractEntityProperty<?> meta;
+    /**
+     * Properties in bind order. The bound and encoded values contain
+     * one extra trailing slot for the TTL
+     */
+    public final List<? extends AbstractProperty<?, ?, ?>> properties;
+    public final Object[] boundValues;
+    public final Object[] encodedValues;
+    /**
+     * Operation applied to each column by an UPDATE, null when all columns are overwritten.
+     * For {@link ColumnOperation#APPEND} and {@link ColumnOperation#REMOVE}, the encoded value
+     * only holds the collection elements to append or remove
+     */
+    private final ColumnOperation[] columnOperations;
+
+    public BoundValuesWrapper(AbstractEntityProperty<?> meta, List<? extends AbstractProperty<?, ?, ?>> properties,
+                              Object[] boundValues, Object[] encodedValues) {
+        this(meta, properties, boundValues, encodedValues, null);
+    }
 
-    public BoundValuesWrapper(AbstractEntityProperty<?> meta, List<BoundValueInfo> boundValuesInfo) {
+    public BoundValuesWrapper(AbstractEntityProperty<?> meta, List<? extends AbstractProperty<?, ?, ?>> properties,
+                              Object[] boundValues, Object[] encodedValues, ColumnOperation[] columnOperations) {
         this.meta = meta;
-        this.boundValuesInfo = boundValuesInfo;
+        this.properties = properties;
+        this.boundValues = boundValues;
+        this.encodedValues = encodedValues;
+        this.columnOperations = columnOperations;
+    }
+
+    public ColumnOperation getColumnOperation(int index) {
+        return columnOperations == null ? ColumnOperation.SET : columnOperations[index];
+    }
+
+    public List<Object> getBoundValues() {
+        return Arrays.asList(boundValues);
+    }
+
+    public List<Object> getEncodedValues() {
+        return Arrays.asList(encodedValues);
     }
 
     public StatementWrapper bindWithInsertStrategy(PreparedStatement ps, InsertStrategy insertStrategy) {
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Bind values %s to query %s with insert strategy %s",
-                    boundValuesInfo, ps.getQueryString(), insertStrategy.name()));
+                    Arrays.toString(encodedValues), ps.getQueryString(), insertStrategy.name()));
         }
 
         if (insertStrategy == ALL_FIELDS) {
-            return new BoundStatementWrapper(OperationType.INSERT, meta, ps,
-                    boundValuesInfo.stream().map(x -> x.boundValue).toArray(),
-                    boundValuesInfo.stream().map(x -> x.encodedValue).toArray());
+            return new BoundStatementWrapper(OperationType.INSERT, meta, ps, boundValues, encodedValues);
         } else {
-            BoundStatement bs = ps.bind();
-            boundValuesInfo.stream()
-                    .filter(x -> x.encodedValue != null)
-                    .forEach(x -> x.setter.accept(x.encodedValue, bs));
-            return new BoundStatementWrapper(OperationType.INSERT, meta, bs,
-                    boundValuesInfo.stream().map(x -> x.boundValue).toArray(),
-                    boundValuesInfo.stream().map(x -> x.encodedValue).toArray());
+            return new BoundStatementWrapper(OperationType.INSERT, meta, bindNonNullValues(ps), boundValues, encodedValues);
         }
     }
 
@@ -69,16 +96,23 @@ public class BoundValuesWrapper {
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Bind values %s to query %s for UPDATE",
-                    boundValuesInfo, ps.getQueryString()));
+                    Arrays.toString(encodedValues), ps.getQueryString()));
         }
 
-        BoundStatement bs = ps.bind();
-        boundValuesInfo.stream()
-                .filter(x -> x.encodedValue != null)
-                .forEach(x -> x.setter.accept(x.encodedValue, bs));
-        return new BoundStatementWrapper(OperationType.UPDATE, meta, bs,
-                boundValuesInfo.stream().map(x -> x.boundValue).toArray(),
-                boundValuesInfo.stream().map(x -> x.encodedValue).toArray());
+        return new BoundStatementWrapper(OperationType.UPDATE, meta, bindNonNullValues(ps), boundValues, encodedValues);
+    }
+
+    private BoundStatement bindNonNullValues(PreparedStatement ps) {
+        return meta.getBindPlan(ps, properties).bindNonNullValues(ps, encodedValues);
+    }
 
+    /**
+     * How an UPDATE writes a column: overwrite the whole value, or append/remove
+     * collection elements (<em>col = col + ?</em>, <em>col = col - ?</em>)
+     */
+    public enum ColumnOperation {
+        SET,
+        APPEND,
+        REMOVE
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package info.archinnov.achilles.internals.statements;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decide which DML statements are logged when the DML logger or the entity logger is at DEBUG level.
+ * <br/>
+ * <ul>
+ *     <li><em>sampleRate</em>: log on average 1 statement out of N. 1 means every statement is logged</li>
+ *     <li><em>slowQueryThresholdInMillis</em>: when strictly positive, only statements whose execution
+ *     took at least this threshold are logged, once their result is received</li>
+ * </ul>
+ * Both settings can be combined, slow statements are then sampled too
+ */
+public class DMLLogSampler {
+
+    public static final DMLLogSampler LOG_ALL = new DMLLogSampler(1, 0L);
+
+    private final int sampleRate;
+    private final long slowQueryThresholdInNanos;
+
+    public DMLLogSampler(int sampleRate, long slowQueryThresholdInMillis) {
+        this.sampleRate = sampleRate;
+        this.slowQueryThresholdInNanos = MILLISECONDS.toNanos(slowQueryThresholdInMillis);
+    }
+
+    /**
+     * Whether only slow statements should be logged, after their execution
+     */
+    public boolean isSlowQueryOnly() {
+        return slowQueryThresholdInNanos > 0;
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= slowQueryThresholdInNanos;
+    }
+
+    /**
+     * Draw whether the current statement is part of the sample
+     */
+    public boolean sample() {
+        return sampleRate <= 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "DMLLogSampler{" +
+                "sampleRate=" + sampleRate +
+                ", slowQueryThresholdInNanos=" + slowQueryThresholdInNanos +
+                '}';
+    }
+}
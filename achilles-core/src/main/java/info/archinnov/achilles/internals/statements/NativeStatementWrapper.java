@@ -18,8 +18,6 @@ package info.archinnov.achilles.internals.statements;
 
 import static java.lang.String.format;
 
-import java.util.UUID;
-
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
@@ -27,14 +25,17 @@ import com.datastax.driver.core.Row;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.types.ResultSetWrapper;
+import info.archinnov.achilles.metrics.MetricKey;
 
 public class NativeStatementWrapper implements StatementWrapper {
 
     private final AbstractEntityProperty<?> meta;
     private final BoundStatement boundStatement;
     private final Object[] encodedBoundValues;
-    private final UUID queryId = UUID.randomUUID();
     private final OperationType operationType;
+    private String queryId;
+    private boolean dmlLogSkipped;
+    private QueryTracer queryTracer = QueryTracer.DEFAULT;
 
 
     public NativeStatementWrapper(OperationType operationType, AbstractEntityProperty<?> meta, BoundStatement boundStatement, Object[] encodedBoundValues) {
@@ -59,18 +60,53 @@ public class NativeStatementWrapper implements StatementWrapper {
         cassandraOptions.applyOptions(operationType, meta, boundStatement);
     }
 
+    @Override
+    public MetricKey getMetricKey() {
+        return new MetricKey(meta.entityClass, operationType, boundStatement.preparedStatement().getQueryString());
+    }
+
+    @Override
+    public boolean isDMLLogEnabled() {
+        return DML_LOGGER.isDebugEnabled();
+    }
+
     @Override
     public void logDML() {
-        writeDMLStatementLog(DML_LOGGER, queryId,
+        if (DML_LOGGER.isDebugEnabled()) {
+            writeDMLStatementLog(DML_LOGGER, queryId(),
+                    boundStatement.preparedStatement().getQueryString(),
+                    boundStatement.getConsistencyLevel(), new Object[0], encodedBoundValues);
+        }
+    }
+
+    @Override
+    public void logSlowDML(long elapsedNanos) {
+        dmlLogSkipped = false;
+        writeDMLStatementLog(DML_LOGGER, queryId(), elapsedNanos,
                 boundStatement.preparedStatement().getQueryString(),
                 boundStatement.getConsistencyLevel(), new Object[0], encodedBoundValues);
     }
 
+    @Override
+    public void skipDMLLog() {
+        dmlLogSkipped = true;
+    }
+
+    @Override
+    public boolean isTraceLogEnabled() {
+        return DML_LOGGER.isTraceEnabled();
+    }
+
+    @Override
+    public void setQueryTracer(QueryTracer queryTracer) {
+        this.queryTracer = queryTracer;
+    }
+
     @Override
     public ResultSet logReturnResults(ResultSet originalResultSet, int maxDisplayedRows) {
-        if (DML_LOGGER.isDebugEnabled()) {
+        if (!dmlLogSkipped && DML_LOGGER.isDebugEnabled()) {
             final ResultSetWrapper wrapper = new ResultSetWrapper(originalResultSet);
-            logReturnedResultsInternal(DML_LOGGER, queryId, wrapper, maxDisplayedRows);
+            logReturnedResultsInternal(DML_LOGGER, queryId(), wrapper, maxDisplayedRows);
             return wrapper;
         } else {
             return originalResultSet;
@@ -79,8 +115,8 @@ public class NativeStatementWrapper implements StatementWrapper {
 
     @Override
     public Row logReturnedRow(Row row) {
-        if (DML_LOGGER.isDebugEnabled()) {
-            logReturnedRowInternal(DML_LOGGER, queryId, row);
+        if (!dmlLogSkipped && DML_LOGGER.isDebugEnabled()) {
+            logReturnedRowInternal(DML_LOGGER, queryId(), row);
         }
         return row;
     }
@@ -90,7 +126,16 @@ public class NativeStatementWrapper implements StatementWrapper {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Maybe display tracing for query %s", boundStatement.preparedStatement().getQueryString()));
         }
-        tracingInternal(DML_LOGGER, queryId, resultSet);
+        if (boundStatement.isTracing() && (!dmlLogSkipped || queryTracer.hasQueryTraceSink())) {
+            queryTracer.traceAsync(DML_LOGGER, queryId(), boundStatement.preparedStatement().getQueryString(), resultSet);
+        }
         return resultSet;
     }
+
+    private String queryId() {
+        if (queryId == null) {
+            queryId = QueryIdSequence.next();
+        }
+        return queryId;
+    }
 }
@@ -21,34 +21,34 @@ import static info.archinnov.achilles.internals.cache.CacheKey.Operation.*;
 import static java.lang.String.format;
 
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.RegularStatement;
-import com.datastax.driver.core.Session;
 import com.datastax.driver.core.querybuilder.*;
 
 import info.archinnov.achilles.internals.cache.CacheKey;
-import info.archinnov.achilles.internals.cache.StatementsCache;
+import info.archinnov.achilles.internals.cache.StatementShape;
 import info.archinnov.achilles.internals.cassandra_version.CassandraFeature;
 import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVersion;
-import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
-import info.archinnov.achilles.internals.metamodel.AbstractProperty;
-import info.archinnov.achilles.internals.metamodel.ComputedProperty;
+import info.archinnov.achilles.internals.metamodel.*;
 import info.archinnov.achilles.internals.metamodel.columns.ColumnType;
 import info.archinnov.achilles.internals.metamodel.columns.ComputedColumnInfo;
 import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.statements.BoundValuesWrapper.ColumnOperation;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.validation.Validator;
 
 public class PreparedStatementGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PreparedStatementGenerator.class);
+    private static final int COLUMN_OPERATIONS_COUNT = ColumnOperation.values().length;
 
-    public static void generateStaticSelectQuery(Session session, StatementsCache cache,  AbstractEntityProperty<?> entityProperty) {
+    public static void generateStaticSelectQuery(StaticStatementsPreparer preparer, AbstractEntityProperty<?> entityProperty) {
         final RegularStatement where = generateSelectQuery(entityProperty, Optional.empty());
-        cache.putStaticCache(new CacheKey(entityProperty.entityClass, FIND), () -> session.prepare(where));
+        preparer.prepare(new CacheKey(entityProperty.entityClass, FIND), where);
     }
 
     public static RegularStatement generateSelectQuery( AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
@@ -56,6 +56,77 @@ public class PreparedStatementGenerator {
             LOGGER.debug(format("Generate SELECT query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
         }
 
+        final Select.Where where = selectAllColumnsFrom(entityProperty, schemaNameProvider).where();
+
+        for (AbstractProperty<?, ?, ?> x : entityProperty.partitionKeys) {
+            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        }
+
+        for (AbstractProperty<?, ?, ?> x : entityProperty.clusteringColumns) {
+            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        }
+
+        return where;
+    }
+
+    /**
+     * Generate a SELECT of all columns for several rows of the same partition:
+     * <br/>
+     * <strong>WHERE partition keys = ? AND clustering columns = ? ... AND last clustering column IN ?</strong>
+     */
+    public static RegularStatement generateSelectByLastClusteringInQuery(AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Generate SELECT IN query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
+        }
+
+        Validator.validateTrue(entityProperty.clusteringColumns.size() > 0,
+                "Cannot generate SELECT IN query for entity %s without clustering column", entityProperty.entityClass.getCanonicalName());
+
+        final Select.Where where = selectAllColumnsFrom(entityProperty, schemaNameProvider).where();
+
+        for (AbstractProperty<?, ?, ?> x : entityProperty.partitionKeys) {
+            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        }
+
+        final int lastIndex = entityProperty.clusteringColumns.size() - 1;
+        for (int i = 0; i < lastIndex; i++) {
+            final AbstractProperty<?, ?, ?> x = entityProperty.clusteringColumns.get(i);
+            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        }
+
+        final AbstractProperty<?, ?, ?> last = entityProperty.clusteringColumns.get(lastIndex);
+        where.and(in(last.fieldInfo.quotedCqlColumn, bindMarker(last.fieldInfo.quotedCqlColumn)));
+        return where;
+    }
+
+    /**
+     * Generate a SELECT of all columns restricted on the token of the partition keys:
+     * <br/>
+     * <strong>WHERE token(partition keys) &gt; :start AND token(partition keys) &lt;= :end</strong>
+     * <br/>
+     * When <em>openEnded</em> is true, the upper bound is omitted to scan until the end of the ring
+     */
+    public static RegularStatement generateTokenRangeScanQuery(AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider,
+                                                               boolean openEnded) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Generate token range SELECT query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
+        }
+
+        final String tokenCall = entityProperty.partitionKeys
+                .stream()
+                .map(x -> x.fieldInfo.quotedCqlColumn)
+                .collect(Collectors.joining(",", "token(", ")"));
+
+        final Select.Where where = selectAllColumnsFrom(entityProperty, schemaNameProvider)
+                .where(gt(tokenCall, bindMarker("start")));
+
+        if (!openEnded) {
+            where.and(lte(tokenCall, bindMarker("end")));
+        }
+        return where;
+    }
+
+    private static Select selectAllColumnsFrom(AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
         final Select.Selection select = QueryBuilder.select();
         final Optional<String> keyspace = entityProperty.getKeyspace();
 
@@ -89,37 +160,26 @@ public class PreparedStatementGenerator {
                 from = select.from(entityProperty.getTableOrViewName());
             }
         }
-
-        final Select.Where where = from.where();
-
-        for (AbstractProperty<?, ?, ?> x : entityProperty.partitionKeys) {
-            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
-        }
-
-        for (AbstractProperty<?, ?, ?> x : entityProperty.clusteringColumns) {
-            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
-        }
-
-        return where;
+        return from;
     }
 
-    public static void generateStaticDeleteQueries(Session session, StatementsCache cache,  AbstractEntityProperty<?> entityProperty) {
+    public static void generateStaticDeleteQueries(StaticStatementsPreparer preparer, AbstractEntityProperty<?> entityProperty) {
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Generate DELETE queries for entity of type %s", entityProperty.entityClass.getCanonicalName()));
         }
 
-        cache.putStaticCache(new CacheKey(entityProperty.entityClass, DELETE),
-                () -> session.prepare(generateDeleteByKeys(entityProperty, Optional.empty())));
+        preparer.prepare(new CacheKey(entityProperty.entityClass, DELETE),
+                generateDeleteByKeys(entityProperty, Optional.empty()));
 
         if (!entityProperty.isCounter()) {
-            cache.putStaticCache(new CacheKey(entityProperty.entityClass, DELETE_IF_EXISTS),
-                    () -> session.prepare(generateDeleteByKeysIfExists(entityProperty, Optional.empty())));
+            preparer.prepare(new CacheKey(entityProperty.entityClass, DELETE_IF_EXISTS),
+                    generateDeleteByKeysIfExists(entityProperty, Optional.empty()));
         }
 
         if (entityProperty.isClustered()) {
-            cache.putStaticCache(new CacheKey(entityProperty.entityClass, DELETE_BY_PARTITION),
-                    () -> session.prepare(generateDeleteByPartition(entityProperty, Optional.empty())));
+            preparer.prepare(new CacheKey(entityProperty.entityClass, DELETE_BY_PARTITION),
+                    generateDeleteByPartition(entityProperty, Optional.empty()));
         }
     }
 
@@ -194,32 +254,32 @@ public class PreparedStatementGenerator {
     }
 
 
-    public static void generateStaticInsertQueries(InternalCassandraVersion cassandraVersion, Session session, StatementsCache cache, AbstractEntityProperty<?> entityProperty) {
+    public static void generateStaticInsertQueries(InternalCassandraVersion cassandraVersion, StaticStatementsPreparer preparer, AbstractEntityProperty<?> entityProperty) {
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Generate INSERT queries for entity of type %s", entityProperty.entityClass.getCanonicalName()));
         }
 
-        cache.putStaticCache(new CacheKey(entityProperty.entityClass, INSERT),
-                () -> session.prepare(generateInsert(entityProperty, Optional.empty())));
+        preparer.prepare(new CacheKey(entityProperty.entityClass, INSERT),
+                generateInsert(entityProperty, Optional.empty()));
 
-        cache.putStaticCache(new CacheKey(entityProperty.entityClass, INSERT_IF_NOT_EXISTS),
-                () -> session.prepare(generateInsertIfNotExists(entityProperty, Optional.empty())));
+        preparer.prepare(new CacheKey(entityProperty.entityClass, INSERT_IF_NOT_EXISTS),
+                generateInsertIfNotExists(entityProperty, Optional.empty()));
 
         if (cassandraVersion.supportsFeature(CassandraFeature.JSON)) {
-            cache.putStaticCache(new CacheKey(entityProperty.entityClass, INSERT_JSON),
-                    () -> session.prepare(generateInsertJSON(entityProperty, Optional.empty())));
+            preparer.prepare(new CacheKey(entityProperty.entityClass, INSERT_JSON),
+                    generateInsertJSON(entityProperty, Optional.empty()));
 
-            cache.putStaticCache(new CacheKey(entityProperty.entityClass, INSERT_IF_NOT_EXISTS_JSON),
-                    () -> session.prepare(generateInsertIfNotExistsJson(entityProperty, Optional.empty())));
+            preparer.prepare(new CacheKey(entityProperty.entityClass, INSERT_IF_NOT_EXISTS_JSON),
+                    generateInsertIfNotExistsJson(entityProperty, Optional.empty()));
         }
 
         if (entityProperty.hasStaticColumn()) {
-            cache.putStaticCache(new CacheKey(entityProperty.entityClass, INSERT_STATIC),
-                    () -> session.prepare(generateInsertStatic(entityProperty, Optional.empty())));
+            preparer.prepare(new CacheKey(entityProperty.entityClass, INSERT_STATIC),
+                    generateInsertStatic(entityProperty, Optional.empty()));
 
-            cache.putStaticCache(new CacheKey(entityProperty.entityClass, INSERT_STATIC_IF_NOT_EXISTS),
-                    () -> session.prepare(generateInsertStaticIfNotExists(entityProperty, Optional.empty())));
+            preparer.prepare(new CacheKey(entityProperty.entityClass, INSERT_STATIC_IF_NOT_EXISTS),
+                    generateInsertStaticIfNotExists(entityProperty, Optional.empty()));
         }
     }
 
@@ -237,8 +297,15 @@ public class PreparedStatementGenerator {
         return insert.using(ttl(bindMarker("ttl")));
     }
 
-    public static <T> RegularStatement generateUpdate(T instance, AbstractEntityProperty<T> entityProperty, CassandraOptions options,
-                                                      boolean staticValuesOnly, boolean ifExists) {
+    /**
+     * Generate the UPDATE of the columns with a non-null value in the given extracted values, with their
+     * column operation (overwrite, append or remove collection elements).
+     * <br/>
+     * When <strong>unsetNullValues</strong> is true, all the columns supporting unset values are updated
+     * and the bind markers of null values are expected to be unset at bind time (native protocol V4 or later)
+     */
+    public static RegularStatement generateUpdate(BoundValuesWrapper wrapper, AbstractEntityProperty<?> entityProperty, CassandraOptions options,
+                                                  boolean staticValuesOnly, boolean ifExists, boolean unsetNullValues) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Generate UPDATE query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
         }
@@ -252,14 +319,18 @@ public class PreparedStatementGenerator {
 
         Update.Assignments assignments = update.with();
 
-        entityProperty
-                .allColumns
-                .stream()
-                .filter(x -> x.fieldInfo.columnType != ColumnType.PARTITION)
-                .filter(x -> x.fieldInfo.columnType != ColumnType.CLUSTERING)
-                .filter(x -> staticValuesOnly ? x.fieldInfo.columnType == ColumnType.STATIC : true)
-                .filter(x -> x.getJavaValue(instance) != null)
-                .forEach(x -> assignments.and(QueryBuilder.set(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn))));
+        final int size = wrapper.properties.size();
+        for (int i = 0; i < size; i++) {
+            final AbstractProperty<?, ?, ?> x = wrapper.properties.get(i);
+            final ColumnType columnType = x.fieldInfo.columnType;
+            if (columnType == ColumnType.PARTITION || columnType == ColumnType.CLUSTERING
+                    || (staticValuesOnly && columnType != ColumnType.STATIC)) {
+                continue;
+            }
+            if ((unsetNullValues && isUnsetSafe(x)) || wrapper.boundValues[i] != null) {
+                assignments.and(generateAssignment(x, wrapper.getColumnOperation(i)));
+            }
+        }
 
         final Update.Where where = update.where();
         entityProperty
@@ -279,6 +350,106 @@ public class PreparedStatementGenerator {
         return where;
     }
 
+    private static Assignment generateAssignment(AbstractProperty<?, ?, ?> property, ColumnOperation columnOperation) {
+        final String column = property.fieldInfo.quotedCqlColumn;
+        switch (columnOperation) {
+            case APPEND:
+                if (property instanceof ListProperty) {
+                    return QueryBuilder.appendAll(column, bindMarker(column));
+                } else if (property instanceof SetProperty) {
+                    return QueryBuilder.addAll(column, bindMarker(column));
+                } else {
+                    return QueryBuilder.putAll(column, bindMarker(column));
+                }
+            case REMOVE:
+                return QueryBuilder.removeAll(column, bindMarker(column));
+            default:
+                return QueryBuilder.set(column, bindMarker(column));
+        }
+    }
+
+    /**
+     * Shape of the UPDATE generated by {@link #generateUpdate(BoundValuesWrapper, AbstractEntityProperty, CassandraOptions, boolean, boolean, boolean)}
+     * for the given extracted values. Updates with the same shape render to the same CQL string.
+     * <br/>
+     * A written column is identified by its index, or by a negative step if its collection elements are appended or removed
+     */
+    public static StatementShape generateUpdateShape(AbstractEntityProperty<?> entityProperty, BoundValuesWrapper wrapper, CassandraOptions options,
+                                                     boolean staticValuesOnly, boolean ifExists, boolean unsetNullValues) {
+        final StatementShape shape = new StatementShape();
+        if (unsetNullValues) {
+            shape.addRuntimeFlag(StatementShape.RUNTIME_UNSET_NULL_VALUES);
+        }
+        final int size = wrapper.properties.size();
+        for (int i = 0; i < size; i++) {
+            final AbstractProperty<?, ?, ?> property = wrapper.properties.get(i);
+            final ColumnType columnType = property.fieldInfo.columnType;
+            if (columnType != ColumnType.PARTITION && columnType != ColumnType.CLUSTERING && wrapper.boundValues[i] != null
+                    && !(unsetNullValues && isUnsetSafe(property))) {
+                final ColumnOperation columnOperation = wrapper.getColumnOperation(i);
+                shape.add(columnOperation == ColumnOperation.SET
+                        ? i
+                        : -(i * COLUMN_OPERATIONS_COUNT + columnOperation.ordinal()));
+            }
+        }
+
+        shape.addRuntimeFlag(staticValuesOnly ? StatementShape.CRUD_UPDATE_STATIC : StatementShape.CRUD_UPDATE);
+        if (ifExists) {
+            shape.addRuntimeFlag(StatementShape.RUNTIME_IF_EXISTS);
+        }
+        if (options.hasDefaultTimestamp()) {
+            shape.addRuntimeFlag(StatementShape.RUNTIME_USING_TIMESTAMP);
+        }
+        return fromTableName(shape, entityProperty, options.getSchemaNameProvider());
+    }
+
+    /**
+     * Generate the INSERT of the columns with a non-null value in the given extracted values.
+     * Used for the NOT_NULL_FIELDS insert strategy when null values cannot be unset at bind time
+     */
+    public static RegularStatement generateInsertNotNullFields(BoundValuesWrapper wrapper, AbstractEntityProperty<?> entityProperty,
+                                                               CassandraOptions options, boolean ifNotExists) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Generate INSERT query of non-null columns for entity of type %s", entityProperty.entityClass.getCanonicalName()));
+        }
+
+        final Insert insert = getInsertWithTableName(entityProperty, options.getSchemaNameProvider());
+
+        final int size = wrapper.properties.size();
+        for (int i = 0; i < size; i++) {
+            if (wrapper.encodedValues[i] != null) {
+                final String column = wrapper.properties.get(i).fieldInfo.quotedCqlColumn;
+                insert.value(column, bindMarker(column));
+            }
+        }
+
+        if (ifNotExists) {
+            insert.ifNotExists();
+        }
+        return insert.using(ttl(bindMarker("ttl")));
+    }
+
+    /**
+     * Shape of the INSERT generated by {@link #generateInsertNotNullFields(BoundValuesWrapper, AbstractEntityProperty, CassandraOptions, boolean)}
+     * for the given extracted values
+     */
+    public static StatementShape generateInsertNotNullFieldsShape(AbstractEntityProperty<?> entityProperty, BoundValuesWrapper wrapper,
+                                                                  CassandraOptions options, boolean staticValuesOnly, boolean ifNotExists) {
+        final StatementShape shape = new StatementShape();
+        final int size = wrapper.properties.size();
+        for (int i = 0; i < size; i++) {
+            if (wrapper.encodedValues[i] != null) {
+                shape.add(i);
+            }
+        }
+
+        shape.addRuntimeFlag(staticValuesOnly ? StatementShape.CRUD_INSERT_STATIC_NOT_NULL_FIELDS : StatementShape.CRUD_INSERT_NOT_NULL_FIELDS);
+        if (ifNotExists) {
+            shape.addRuntimeFlag(StatementShape.RUNTIME_IF_NOT_EXISTS);
+        }
+        return fromTableName(shape, entityProperty, options.getSchemaNameProvider());
+    }
+
     public static RegularStatement generateInsertJSON(AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Generate INSERT JSON query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
@@ -359,6 +530,30 @@ public class PreparedStatementGenerator {
         return insert.ifNotExists().using(ttl(bindMarker("ttl")));
     }
 
+    /**
+     * Cassandra fails to render unset collection, UDT and tuple values in traced queries
+     * so those columns are left out of the statement when null instead of being unset
+     */
+    private static boolean isUnsetSafe(AbstractProperty<?, ?, ?> property) {
+        return !(property instanceof ListProperty
+                || property instanceof SetProperty
+                || property instanceof MapProperty
+                || property instanceof UDTProperty
+                || property instanceof AbstractTupleProperty
+                || property instanceof JdkOptionalProperty);
+    }
+
+    private static StatementShape fromTableName(StatementShape shape, AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
+        if (schemaNameProvider.isPresent()) {
+            final SchemaNameProvider provider = schemaNameProvider.get();
+            shape.from(provider.keyspaceFor(entityProperty.entityClass), provider.tableNameFor(entityProperty.entityClass));
+        } else {
+            // No keyspace means the keyspace of the session, which does not change
+            shape.from(entityProperty.getKeyspace().orElse(""), entityProperty.getTableOrViewName());
+        }
+        return shape;
+    }
+
     private static Insert getInsertWithTableName( AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
         final Optional<String> keyspace = entityProperty.getKeyspace();
         final Insert insert;
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.statements;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.QueryTrace;
+import com.datastax.driver.core.ResultSet;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import info.archinnov.achilles.tracing.QueryTraceSink;
+
+/**
+ * Retrieve the query traces of the traced statements asynchronously and deliver them
+ * to the configured {@link QueryTraceSink} or, when none is configured, to the logger of the statement.
+ * <br/>
+ * The traces are fetched from <em>system_traces</em> with non-blocking queries, once the result
+ * of the statement has been received, so the result is never delayed by the trace retrieval
+ */
+public class QueryTracer {
+
+    public static final QueryTracer DEFAULT = new QueryTracer(TracingSampler.TRACE_ALL, Optional.empty(), MoreExecutors.directExecutor());
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryTracer.class);
+    private static final Comparator<QueryTrace.Event> EVENT_TRACE_COMPARATOR = Comparator.comparing(event -> event.getSource().toString());
+
+    private final TracingSampler tracingSampler;
+    private final Optional<QueryTraceSink> queryTraceSink;
+    private final Executor executor;
+
+    public QueryTracer(TracingSampler tracingSampler, Optional<QueryTraceSink> queryTraceSink, Executor executor) {
+        this.tracingSampler = tracingSampler;
+        this.queryTraceSink = queryTraceSink;
+        this.executor = executor;
+    }
+
+    /**
+     * Draw whether a statement traced because of its logger level should be traced
+     */
+    public boolean sample(String queryString) {
+        return tracingSampler.sample(queryString);
+    }
+
+    public boolean hasQueryTraceSink() {
+        return queryTraceSink.isPresent();
+    }
+
+    /**
+     * Fetch asynchronously the trace of each execution of the given result set, if the statement was traced.
+     * Without {@link QueryTraceSink}, the traces are written to the given logger at TRACE level
+     */
+    public void traceAsync(Logger actualLogger, String queryId, String queryString, ResultSet resultSet) {
+        if (!queryTraceSink.isPresent() && !actualLogger.isTraceEnabled()) {
+            return;
+        }
+        for (ExecutionInfo executionInfo : resultSet.getAllExecutionInfo()) {
+            if (executionInfo.getQueryTrace() == null) {
+                continue;
+            }
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Fetching trace asynchronously for query %s with id %s", queryString, queryId));
+            }
+            final ListenableFuture<QueryTrace> futureTrace = executionInfo.getQueryTraceAsync();
+            Futures.addCallback(futureTrace, new FutureCallback<QueryTrace>() {
+                @Override
+                public void onSuccess(QueryTrace queryTrace) {
+                    if (queryTrace == null) {
+                        return;
+                    }
+                    if (queryTraceSink.isPresent()) {
+                        queryTraceSink.get().onQueryTrace(queryId, queryString, executionInfo, queryTrace);
+                    } else {
+                        actualLogger.trace(formatTrace(queryId, executionInfo, queryTrace));
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable throwable) {
+                    if (queryTraceSink.isPresent()) {
+                        queryTraceSink.get().onQueryTraceFailed(queryId, queryString, throwable);
+                    } else {
+                        actualLogger.trace(format("\n\nTracing for Query ID %s : ERROR: cannot retrieve trace for query %s because it may not be yet available : %s",
+                                queryId, queryString, throwable.getMessage()));
+                    }
+                }
+            }, executor);
+        }
+    }
+
+    private static String formatTrace(String queryId, ExecutionInfo executionInfo, QueryTrace queryTrace) {
+        final StringBuilder trace = new StringBuilder();
+        trace.append(format("\n\nTracing for Query ID %s at host %s with achieved consistency level %s \n", queryId, executionInfo.getQueriedHost(), executionInfo.getAchievedConsistencyLevel()));
+        trace.append("****************************\n");
+        trace.append(format("%1$-80s | %2$-16s | %3$-24s | %4$-20s\n", "Description", "Source", "Source elapsed in micros", "Thread name"));
+        final List<QueryTrace.Event> events = new ArrayList<>(queryTrace.getEvents());
+        events.sort(EVENT_TRACE_COMPARATOR);
+        for (QueryTrace.Event event : events) {
+            trace.append(format("%1$-80s | %2$-16s | %3$-24s | %4$-20s\n", event.getDescription(), event.getSource(), event.getSourceElapsedMicros(), event.getThreadName()));
+        }
+        trace.append("****************************\n\n");
+        return trace.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryTracer{" +
+                "tracingSampler=" + tracingSampler +
+                ", queryTraceSink=" + queryTraceSink +
+                '}';
+    }
+}
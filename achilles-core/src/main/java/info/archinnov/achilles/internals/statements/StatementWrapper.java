@@ -21,6 +21,7 @@ import static info.archinnov.achilles.internals.utils.LoggerHelper.replaceByteBu
 import static java.lang.String.format;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -28,16 +29,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.*;
-import com.datastax.driver.core.exceptions.TraceRetrievalException;
 
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.types.ResultSetWrapper;
 import info.archinnov.achilles.logger.AchillesLoggers;
+import info.archinnov.achilles.metrics.MetricKey;
 
 public interface StatementWrapper {
     Logger LOGGER = LoggerFactory.getLogger(StatementWrapper.class);
 
-    EventComparator EVENT_TRACE_COMPARATOR = new EventComparator();
     Logger DML_LOGGER = LoggerFactory.getLogger(AchillesLoggers.ACHILLES_DML_STATEMENT);
 
     Object[] getBoundValues();
@@ -46,22 +46,65 @@ public interface StatementWrapper {
 
     void applyOptions(CassandraOptions cassandraOptions);
 
+    /**
+     * Key of the metrics of this statement: entity class, operation type and query string
+     */
+    MetricKey getMetricKey();
+
+    /**
+     * Whether the logger of this statement (entity logger or DML logger) is enabled for DEBUG
+     */
+    boolean isDMLLogEnabled();
+
     void logDML();
 
+    /**
+     * Log the DML statement with its execution time. Re-enable the logging of
+     * results and trace if it had been skipped
+     */
+    void logSlowDML(long elapsedNanos);
+
+    /**
+     * Do not log the results and trace of this statement, it has not been sampled
+     */
+    void skipDMLLog();
+
+    /**
+     * Whether the logger of this statement (entity logger or DML logger) is enabled for TRACE.
+     * The statement is then traced if it is sampled
+     */
+    boolean isTraceLogEnabled();
+
+    /**
+     * Tracer used to fetch and deliver the query traces of this statement
+     */
+    void setQueryTracer(QueryTracer queryTracer);
+
     ResultSet logReturnResults(ResultSet resultSet, int maxDisplayedRows);
 
     Row logReturnedRow(Row row);
 
+    /**
+     * Fetch asynchronously the query trace of the given result set if the statement was traced.
+     * The result set is returned immediately, without waiting for the trace
+     */
     ResultSet logTrace(ResultSet resultSet);
 
-    default void writeDMLStatementLog(Logger actualLogger, UUID queryId, String queryString, ConsistencyLevel consistencyLevel, Object[] boundValues, Object[] encodedValues) {
+    default void writeDMLStatementLog(Logger actualLogger, String queryId, String queryString, ConsistencyLevel consistencyLevel, Object[] boundValues, Object[] encodedValues) {
+        writeDMLStatementLog(actualLogger, queryId, -1L, queryString, consistencyLevel, boundValues, encodedValues);
+    }
+
+    default void writeDMLStatementLog(Logger actualLogger, String queryId, long elapsedNanos, String queryString, ConsistencyLevel consistencyLevel, Object[] boundValues, Object[] encodedValues) {
         if (actualLogger.isDebugEnabled()) {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(format("Writing DML log for query %s with id %s", queryString, queryId));
             }
             StringBuilder logBuilder = new StringBuilder("\n");
             logBuilder.append(String.format("Query ID %s : [%s] with CONSISTENCY LEVEL [%s]",
-                    queryId.toString(), queryString, consistencyLevel));
+                    queryId, queryString, consistencyLevel));
+            if (elapsedNanos >= 0) {
+                logBuilder.append(String.format(" executed in %s ms", TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+            }
             if (ArrayUtils.isNotEmpty(boundValues)) {
                 logBuilder.append(String.format("\n\t Java bound values : %s", replaceByteBuffersByHexString(boundValues)));
                 logBuilder.append(String.format("\n\t Encoded bound values : %s", replaceByteBuffersByHexString(encodedValues)));
@@ -70,7 +113,7 @@ public interface StatementWrapper {
         }
     }
 
-    default void logReturnedResultsInternal(Logger actualLogger, UUID queryId, ResultSetWrapper resultSet, int maxDisplayedRows) {
+    default void logReturnedResultsInternal(Logger actualLogger, String queryId, ResultSetWrapper resultSet, int maxDisplayedRows) {
         if (maxDisplayedRows > 0) {
             final int availableWithoutFetching = resultSet.getAvailableWithoutFetching();
             StringBuilder results = new StringBuilder(format("Query ID %s results : \n", queryId));
@@ -83,7 +126,7 @@ public interface StatementWrapper {
         }
     }
 
-    default void logReturnedRowInternal(Logger actualLogger, UUID queryId, Row row) {
+    default void logReturnedRowInternal(Logger actualLogger, String queryId, Row row) {
         StringBuilder results = new StringBuilder(format("Query ID %s row : \n", queryId));
         appendRowDataToBuilder(row, row.getColumnDefinitions().asList(), results);
         actualLogger.debug(results.toString());
@@ -113,39 +156,4 @@ public interface StatementWrapper {
                 return row.get(index, toJavaType(typeName));
         }
     }
-
-    default void tracingInternal(Logger actualLogger, UUID queryId, ResultSet resultSet) {
-        StringBuilder trace = new StringBuilder();
-        if (actualLogger.isTraceEnabled()) {
-            for (ExecutionInfo executionInfo : resultSet.getAllExecutionInfo()) {
-
-                trace.append(format("\n\nTracing for Query ID %s at host %s with achieved consistency level %s \n", queryId.toString(), executionInfo.getQueriedHost(), executionInfo.getAchievedConsistencyLevel()));
-                trace.append("****************************\n");
-                trace.append(format("%1$-80s | %2$-16s | %3$-24s | %4$-20s\n", "Description", "Source", "Source elapsed in micros", "Thread name"));
-                try {
-                    final QueryTrace queryTrace = executionInfo.getQueryTrace();
-                    if (queryTrace != null) {
-                        final List<QueryTrace.Event> events = new ArrayList<>(queryTrace.getEvents());
-                        Collections.sort(events, EVENT_TRACE_COMPARATOR);
-                        for (QueryTrace.Event event : events) {
-                            trace.append(format("%1$-80s | %2$-16s | %3$-24s | %4$-20s\n", event.getDescription(), event.getSource(), event.getSourceElapsedMicros(), event.getThreadName()));
-                        }
-                    }
-                } catch (TraceRetrievalException e) {
-                    final String queryString = getBoundStatement().preparedStatement().getQueryString();
-                    trace.append(format(" ERROR: cannot retrieve trace for query %s because it may not be yet available", queryString));
-                }
-                trace.append("****************************\n\n");
-            }
-
-            actualLogger.trace(trace.toString());
-        }
-    }
-
-    class EventComparator implements Comparator<QueryTrace.Event> {
-        @Override
-        public int compare(QueryTrace.Event event1, QueryTrace.Event event2) {
-            return event1.getSource().toString().compareTo(event2.getSource().toString());
-        }
-    }
 }
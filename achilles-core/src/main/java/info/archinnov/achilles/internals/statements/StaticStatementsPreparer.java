@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.statements;
+
+import static info.archinnov.achilles.internals.futures.FutureUtils.toCompletableFuture;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Session;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.cache.CacheKey;
+import info.archinnov.achilles.internals.cache.StatementsCache;
+
+/**
+ * Prepare the static statements of all entities asynchronously with
+ * <strong>session.prepareAsync()</strong>, with at most <em>maxInFlight</em>
+ * preparations at the same time.
+ * <br/>
+ * Statements already present in the static cache are not prepared again.
+ * Statements of the declared tenants are prepared the same way into the tenant caches
+ */
+public class StaticStatementsPreparer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StaticStatementsPreparer.class);
+
+    private final Session session;
+    private final StatementsCache cache;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final List<CompletableFuture<?>> preparations = new ArrayList<>();
+
+    public StaticStatementsPreparer(Session session, StatementsCache cache, ExecutorService executor, int maxInFlight) {
+        this.session = session;
+        this.cache = cache;
+        this.executor = executor;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Start preparing the statement for the given cache key, blocking only
+     * when the max number of in-flight preparations is reached
+     */
+    public void prepare(CacheKey cacheKey, RegularStatement statement) {
+        if (cache.hasStaticCache(cacheKey)) {
+            return;
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Preparing static statement for key %s", cacheKey));
+        }
+
+        prepareAsync(statement, ps -> cache.putStaticCache(cacheKey, ps));
+    }
+
+    /**
+     * Start preparing the statement for the given tenant (keyspace), table and cache key, blocking only
+     * when the max number of in-flight preparations is reached
+     */
+    public void prepareForTenant(String keyspace, String table, CacheKey cacheKey, RegularStatement statement) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Preparing statement for keyspace %s, table %s and key %s", keyspace, table, cacheKey));
+        }
+
+        prepareAsync(statement, ps -> cache.putTenantCache(keyspace, table, cacheKey, ps));
+    }
+
+    private void prepareAsync(RegularStatement statement, Consumer<PreparedStatement> onPrepared) {
+        inFlight.acquireUninterruptibly();
+        final CompletableFuture<?> preparation;
+        try {
+            preparation = toCompletableFuture(session.prepareAsync(statement), executor)
+                    .thenAccept(onPrepared)
+                    .whenComplete((result, throwable) -> inFlight.release());
+        } catch (RuntimeException ex) {
+            inFlight.release();
+            throw ex;
+        }
+        preparations.add(preparation);
+    }
+
+    /**
+     * Wait for all preparations to complete
+     *
+     * @return the number of prepared statements
+     */
+    public int awaitCompletion() {
+        try {
+            Uninterruptibles.getUninterruptibly(CompletableFuture.allOf(preparations.toArray(new CompletableFuture<?>[preparations.size()])));
+            return preparations.size();
+        } catch (Exception ex) {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            throw new AchillesException("Cannot prepare static statements", cause);
+        }
+    }
+}
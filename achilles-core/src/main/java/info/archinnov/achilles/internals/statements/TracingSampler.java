@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.statements;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decide which statements are traced when the DML logger or the entity logger is at TRACE level.
+ * Statements for which tracing has been requested explicitly with <em>withTracing()</em> are always traced.
+ * <br/>
+ * <ul>
+ *     <li><em>sampleRate</em>: trace on average 1 statement out of N. 1 means every statement is traced</li>
+ *     <li><em>maxPerSecondPerQuery</em>: when strictly positive, trace at most N statements per second
+ *     for each query string</li>
+ * </ul>
+ * Both settings can be combined, the rate limit then applies to the sampled statements
+ */
+public class TracingSampler {
+
+    public static final TracingSampler TRACE_ALL = new TracingSampler(1, 0);
+
+    private static final long ONE_SECOND_IN_NANOS = SECONDS.toNanos(1);
+
+    private final int sampleRate;
+    private final int maxPerSecondPerQuery;
+    private final ConcurrentMap<String, RateWindow> windows = new ConcurrentHashMap<>();
+
+    public TracingSampler(int sampleRate, int maxPerSecondPerQuery) {
+        this.sampleRate = sampleRate;
+        this.maxPerSecondPerQuery = maxPerSecondPerQuery;
+    }
+
+    /**
+     * Draw whether the current statement with the given query string should be traced
+     */
+    public boolean sample(String queryString) {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return false;
+        }
+        if (maxPerSecondPerQuery <= 0) {
+            return true;
+        }
+        final long now = System.nanoTime();
+        return windows
+                .computeIfAbsent(queryString, key -> new RateWindow(now))
+                .tryAcquire(now, maxPerSecondPerQuery);
+    }
+
+    @Override
+    public String toString() {
+        return "TracingSampler{" +
+                "sampleRate=" + sampleRate +
+                ", maxPerSecondPerQuery=" + maxPerSecondPerQuery +
+                '}';
+    }
+
+    private static final class RateWindow {
+        private long windowStartNanos;
+        private int count;
+
+        private RateWindow(long windowStartNanos) {
+            this.windowStartNanos = windowStartNanos;
+        }
+
+        private synchronized boolean tryAcquire(long nowNanos, int max) {
+            if (nowNanos - windowStartNanos >= ONE_SECOND_IN_NANOS) {
+                windowStartNanos = nowNanos;
+                count = 0;
+            }
+            if (count < max) {
+                count++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package info.archinnov.achilles.internals.types;
 import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.ResultSet;
@@ -37,11 +38,19 @@ public class EntityIteratorWrapper<ENTITY> implements Iterator<ENTITY>, AsyncAwa
     private final AbstractEntityProperty<ENTITY> meta;
     private final StatementWrapper statementWrapper;
     private final CassandraOptions options;
+    private final Function<Row, ENTITY> entityMapper;
     private ExecutionInfo executionInfo;
 
     public EntityIteratorWrapper(CompletableFuture<ResultSet> futureRS, AbstractEntityProperty<ENTITY> meta,
                                  StatementWrapper statementWrapper, CassandraOptions cassandraOptions) {
+        this(futureRS, meta, statementWrapper, cassandraOptions, meta::createEntityFrom);
+    }
+
+    public EntityIteratorWrapper(CompletableFuture<ResultSet> futureRS, AbstractEntityProperty<ENTITY> meta,
+                                 StatementWrapper statementWrapper, CassandraOptions cassandraOptions,
+                                 Function<Row, ENTITY> entityMapper) {
         this.meta = meta;
+        this.entityMapper = entityMapper;
         this.statementWrapper = statementWrapper;
         this.options = cassandraOptions;
         try {
@@ -73,7 +82,7 @@ public class EntityIteratorWrapper<ENTITY> implements Iterator<ENTITY>, AsyncAwa
             final Row row = delegate.next();
             statementWrapper.logReturnedRow(row);
             options.rowAsyncListener(row);
-            final ENTITY instance = meta.createEntityFrom(row);
+            final ENTITY instance = entityMapper.apply(row);
             meta.triggerInterceptorsForEvent(Event.POST_LOAD, instance);
             return instance;
         } else {
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.types;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Write the rows of a <strong>SELECT JSON</strong> query as a single JSON array.
+ * <br/>
+ * The JSON document of each row is read as raw UTF-8 bytes from the result set and copied
+ * to the target as is, no intermediate String is created per row.
+ * <br/>
+ * The target is flushed but never closed, closing it remains the responsibility of the caller.
+ * A writer instance is meant to write a single array and is not thread-safe
+ */
+public abstract class JSONArrayWriter {
+
+    private static final int JSON_COLUMN_INDEX = 0;
+    private static final int CHUNK_SIZE = 8192;
+
+    private long rowCount;
+
+    /**
+     * Write the JSON array as UTF-8 bytes into the given {@link java.io.OutputStream}
+     */
+    public static JSONArrayWriter to(OutputStream outputStream) {
+        return new OutputStreamJSONArrayWriter(outputStream);
+    }
+
+    /**
+     * Write the JSON array as characters into the given {@link java.lang.Appendable}
+     */
+    public static JSONArrayWriter to(Appendable appendable) {
+        return new AppendableJSONArrayWriter(appendable);
+    }
+
+    /**
+     * Append the JSON document of the given row to the array
+     */
+    public void writeRow(Row row) {
+        final ByteBuffer json = row.getBytesUnsafe(JSON_COLUMN_INDEX);
+        try {
+            writeChar(rowCount == 0 ? '[' : ',');
+            writeUTF8(json.duplicate());
+        } catch (IOException e) {
+            throw new AchillesException("Cannot write the JSON row to the target", e);
+        }
+        rowCount++;
+    }
+
+    /**
+     * Close the JSON array and flush the target
+     *
+     * @return the number of written rows
+     */
+    public long finish() {
+        try {
+            if (rowCount == 0) {
+                writeChar('[');
+            }
+            writeChar(']');
+            flush();
+        } catch (IOException e) {
+            throw new AchillesException("Cannot finish the JSON array", e);
+        }
+        return rowCount;
+    }
+
+    protected abstract void writeChar(char c) throws IOException;
+
+    protected abstract void writeUTF8(ByteBuffer utf8) throws IOException;
+
+    protected abstract void flush() throws IOException;
+
+    private static final class OutputStreamJSONArrayWriter extends JSONArrayWriter {
+
+        private final OutputStream outputStream;
+        private byte[] chunk;
+
+        private OutputStreamJSONArrayWriter(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        protected void writeChar(char c) throws IOException {
+            outputStream.write(c);
+        }
+
+        @Override
+        protected void writeUTF8(ByteBuffer utf8) throws IOException {
+            if (utf8.hasArray()) {
+                outputStream.write(utf8.array(), utf8.arrayOffset() + utf8.position(), utf8.remaining());
+                return;
+            }
+            if (chunk == null) {
+                chunk = new byte[CHUNK_SIZE];
+            }
+            while (utf8.hasRemaining()) {
+                final int length = Math.min(chunk.length, utf8.remaining());
+                utf8.get(chunk, 0, length);
+                outputStream.write(chunk, 0, length);
+            }
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            outputStream.flush();
+        }
+    }
+
+    private static final class AppendableJSONArrayWriter extends JSONArrayWriter {
+
+        private final Appendable appendable;
+        private final CharsetDecoder decoder = UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final CharBuffer chars = CharBuffer.allocate(CHUNK_SIZE);
+
+        private AppendableJSONArrayWriter(Appendable appendable) {
+            this.appendable = appendable;
+        }
+
+        @Override
+        protected void writeChar(char c) throws IOException {
+            appendable.append(c);
+        }
+
+        @Override
+        protected void writeUTF8(ByteBuffer utf8) throws IOException {
+            decoder.reset();
+            CoderResult result;
+            do {
+                result = decoder.decode(utf8, chars, true);
+                drainChars();
+            } while (result.isOverflow());
+            while (decoder.flush(chars).isOverflow()) {
+                drainChars();
+            }
+            drainChars();
+        }
+
+        private void drainChars() throws IOException {
+            chars.flip();
+            if (appendable instanceof Writer) {
+                ((Writer) appendable).write(chars.array(), chars.arrayOffset(), chars.limit());
+            } else if (appendable instanceof StringBuilder) {
+                ((StringBuilder) appendable).append(chars.array(), chars.arrayOffset(), chars.limit());
+            } else {
+                appendable.append(chars);
+            }
+            chars.clear();
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            if (appendable instanceof Flushable) {
+                ((Flushable) appendable).flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.types;
+
+import static info.archinnov.achilles.internals.futures.FutureUtils.toCompletableFuture;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static java.lang.String.format;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.type.streaming.Publisher;
+import info.archinnov.achilles.type.streaming.Subscriber;
+import info.archinnov.achilles.type.streaming.Subscription;
+
+/**
+ * Publisher streaming all the pages of a SELECT without blocking.
+ * <br/>
+ * Rows are mapped on demand only. When the demand exceeds the rows available in the current page,
+ * the next page is fetched in the background while the current one is being mapped.
+ * At most one page is fetched ahead
+ * <br/>
+ * The query is executed on the first request of the subscriber, not on subscription.
+ * Cancelling the subscription cancels the query or page fetch in flight
+ */
+public class ResultSetPublisher<T> implements Publisher<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultSetPublisher.class);
+
+    private final Supplier<CompletableFuture<ResultSet>> query;
+    private final Function<Row, T> mapper;
+    private final ExecutorService executor;
+
+    public ResultSetPublisher(Supplier<CompletableFuture<ResultSet>> query, Function<Row, T> mapper, ExecutorService executor) {
+        this.query = query;
+        this.mapper = mapper;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        validateNotNull(subscriber, "The subscriber should not be null");
+        final PagingSubscription<T> subscription = new PagingSubscription<>(subscriber, query, mapper, executor);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private static final class PagingSubscription<T> implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final Supplier<CompletableFuture<ResultSet>> query;
+        private final Function<Row, T> mapper;
+        private final ExecutorService executor;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        private volatile Future<?> inFlight;
+        private volatile ResultSet resultSet;
+        private volatile Throwable error;
+        private volatile boolean fetching;
+        private volatile boolean cancelled;
+        private boolean done;
+
+        private PagingSubscription(Subscriber<? super T> subscriber, Supplier<CompletableFuture<ResultSet>> query,
+                                   Function<Row, T> mapper, ExecutorService executor) {
+            this.subscriber = subscriber;
+            this.query = query;
+            this.mapper = mapper;
+            this.executor = executor;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                onFailure(new IllegalArgumentException(format("The requested number of items should be strictly positive, got %s", n)));
+                return;
+            }
+            requested.getAndUpdate(current -> Long.MAX_VALUE - current <= n ? Long.MAX_VALUE : current + n);
+            if (!cancelled && started.compareAndSet(false, true)) {
+                executeQuery();
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void executeQuery() {
+            final CompletableFuture<ResultSet> futureRS;
+            try {
+                futureRS = query.get();
+            } catch (Throwable throwable) {
+                onFailure(throwable);
+                return;
+            }
+            inFlight = futureRS;
+            futureRS.whenComplete((rs, throwable) -> {
+                if (throwable != null) {
+                    onFailure(throwable);
+                } else {
+                    onPage(rs);
+                }
+            });
+        }
+
+        private void onPage(ResultSet resultSet) {
+            this.resultSet = resultSet;
+            this.fetching = false;
+            drain();
+        }
+
+        private void onFailure(Throwable throwable) {
+            this.error = throwable;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!done) {
+                    if (cancelled) {
+                        done = true;
+                        cancelInFlight();
+                    } else {
+                        drainAvailableRows();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainAvailableRows() {
+            if (error != null) {
+                terminateWithError(error);
+                return;
+            }
+            final ResultSet rs = resultSet;
+            if (rs == null) {
+                return;
+            }
+
+            final long demand = requested.get();
+            if (demand > rs.getAvailableWithoutFetching()) {
+                fetchNextPage(rs);
+            }
+
+            long emitted = 0;
+            while (emitted != demand && !cancelled && rs.getAvailableWithoutFetching() > 0) {
+                final T item;
+                try {
+                    item = mapper.apply(rs.one());
+                } catch (Throwable throwable) {
+                    terminateWithError(throwable);
+                    return;
+                }
+                subscriber.onNext(item);
+                emitted++;
+            }
+
+            if (emitted > 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+
+            if (!cancelled && rs.getAvailableWithoutFetching() == 0 && rs.isFullyFetched() && !fetching) {
+                done = true;
+                subscriber.onComplete();
+            }
+        }
+
+        private void fetchNextPage(ResultSet rs) {
+            if (fetching || rs.isFullyFetched()) {
+                return;
+            }
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("Fetching next page for streaming");
+            }
+            fetching = true;
+            final CompletableFuture<ResultSet> futureRS = toCompletableFuture(rs.fetchMoreResults(), executor);
+            inFlight = futureRS;
+            futureRS.whenComplete((nextRS, throwable) -> {
+                if (throwable != null) {
+                    onFailure(throwable);
+                } else {
+                    onPage(rs);
+                }
+            });
+        }
+
+        private void cancelInFlight() {
+            final Future<?> future = inFlight;
+            if (future != null && !future.isDone()) {
+                if (LOGGER.isTraceEnabled()) {
+                    LOGGER.trace("Cancelling in-flight query for streaming");
+                }
+                future.cancel(true);
+            }
+        }
+
+        private void terminateWithError(Throwable throwable) {
+            done = true;
+            cancelled = true;
+            cancelInFlight();
+            subscriber.onError(throwable);
+        }
+    }
+}
@@ -83,7 +83,7 @@ public class ResultSetWrapper implements ResultSet {
 
     @Override
     public ListenableFuture<ResultSet> fetchMoreResults() {
-        throw new UnsupportedOperationException("Not supported by Achilles ResultSetWrapper");
+        return delegate.fetchMoreResults();
     }
 
     @Override
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.types;
+
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static java.lang.String.format;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import info.archinnov.achilles.type.streaming.Publisher;
+import info.archinnov.achilles.type.streaming.Subscriber;
+import info.archinnov.achilles.type.streaming.Subscription;
+
+/**
+ * Publisher emitting the single result of an asynchronous action.
+ * <br/>
+ * The action is executed on the first request of the subscriber, not on subscription.
+ * Cancelling the subscription cancels the future of the action
+ */
+public class SingleFuturePublisher<T> implements Publisher<T> {
+
+    private final Supplier<CompletableFuture<T>> action;
+
+    public SingleFuturePublisher(Supplier<CompletableFuture<T>> action) {
+        this.action = action;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        validateNotNull(subscriber, "The subscriber should not be null");
+        subscriber.onSubscribe(new SingleSubscription<>(subscriber, action));
+    }
+
+    private static final class SingleSubscription<T> implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final Supplier<CompletableFuture<T>> action;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+
+        private volatile CompletableFuture<T> future;
+
+        private SingleSubscription(Subscriber<? super T> subscriber, Supplier<CompletableFuture<T>> action) {
+            this.subscriber = subscriber;
+            this.action = action;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (terminated.compareAndSet(false, true)) {
+                    subscriber.onError(new IllegalArgumentException(format("The requested number of items should be strictly positive, got %s", n)));
+                }
+                return;
+            }
+            if (terminated.get() || !started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                future = action.get();
+            } catch (Throwable throwable) {
+                if (terminated.compareAndSet(false, true)) {
+                    subscriber.onError(throwable);
+                }
+                return;
+            }
+            if (terminated.get()) {
+                // Cancelled while the action was being started
+                future.cancel(true);
+                return;
+            }
+            future.whenComplete((result, throwable) -> {
+                if (terminated.compareAndSet(false, true)) {
+                    if (throwable != null) {
+                        subscriber.onError(throwable);
+                    } else {
+                        if (result != null) {
+                            subscriber.onNext(result);
+                        }
+                        subscriber.onComplete();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            if (terminated.compareAndSet(false, true)) {
+                final CompletableFuture<T> current = future;
+                if (current != null) {
+                    current.cancel(true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.utils;
+
+import static info.archinnov.achilles.internals.futures.FutureUtils.toCompletableFuture;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import info.archinnov.achilles.internals.options.CassandraOptions;
+
+public class PagingHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PagingHelper.class);
+
+    /**
+     * Map the rows of the given result set into a list without blocking.
+     * <br/>
+     * When the paging is handled by the caller (fetch size or paging state provided),
+     * only the current page is mapped. Otherwise all the remaining pages are fetched,
+     * each page being fetched in the background while the previous one is being mapped
+     */
+    public static <T> CompletableFuture<List<T>> mapPages(ResultSet resultSet, CassandraOptions options, Statement statement,
+                                                          Function<Row, T> mapper, ExecutorService executor) {
+        final List<T> results = new ArrayList<>(resultSet.getAvailableWithoutFetching());
+        if (options.hasFetchSize() || options.hasPagingState() || statement.getFetchSize() > 0) {
+            mapAvailableRows(resultSet, resultSet.getAvailableWithoutFetching(), mapper, results);
+            return CompletableFuture.completedFuture(results);
+        }
+        return mapRemainingPages(resultSet, mapper, executor, results);
+    }
+
+    /**
+     * Pass all the remaining rows of the given result set to the consumer without blocking,
+     * whatever the fetch size. Each page is fetched in the background while the previous one
+     * is being consumed and at most two pages are held in memory
+     */
+    public static CompletableFuture<Void> consumeRemainingPages(ResultSet resultSet, Consumer<Row> consumer, ExecutorService executor) {
+        final int availableRows = resultSet.getAvailableWithoutFetching();
+        if (resultSet.isFullyFetched()) {
+            consumeAvailableRows(resultSet, availableRows, consumer);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Prefetching next page while consuming %s rows", availableRows));
+        }
+
+        final ListenableFuture<ResultSet> nextPage = resultSet.fetchMoreResults();
+        consumeAvailableRows(resultSet, availableRows, consumer);
+        return toCompletableFuture(nextPage, executor)
+                .thenCompose(rs -> consumeRemainingPages(resultSet, consumer, executor));
+    }
+
+    private static <T> CompletableFuture<List<T>> mapRemainingPages(ResultSet resultSet, Function<Row, T> mapper,
+                                                                    ExecutorService executor, List<T> results) {
+        final int availableRows = resultSet.getAvailableWithoutFetching();
+        if (resultSet.isFullyFetched()) {
+            mapAvailableRows(resultSet, availableRows, mapper, results);
+            return CompletableFuture.completedFuture(results);
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Prefetching next page while mapping %s rows", availableRows));
+        }
+
+        final ListenableFuture<ResultSet> nextPage = resultSet.fetchMoreResults();
+        mapAvailableRows(resultSet, availableRows, mapper, results);
+        return toCompletableFuture(nextPage, executor)
+                .thenCompose(rs -> mapRemainingPages(resultSet, mapper, executor, results));
+    }
+
+    private static <T> void mapAvailableRows(ResultSet resultSet, int count, Function<Row, T> mapper, List<T> results) {
+        for (int i = 0; i < count; i++) {
+            results.add(mapper.apply(resultSet.one()));
+        }
+    }
+
+    private static void consumeAvailableRows(ResultSet resultSet, int count, Consumer<Row> consumer) {
+        for (int i = 0; i < count; i++) {
+            consumer.accept(resultSet.one());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import info.archinnov.achilles.async.CompletionMode;
+
+/**
+ * Mutable completion metrics of a single {@link CompletionMode}
+ */
+class CompletionMetrics {
+
+    final CompletionMode completionMode;
+    final LatencyHistogram hopLatency = new LatencyHistogram();
+    final LatencyHistogram queueDepth = new LatencyHistogram();
+
+    CompletionMetrics(CompletionMode completionMode) {
+        this.completionMode = completionMode;
+    }
+
+    void record(long hopNanos, int depth) {
+        hopLatency.record(hopNanos);
+        queueDepth.record(depth);
+    }
+
+    void reset() {
+        hopLatency.reset();
+        queueDepth.reset();
+    }
+
+    CompletionSnapshot snapshot() {
+        final long[] percentiles = hopLatency.getValuesAtPercentiles(50.0, 99.0);
+        return new CompletionSnapshot(completionMode.name(), hopLatency.getTotalCount(), hopLatency.getMean(),
+                percentiles[0], percentiles[1], hopLatency.getMaxValue(), queueDepth.getMean(), queueDepth.getMaxValue());
+    }
+}
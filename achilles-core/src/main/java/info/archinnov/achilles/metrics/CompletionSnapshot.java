@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Immutable snapshot of the completions of the driver futures for a given {@link info.archinnov.achilles.async.CompletionMode}.
+ * <br/>
+ * The hop latency is the time spent between the completion of a driver future and the execution of
+ * the Achilles completion stage, in nanoseconds. The queue depth is the number of tasks waiting in
+ * the executor queue when the completion was submitted
+ */
+public class CompletionSnapshot {
+
+    private final String completionMode;
+    private final long completionCount;
+    private final double meanHopLatencyNanos;
+    private final long p50HopLatencyNanos;
+    private final long p99HopLatencyNanos;
+    private final long maxHopLatencyNanos;
+    private final double meanQueueDepth;
+    private final long maxQueueDepth;
+
+    @ConstructorProperties({"completionMode", "completionCount", "meanHopLatencyNanos", "p50HopLatencyNanos",
+            "p99HopLatencyNanos", "maxHopLatencyNanos", "meanQueueDepth", "maxQueueDepth"})
+    public CompletionSnapshot(String completionMode, long completionCount, double meanHopLatencyNanos, long p50HopLatencyNanos,
+                              long p99HopLatencyNanos, long maxHopLatencyNanos, double meanQueueDepth, long maxQueueDepth) {
+        this.completionMode = completionMode;
+        this.completionCount = completionCount;
+        this.meanHopLatencyNanos = meanHopLatencyNanos;
+        this.p50HopLatencyNanos = p50HopLatencyNanos;
+        this.p99HopLatencyNanos = p99HopLatencyNanos;
+        this.maxHopLatencyNanos = maxHopLatencyNanos;
+        this.meanQueueDepth = meanQueueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+    }
+
+    /**
+     * EXECUTOR or DIRECT
+     */
+    public String getCompletionMode() {
+        return completionMode;
+    }
+
+    public long getCompletionCount() {
+        return completionCount;
+    }
+
+    public double getMeanHopLatencyNanos() {
+        return meanHopLatencyNanos;
+    }
+
+    public long getP50HopLatencyNanos() {
+        return p50HopLatencyNanos;
+    }
+
+    public long getP99HopLatencyNanos() {
+        return p99HopLatencyNanos;
+    }
+
+    public long getMaxHopLatencyNanos() {
+        return maxHopLatencyNanos;
+    }
+
+    public double getMeanQueueDepth() {
+        return meanQueueDepth;
+    }
+
+    public long getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    @Override
+    public String toString() {
+        return "CompletionSnapshot{" +
+                "completionMode='" + completionMode + '\'' +
+                ", completionCount=" + completionCount +
+                ", meanHopLatencyNanos=" + meanHopLatencyNanos +
+                ", p50HopLatencyNanos=" + p50HopLatencyNanos +
+                ", p99HopLatencyNanos=" + p99HopLatencyNanos +
+                ", maxHopLatencyNanos=" + maxHopLatencyNanos +
+                ", meanQueueDepth=" + meanQueueDepth +
+                ", maxQueueDepth=" + maxQueueDepth +
+                '}';
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of latencies in nanoseconds, in the spirit of HdrHistogram.
+ * <br/>
+ * Values are recorded in buckets with a relative precision of 1/{@value #SUB_BUCKET_COUNT}
+ * (about 3%), up to about 73 minutes. Larger values are recorded in the last bucket.
+ * Recording is wait-free and never allocates
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int MAX_VALUE_BITS = 42;
+    static final long MAX_TRACKABLE_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    static final int BUCKETS_LENGTH = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS_LENGTH);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalValue = new LongAdder();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    public void record(long valueInNanos) {
+        final long value = Math.min(Math.max(valueInNanos, 0L), MAX_TRACKABLE_VALUE);
+        buckets.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalValue.add(value);
+        long currentMax;
+        while (value > (currentMax = maxValue.get())) {
+            if (maxValue.compareAndSet(currentMax, value)) {
+                break;
+            }
+        }
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Sum of all recorded values, in nanoseconds
+     */
+    public long getTotalValue() {
+        return totalValue.sum();
+    }
+
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        final long count = totalCount.sum();
+        return count == 0 ? 0.0 : (double) totalValue.sum() / count;
+    }
+
+    public long getValueAtPercentile(double percentile) {
+        return getValuesAtPercentiles(percentile)[0];
+    }
+
+    /**
+     * Compute the values at the given percentiles (between 0 and 100) from a single
+     * pass over the buckets. A value is the highest value equivalent to its bucket, capped by the max recorded value
+     */
+    public long[] getValuesAtPercentiles(double... percentiles) {
+        final long[] counts = new long[BUCKETS_LENGTH];
+        long count = 0;
+        for (int i = 0; i < BUCKETS_LENGTH; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+
+        final long max = maxValue.get();
+        final long[] values = new long[percentiles.length];
+        for (int p = 0; p < percentiles.length; p++) {
+            if (count == 0) {
+                continue;
+            }
+            final double percentile = Math.min(Math.max(percentiles[p], 0.0), 100.0);
+            final long targetCount = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+            long cumulatedCount = 0;
+            for (int i = 0; i < BUCKETS_LENGTH; i++) {
+                cumulatedCount += counts[i];
+                if (cumulatedCount >= targetCount) {
+                    values[p] = Math.min(highestEquivalentValue(i), max);
+                    break;
+                }
+            }
+        }
+        return values;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS_LENGTH; i++) {
+            buckets.set(i, 0L);
+        }
+        totalCount.reset();
+        totalValue.reset();
+        maxValue.set(0L);
+    }
+
+    /**
+     * Values below 2 * {@value #SUB_BUCKET_COUNT} get their own bucket. Above, each power of 2
+     * is split into {@value #SUB_BUCKET_COUNT} linear buckets
+     */
+    static int indexOf(long value) {
+        final int shift = Math.max(0, (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        final long subBucket = index - ((long) shift << SUB_BUCKET_BITS);
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
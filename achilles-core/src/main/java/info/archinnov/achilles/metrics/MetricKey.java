@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import java.util.Objects;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+
+/**
+ * Key of the metrics: entity class, operation type and statement shape.
+ * <br/>
+ * The statement shape is the query string of the prepared statement, without the bound values
+ */
+public final class MetricKey {
+
+    private final Class<?> entityClass;
+    private final OperationType operationType;
+    private final String statement;
+    private final int hashCode;
+
+    public MetricKey(Class<?> entityClass, OperationType operationType, String statement) {
+        this.entityClass = entityClass;
+        this.operationType = operationType;
+        this.statement = statement;
+        this.hashCode = Objects.hash(entityClass, operationType, statement);
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public OperationType getOperationType() {
+        return operationType;
+    }
+
+    public String getStatement() {
+        return statement;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MetricKey metricKey = (MetricKey) o;
+        return hashCode == metricKey.hashCode &&
+                Objects.equals(entityClass, metricKey.entityClass) &&
+                operationType == metricKey.operationType &&
+                Objects.equals(statement, metricKey.statement);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricKey{" +
+                "entityClass=" + entityClass +
+                ", operationType=" + operationType +
+                ", statement='" + statement + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import info.archinnov.achilles.async.CompletionMode;
+
+/**
+ * SPI to record the metrics of the statements executed by Achilles.
+ * <br/>
+ * All the callbacks are keyed by a {@link MetricKey} (entity class, operation type and statement shape)
+ * and can be invoked concurrently from any thread, including the driver I/O threads,
+ * so implementations should be thread-safe and must not block
+ */
+public interface MetricsRecorder {
+
+    /**
+     * When this method returns false, Achilles does not time the statements
+     * nor build any {@link MetricKey} and none of the other callbacks is invoked
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Called right before a statement is sent to Cassandra
+     */
+    void onRequestStarted(MetricKey key);
+
+    /**
+     * Called when the result set of a statement is received
+     *
+     * @param networkNanos time elapsed between the sending of the statement and the reception of its result set, in nanoseconds
+     */
+    void onRequestSucceeded(MetricKey key, long networkNanos);
+
+    /**
+     * Called when the execution of a statement failed
+     *
+     * @param networkNanos time elapsed between the sending of the statement and the failure, in nanoseconds
+     */
+    void onRequestFailed(MetricKey key, long networkNanos, Throwable throwable);
+
+    /**
+     * Called when a lightweight transaction has not been applied
+     */
+    void onLWTFailed(MetricKey key);
+
+    /**
+     * Called each time a row has been mapped into an entity
+     *
+     * @param mappingNanos time spent decoding the row into an entity, in nanoseconds
+     */
+    void onRowMapped(MetricKey key, long mappingNanos);
+
+    /**
+     * Called each time a driver future is completed, right before the Achilles completion stage runs
+     *
+     * @param completionMode completion mode of the runtime
+     * @param hopNanos time elapsed between the completion of the driver future and the execution of the completion stage, in nanoseconds
+     * @param queueDepth number of tasks waiting in the executor queue when the completion was submitted
+     */
+    default void onCompletionHop(CompletionMode completionMode, long hopNanos, int queueDepth) {
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.archinnov.achilles.async.CompletionMode;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.statements.OperationType;
+
+/**
+ * Default {@link MetricsRecorder} keeping the metrics in memory, per {@link MetricKey}.
+ * <br/>
+ * Once <em>maxMetricKeys</em> keys are tracked, the metrics of new statements are recorded in a shared entry
+ * per entity class and operation type, whose statement is {@link #OVERFLOW_STATEMENT}. It bounds the memory
+ * when native or typed queries inline their values in the query string
+ * <br/>
+ * The metrics can be polled with {@link #getSnapshots()} or exported to JMX
+ */
+public class MetricsRegistry implements MetricsRecorder, MetricsRegistryMXBean {
+
+    public static final String JMX_DOMAIN = "info.archinnov.achilles";
+    public static final int DEFAULT_MAX_METRIC_KEYS = 1000;
+    public static final String OVERFLOW_STATEMENT = "<other statements>";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private final ConcurrentMap<MetricKey, OperationMetrics> metrics = new ConcurrentHashMap<>();
+    private final EnumMap<CompletionMode, CompletionMetrics> completionMetrics = new EnumMap<>(CompletionMode.class);
+    private final int maxMetricKeys;
+    private volatile Optional<ObjectName> objectName = Optional.empty();
+
+    public MetricsRegistry() {
+        this(DEFAULT_MAX_METRIC_KEYS);
+    }
+
+    /**
+     * @param maxMetricKeys max number of metric keys tracked individually, the metrics of the other
+     *                      statements are recorded in the overflow entries
+     */
+    public MetricsRegistry(int maxMetricKeys) {
+        validateTrue(maxMetricKeys > 0, "The max number of metric keys should be strictly positive");
+        this.maxMetricKeys = maxMetricKeys;
+        for (CompletionMode completionMode : CompletionMode.values()) {
+            completionMetrics.put(completionMode, new CompletionMetrics(completionMode));
+        }
+    }
+
+    @Override
+    public void onRequestStarted(MetricKey key) {
+        metricsFor(key).inFlight.increment();
+    }
+
+    @Override
+    public void onRequestSucceeded(MetricKey key, long networkNanos) {
+        final OperationMetrics operationMetrics = metricsFor(key);
+        operationMetrics.inFlight.decrement();
+        operationMetrics.networkLatency.record(networkNanos);
+    }
+
+    @Override
+    public void onRequestFailed(MetricKey key, long networkNanos, Throwable throwable) {
+        final OperationMetrics operationMetrics = metricsFor(key);
+        operationMetrics.inFlight.decrement();
+        operationMetrics.errors.increment();
+        operationMetrics.networkLatency.record(networkNanos);
+    }
+
+    @Override
+    public void onLWTFailed(MetricKey key) {
+        metricsFor(key).lwtFailures.increment();
+    }
+
+    @Override
+    public void onRowMapped(MetricKey key, long mappingNanos) {
+        final OperationMetrics operationMetrics = metricsFor(key);
+        operationMetrics.rowsMapped.increment();
+        operationMetrics.mappingNanos.add(mappingNanos);
+    }
+
+    @Override
+    public void onCompletionHop(CompletionMode completionMode, long hopNanos, int queueDepth) {
+        completionMetrics.get(completionMode).record(hopNanos, queueDepth);
+    }
+
+    /**
+     * Snapshots of the metrics of all the statements executed so far
+     */
+    @Override
+    public List<MetricsSnapshot> getSnapshots() {
+        return metrics.values()
+                .stream()
+                .map(OperationMetrics::snapshot)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Snapshots of the metrics of the statements executed so far for the given entity class
+     */
+    public List<MetricsSnapshot> getSnapshots(Class<?> entityClass) {
+        return metrics.values()
+                .stream()
+                .filter(x -> x.key.getEntityClass().equals(entityClass))
+                .map(OperationMetrics::snapshot)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Snapshots of the metrics of the statements executed so far for the given entity class and operation type
+     */
+    public List<MetricsSnapshot> getSnapshots(Class<?> entityClass, OperationType operationType) {
+        return metrics.values()
+                .stream()
+                .filter(x -> x.key.getEntityClass().equals(entityClass) && x.key.getOperationType() == operationType)
+                .map(OperationMetrics::snapshot)
+                .collect(Collectors.toList());
+    }
+
+    public Optional<MetricsSnapshot> getSnapshot(MetricKey key) {
+        return Optional.ofNullable(metrics.get(key)).map(OperationMetrics::snapshot);
+    }
+
+    /**
+     * Snapshots of the hop latency and executor queue depth of the completions, for each completion mode
+     * that completed at least one driver future
+     */
+    @Override
+    public List<CompletionSnapshot> getCompletionSnapshots() {
+        return completionMetrics.values()
+                .stream()
+                .filter(x -> x.hopLatency.getTotalCount() > 0)
+                .map(CompletionMetrics::snapshot)
+                .collect(Collectors.toList());
+    }
+
+    public CompletionSnapshot getCompletionSnapshot(CompletionMode completionMode) {
+        return completionMetrics.get(completionMode).snapshot();
+    }
+
+    /**
+     * Discard all the metrics recorded so far
+     */
+    @Override
+    public void reset() {
+        metrics.clear();
+        completionMetrics.values().forEach(CompletionMetrics::reset);
+    }
+
+    /**
+     * Register this registry as an MXBean in the platform MBean server, with the name
+     * <strong>info.archinnov.achilles:type=Metrics,name=&lt;name&gt;</strong>
+     *
+     * @return the object name of the registered MXBean
+     */
+    public ObjectName exportToJMX(String name) {
+        try {
+            final ObjectName objectName = new ObjectName(format("%s:type=Metrics,name=%s", JMX_DOMAIN, ObjectName.quote(name)));
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Registering metrics MXBean %s", objectName));
+            }
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.objectName = Optional.of(objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new AchillesException(format("Cannot register the metrics MXBean with name '%s'", name), e);
+        }
+    }
+
+    /**
+     * Object name of the MXBean, if this registry has been exported to JMX
+     */
+    public Optional<ObjectName> getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * Unregister this registry from the platform MBean server, if it has been exported
+     */
+    public void unexportFromJMX() {
+        final Optional<ObjectName> registeredName = this.objectName;
+        this.objectName = Optional.empty();
+        registeredName.ifPresent(name -> {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            try {
+                if (mBeanServer.isRegistered(name)) {
+                    mBeanServer.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                LOGGER.warn(format("Cannot unregister the metrics MXBean %s : %s", name, e.getMessage()));
+            }
+        });
+    }
+
+    private OperationMetrics metricsFor(MetricKey key) {
+        final OperationMetrics operationMetrics = metrics.get(key);
+        if (operationMetrics != null) {
+            return operationMetrics;
+        }
+        if (metrics.size() >= maxMetricKeys) {
+            final MetricKey overflowKey = new MetricKey(key.getEntityClass(), key.getOperationType(), OVERFLOW_STATEMENT);
+            return metrics.computeIfAbsent(overflowKey, OperationMetrics::new);
+        }
+        return metrics.computeIfAbsent(key, OperationMetrics::new);
+    }
+}
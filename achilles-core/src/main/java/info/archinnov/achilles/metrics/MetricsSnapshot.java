@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Immutable snapshot of the metrics of a given entity class, operation type and statement.
+ * <br/>
+ * All durations are in nanoseconds. The network time spans from the sending of the statement
+ * to the reception of its result set, the mapping time is the time spent decoding rows into entities
+ */
+public class MetricsSnapshot {
+
+    private final String entityClass;
+    private final String operationType;
+    private final String statement;
+    private final long requestCount;
+    private final long errorCount;
+    private final long lwtFailureCount;
+    private final long inFlightCount;
+    private final long rowsMapped;
+    private final long totalNetworkNanos;
+    private final long totalMappingNanos;
+    private final double meanLatencyNanos;
+    private final long p50LatencyNanos;
+    private final long p95LatencyNanos;
+    private final long p99LatencyNanos;
+    private final long p999LatencyNanos;
+    private final long maxLatencyNanos;
+
+    @ConstructorProperties({"entityClass", "operationType", "statement", "requestCount", "errorCount",
+            "lwtFailureCount", "inFlightCount", "rowsMapped", "totalNetworkNanos", "totalMappingNanos",
+            "meanLatencyNanos", "p50LatencyNanos", "p95LatencyNanos", "p99LatencyNanos", "p999LatencyNanos",
+            "maxLatencyNanos"})
+    public MetricsSnapshot(String entityClass, String operationType, String statement, long requestCount, long errorCount,
+                           long lwtFailureCount, long inFlightCount, long rowsMapped, long totalNetworkNanos, long totalMappingNanos,
+                           double meanLatencyNanos, long p50LatencyNanos, long p95LatencyNanos, long p99LatencyNanos,
+                           long p999LatencyNanos, long maxLatencyNanos) {
+        this.entityClass = entityClass;
+        this.operationType = operationType;
+        this.statement = statement;
+        this.requestCount = requestCount;
+        this.errorCount = errorCount;
+        this.lwtFailureCount = lwtFailureCount;
+        this.inFlightCount = inFlightCount;
+        this.rowsMapped = rowsMapped;
+        this.totalNetworkNanos = totalNetworkNanos;
+        this.totalMappingNanos = totalMappingNanos;
+        this.meanLatencyNanos = meanLatencyNanos;
+        this.p50LatencyNanos = p50LatencyNanos;
+        this.p95LatencyNanos = p95LatencyNanos;
+        this.p99LatencyNanos = p99LatencyNanos;
+        this.p999LatencyNanos = p999LatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    /**
+     * Canonical name of the entity class
+     */
+    public String getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * INSERT, UPDATE, DELETE, SELECT or OTHER
+     */
+    public String getOperationType() {
+        return operationType;
+    }
+
+    public String getStatement() {
+        return statement;
+    }
+
+    /**
+     * Number of completed requests, successful or not
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getLwtFailureCount() {
+        return lwtFailureCount;
+    }
+
+    public long getInFlightCount() {
+        return inFlightCount;
+    }
+
+    public long getRowsMapped() {
+        return rowsMapped;
+    }
+
+    public long getTotalNetworkNanos() {
+        return totalNetworkNanos;
+    }
+
+    public long getTotalMappingNanos() {
+        return totalMappingNanos;
+    }
+
+    public double getMeanLatencyNanos() {
+        return meanLatencyNanos;
+    }
+
+    public long getP50LatencyNanos() {
+        return p50LatencyNanos;
+    }
+
+    public long getP95LatencyNanos() {
+        return p95LatencyNanos;
+    }
+
+    public long getP99LatencyNanos() {
+        return p99LatencyNanos;
+    }
+
+    public long getP999LatencyNanos() {
+        return p999LatencyNanos;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsSnapshot{" +
+                "entityClass='" + entityClass + '\'' +
+                ", operationType='" + operationType + '\'' +
+                ", statement='" + statement + '\'' +
+                ", requestCount=" + requestCount +
+                ", errorCount=" + errorCount +
+                ", lwtFailureCount=" + lwtFailureCount +
+                ", inFlightCount=" + inFlightCount +
+                ", rowsMapped=" + rowsMapped +
+                ", totalNetworkNanos=" + totalNetworkNanos +
+                ", totalMappingNanos=" + totalMappingNanos +
+                ", meanLatencyNanos=" + meanLatencyNanos +
+                ", p50LatencyNanos=" + p50LatencyNanos +
+                ", p95LatencyNanos=" + p95LatencyNanos +
+                ", p99LatencyNanos=" + p99LatencyNanos +
+                ", p999LatencyNanos=" + p999LatencyNanos +
+                ", maxLatencyNanos=" + maxLatencyNanos +
+                '}';
+    }
+}
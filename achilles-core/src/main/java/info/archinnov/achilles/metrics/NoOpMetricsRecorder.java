@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import info.archinnov.achilles.async.CompletionMode;
+
+/**
+ * Default {@link MetricsRecorder}, recording nothing
+ */
+public final class NoOpMetricsRecorder implements MetricsRecorder {
+
+    public static final NoOpMetricsRecorder INSTANCE = new NoOpMetricsRecorder();
+
+    private NoOpMetricsRecorder() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void onRequestStarted(MetricKey key) {
+    }
+
+    @Override
+    public void onRequestSucceeded(MetricKey key, long networkNanos) {
+    }
+
+    @Override
+    public void onRequestFailed(MetricKey key, long networkNanos, Throwable throwable) {
+    }
+
+    @Override
+    public void onLWTFailed(MetricKey key) {
+    }
+
+    @Override
+    public void onRowMapped(MetricKey key, long mappingNanos) {
+    }
+
+    @Override
+    public void onCompletionHop(CompletionMode completionMode, long hopNanos, int queueDepth) {
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mutable metrics of a single {@link MetricKey}
+ */
+class OperationMetrics {
+
+    final MetricKey key;
+    final LatencyHistogram networkLatency = new LatencyHistogram();
+    final LongAdder inFlight = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final LongAdder lwtFailures = new LongAdder();
+    final LongAdder rowsMapped = new LongAdder();
+    final LongAdder mappingNanos = new LongAdder();
+
+    OperationMetrics(MetricKey key) {
+        this.key = key;
+    }
+
+    MetricsSnapshot snapshot() {
+        final long[] percentiles = networkLatency.getValuesAtPercentiles(50.0, 95.0, 99.0, 99.9);
+        return new MetricsSnapshot(key.getEntityClass().getCanonicalName(), key.getOperationType().name(), key.getStatement(),
+                networkLatency.getTotalCount(), errors.sum(), lwtFailures.sum(), Math.max(0L, inFlight.sum()),
+                rowsMapped.sum(), networkLatency.getTotalValue(), mappingNanos.sum(),
+                networkLatency.getMean(), percentiles[0], percentiles[1], percentiles[2], percentiles[3],
+                networkLatency.getMaxValue());
+    }
+}
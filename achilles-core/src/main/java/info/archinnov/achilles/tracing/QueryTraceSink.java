@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.tracing;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.QueryTrace;
+
+/**
+ * SPI receiving the query traces of the traced statements, instead of the entity or DML loggers.
+ * <br/>
+ * Traces are fetched asynchronously from <em>system_traces</em> once the result of the statement
+ * has been received, so the callbacks are invoked after the result has been handed to the caller.
+ * They are invoked on the Achilles executor and can be invoked concurrently
+ */
+@FunctionalInterface
+public interface QueryTraceSink {
+
+    /**
+     * Called once the trace of a traced statement has been fully retrieved.
+     * Calling {@link QueryTrace#getEvents()} does not block
+     *
+     * @param queryId id of the statement, as displayed in the DML logs
+     * @param queryString query string of the statement
+     * @param executionInfo execution info of the traced statement, one per page for a paged SELECT
+     * @param queryTrace retrieved trace
+     */
+    void onQueryTrace(String queryId, String queryString, ExecutionInfo executionInfo, QueryTrace queryTrace);
+
+    /**
+     * Called when the trace of a traced statement cannot be retrieved,
+     * for example because it is not yet available in <em>system_traces</em>
+     */
+    default void onQueryTraceFailed(String queryId, String queryString, Throwable throwable) {
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.cache;
+
+import static info.archinnov.achilles.internals.cache.CacheKey.Operation.DELETE;
+import static info.archinnov.achilles.internals.cache.CacheKey.Operation.FIND;
+import static info.archinnov.achilles.internals.cache.CacheKey.Operation.INSERT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatementsCacheTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private PreparedStatement ps1;
+
+    @Mock
+    private PreparedStatement ps2;
+
+    private StatementsCache cache = new StatementsCache(100);
+
+    @Test
+    public void should_put_and_get_static_statements_by_entity_and_operation() throws Exception {
+        //When
+        cache.putStaticCache(new CacheKey(String.class, FIND), ps1);
+        cache.putStaticCache(new CacheKey(Long.class, FIND), ps2);
+
+        //Then
+        assertThat(cache.getStaticCache(new CacheKey(String.class, FIND))).isSameAs(ps1);
+        assertThat(cache.getStaticCache(new CacheKey(Long.class, FIND))).isSameAs(ps2);
+        assertThat(cache.hasStaticCache(new CacheKey(String.class, DELETE))).isFalse();
+        assertThat(cache.getStaticCacheSize()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_keep_first_static_statement() throws Exception {
+        //When
+        cache.putStaticCache(new CacheKey(String.class, INSERT), ps1);
+        cache.putStaticCache(new CacheKey(String.class, INSERT), ps2);
+
+        //Then
+        assertThat(cache.getStaticCache(new CacheKey(String.class, INSERT))).isSameAs(ps1);
+    }
+
+    @Test
+    public void should_fail_getting_missing_static_statement() throws Exception {
+        //Given
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Cannot find static cached prepared statement for cache key");
+
+        //When
+        cache.getStaticCache(new CacheKey(Integer.class, DELETE));
+    }
+
+    @Test
+    public void should_record_dynamic_cache_statistics() throws Exception {
+        //Given
+        when(session.prepare("SELECT * FROM table")).thenReturn(ps1);
+
+        //When
+        cache.getDynamicCache("SELECT * FROM table", session);
+        cache.getDynamicCache("SELECT * FROM table", session);
+        cache.getDynamicCache("SELECT * FROM table", session);
+
+        //Then
+        final CacheStatistics statistics = cache.getDynamicCacheStatistics();
+        assertThat(statistics.getMissCount()).isEqualTo(1L);
+        assertThat(statistics.getHitCount()).isEqualTo(2L);
+        assertThat(statistics.getLoadSuccessCount()).isEqualTo(1L);
+        assertThat(statistics.getSize()).isEqualTo(1L);
+        assertThat(statistics.getMaximumSize()).isEqualTo(100L);
+        verify(session, times(1)).prepare("SELECT * FROM table");
+    }
+
+    @Test
+    public void should_record_shape_cache_statistics_once_per_lookup() throws Exception {
+        //Given
+        when(session.prepare("SELECT * FROM ks.table")).thenReturn(ps1);
+        final StatementShape shape = new StatementShape();
+        shape.add(1L);
+        shape.from("ks", "table");
+
+        //When
+        final PreparedStatement actual1 = cache.getShapeCache(String.class, shape, () -> "SELECT * FROM ks.table", session);
+        final PreparedStatement actual2 = cache.getShapeCache(String.class, shape, () -> "SELECT * FROM ks.table", session);
+        final PreparedStatement actual3 = cache.getShapeCache(String.class, shape, () -> "SELECT * FROM ks.table", session);
+
+        //Then
+        assertThat(actual1).isSameAs(ps1);
+        assertThat(actual2).isSameAs(ps1);
+        assertThat(actual3).isSameAs(ps1);
+        final CacheStatistics statistics = cache.getShapeCacheStatistics();
+        assertThat(statistics.getMissCount()).isEqualTo(1L);
+        assertThat(statistics.getHitCount()).isEqualTo(2L);
+        assertThat(statistics.getLoadSuccessCount()).isEqualTo(1L);
+        assertThat(statistics.getSize()).isEqualTo(1L);
+        verify(session, times(1)).prepare("SELECT * FROM ks.table");
+    }
+
+    @Test
+    public void should_prepare_tenant_statement_once_per_keyspace_table_and_operation() throws Exception {
+        //Given
+        when(session.prepare("SELECT * FROM tenant1.table")).thenReturn(ps1);
+        when(session.prepare("SELECT * FROM tenant2.table")).thenReturn(ps2);
+        final CacheKey cacheKey = new CacheKey(String.class, FIND);
+
+        //When
+        final PreparedStatement actual1 = cache.getTenantCache("tenant1", "table", cacheKey, () -> "SELECT * FROM tenant1.table", session);
+        final PreparedStatement actual2 = cache.getTenantCache("tenant1", "table", cacheKey, () -> "SELECT * FROM tenant1.table", session);
+        final PreparedStatement actual3 = cache.getTenantCache("tenant2", "table", cacheKey, () -> "SELECT * FROM tenant2.table", session);
+
+        //Then
+        assertThat(actual1).isSameAs(ps1);
+        assertThat(actual2).isSameAs(ps1);
+        assertThat(actual3).isSameAs(ps2);
+        assertThat(cache.getTenantCount()).isEqualTo(2);
+        final CacheStatistics statistics = cache.getTenantCacheStatistics();
+        assertThat(statistics.getMissCount()).isEqualTo(2L);
+        assertThat(statistics.getHitCount()).isEqualTo(1L);
+        assertThat(statistics.getMaximumSize()).isEqualTo(2L * StatementsCache.DEFAULT_MAX_STATEMENTS_PER_TENANT);
+        assertThat(cache.getDynamicCacheStatistics().getSize()).isEqualTo(0L);
+        verify(session, times(1)).prepare("SELECT * FROM tenant1.table");
+    }
+
+    @Test
+    public void should_use_pre_warmed_tenant_statement() throws Exception {
+        //Given
+        final CacheKey cacheKey = new CacheKey(String.class, DELETE);
+        cache.putTenantCache("tenant", "table", cacheKey, ps1);
+
+        //When
+        final PreparedStatement actual = cache.getTenantCache("tenant", "table", cacheKey, () -> "DELETE FROM tenant.table", session);
+
+        //Then
+        assertThat(actual).isSameAs(ps1);
+        verifyZeroInteractions(session);
+    }
+
+    @Test
+    public void should_evict_tenant_statements() throws Exception {
+        //Given
+        when(session.prepare("SELECT * FROM tenant.table")).thenReturn(ps1, ps2);
+        final CacheKey cacheKey = new CacheKey(String.class, FIND);
+        cache.getTenantCache("tenant", "table", cacheKey, () -> "SELECT * FROM tenant.table", session);
+
+        //When
+        cache.evictTenant("tenant");
+        final PreparedStatement actual = cache.getTenantCache("tenant", "table", cacheKey, () -> "SELECT * FROM tenant.table", session);
+
+        //Then
+        assertThat(actual).isSameAs(ps2);
+        verify(session, times(2)).prepare("SELECT * FROM tenant.table");
+    }
+}
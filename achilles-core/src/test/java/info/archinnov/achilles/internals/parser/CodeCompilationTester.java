@@ -189,6 +189,11 @@ public class CodeCompilationTester extends AbstractEntityProperty<TestEntityWith
         return new TestEntityWithCustomConstructor(id_value,date_value,value_value);
     }
 
+    @Override
+    protected TestEntityWithCustomConstructor newInstanceFromDefaultConstructor() {
+        throw new UnsupportedOperationException("Cannot instantiate entity 'TestEntityWithCustomConstructor' using default constructor because a custom constructor is used");
+    }
+
     /**
      * Utility class to expose all fields with their CQL type for function call */
     public static final class ColumnsForFunctions {
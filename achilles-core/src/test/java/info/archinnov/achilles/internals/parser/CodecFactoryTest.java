@@ -211,6 +211,25 @@ public class CodecFactoryTest extends AbstractTestProcessor {
         launchTest();
     }
 
+    @Test
+    public void should_create_codec_for_json_blob() throws Exception {
+        setExec(aptUtils -> {
+            final CodecFactory codecFactory = new CodecFactory(aptUtils);
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(TestEntityForCodecs.class.getCanonicalName());
+            final FieldParsingContext context = getFieldParsingContext(aptUtils, typeElement);
+
+            // private @JSON(storage = JSON.Storage.BLOB) Date blobTime
+            final VariableElement elm = findFieldInType(typeElement, "blobTime");
+            final AnnotationTree tree = AnnotationTree.buildFrom(aptUtils, context.entityContext.globalContext, elm);
+            final CodecInfo codecInfo = codecFactory.createCodec(ClassName.get(Date.class), tree, context, Optional.empty());
+
+            assertThat(codecInfo.sourceType.toString()).isEqualTo(Date.class.getCanonicalName());
+            assertThat(codecInfo.targetType.toString()).isEqualTo(ByteBuffer.class.getCanonicalName());
+            assertThat(codecInfo.codecCode.toString()).isEqualTo("new info.archinnov.achilles.internals.codec.JSONBlobCodec<>(java.util.Date.class, com.fasterxml.jackson.databind.type.SimpleType.construct(java.util.Date.class))");
+        });
+        launchTest();
+    }
+
     @Test
     public void should_create_codec_for_enumerated() throws Exception {
         setExec(aptUtils -> {
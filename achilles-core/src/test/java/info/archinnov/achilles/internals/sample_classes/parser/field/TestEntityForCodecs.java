@@ -45,6 +45,8 @@ public class TestEntityForCodecs {
 
     private @JSON Date time;
 
+    private @JSON(storage = JSON.Storage.BLOB) Date blobTime;
+
     private String value;
 
     private boolean primitiveBoolean;
@@ -270,6 +272,14 @@ public class TestEntityForCodecs {
         this.time = time;
     }
 
+    public Date getBlobTime() {
+        return blobTime;
+    }
+
+    public void setBlobTime(Date blobTime) {
+        this.blobTime = blobTime;
+    }
+
     public String getValue() {
         return value;
     }
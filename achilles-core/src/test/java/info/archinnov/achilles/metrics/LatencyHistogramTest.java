@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void should_record_small_values_exactly() throws Exception {
+        //When
+        for (long value = 0; value < 64; value++) {
+            histogram.record(value);
+        }
+
+        //Then
+        assertThat(histogram.getTotalCount()).isEqualTo(64L);
+        assertThat(histogram.getMaxValue()).isEqualTo(63L);
+        assertThat(histogram.getValueAtPercentile(50.0)).isEqualTo(31L);
+        assertThat(histogram.getValueAtPercentile(100.0)).isEqualTo(63L);
+    }
+
+    @Test
+    public void should_compute_percentiles_within_precision() throws Exception {
+        //Given
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1_000L);
+        }
+
+        //When
+        final long[] percentiles = histogram.getValuesAtPercentiles(50.0, 99.0, 99.9);
+
+        //Then
+        assertThat(percentiles[0]).isBetween(5_000_000L, 5_000_000L + 5_000_000L / 16);
+        assertThat(percentiles[1]).isBetween(9_900_000L, 9_900_000L + 9_900_000L / 16);
+        assertThat(percentiles[2]).isBetween(9_990_000L, 10_000_000L);
+        assertThat(histogram.getMean()).isEqualTo(5_000_500.0);
+        assertThat(histogram.getTotalValue()).isEqualTo(50_005_000_000L);
+    }
+
+    @Test
+    public void should_map_every_value_to_a_bucket_containing_it() throws Exception {
+        for (long value = 0; value < 1_000_000L; value += 7) {
+            final int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.highestEquivalentValue(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    public void should_clamp_negative_and_huge_values() throws Exception {
+        //When
+        histogram.record(-10L);
+        histogram.record(Long.MAX_VALUE);
+
+        //Then
+        assertThat(histogram.getTotalCount()).isEqualTo(2L);
+        assertThat(histogram.getValueAtPercentile(0.0)).isEqualTo(0L);
+        assertThat(histogram.getMaxValue()).isEqualTo(LatencyHistogram.MAX_TRACKABLE_VALUE);
+        assertThat(histogram.getValueAtPercentile(100.0)).isEqualTo(LatencyHistogram.MAX_TRACKABLE_VALUE);
+    }
+
+    @Test
+    public void should_return_zero_when_empty() throws Exception {
+        assertThat(histogram.getValuesAtPercentiles(50.0, 99.0)).containsExactly(0L, 0L);
+        assertThat(histogram.getMean()).isEqualTo(0.0);
+    }
+
+    @Test
+    public void should_reset() throws Exception {
+        //Given
+        histogram.record(1_000L);
+
+        //When
+        histogram.reset();
+
+        //Then
+        assertThat(histogram.getTotalCount()).isEqualTo(0L);
+        assertThat(histogram.getMaxValue()).isEqualTo(0L);
+        assertThat(histogram.getValueAtPercentile(99.0)).isEqualTo(0L);
+    }
+}
@@ -34,6 +34,16 @@ import java.lang.annotation.*;
  * {@literal @}Column
  * private List&lt;<strong>{@literal @}JSON</strong> MyObject&gt; myPojos;
  * </code></pre>
+
+ * Large documents can be stored as a <strong>blob</strong> instead of a <strong>text</strong> column. They are then
+ * serialized to and from the raw bytes of the column without building an intermediate JSON String:
+
+ * <pre class="code"><code class="java">
+
+ * {@literal @}Column
+ * <strong>{@literal @}JSON(storage = Storage.BLOB)</strong>
+ * private MyDocument document;
+ * </code></pre>
  *
  * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Entity-Mapping#field-mapping" target="_blank">Field Mapping</a>
  */
@@ -41,4 +51,18 @@ import java.lang.annotation.*;
 @Target({ElementType.FIELD, ElementType.TYPE_USE})
 @Documented
 public @interface JSON {
+
+    /**
+     * (<strong>Optional</strong>) The CQL storage of the JSON document. Default value is <strong>Storage.TEXT</strong>
+     * e.g. the document is saved as a JSON String in a <strong>text</strong> column.
+     * <br/>
+     * <br/>
+     * Alternatively it is possible to store the document using <strong>Storage.BLOB</strong>. In this case the UTF-8 encoded JSON
+     * document is saved in a <strong>blob</strong> column
+     */
+    Storage storage() default Storage.TEXT;
+
+    enum Storage {
+        TEXT, BLOB
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Enable a read-through near cache for the <strong>findById()</strong> operations of an Entity.
+ * <br/>
+ * Found and not found entities are cached in memory by primary key and are invalidated by the
+ * insert, update and delete operations executed by Achilles on this entity. Writes done by other clients
+ * are only visible once the cached entry expires
+ * <pre class="code"><code class="java">
+
+ * {@literal @}Table
+ * <strong>{@literal @}NearCache(maximumSize = 10000, expireAfterWriteInSeconds = 60)</strong>
+ * public class Entity {...}
+ * </code></pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface NearCache {
+
+    /**
+     * Maximum number of entries kept in the near cache. Default value is <strong>10000</strong>
+     */
+    long maximumSize() default 10_000L;
+
+    /**
+     * Duration, expressed in <strong>second(s)</strong>, after which an entry expires from the near cache.
+     * Default value is <strong>60</strong>
+     */
+    long expireAfterWriteInSeconds() default 60L;
+}
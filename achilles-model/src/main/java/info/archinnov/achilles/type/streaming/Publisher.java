@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.streaming;
+
+/**
+ * Producer of a potentially unbounded number of items, published according to the demand
+ * received from its {@link Subscriber}. Same contract as the Reactive Streams / Java 9 <em>Flow.Publisher</em>
+ * <br/>
+ * Each subscription re-executes the underlying query
+ */
+@FunctionalInterface
+public interface Publisher<T> {
+
+    /**
+     * Request the Publisher to start streaming items to the given subscriber
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+}
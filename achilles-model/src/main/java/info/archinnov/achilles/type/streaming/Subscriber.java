@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.streaming;
+
+/**
+ * Receiver of the items published by a {@link Publisher}.
+ * No item is published before the subscriber signals demand through {@link Subscription#request(long)}
+ */
+public interface Subscriber<T> {
+
+    /**
+     * Invoked once, before any other method, with the subscription used to signal demand
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Next item, invoked at most as many times as requested through the subscription
+     */
+    void onNext(T item);
+
+    /**
+     * Terminal failure. No other method is invoked afterward
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Terminal completion, all items have been published. No other method is invoked afterward
+     */
+    void onComplete();
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.streaming;
+
+/**
+ * Link between a {@link Publisher} and a {@link Subscriber}
+ */
+public interface Subscription {
+
+    /**
+     * Add <strong>n</strong> items to the current demand. <strong>n</strong> should be strictly positive,
+     * use <strong>Long.MAX_VALUE</strong> for an unbounded demand
+     */
+    void request(long n);
+
+    /**
+     * Stop publishing items. Items already in flight may still be delivered
+     */
+    void cancel();
+}
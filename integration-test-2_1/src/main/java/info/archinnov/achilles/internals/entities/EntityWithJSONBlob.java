@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.entities;
+
+import java.util.List;
+import java.util.Map;
+
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.JSON;
+import info.archinnov.achilles.annotations.PartitionKey;
+import info.archinnov.achilles.annotations.Table;
+
+@Table(table = "entity_with_json_blob")
+public class EntityWithJSONBlob {
+
+    @PartitionKey
+    private Long id;
+
+    @JSON(storage = JSON.Storage.BLOB)
+    @Column
+    private Map<String, List<Integer>> payload;
+
+    @JSON
+    @Column
+    private Map<String, List<Integer>> textPayload;
+
+    public EntityWithJSONBlob() {
+    }
+
+    public EntityWithJSONBlob(Long id, Map<String, List<Integer>> payload, Map<String, List<Integer>> textPayload) {
+        this.id = id;
+        this.payload = payload;
+        this.textPayload = textPayload;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Map<String, List<Integer>> getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Map<String, List<Integer>> payload) {
+        this.payload = payload;
+    }
+
+    public Map<String, List<Integer>> getTextPayload() {
+        return textPayload;
+    }
+
+    public void setTextPayload(Map<String, List<Integer>> textPayload) {
+        this.textPayload = textPayload;
+    }
+}
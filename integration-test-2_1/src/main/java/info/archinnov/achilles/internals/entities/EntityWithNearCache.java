@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.entities;
+
+import info.archinnov.achilles.annotations.*;
+
+@Table(table = "entity_with_near_cache")
+@NearCache(maximumSize = 100, expireAfterWriteInSeconds = 600)
+public class EntityWithNearCache {
+
+    @PartitionKey
+    private Long id;
+
+    @ClusteringColumn
+    private Integer bucket;
+
+    @Column
+    private String value;
+
+    public EntityWithNearCache() {
+    }
+
+    public EntityWithNearCache(Long id, Integer bucket, String value) {
+        this.id = id;
+        this.bucket = bucket;
+        this.value = value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(Integer bucket) {
+        this.bucket = bucket;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.utils.UUIDs;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithClusteringColumns_Manager;
+import info.archinnov.achilles.generated.manager.EntityWithCounterColumn_Manager;
+import info.archinnov.achilles.internals.dsl.batch.BatchWithOptions;
+import info.archinnov.achilles.internals.entities.EntityWithClusteringColumns;
+import info.archinnov.achilles.internals.entities.EntityWithCounterColumn;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestBatch {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithClusteringColumns.class, EntityWithCounterColumn.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithClusteringColumns.class, EntityWithCounterColumn.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private Session session = resource.getNativeSession();
+    private EntityWithClusteringColumns_Manager manager = resource.getManagerFactory().forEntityWithClusteringColumns();
+    private EntityWithCounterColumn_Manager counterManager = resource.getManagerFactory().forEntityWithCounterColumn();
+
+    @Test
+    public void should_execute_logged_batch() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final UUID uuid1 = UUIDs.timeBased();
+        final UUID uuid2 = UUIDs.timeBased();
+        final UUID uuid3 = UUIDs.timeBased();
+        final Date date = new Date();
+
+        //When
+        final List<ExecutionInfo> executionInfos = manager
+                .batch()
+                .add(manager.crud().insert(newEntity(id, uuid1, date, "val1")))
+                .add(manager.crud().insert(newEntity(id, uuid2, date, "val2")))
+                .add(manager
+                        .dsl()
+                        .update()
+                        .fromBaseTable()
+                        .value().Set("val3")
+                        .where()
+                        .id().Eq(id)
+                        .uuid().Eq(uuid3)
+                        .date().Eq(date))
+                .executeWithStats();
+
+        //Then
+        assertThat(executionInfos).hasSize(1);
+        final List<Row> rows = session.execute("SELECT value FROM entity_with_clusterings WHERE id = " + id).all();
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).getString("value")).isEqualTo("val1");
+        assertThat(rows.get(1).getString("value")).isEqualTo("val2");
+        assertThat(rows.get(2).getString("value")).isEqualTo("val3");
+    }
+
+    @Test
+    public void should_execute_batches_grouped_by_partition() throws Exception {
+        //Given
+        final long id1 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final long id2 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+
+        //When
+        final List<ExecutionInfo> executionInfos = resource.getManagerFactory()
+                .batch()
+                .groupByPartition()
+                .withMaxStatementsPerBatch(2)
+                .add(manager.crud().insert(newEntity(id1, UUIDs.timeBased(), date, "val")))
+                .add(manager.crud().insert(newEntity(id2, UUIDs.timeBased(), date, "val")))
+                .add(manager.crud().insert(newEntity(id1, UUIDs.timeBased(), date, "val")))
+                .add(manager.crud().insert(newEntity(id1, UUIDs.timeBased(), date, "val")))
+                .add(counterManager.dsl().update().fromBaseTable().count().Incr(3L).where().id().Eq(id1))
+                .executeWithStats();
+
+        //Then
+        // id1: 2 batches of regular statements + 1 counter batch, id2: 1 batch
+        assertThat(executionInfos).hasSize(4);
+        assertThat(session.execute("SELECT * FROM entity_with_clusterings WHERE id = " + id1).all()).hasSize(3);
+        assertThat(session.execute("SELECT * FROM entity_with_clusterings WHERE id = " + id2).all()).hasSize(1);
+        assertThat(session.execute("SELECT count FROM entity_counter WHERE id = " + id1).one().getLong("count")).isEqualTo(3L);
+    }
+
+    @Test
+    public void should_execute_batches_grouped_by_partition_with_max_in_flight() throws Exception {
+        //Given
+        final Date date = new Date();
+        final List<Long> ids = new ArrayList<>();
+        final BatchWithOptions batch = resource.getManagerFactory()
+                .batch()
+                .groupByPartition()
+                .withMaxInFlightBatches(2);
+        for (int i = 0; i < 10; i++) {
+            final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+            ids.add(id);
+            batch.add(manager.crud().insert(newEntity(id, UUIDs.timeBased(), date, "val")));
+        }
+
+        //When
+        final List<ExecutionInfo> executionInfos = batch.executeWithStats();
+
+        //Then
+        assertThat(executionInfos).hasSize(10);
+        assertThat(executionInfos).doesNotContainNull();
+        for (Long id : ids) {
+            assertThat(session.execute("SELECT * FROM entity_with_clusterings WHERE id = " + id).all()).hasSize(1);
+        }
+    }
+
+    @Test
+    public void should_execute_counter_batch() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+
+        //When
+        counterManager
+                .batch()
+                .counter()
+                .add(counterManager.dsl().update().fromBaseTable().count().Incr(2L).where().id().Eq(id))
+                .add(counterManager.dsl().update().fromBaseTable().count().Incr(5L).where().id().Eq(id))
+                .execute();
+
+        //Then
+        final Row actual = session.execute("SELECT count FROM entity_counter WHERE id = " + id).one();
+        assertThat(actual.getLong("count")).isEqualTo(7L);
+    }
+
+    @Test
+    public void should_fail_adding_counter_statement_to_logged_batch() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+
+        //When
+        exception.expect(AchillesException.class);
+        exception.expectMessage("to a LOGGED batch");
+
+        counterManager
+                .batch()
+                .add(counterManager.dsl().update().fromBaseTable().count().Incr(2L).where().id().Eq(id))
+                .execute();
+    }
+
+    private EntityWithClusteringColumns newEntity(long id, UUID uuid, Date date, String value) {
+        final EntityWithClusteringColumns entity = new EntityWithClusteringColumns();
+        entity.setId(id);
+        entity.setUuid(uuid);
+        entity.setDate(date);
+        entity.setValue(value);
+        return entity;
+    }
+}
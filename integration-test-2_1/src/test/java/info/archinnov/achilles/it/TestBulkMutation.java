@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.dsl.bulk.BulkFailure;
+import info.archinnov.achilles.internals.dsl.bulk.BulkResult;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestBulkMutation {
+
+    private static final int ENTITY_COUNT = 100;
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_insert_all_with_bounded_in_flight() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final List<SimpleEntity> entities = buildEntities(id);
+
+        //When
+        final BulkResult<SimpleEntity> result = manager
+                .crud()
+                .insertAll(entities)
+                .withMaxInFlight(8)
+                .collectExecutionInfos()
+                .execute();
+
+        //Then
+        assertThat(result.getSuccessCount()).isEqualTo(ENTITY_COUNT);
+        assertThat(result.hasFailures()).isFalse();
+        assertThat(result.getExecutionInfos()).hasSize(ENTITY_COUNT);
+        assertThat(result.getRequestsPerHost().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(ENTITY_COUNT);
+        assertThat(session.execute("SELECT * FROM simple WHERE id = " + id).all()).hasSize(ENTITY_COUNT);
+    }
+
+    @Test
+    public void should_collect_failures_without_aborting() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final List<SimpleEntity> entities = buildEntities(id);
+        final SimpleEntity invalid = new SimpleEntity(id, null, "missing clustering column");
+        entities.add(ENTITY_COUNT / 2, invalid);
+
+        //When
+        final BulkResult<SimpleEntity> result = manager
+                .crud()
+                .insertAll(entities.stream())
+                .execute();
+
+        //Then
+        assertThat(result.getTotalCount()).isEqualTo(ENTITY_COUNT + 1);
+        assertThat(result.getSuccessCount()).isEqualTo(ENTITY_COUNT);
+        assertThat(result.getFailures()).hasSize(1);
+        final BulkFailure<SimpleEntity> failure = result.getFailures().get(0);
+        assertThat(failure.getEntity()).isSameAs(invalid);
+        assertThat(failure.getCause()).isInstanceOf(AchillesException.class);
+        assertThat(session.execute("SELECT * FROM simple WHERE id = " + id).all()).hasSize(ENTITY_COUNT);
+    }
+
+    @Test
+    public void should_update_all_preserving_partition_ordering() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+        final List<SimpleEntity> updates = IntStream.range(0, ENTITY_COUNT)
+                .mapToObj(index -> new SimpleEntity(id, date, "value" + index))
+                .collect(Collectors.toList());
+
+        //When
+        final BulkResult<SimpleEntity> result = manager
+                .crud()
+                .updateAll(updates)
+                .withMaxInFlight(16)
+                .preservePartitionOrdering()
+                .withActionOptions(update -> update.usingTimeToLive(3600))
+                .execute();
+
+        //Then
+        assertThat(result.getSuccessCount()).isEqualTo(ENTITY_COUNT);
+        final Row actual = session.execute("SELECT value, ttl(value) FROM simple WHERE id = " + id).one();
+        assertThat(actual.getString("value")).isEqualTo("value" + (ENTITY_COUNT - 1));
+        assertThat(actual.getInt(1)).isGreaterThan(0);
+    }
+
+    @Test
+    public void should_delete_all_with_rate_limit() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final List<SimpleEntity> entities = buildEntities(id);
+        manager.crud().insertAll(entities).execute();
+
+        //When
+        final BulkResult<SimpleEntity> result = manager
+                .crud()
+                .deleteAll(entities.stream())
+                .withRateLimit(1000)
+                .execute();
+
+        //Then
+        assertThat(result.getSuccessCount()).isEqualTo(ENTITY_COUNT);
+        assertThat(session.execute("SELECT * FROM simple WHERE id = " + id).all()).isEmpty();
+    }
+
+    private List<SimpleEntity> buildEntities(long id) {
+        final List<SimpleEntity> entities = new ArrayList<>();
+        for (int i = 0; i < ENTITY_COUNT; i++) {
+            entities.add(new SimpleEntity(id, new Date(i), "value" + i));
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.script.ScriptExecutor;
+
+public class TestChangeTracking {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withChangeTrackingFor(SimpleEntity.class)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private ScriptExecutor scriptExecutor = resource.getScriptExecutor();
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_update_only_modified_columns() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+        scriptExecutor.executeScriptTemplate("SimpleEntity/insert_single_row.cql", ImmutableMap.of("id", id, "table", "simple"));
+        final SimpleEntity entity = manager.crud().findById(id, date).get();
+        entity.setValue("new_value");
+
+        //When
+        final String statement = manager.crud().update(entity).getStatementAsString();
+        manager.crud().update(entity).execute();
+
+        //Then
+        assertThat(statement).contains("value=:value");
+        assertThat(statement).doesNotContain("consistencylist");
+        assertThat(statement).doesNotContain("simpleset");
+        assertThat(statement).doesNotContain("simplemap");
+
+        final Row actual = session.execute("SELECT * FROM simple WHERE id = " + id).one();
+        assertThat(actual.getString("value")).isEqualTo("new_value");
+        assertThat(actual.getList("consistencylist", String.class)).containsExactly("QUORUM", "LOCAL_ONE");
+        assertThat(actual.getSet("simpleset", Double.class)).containsOnly(1.0, 2.0);
+        assertThat(actual.getMap("simplemap", Integer.class, String.class)).hasSize(2);
+    }
+
+    @Test
+    public void should_append_and_remove_modified_collection_elements() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+        scriptExecutor.executeScriptTemplate("SimpleEntity/insert_single_row.cql", ImmutableMap.of("id", id, "table", "simple"));
+        final SimpleEntity entity = manager.crud().findById(id, date).get();
+
+        entity.setConsistencyList(Arrays.asList(ConsistencyLevel.QUORUM, ConsistencyLevel.LOCAL_ONE, ConsistencyLevel.ALL));
+        entity.setSimpleSet(Sets.newHashSet(2.0));
+        final Map<Integer, String> simpleMap = new HashMap<>(entity.getSimpleMap());
+        simpleMap.put(30, "thirty");
+        entity.setSimpleMap(simpleMap);
+
+        // Concurrent write on the same collection, not seen by the loaded entity
+        session.execute("UPDATE simple SET simplemap = simplemap + {40: 'forty'} WHERE id = " + id + " AND date = '2015-10-01 00:00:00+0000'");
+
+        //When
+        final String statement = manager.crud().update(entity).getStatementAsString();
+        final List<Object> encodedValues = manager.crud().update(entity).getEncodedBoundValues();
+        manager.crud().update(entity).execute();
+
+        //Then
+        assertThat(statement).contains("consistencylist=consistencylist+:consistencylist");
+        assertThat(statement).contains("simpleset=simpleset-:simpleset");
+        assertThat(statement).contains("simplemap=simplemap+:simplemap");
+        assertThat(encodedValues).contains(Arrays.asList("ALL"), Sets.newHashSet(1.0), ImmutableMap.of(30, "thirty"));
+        assertThat(encodedValues).doesNotContain("0 AM");
+
+        final Row actual = session.execute("SELECT * FROM simple WHERE id = " + id).one();
+        assertThat(actual.getString("value")).isEqualTo("0 AM");
+        assertThat(actual.getList("consistencylist", String.class)).containsExactly("QUORUM", "LOCAL_ONE", "ALL");
+        assertThat(actual.getSet("simpleset", Double.class)).containsOnly(2.0);
+        assertThat(actual.getMap("simplemap", Integer.class, String.class))
+                .containsEntry(10, "ten")
+                .containsEntry(20, "twenty")
+                .containsEntry(30, "thirty")
+                .containsEntry(40, "forty");
+    }
+
+    @Test
+    public void should_track_changes_from_last_update() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+        scriptExecutor.executeScriptTemplate("SimpleEntity/insert_single_row.cql", ImmutableMap.of("id", id, "table", "simple"));
+        final SimpleEntity entity = manager.crud().findById(id, date).get();
+        entity.setValue("first_value");
+        manager.crud().update(entity).execute();
+
+        //When
+        entity.setSimpleSet(Sets.newHashSet(1.0, 2.0, 3.0));
+        final String statement = manager.crud().update(entity).getStatementAsString();
+        final List<Object> encodedValues = manager.crud().update(entity).getEncodedBoundValues();
+        manager.crud().update(entity).execute();
+
+        //Then
+        assertThat(statement).contains("simpleset=simpleset+:simpleset");
+        assertThat(encodedValues).contains(Sets.newHashSet(3.0));
+        assertThat(encodedValues).doesNotContain("first_value");
+
+        final Row actual = session.execute("SELECT * FROM simple WHERE id = " + id).one();
+        assertThat(actual.getString("value")).isEqualTo("first_value");
+        assertThat(actual.getSet("simpleset", Double.class)).containsOnly(1.0, 2.0, 3.0);
+    }
+
+    @Test
+    public void should_skip_update_of_unmodified_entity() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+        scriptExecutor.executeScriptTemplate("SimpleEntity/insert_single_row.cql", ImmutableMap.of("id", id, "table", "simple"));
+        final SimpleEntity entity = manager.crud().findById(id, date).get();
+
+        // Concurrent write, not seen by the loaded entity
+        session.execute("UPDATE simple SET value = 'concurrent_value' WHERE id = " + id + " AND date = '2015-10-01 00:00:00+0000'");
+
+        //When
+        final ExecutionInfo executionInfo = manager.crud().update(entity).executeWithStats();
+
+        //Then
+        assertThat(executionInfo).isNull();
+
+        final Row actual = session.execute("SELECT * FROM simple WHERE id = " + id).one();
+        assertThat(actual.getString("value")).isEqualTo("concurrent_value");
+        assertThat(actual.getList("consistencylist", String.class)).containsExactly("QUORUM", "LOCAL_ONE");
+    }
+
+    @Test
+    public void should_update_all_columns_of_entity_not_loaded() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+        final SimpleEntity entity = new SimpleEntity(id, date, "value");
+        entity.setSimpleSet(Sets.newHashSet(1.0));
+
+        //When
+        final String statement = manager.crud().update(entity).getStatementAsString();
+        manager.crud().update(entity).execute();
+
+        //Then
+        assertThat(statement).contains("value=:value");
+        assertThat(statement).contains("simpleset=:simpleset");
+
+        final Row actual = session.execute("SELECT * FROM simple WHERE id = " + id).one();
+        assertThat(actual.getString("value")).isEqualTo("value");
+        assertThat(actual.getSet("simpleset", Double.class)).containsOnly(1.0);
+    }
+
+    private Date buildDateKey() throws ParseException {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return dateFormat.parse("2015-10-01 00:00:00 GMT");
+    }
+}
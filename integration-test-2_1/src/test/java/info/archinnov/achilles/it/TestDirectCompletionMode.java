@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.utils.UUIDs;
+
+import info.archinnov.achilles.async.CompletionMode;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithClusteringColumns_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithClusteringColumns;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.metrics.CompletionSnapshot;
+import info.archinnov.achilles.metrics.MetricsRegistry;
+
+public class TestDirectCompletionMode {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithClusteringColumns.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithClusteringColumns.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withCompletionMode(CompletionMode.DIRECT)
+                    .withMetricsRecorder(registry)
+                    .build());
+
+    private EntityWithClusteringColumns_Manager manager = resource.getManagerFactory().forEntityWithClusteringColumns();
+
+    @Test
+    public void should_complete_async_calls_without_executor_hop() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final UUID uuid = UUIDs.timeBased();
+        final Date date = new Date(0);
+        final AtomicReference<String> completionThread = new AtomicReference<>();
+        manager.crud().insert(newEntity(id, uuid, date, "val")).execute();
+        registry.reset();
+
+        //When
+        final EntityWithClusteringColumns actual = manager
+                .crud()
+                .findById(id, uuid, date)
+                .getAsync()
+                .thenApply(entity -> {
+                    completionThread.set(Thread.currentThread().getName());
+                    return entity;
+                })
+                .get();
+
+        //Then
+        assertThat(actual.getValue()).isEqualTo("val");
+        assertThat(completionThread.get().startsWith("achilles-default-executor")).isFalse();
+
+        final List<CompletionSnapshot> completions = registry.getCompletionSnapshots();
+        assertThat(completions).hasSize(1);
+        assertThat(completions.get(0).getCompletionMode()).isEqualTo(CompletionMode.DIRECT.name());
+        assertThat(completions.get(0).getCompletionCount()).isEqualTo(1L);
+        assertThat(completions.get(0).getMaxQueueDepth()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_fetch_pages_without_executor_hop() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        for (int i = 0; i < 10; i++) {
+            manager.crud().insert(newEntity(id, UUIDs.timeBased(), new Date(i), "val" + i)).execute();
+        }
+
+        //When
+        final List<EntityWithClusteringColumns> firstPage = manager
+                .dsl()
+                .select()
+                .value()
+                .fromBaseTable()
+                .where()
+                .id().Eq(id)
+                .withFetchSize(3)
+                .getList();
+        final long scanned = manager
+                .scan()
+                .withFetchSize(3)
+                .forEach(entity -> {});
+
+        //Then
+        assertThat(firstPage).hasSize(3);
+        assertThat(scanned).isEqualTo(10L);
+    }
+
+    @Test
+    public void should_complete_traced_statements_without_executor_hop() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final UUID uuid = UUIDs.timeBased();
+        final Date date = new Date(0);
+        final AtomicReference<String> completionThread = new AtomicReference<>();
+        manager.crud().insert(newEntity(id, uuid, date, "val")).execute();
+        registry.reset();
+
+        //When
+        manager
+                .crud()
+                .findById(id, uuid, date)
+                .withTracing()
+                .getAsync()
+                .thenApply(entity -> {
+                    completionThread.set(Thread.currentThread().getName());
+                    return entity;
+                })
+                .get();
+
+        //Then
+        assertThat(completionThread.get().startsWith("achilles-default-executor")).isFalse();
+        assertThat(registry.getCompletionSnapshot(CompletionMode.DIRECT).getCompletionCount()).isEqualTo(1L);
+        assertThat(registry.getCompletionSnapshot(CompletionMode.EXECUTOR).getCompletionCount()).isEqualTo(0L);
+    }
+
+    private static EntityWithClusteringColumns newEntity(long id, UUID uuid, Date date, String value) {
+        final EntityWithClusteringColumns entity = new EntityWithClusteringColumns();
+        entity.setId(id);
+        entity.setUuid(uuid);
+        entity.setDate(date);
+        entity.setValue(value);
+        return entity;
+    }
+}
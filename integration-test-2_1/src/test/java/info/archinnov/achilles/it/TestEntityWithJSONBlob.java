@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.google.common.collect.ImmutableMap;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithJSONBlob_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithJSONBlob;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestEntityWithJSONBlob {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithJSONBlob.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithJSONBlob.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private EntityWithJSONBlob_Manager manager = resource.getManagerFactory().forEntityWithJSONBlob();
+
+    @Test
+    public void should_store_json_as_blob() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Map<String, List<Integer>> payload = ImmutableMap.of("kéy", Arrays.asList(1, 2, 3));
+
+        //When
+        manager.crud().insert(new EntityWithJSONBlob(id, payload, payload)).execute();
+
+        //Then
+        final Row actual = session.execute("SELECT payload, textpayload FROM entity_with_json_blob WHERE id = " + id).one();
+        assertThat(actual.getColumnDefinitions().getType("payload")).isEqualTo(DataType.blob());
+        assertThat(actual.getColumnDefinitions().getType("textpayload")).isEqualTo(DataType.text());
+
+        final ByteBuffer bytes = actual.getBytes("payload");
+        final byte[] array = new byte[bytes.remaining()];
+        bytes.get(array);
+        assertThat(new String(array, UTF_8)).isEqualTo("{\"kéy\":[1,2,3]}");
+        assertThat(actual.getString("textpayload")).isEqualTo("{\"kéy\":[1,2,3]}");
+    }
+
+    @Test
+    public void should_read_json_from_blob() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        session.execute("INSERT INTO entity_with_json_blob(id, payload) VALUES(" + id + ", textAsBlob('{\"a\":[4,5],\"b\":[]}'))");
+
+        //When
+        final EntityWithJSONBlob actual = manager.crud().findById(id).get();
+
+        //Then
+        assertThat(actual.getPayload()).containsOnlyKeys("a", "b");
+        assertThat(actual.getPayload().get("a")).containsExactly(4, 5);
+        assertThat(actual.getPayload().get("b")).isEmpty();
+        assertThat(actual.getTextPayload()).isNull();
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.commons.lang3.RandomUtils;
 import org.junit.Rule;
 import org.junit.Test;
 
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.utils.UUIDs;
@@ -104,6 +105,51 @@ public class TestEntityWithStaticColumn {
         assertThat(actual.getString("value")).isEqualTo("new_val");
     }
 
+    @Test
+    public void should_update_with_same_prepared_statement_and_unset_null_values() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final UUID uuid = UUIDs.timeBased();
+        final EntityWithStaticColumn entity = new EntityWithStaticColumn(id, uuid, "static_val", "val");
+        final EntityWithStaticColumn entityWithNullStatic = new EntityWithStaticColumn(id, uuid, null, "new_val");
+
+        //When
+        final PreparedStatement ps1 = manager.crud().update(entity).generateAndGetBoundStatement().preparedStatement();
+        final PreparedStatement ps2 = manager.crud().update(entityWithNullStatic).generateAndGetBoundStatement().preparedStatement();
+        manager.crud().update(entity).execute();
+        manager.crud().update(entityWithNullStatic).execute();
+
+        //Then
+        assertThat(ps2).isSameAs(ps1);
+        final Row actual = session.execute("SELECT * FROM entitywithstaticcolumn WHERE id = " + id + " AND uuid = " + uuid).one();
+        assertThat(actual.getString("static_col")).isEqualTo("static_val");
+        assertThat(actual.getString("value")).isEqualTo("new_val");
+    }
+
+    @Test
+    public void should_update_with_tracing_and_null_values() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final UUID uuid = UUIDs.timeBased();
+        scriptExecutor.executeScriptTemplate("EntityWithStaticColumn/insert_single_row.cql", ImmutableMap.of("id", id, "uuid", uuid));
+        final EntityWithStaticColumn entityWithNullStatic = new EntityWithStaticColumn(id, uuid, null, "new_val");
+
+        //When
+        final String statement = manager.crud().update(entityWithNullStatic).withTracing().getStatementAsString();
+        manager
+                .crud()
+                .update(entityWithNullStatic)
+                .withTracing()
+                .execute();
+
+        //Then
+        // Traced statements cannot have unset values, null columns are left out of the statement
+        assertThat(statement).doesNotContain("static_col");
+        final Row actual = session.execute("SELECT * FROM entitywithstaticcolumn WHERE id = " + id + " AND uuid = " + uuid).one();
+        assertThat(actual.getString("static_col")).isEqualTo("static_val");
+        assertThat(actual.getString("value")).isEqualTo("new_val");
+    }
+
     @Test
     public void should_insert_static() throws Exception {
         //Given
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.utils.UUIDs;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithClusteringColumns_Manager;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithClusteringColumns;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.type.tuples.Tuple2;
+import info.archinnov.achilles.type.tuples.Tuple3;
+
+public class TestFindByIds {
+
+    private static final int ROWS_PER_PARTITION = 5;
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class, EntityWithClusteringColumns.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class, EntityWithClusteringColumns.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+    private EntityWithClusteringColumns_Manager clusteringManager = resource.getManagerFactory().forEntityWithClusteringColumns();
+
+    @Test
+    public void should_find_by_ids_in_input_order_with_in_queries() throws Exception {
+        //Given
+        final long id1 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final long id2 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final UUID uuid = UUIDs.timeBased();
+        final List<Tuple3<Long, UUID, Date>> keys = new ArrayList<>();
+        keys.addAll(insertClusteredPartition(id1, uuid));
+        keys.addAll(insertClusteredPartition(id2, uuid));
+        keys.add(Tuple3.of(id1, uuid, new Date(999L)));
+        Collections.shuffle(keys);
+        final AtomicInteger resultSetCount = new AtomicInteger();
+
+        //When
+        final List<EntityWithClusteringColumns> actual = clusteringManager
+                .crud()
+                .findByIds(keys)
+                .withResultSetAsyncListener(rs -> {
+                    resultSetCount.incrementAndGet();
+                    return rs;
+                })
+                .get();
+
+        //Then
+        assertThat(resultSetCount.get()).isEqualTo(2);
+        assertThat(actual).hasSize(2 * ROWS_PER_PARTITION);
+        final List<Tuple3<Long, UUID, Date>> expectedKeys = new ArrayList<>(keys);
+        expectedKeys.removeIf(key -> key._3().getTime() == 999L);
+        for (int i = 0; i < actual.size(); i++) {
+            assertThat(actual.get(i).getId()).isEqualTo(expectedKeys.get(i)._1());
+            assertThat(actual.get(i).getDate()).isEqualTo(expectedKeys.get(i)._3());
+            assertThat(actual.get(i).getValue()).isEqualTo("value" + expectedKeys.get(i)._3().getTime());
+        }
+    }
+
+    @Test
+    public void should_fall_back_to_single_partition_reads_when_selecting_collections() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final List<Tuple2<Long, Date>> keys = insertPartition(id);
+        final AtomicInteger resultSetCount = new AtomicInteger();
+
+        //When
+        final List<SimpleEntity> actual = manager
+                .crud()
+                .findByIds(keys)
+                .withResultSetAsyncListener(rs -> {
+                    resultSetCount.incrementAndGet();
+                    return rs;
+                })
+                .get();
+
+        //Then
+        assertThat(resultSetCount.get()).isEqualTo(ROWS_PER_PARTITION);
+        assertThat(actual).hasSize(ROWS_PER_PARTITION);
+    }
+
+    @Test
+    public void should_find_by_ids_as_map_with_single_partition_reads() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final List<Tuple2<Long, Date>> keys = insertPartition(id);
+        final Tuple2<Long, Date> missingKey = Tuple2.of(id, new Date(999L));
+        keys.add(missingKey);
+        final AtomicInteger resultSetCount = new AtomicInteger();
+
+        //When
+        final Map<Tuple2<Long, Date>, SimpleEntity> actual = manager
+                .crud()
+                .findByIds(keys)
+                .withMaxClusteringKeysPerQuery(1)
+                .withConcurrency(2)
+                .withResultSetAsyncListener(rs -> {
+                    resultSetCount.incrementAndGet();
+                    return rs;
+                })
+                .getAsMap();
+
+        //Then
+        assertThat(resultSetCount.get()).isEqualTo(ROWS_PER_PARTITION + 1);
+        assertThat(actual).hasSize(ROWS_PER_PARTITION);
+        assertThat(actual).doesNotContainKey(missingKey);
+        assertThat(new ArrayList<>(actual.keySet())).isEqualTo(keys.subList(0, ROWS_PER_PARTITION));
+        actual.forEach((key, entity) -> assertThat(entity.getDate()).isEqualTo(key._2()));
+    }
+
+    @Test
+    public void should_stream_found_entities() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final List<Tuple2<Long, Date>> keys = insertPartition(id);
+        final Map<Tuple2<Long, Date>, SimpleEntity> found = new HashMap<>();
+
+        //When
+        final long count = manager
+                .crud()
+                .findByIds(keys)
+                .forEach(found::put);
+
+        //Then
+        assertThat(count).isEqualTo(ROWS_PER_PARTITION);
+        assertThat(found.keySet()).containsOnlyElementsOf(keys);
+    }
+
+    private List<Tuple3<Long, UUID, Date>> insertClusteredPartition(long id, UUID uuid) {
+        final List<Tuple3<Long, UUID, Date>> keys = new ArrayList<>();
+        for (long i = 0; i < ROWS_PER_PARTITION; i++) {
+            final EntityWithClusteringColumns entity = new EntityWithClusteringColumns();
+            entity.setId(id);
+            entity.setUuid(uuid);
+            entity.setDate(new Date(i));
+            entity.setValue("value" + i);
+            clusteringManager.crud().insert(entity).execute();
+            keys.add(Tuple3.of(id, uuid, entity.getDate()));
+        }
+        return keys;
+    }
+
+    private List<Tuple2<Long, Date>> insertPartition(long id) {
+        final List<Tuple2<Long, Date>> keys = new ArrayList<>();
+        for (long i = 0; i < ROWS_PER_PARTITION; i++) {
+            final Date date = new Date(i);
+            manager.crud().insert(new SimpleEntity(id, date, "value" + i)).execute();
+            keys.add(Tuple2.of(id, date));
+        }
+        return keys;
+    }
+}
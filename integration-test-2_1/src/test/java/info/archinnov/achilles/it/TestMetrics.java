@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import info.archinnov.achilles.async.CompletionMode;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.metrics.CompletionSnapshot;
+import info.archinnov.achilles.metrics.MetricKey;
+import info.archinnov.achilles.metrics.MetricsRegistry;
+import info.archinnov.achilles.metrics.MetricsSnapshot;
+import info.archinnov.achilles.type.lightweighttransaction.LWTResultListener;
+
+public class TestMetrics {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withMetricsRecorder(registry)
+                    .doExportMetricsToJMX(true)
+                    .build());
+
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_record_metrics_per_entity_operation_and_statement() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final AtomicBoolean lwtError = new AtomicBoolean(false);
+        for (int i = 0; i < 3; i++) {
+            manager.crud().insert(new SimpleEntity(id, new Date(i), "val" + i)).execute();
+        }
+
+        //When
+        for (int i = 0; i < 3; i++) {
+            manager.crud().findById(id, new Date(i)).get();
+        }
+        final List<SimpleEntity> entities = manager
+                .dsl()
+                .select()
+                .value()
+                .fromBaseTable()
+                .where()
+                .id().Eq(id)
+                .getList();
+        manager.crud()
+                .insert(new SimpleEntity(id, new Date(0), "val"))
+                .ifNotExists()
+                .withLwtResultListener(new LWTResultListener() {
+                    @Override
+                    public void onError(LWTResult lwtResult) {
+                        lwtError.set(true);
+                    }
+                })
+                .execute();
+
+        //Then
+        assertThat(entities).hasSize(3);
+        assertThat(lwtError.get()).isTrue();
+
+        final List<MetricsSnapshot> inserts = registry.getSnapshots(SimpleEntity.class, OperationType.INSERT);
+        assertThat(inserts).hasSize(2);
+        assertThat(inserts.stream().mapToLong(MetricsSnapshot::getRequestCount).sum()).isEqualTo(4L);
+        assertThat(inserts.stream().mapToLong(MetricsSnapshot::getLwtFailureCount).sum()).isEqualTo(1L);
+        assertThat(inserts.stream().mapToLong(MetricsSnapshot::getErrorCount).sum()).isEqualTo(0L);
+
+        final List<MetricsSnapshot> selects = registry.getSnapshots(SimpleEntity.class, OperationType.SELECT);
+        assertThat(selects).hasSize(2);
+        for (MetricsSnapshot snapshot : selects) {
+            assertThat(snapshot.getEntityClass()).isEqualTo(SimpleEntity.class.getCanonicalName());
+            assertThat(snapshot.getRowsMapped()).isEqualTo(3L);
+            assertThat(snapshot.getTotalMappingNanos()).isGreaterThan(0L);
+            assertThat(snapshot.getInFlightCount()).isEqualTo(0L);
+            assertThat(snapshot.getP99LatencyNanos()).isGreaterThan(0L);
+            assertThat(snapshot.getMaxLatencyNanos()).isGreaterThanOrEqualTo(snapshot.getP99LatencyNanos());
+        }
+        assertThat(selects.stream().mapToLong(MetricsSnapshot::getRequestCount).sorted().toArray()).containsExactly(1L, 3L);
+    }
+
+    @Test
+    public void should_export_metrics_to_jmx() throws Exception {
+        //Given
+        manager.crud().insert(new SimpleEntity(RandomUtils.nextLong(0L, Long.MAX_VALUE), new Date(), "val")).execute();
+
+        //When
+        final ObjectName objectName = registry.getObjectName().get();
+        final CompositeData[] snapshots = (CompositeData[]) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(objectName, "Snapshots");
+
+        //Then
+        assertThat(objectName.getDomain()).isEqualTo(MetricsRegistry.JMX_DOMAIN);
+        assertThat(snapshots).hasSize(1);
+        assertThat(snapshots[0].get("operationType")).isEqualTo("INSERT");
+        assertThat(snapshots[0].get("requestCount")).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_record_executor_completion_hops() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new SimpleEntity(id, new Date(0), "val")).execute();
+
+        //When
+        manager.crud().findById(id, new Date(0)).get();
+
+        //Then
+        final List<CompletionSnapshot> completions = registry.getCompletionSnapshots();
+        assertThat(completions).hasSize(1);
+        final CompletionSnapshot executorCompletions = completions.get(0);
+        assertThat(executorCompletions.getCompletionMode()).isEqualTo(CompletionMode.EXECUTOR.name());
+        assertThat(executorCompletions.getCompletionCount()).isGreaterThanOrEqualTo(2L);
+        assertThat(executorCompletions.getMaxHopLatencyNanos()).isGreaterThan(0L);
+        assertThat(executorCompletions.getMaxHopLatencyNanos()).isGreaterThanOrEqualTo(executorCompletions.getP99HopLatencyNanos());
+        assertThat(registry.getCompletionSnapshot(CompletionMode.DIRECT).getCompletionCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_record_batch_metrics() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+
+        //When
+        manager
+                .batch()
+                .add(manager.crud().insert(new SimpleEntity(id, new Date(0), "val0")))
+                .add(manager.crud().insert(new SimpleEntity(id, new Date(1), "val1")))
+                .execute();
+
+        //Then
+        final MetricsSnapshot batches = registry.getSnapshot(RuntimeEngine.BATCH_METRIC_KEY).get();
+        assertThat(batches.getRequestCount()).isEqualTo(1L);
+        assertThat(batches.getErrorCount()).isEqualTo(0L);
+        assertThat(batches.getInFlightCount()).isEqualTo(0L);
+        assertThat(batches.getMaxLatencyNanos()).isGreaterThan(0L);
+        assertThat(registry.getSnapshots(SimpleEntity.class, OperationType.INSERT)).isEmpty();
+    }
+
+    @Test
+    public void should_record_statements_beyond_max_metric_keys_in_overflow_entry() throws Exception {
+        //Given
+        final MetricsRegistry boundedRegistry = new MetricsRegistry(2);
+
+        //When
+        for (int i = 0; i < 5; i++) {
+            final MetricKey key = new MetricKey(SimpleEntity.class, OperationType.SELECT, "SELECT * FROM simple WHERE id = " + i);
+            boundedRegistry.onRequestStarted(key);
+            boundedRegistry.onRequestSucceeded(key, 1000L);
+        }
+
+        //Then
+        assertThat(boundedRegistry.getSnapshots()).hasSize(3);
+        final MetricsSnapshot overflow = boundedRegistry
+                .getSnapshot(new MetricKey(SimpleEntity.class, OperationType.SELECT, MetricsRegistry.OVERFLOW_STATEMENT))
+                .get();
+        assertThat(overflow.getRequestCount()).isEqualTo(3L);
+        assertThat(overflow.getInFlightCount()).isEqualTo(0L);
+    }
+}
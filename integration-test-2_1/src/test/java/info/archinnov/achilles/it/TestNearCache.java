@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.utils.UUIDs;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithClusteringColumns_Manager;
+import info.archinnov.achilles.generated.manager.EntityWithNearCache_Manager;
+import info.archinnov.achilles.internals.cache.CacheStatistics;
+import info.archinnov.achilles.internals.entities.EntityWithClusteringColumns;
+import info.archinnov.achilles.internals.entities.EntityWithNearCache;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestNearCache {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithNearCache.class, EntityWithClusteringColumns.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithNearCache.class, EntityWithClusteringColumns.class, SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withNearCache(EntityWithClusteringColumns.class, 100, 10, TimeUnit.MINUTES)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private EntityWithNearCache_Manager manager = resource.getManagerFactory().forEntityWithNearCache();
+    private EntityWithClusteringColumns_Manager clusteringManager = resource.getManagerFactory().forEntityWithClusteringColumns();
+
+    @Test
+    public void should_serve_find_by_id_from_near_cache() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithNearCache(id, 1, "val")).execute();
+        final EntityWithNearCache first = manager.crud().findById(id, 1).get();
+        final CacheStatistics before = manager.getNearCacheStatistics().get();
+
+        //When
+        session.execute("DELETE FROM entity_with_near_cache WHERE id = " + id);
+        first.setValue("modified_copy");
+        final EntityWithNearCache actual = manager.crud().findById(id, 1).get();
+
+        //Then
+        assertThat(actual).isNotSameAs(first);
+        assertThat(actual.getValue()).isEqualTo("val");
+        final CacheStatistics after = manager.getNearCacheStatistics().get();
+        assertThat(after.getHitCount() - before.getHitCount()).isEqualTo(1L);
+        assertThat(after.getMissCount() - before.getMissCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_bypass_near_cache() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithNearCache(id, 1, "val")).execute();
+        manager.crud().findById(id, 1).get();
+
+        //When
+        session.execute("DELETE FROM entity_with_near_cache WHERE id = " + id);
+        final EntityWithNearCache actual = manager.crud().findById(id, 1).bypassNearCache().get();
+
+        //Then
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    public void should_cache_not_found_entity_and_invalidate_on_insert() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        assertThat(manager.crud().findById(id, 1).get()).isNull();
+
+        //When
+        session.execute("INSERT INTO entity_with_near_cache(id, bucket, value) VALUES(" + id + ", 1, 'external')");
+        final EntityWithNearCache cached = manager.crud().findById(id, 1).get();
+        manager.crud().insert(new EntityWithNearCache(id, 1, "val")).execute();
+        final EntityWithNearCache actual = manager.crud().findById(id, 1).get();
+
+        //Then
+        assertThat(cached).isNull();
+        assertThat(actual).isNotNull();
+        assertThat(actual.getValue()).isEqualTo("val");
+    }
+
+    @Test
+    public void should_invalidate_on_crud_update_and_delete() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithNearCache(id, 1, "val")).execute();
+        manager.crud().findById(id, 1).get();
+
+        //When
+        manager.crud().update(new EntityWithNearCache(id, 1, "updated")).execute();
+        final EntityWithNearCache updated = manager.crud().findById(id, 1).get();
+        manager.crud().deleteById(id, 1).execute();
+        final EntityWithNearCache deleted = manager.crud().findById(id, 1).get();
+
+        //Then
+        assertThat(updated.getValue()).isEqualTo("updated");
+        assertThat(deleted).isNull();
+    }
+
+    @Test
+    public void should_invalidate_partition_on_delete_by_partition() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithNearCache(id, 1, "val1")).execute();
+        manager.crud().insert(new EntityWithNearCache(id, 2, "val2")).execute();
+        manager.crud().findById(id, 1).get();
+        manager.crud().findById(id, 2).get();
+
+        //When
+        manager.crud().deleteByPartitionKeys(id).execute();
+
+        //Then
+        assertThat(manager.crud().findById(id, 1).get()).isNull();
+        assertThat(manager.crud().findById(id, 2).get()).isNull();
+    }
+
+    @Test
+    public void should_invalidate_on_dsl_update() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithNearCache(id, 1, "val")).execute();
+        manager.crud().findById(id, 1).get();
+
+        //When
+        manager
+                .dsl()
+                .update()
+                .fromBaseTable()
+                .value().Set("dsl_updated")
+                .where()
+                .id().Eq(id)
+                .bucket().Eq(1)
+                .execute();
+
+        //Then
+        assertThat(manager.crud().findById(id, 1).get().getValue()).isEqualTo("dsl_updated");
+    }
+
+    @Test
+    public void should_coalesce_concurrent_misses_on_same_key() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithNearCache(id, 1, "val")).execute();
+        final CacheStatistics before = manager.getNearCacheStatistics().get();
+
+        //When
+        final List<CompletableFuture<EntityWithNearCache>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(manager.crud().findById(id, 1).getAsync());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+        //Then
+        for (CompletableFuture<EntityWithNearCache> future : futures) {
+            assertThat(future.get().getValue()).isEqualTo("val");
+        }
+        final CacheStatistics after = manager.getNearCacheStatistics().get();
+        assertThat(after.getLoadSuccessCount() - before.getLoadSuccessCount()).isEqualTo(1L);
+        assertThat(after.getHitCount() - before.getHitCount()).isEqualTo(9L);
+    }
+
+    @Test
+    public void should_enable_near_cache_from_configuration() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final UUID uuid = UUIDs.timeBased();
+        final Date date = new Date();
+        final EntityWithClusteringColumns entity = new EntityWithClusteringColumns();
+        entity.setId(id);
+        entity.setUuid(uuid);
+        entity.setDate(date);
+        entity.setValue("val");
+        clusteringManager.crud().insert(entity).execute();
+        clusteringManager.crud().findById(id, uuid, date).get();
+
+        //When
+        session.execute("DELETE FROM entity_with_clusterings WHERE id = " + id);
+        final EntityWithClusteringColumns actual = clusteringManager.crud().findById(id, uuid, date).get();
+
+        //Then
+        assertThat(actual.getValue()).isEqualTo("val");
+        assertThat(clusteringManager.getNearCacheStatistics().get().getMaximumSize()).isEqualTo(100L);
+        assertThat(resource.getManagerFactory().forSimpleEntity().getNearCacheStatistics().isPresent()).isFalse();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.QueryTrace;
+import com.datastax.driver.core.utils.UUIDs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithClusteringColumns_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithClusteringColumns;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.tracing.QueryTraceSink;
+
+public class TestQueryTracing {
+
+    private final CollectingTraceSink sink = new CollectingTraceSink();
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithClusteringColumns.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithClusteringColumns.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withQueryTraceSink(sink)
+                    .withTracingMaxPerSecondPerQuery(1)
+                    .build());
+
+    private EntityWithClusteringColumns_Manager manager = resource.getManagerFactory().forEntityWithClusteringColumns();
+
+    @Test
+    public void should_deliver_trace_to_sink_asynchronously() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final EntityWithClusteringColumns entity = newEntity(id, UUIDs.timeBased(), new Date(0), "val");
+
+        //When
+        manager
+                .crud()
+                .insert(entity)
+                .withTracing()
+                .execute();
+
+        //Then
+        assertThat(sink.awaitTraces(1)).isTrue();
+        assertThat(sink.failures).isEmpty();
+        assertThat(sink.queryStrings).hasSize(1);
+        assertThat(sink.queryStrings.get(0)).startsWith("INSERT INTO");
+        assertThat(sink.traces.get(0).getTraceId()).isNotNull();
+    }
+
+    @Test
+    public void should_limit_traces_per_query_when_logger_is_trace_enabled() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final UUID uuid = UUIDs.timeBased();
+        final Date date = new Date(0);
+        manager.crud().insert(newEntity(id, uuid, date, "val")).execute();
+
+        final Logger logger = (Logger) LoggerFactory.getLogger(EntityWithClusteringColumns.class);
+        final Level previousLevel = logger.getLevel();
+        logger.setLevel(Level.TRACE);
+
+        //When
+        try {
+            for (int i = 0; i < 5; i++) {
+                manager.crud().findById(id, uuid, date).get();
+            }
+            manager.crud().findById(id, uuid, date).withTracing().get();
+            manager.crud().findById(id, uuid, date).withTracing().get();
+        } finally {
+            logger.setLevel(previousLevel);
+        }
+
+        //Then
+        assertThat(sink.awaitTraces(3)).isTrue();
+        Thread.sleep(500);
+        // 1 sampled trace per second for the 5 SELECT, plus the 2 explicitly traced ones
+        assertThat(sink.queryStrings.size() + sink.failures.size()).isBetween(3, 4);
+    }
+
+    private static EntityWithClusteringColumns newEntity(long id, UUID uuid, Date date, String value) {
+        final EntityWithClusteringColumns entity = new EntityWithClusteringColumns();
+        entity.setId(id);
+        entity.setUuid(uuid);
+        entity.setDate(date);
+        entity.setValue(value);
+        return entity;
+    }
+
+    private static class CollectingTraceSink implements QueryTraceSink {
+
+        private final List<String> queryStrings = new CopyOnWriteArrayList<>();
+        private final List<QueryTrace> traces = new CopyOnWriteArrayList<>();
+        private final List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onQueryTrace(String queryId, String queryString, ExecutionInfo executionInfo, QueryTrace queryTrace) {
+            traces.add(queryTrace);
+            queryStrings.add(queryString);
+        }
+
+        @Override
+        public void onQueryTraceFailed(String queryId, String queryString, Throwable throwable) {
+            failures.add(throwable);
+        }
+
+        private boolean awaitTraces(int count) throws InterruptedException {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (queryStrings.size() + failures.size() < count) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                Thread.sleep(50);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.QueryOptions;
+import com.datastax.driver.core.utils.UUIDs;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithClusteringColumns_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithClusteringColumns;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.type.TypedMap;
+import info.archinnov.achilles.type.streaming.Subscriber;
+import info.archinnov.achilles.type.streaming.Subscription;
+
+public class TestStreamingSelect {
+
+    private static final int ROW_COUNT = 25;
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithClusteringColumns.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithClusteringColumns.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private EntityWithClusteringColumns_Manager manager = resource.getManagerFactory().forEntityWithClusteringColumns();
+
+    @Test
+    public void should_stream_all_pages_following_demand() throws Exception {
+        //Given
+        final long id = insertRows();
+        final CollectingSubscriber<EntityWithClusteringColumns> subscriber = new CollectingSubscriber<>(7);
+
+        //When
+        manager
+                .dsl()
+                .select()
+                .allColumns_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .withFetchSize(10)
+                .publisher()
+                .subscribe(subscriber);
+
+        //Then
+        assertThat(subscriber.completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.error).isNull();
+        assertThat(subscriber.items).hasSize(ROW_COUNT);
+        assertThat(subscriber.items.stream().map(EntityWithClusteringColumns::getValue).distinct().count()).isEqualTo(ROW_COUNT);
+    }
+
+    @Test
+    public void should_stream_typed_maps_of_all_pages() throws Exception {
+        //Given
+        final long id = insertRows();
+        final CollectingSubscriber<TypedMap> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+
+        //When
+        manager
+                .dsl()
+                .select()
+                .value()
+                .fromBaseTable()
+                .where()
+                .id().Eq(id)
+                .withFetchSize(4)
+                .typedMapPublisher()
+                .subscribe(subscriber);
+
+        //Then
+        assertThat(subscriber.completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.error).isNull();
+        assertThat(subscriber.items).hasSize(ROW_COUNT);
+        assertThat(subscriber.items.stream().map(typedMap -> typedMap.<String>getTyped("value")).distinct().count()).isEqualTo(ROW_COUNT);
+    }
+
+    @Test
+    public void should_get_list_of_all_pages_when_paging_not_handled_by_caller() throws Exception {
+        //Given
+        final long id = insertRows();
+        final QueryOptions queryOptions = resource.getNativeSession().getCluster().getConfiguration().getQueryOptions();
+        final int defaultFetchSize = queryOptions.getFetchSize();
+        queryOptions.setFetchSize(10);
+
+        //When
+        final List<EntityWithClusteringColumns> all;
+        final List<EntityWithClusteringColumns> firstPage;
+        try {
+            all = manager
+                    .dsl()
+                    .select()
+                    .allColumns_FromBaseTable()
+                    .where()
+                    .id().Eq(id)
+                    .getList();
+
+            firstPage = manager
+                    .dsl()
+                    .select()
+                    .allColumns_FromBaseTable()
+                    .where()
+                    .id().Eq(id)
+                    .withFetchSize(10)
+                    .getList();
+        } finally {
+            queryOptions.setFetchSize(defaultFetchSize);
+        }
+
+        //Then
+        assertThat(all).hasSize(ROW_COUNT);
+        assertThat(firstPage).hasSize(10);
+    }
+
+    @Test
+    public void should_stop_streaming_when_subscription_cancelled() throws Exception {
+        //Given
+        final long id = insertRows();
+        final CollectingSubscriber<EntityWithClusteringColumns> subscriber = new CollectingSubscriber<>(3);
+        subscriber.cancelAfterFirstBatch = true;
+
+        //When
+        manager
+                .dsl()
+                .select()
+                .allColumns_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .withFetchSize(10)
+                .publisher()
+                .subscribe(subscriber);
+
+        //Then
+        assertThat(subscriber.completed.await(1, TimeUnit.SECONDS)).isFalse();
+        assertThat(subscriber.error).isNull();
+        assertThat(subscriber.items).hasSize(3);
+    }
+
+    @Test
+    public void should_execute_mutation_on_first_request() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+        final EntityWithClusteringColumns entity = new EntityWithClusteringColumns();
+        entity.setId(id);
+        entity.setUuid(UUIDs.timeBased());
+        entity.setDate(date);
+        entity.setValue("val");
+        final CollectingSubscriber<ExecutionInfo> subscriber = new CollectingSubscriber<>(0);
+
+        //When
+        manager
+                .crud()
+                .insert(entity)
+                .publisher()
+                .subscribe(subscriber);
+        final long countBeforeRequest = countRows(id);
+        subscriber.subscription.request(1);
+
+        //Then
+        assertThat(subscriber.completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.error).isNull();
+        assertThat(subscriber.items).hasSize(1);
+        assertThat(subscriber.items.get(0).getQueriedHost()).isNotNull();
+        assertThat(countBeforeRequest).isEqualTo(0L);
+        assertThat(countRows(id)).isEqualTo(1L);
+    }
+
+    private long countRows(long id) {
+        return resource.getNativeSession()
+                .execute("SELECT count(*) FROM entity_with_clusterings WHERE id = " + id)
+                .one()
+                .getLong(0);
+    }
+
+    private long insertRows() {
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            final EntityWithClusteringColumns entity = new EntityWithClusteringColumns();
+            entity.setId(id);
+            entity.setUuid(UUIDs.timeBased());
+            entity.setDate(date);
+            entity.setValue("val" + i);
+            manager.crud().insert(entity).execute();
+        }
+        return id;
+    }
+
+    private static class CollectingSubscriber<T> implements Subscriber<T> {
+
+        private final long batchSize;
+        private final List<T> items = new ArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Throwable error;
+        private Subscription subscription;
+        private long remaining;
+        private boolean cancelAfterFirstBatch;
+
+        private CollectingSubscriber(long batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            this.remaining = batchSize;
+            if (batchSize > 0) {
+                subscription.request(batchSize);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+            if (batchSize != Long.MAX_VALUE && --remaining == 0) {
+                if (cancelAfterFirstBatch) {
+                    subscription.cancel();
+                    return;
+                }
+                remaining = batchSize;
+                subscription.request(batchSize);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.cache.CacheStatistics;
+import info.archinnov.achilles.internals.cache.StatementsCache;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.type.SchemaNameProvider;
+
+public class TestTenantStatementsCache {
+
+    private static final SchemaNameProvider TENANT = new SchemaNameProvider() {
+        @Override
+        public <T> String keyspaceFor(Class<T> entityClass) {
+            return DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+        }
+
+        @Override
+        public <T> String tableNameFor(Class<T> entityClass) {
+            return "simple";
+        }
+    };
+
+    private final StatementsCache statementsCache = new StatementsCache(100, 20);
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeTest()
+            .build((cluster, sharedStatementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withPreparedStatementsPrewarmFor(Arrays.asList(TENANT))
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_use_statements_pre_warmed_for_tenant() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final SimpleEntity entity = new SimpleEntity(id, new Date(), "value");
+        final CacheStatistics before = statementsCache.getTenantCacheStatistics();
+
+        //When
+        manager.crud().withSchemaNameProvider(TENANT).insert(entity).execute();
+        final SimpleEntity found = manager.crud().withSchemaNameProvider(TENANT).findById(id, entity.getDate()).get();
+        manager.crud().withSchemaNameProvider(TENANT).delete(entity).execute();
+
+        //Then
+        assertThat(found.getValue()).isEqualTo("value");
+        final CacheStatistics after = statementsCache.getTenantCacheStatistics();
+        assertThat(before.getSize()).isEqualTo(statementsCache.getStaticCacheSize());
+        assertThat(after.getHitCount() - before.getHitCount()).isEqualTo(3L);
+        assertThat(after.getMissCount() - before.getMissCount()).isEqualTo(0L);
+        assertThat(after.getSize()).isEqualTo(before.getSize());
+    }
+
+    @Test
+    public void should_prepare_again_after_tenant_eviction() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final SimpleEntity entity = new SimpleEntity(id, new Date(), "value");
+
+        //When
+        resource.getManagerFactory().evictPreparedStatementsForKeyspace(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME);
+        manager.crud().withSchemaNameProvider(TENANT).insert(entity).execute();
+
+        //Then
+        final CacheStatistics statistics = statementsCache.getTenantCacheStatistics();
+        assertThat(statementsCache.getTenantCount()).isEqualTo(1);
+        assertThat(statistics.getSize()).isEqualTo(1L);
+        assertThat(statistics.getMissCount()).isEqualTo(1L);
+        assertThat(statistics.getMaximumSize()).isEqualTo(20L);
+        assertThat(manager.crud().withSchemaNameProvider(TENANT).findById(id, entity.getDate()).get()).isNotNull();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2012-2019 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.dsl.scan.ScanCheckpoint;
+import info.archinnov.achilles.internals.dsl.scan.ScanProgress;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestTokenRangeScan {
+
+    private static final int PARTITION_COUNT = 50;
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_scan_whole_table_in_parallel() throws Exception {
+        //Given
+        insertPartitions();
+        final Set<Long> ids = new HashSet<>();
+        final List<ScanProgress> progresses = new ArrayList<>();
+
+        //When
+        final long count = manager
+                .scan()
+                .withConcurrency(4)
+                .withSplitsPerTokenRange(2)
+                .withFetchSize(5)
+                .withProgressListener(progresses::add)
+                .forEach(entity -> ids.add(entity.getId()));
+
+        //Then
+        assertThat(count).isEqualTo(PARTITION_COUNT);
+        assertThat(ids).hasSize(PARTITION_COUNT);
+        assertThat(progresses).isNotEmpty();
+        final ScanProgress last = progresses.get(progresses.size() - 1);
+        assertThat(last.getCompletedRanges()).isEqualTo(last.getTotalRanges());
+        assertThat(progresses.stream().mapToLong(ScanProgress::getRowsInRange).sum()).isEqualTo(PARTITION_COUNT);
+    }
+
+    @Test
+    public void should_resume_scan_from_checkpoint() throws Exception {
+        //Given
+        insertPartitions();
+        final List<ScanProgress> progresses = new ArrayList<>();
+        manager
+                .scan()
+                .withProgressListener(progresses::add)
+                .forEach(entity -> {});
+
+        final ScanProgress halfway = progresses.get(progresses.size() / 2);
+        final long alreadyScanned = progresses
+                .subList(0, progresses.size() / 2 + 1)
+                .stream()
+                .mapToLong(ScanProgress::getRowsInRange)
+                .sum();
+        final ScanCheckpoint checkpoint = ScanCheckpoint.fromTokenRangeStrings(manager.getNativeCluster().getMetadata(),
+                halfway.getCheckpoint().toTokenRangeStrings());
+
+        //When
+        final long count = manager
+                .scan()
+                .resumeFrom(checkpoint)
+                .forEach(entity -> {});
+
+        //Then
+        assertThat(count).isEqualTo(PARTITION_COUNT - alreadyScanned);
+    }
+
+    private void insertPartitions() {
+        for (long id = 0; id < PARTITION_COUNT; id++) {
+            final SimpleEntity entity = new SimpleEntity();
+            entity.setId(id);
+            entity.setDate(new Date());
+            entity.setValue("val" + id);
+            manager.crud().insert(entity).execute();
+        }
+    }
+}
@@ -67,7 +67,8 @@ public class ClassLevelTracing {
 
 
         //Then
-        logAsserter.assertContains("Tracing for Query ID");
+        // The trace is fetched asynchronously after the result has been received
+        logAsserter.awaitContains("Tracing for Query ID");
     }
 
 }
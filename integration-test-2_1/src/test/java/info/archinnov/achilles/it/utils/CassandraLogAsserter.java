@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.junit.ComparisonFailure;
@@ -86,6 +87,17 @@ public class CassandraLogAsserter {
         assertPatternToBe(text, true);
     }
 
+    /**
+     * Wait at most 10 seconds for the text to be logged, for messages logged asynchronously
+     */
+    public void awaitContains(String text) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!logStream.toString().contains(text) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertContains(text);
+    }
+
     public void assertNotContains(String text) {
         assertPatternToBe(text, false);
     }
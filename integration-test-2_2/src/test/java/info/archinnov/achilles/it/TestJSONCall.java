@@ -20,6 +20,7 @@ import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters
 import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayOutputStream;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -31,6 +32,8 @@ import org.junit.rules.ExpectedException;
 import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 
 import info.archinnov.achilles.annotations.Enumerated;
@@ -270,4 +273,86 @@ public class TestJSONCall {
         assertThat(row.getSet("setstring", String.class)).containsExactly("two");
         assertThat(row.getMap("mapstring", Integer.class, String.class)).hasSize(1).containsEntry(3, "three");
     }
+
+    @Test
+    public void should_write_select_json_star_into_output_stream() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        insertRows(id, 5);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //When
+        final long count = manager
+                .dsl()
+                .select()
+                .allColumnsAsJSON_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .withFetchSize(2)
+                .writeJSONArrayTo(outputStream);
+
+        //Then
+        final JsonNode actual = new ObjectMapper().readTree(outputStream.toByteArray());
+        assertThat(count).isEqualTo(5L);
+        assertThat(actual.isArray()).isTrue();
+        assertThat(actual.size()).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            assertThat(actual.get(i).get("clust").asLong()).isEqualTo(i);
+            assertThat(actual.get(i).get("value").asText()).isEqualTo("val\u00e9" + i);
+        }
+    }
+
+    @Test
+    public void should_write_select_json_star_into_appendable() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        insertRows(id, 3);
+        final StringBuilder builder = new StringBuilder();
+
+        //When
+        final long count = manager
+                .dsl()
+                .select()
+                .allColumnsAsJSON_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .writeJSONArrayToAsync(builder)
+                .get();
+
+        //Then
+        final JsonNode actual = new ObjectMapper().readTree(builder.toString());
+        assertThat(count).isEqualTo(3L);
+        assertThat(actual.size()).isEqualTo(3);
+        assertThat(actual.get(2).get("value").asText()).isEqualTo("val\u00e92");
+    }
+
+    @Test
+    public void should_write_empty_json_array() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final StringBuilder builder = new StringBuilder();
+
+        //When
+        final long count = manager
+                .dsl()
+                .select()
+                .allColumnsAsJSON_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .writeJSONArrayTo(builder);
+
+        //Then
+        assertThat(count).isEqualTo(0L);
+        assertThat(builder.toString()).isEqualTo("[]");
+    }
+
+    private void insertRows(long id, int count) {
+        for (long clust = 0; clust < count; clust++) {
+            final EntityForJSONCall entity = new EntityForJSONCall();
+            entity.setId(id);
+            entity.setClust(clust);
+            entity.setValue("val\u00e9" + clust);
+            manager.crud().insert(entity).execute();
+        }
+    }
 }